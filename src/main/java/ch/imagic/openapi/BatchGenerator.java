@@ -0,0 +1,203 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi;
+
+import ch.imagic.openapi.misc.GenerationContext;
+import ch.imagic.openapi.misc.GenerationReport;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs many generations in one JVM, on a bounded number of threads.
+ * The manifest is a json object, every generation is configured with the same variables as a single run of Main:
+ * <pre>
+ * {
+ *   "defaults": {"COMMON_PACKAGE": "com.example.common", "INCREMENTAL": "true"},
+ *   "generations": [
+ *     {"SCHEMA": "users.json", "PACKAGE": "com.example.users", "SOURCE_TARGET_DIR": "users/src/main/java"},
+ *     {"SCHEMA": "orders.json", "PACKAGE": "com.example.orders", "SOURCE_TARGET_DIR": "orders/src/main/java"}
+ *   ]
+ * }
+ * </pre>
+ * A variable is taken from the generation, then from defaults, then from the system properties and the environment.
+ * The common files are identical for all generations with the same common package and common target directories,
+ * they are written once for all of them before the generations start.
+ */
+public class BatchGenerator {
+
+    private final List<OpenApiGeneratorConfig> configs;
+    private final int threads;
+    private final boolean report;
+    private final File reportFile;
+
+    public BatchGenerator(List<OpenApiGeneratorConfig> configs, int threads, boolean report, File reportFile) {
+        if (configs == null || configs.isEmpty()) {
+            throw new IllegalArgumentException("configs must not be empty");
+        }
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+
+        Set<String> packages = new HashSet<>();
+        for (OpenApiGeneratorConfig config : configs) {
+            if (!packages.add(config.getPackageName())) {
+                throw new IllegalArgumentException("package " + config.getPackageName() + " is generated more than once");
+            }
+        }
+
+        this.configs = configs;
+        this.threads = threads;
+        this.report = report;
+        this.reportFile = reportFile;
+    }
+
+    public static BatchGenerator load(File manifest) throws Exception {
+        JsonElement root;
+        try (Reader reader = Files.newBufferedReader(manifest.toPath(), StandardCharsets.UTF_8)) {
+            root = JsonParser.parseReader(reader);
+        }
+
+        if (!root.isJsonObject() || !root.getAsJsonObject().has("generations") || !root.getAsJsonObject().get("generations").isJsonArray()) {
+            throw new IllegalArgumentException("batch manifest " + manifest + " must be a json object with a generations array");
+        }
+
+        Map<String, String> defaults = root.getAsJsonObject().has("defaults") ? toVariables(root.getAsJsonObject().get("defaults"), "defaults") : Collections.emptyMap();
+        List<OpenApiGeneratorConfig> configs = new ArrayList<>();
+        int index = 0;
+        for (JsonElement generation : root.getAsJsonObject().getAsJsonArray("generations")) {
+            Map<String, String> variables = new HashMap<>(defaults);
+            variables.putAll(toVariables(generation, "generations[" + index++ + "]"));
+            configs.add(Main.createConfig(variables, false));
+        }
+
+        int threads = Integer.parseInt(Main.getOptionalVariable(defaults, "BATCH_THREADS", String.valueOf(Math.min(configs.size(), Runtime.getRuntime().availableProcessors()))));
+        boolean report = "true".equalsIgnoreCase(Main.getOptionalVariable(defaults, "REPORT", "false"));
+        String reportFile = Main.getOptionalVariable(defaults, "REPORT_FILE", null);
+        return new BatchGenerator(configs, threads, report, reportFile == null ? null : new File(reportFile));
+    }
+
+    private static Map<String, String> toVariables(JsonElement element, String name) {
+        if (!element.isJsonObject()) {
+            throw new IllegalArgumentException(name + " of the batch manifest must be a json object");
+        }
+
+        Map<String, String> variables = new HashMap<>();
+        for (Map.Entry<String, JsonElement> e : ((JsonObject) element).entrySet()) {
+            if (!e.getValue().isJsonPrimitive()) {
+                throw new IllegalArgumentException(name + "." + e.getKey() + " of the batch manifest must be a string, number or boolean");
+            }
+            variables.put(e.getKey(), e.getValue().getAsString());
+        }
+        return variables;
+    }
+
+    /**
+     * Runs all generations, a failed generation does not stop the others. Throws if any generation failed.
+     */
+    public void run() throws Exception {
+        GenerationReport generationReport = new GenerationReport(report || reportFile != null);
+        long start = System.nanoTime();
+        Map<String, Exception> failures = new ConcurrentSkipListMap<>();
+        //The configs of the caller are left as they are, the generations only change their copies.
+        List<OpenApiGeneratorConfig> generations = new ArrayList<>();
+        for (OpenApiGeneratorConfig config : configs) {
+            generations.add(new OpenApiGeneratorConfig(config));
+        }
+
+        generationReport.time("batch", () -> {
+            writeCommonFiles(generations, generationReport);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Void>> futures = new ArrayList<>();
+                for (OpenApiGeneratorConfig config : generations) {
+                    futures.add(executor.submit(generationReport.wrap(() -> {
+                        try {
+                            generationReport.time(config.getPackageName(), () -> OpenApiGenerator.generate(config, generationReport));
+                        } catch (Exception e) {
+                            System.out.println("WARNING generation of " + config.getPackageName() + " failed, continuing with the other generations: " + e);
+                            failures.put(config.getPackageName(), e);
+                        }
+                        return null;
+                    })));
+                }
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+
+        if (report) {
+            generationReport.print();
+        } else {
+            generationReport.printPhases(1);
+        }
+
+        if (reportFile != null) {
+            generationReport.writeJson(reportFile);
+        }
+
+        System.out.println("INFO: batch: " + (configs.size() - failures.size()) + " of " + configs.size() + " generations succeeded in "
+                + (System.nanoTime() - start) / 1_000_000 + "ms on " + threads + " threads");
+        if (!failures.isEmpty()) {
+            IllegalStateException e = new IllegalStateException("generation of " + String.join(", ", failures.keySet()) + " failed");
+            failures.values().forEach(e::addSuppressed);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the common files once per common package and common target directories, the generations then skip them.
+     */
+    private static void writeCommonFiles(List<OpenApiGeneratorConfig> generations, GenerationReport generationReport) throws Exception {
+        Map<List<Object>, List<OpenApiGeneratorConfig>> groups = new LinkedHashMap<>();
+        for (OpenApiGeneratorConfig config : generations) {
+            List<Object> key = Arrays.asList(config.getCommonPackageName(),
+                    config.getCommonApiSourceTargetDir().getAbsoluteFile(), config.getCommonImplSourceTargetDir().getAbsoluteFile());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(config);
+        }
+
+        for (List<OpenApiGeneratorConfig> group : groups.values()) {
+            OpenApiGeneratorConfig first = group.get(0);
+            GenerationContext context = new GenerationContext(null);
+            context.setReport(generationReport);
+            context.setPackageName(first.getCommonPackageName());
+            context.setCommonPackageName(first.getCommonPackageName());
+            context.setApiSourceRoot(first.getCommonApiSourceTargetDir());
+            context.setImplSourceRoot(first.getCommonImplSourceTargetDir());
+            context.setCommonApiSourceRoot(first.getCommonApiSourceTargetDir());
+            context.setCommonImplSourceRoot(first.getCommonImplSourceTargetDir());
+            context.setIncremental(group.stream().anyMatch(OpenApiGeneratorConfig::isIncremental));
+            context.setWriterThreads(first.getWriterThreads());
+            context.addCommonFiles();
+            context.writeGeneratedFilesToDisk();
+
+            for (OpenApiGeneratorConfig config : group) {
+                config.setWriteCommonFiles(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi;
+
+import ch.imagic.openapi.misc.SchemaDocuments;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one JVM running and generates again whenever a schema file changes or a client asks for it.
+ * Clients connect to the loopback port and send one line per request:
+ * "generate" answers "OK &lt;ms&gt;" or "ERROR &lt;message&gt;", "stop" answers "OK" and ends the daemon.
+ * Every connection is served on its own thread, generations of several clients run one after the other.
+ */
+public class GeneratorDaemon {
+
+    //Editors often write a file in several steps, wait until the directory is quiet for this long.
+    private static final long QUIET_PERIOD_MS = 200;
+    //A client that keeps its connection open without sending a request is disconnected after this long.
+    private static final int CLIENT_TIMEOUT_MS = 60_000;
+
+    private final OpenApiGeneratorConfig config;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private volatile boolean running = true;
+
+    public GeneratorDaemon(OpenApiGeneratorConfig config) {
+        this.config = Objects.requireNonNull(config, "config must not be null");
+    }
+
+    /**
+     * Generates once and then serves until stopped.
+     *
+     * @param watch regenerate when one of the schema files changes
+     * @param port loopback port for generation requests, 0 picks a free port, negative disables the socket
+     */
+    public void run(boolean watch, int port) throws Exception {
+        generate();
+
+        ServerSocket server = null;
+        if (port >= 0) {
+            server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+            System.out.println("INFO: listening for generation requests on " + server.getInetAddress().getHostAddress() + ":" + server.getLocalPort());
+            ServerSocket s = server;
+            Thread acceptor = new Thread(() -> serve(s), "generator-daemon-socket");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        try {
+            if (watch) {
+                watch();
+            } else {
+                stopped.await();
+            }
+        } finally {
+            running = false;
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+        stopped.countDown();
+    }
+
+    /**
+     * Runs one generation, failures are reported and do not end the daemon.
+     * Returns null on success or the error message.
+     */
+    public synchronized String generate() {
+        long start = System.nanoTime();
+        try {
+            OpenApiGenerator.generate(config);
+            System.out.println("INFO: generation finished in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+            return null;
+        } catch (Exception e) {
+            StringWriter trace = new StringWriter();
+            e.printStackTrace(new PrintWriter(trace));
+            System.out.println("WARNING generation failed: " + trace);
+            return String.valueOf(e.getMessage());
+        }
+    }
+
+    private List<File> getWatchedFiles() {
+        List<File> files = new ArrayList<>();
+        addSchemaFiles(files, config.getSchema());
+        if (config.getExtensionSchema() != null) {
+            addSchemaFiles(files, config.getExtensionSchema());
+        }
+        for (OpenApiExtensionConfig ext : config.getExtensions()) {
+            addSchemaFiles(files, ext.getSchema());
+        }
+        return files;
+    }
+
+    /**
+     * The schema and the files it references. Only the schema is watched if it can not be read, a change to it triggers the next generation.
+     */
+    private static void addSchemaFiles(List<File> files, File schema) {
+        try {
+            files.addAll(SchemaDocuments.getSchemaFiles(schema));
+        } catch (Exception e) {
+            files.add(schema);
+        }
+    }
+
+    private void watch() throws Exception {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey, Path> keys = new HashMap<>();
+            Map<Path, Set<Path>> watched = new HashMap<>();
+            updateWatched(watchService, keys, watched);
+
+            while (running) {
+                WatchKey key = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    continue;
+                }
+
+                boolean changed = false;
+                while (key != null) {
+                    changed |= isRelevant(key, keys, watched);
+                    key = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS);
+                }
+
+                if (changed && running) {
+                    System.out.println("INFO: schema changed, generating");
+                    generate();
+                    updateWatched(watchService, keys, watched);
+                }
+            }
+        }
+    }
+
+    /**
+     * Watches the current schema files, a changed schema may reference files that were not watched so far or no longer reference others.
+     */
+    private void updateWatched(WatchService watchService, Map<WatchKey, Path> keys, Map<Path, Set<Path>> watched) {
+        Map<Path, Set<Path>> files = new HashMap<>();
+        for (File file : getWatchedFiles()) {
+            Path path = file.getAbsoluteFile().toPath();
+            files.computeIfAbsent(path.getParent(), k -> new HashSet<>()).add(path.getFileName());
+        }
+
+        for (Iterator<Map.Entry<WatchKey, Path>> it = keys.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<WatchKey, Path> e = it.next();
+            if (!files.containsKey(e.getValue())) {
+                e.getKey().cancel();
+                it.remove();
+                System.out.println("INFO: no longer watching " + e.getValue());
+            }
+        }
+
+        Map<Path, Set<Path>> previous = new HashMap<>(watched);
+        watched.clear();
+        for (Map.Entry<Path, Set<Path>> e : files.entrySet()) {
+            Path dir = e.getKey();
+            if (!keys.containsValue(dir)) {
+                try {
+                    keys.put(dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY), dir);
+                } catch (IOException ex) {
+                    System.out.println("WARNING can not watch " + dir + ": " + ex.getMessage());
+                    continue;
+                }
+            }
+            if (!e.getValue().equals(previous.get(dir))) {
+                System.out.println("INFO: watching " + e.getValue() + " in " + dir);
+            }
+            watched.put(dir, e.getValue());
+        }
+    }
+
+    private static boolean isRelevant(WatchKey key, Map<WatchKey, Path> keys, Map<Path, Set<Path>> watched) {
+        boolean relevant = false;
+        Set<Path> names = watched.getOrDefault(keys.get(key), Collections.emptySet());
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || names.contains((Path) event.context())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private void serve(ServerSocket server) {
+        while (running) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                if (running) {
+                    System.out.println("WARNING could not accept generation request: " + e.getMessage());
+                }
+                continue;
+            }
+
+            Thread client = new Thread(() -> serve(socket), "generator-daemon-client");
+            client.setDaemon(true);
+            client.start();
+        }
+    }
+
+    private void serve(Socket client) {
+        try (Socket socket = client) {
+            socket.setSoTimeout(CLIENT_TIMEOUT_MS);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.trim();
+                if (command.equals("generate")) {
+                    long start = System.nanoTime();
+                    String error = generate();
+                    out.write(error == null ? "OK " + (System.nanoTime() - start) / 1_000_000 + "\n" : "ERROR " + error.replace('\n', ' ') + "\n");
+                } else if (command.equals("stop")) {
+                    out.write("OK\n");
+                    out.flush();
+                    stop();
+                    return;
+                } else if (!command.isEmpty()) {
+                    out.write("ERROR unknown command " + command + "\n");
+                }
+                out.flush();
+            }
+        } catch (SocketTimeoutException e) {
+            System.out.println("INFO: closed generation request connection idle for " + CLIENT_TIMEOUT_MS / 1000 + "s");
+        } catch (IOException e) {
+            if (running) {
+                System.out.println("WARNING generation request failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -23,13 +23,9 @@ import java.util.*;
 
 public class Main  {
 
-    private static String getMandatoryVariable(String name) {
-        String val = System.getProperty(name);
-        if (val == null || val.isEmpty()) {
-            val = System.getenv(name);
-        }
-
-        if (val == null || val.isEmpty()) {
+    private static String getMandatoryVariable(Map<String, String> variables, String name) {
+        String val = getOptionalVariable(variables, name, null);
+        if (val == null) {
             System.err.println("Missing mandatory env variable " + name);
             printUsageAndExit();
         }
@@ -38,8 +34,15 @@ public class Main  {
     }
 
 
-    private static String getOptionalVariable(String name, String defaultValue) {
-        String val = System.getProperty(name);
+    /**
+     * The variable from the given map, falls back to the system properties and then to the environment.
+     */
+    static String getOptionalVariable(Map<String, String> variables, String name, String defaultValue) {
+        String val = variables.get(name);
+        if (val == null || val.isEmpty()) {
+            val = System.getProperty(name);
+        }
+
         if (val == null || val.isEmpty()) {
             val = System.getenv(name);
         }
@@ -51,6 +54,19 @@ public class Main  {
         return val;
     }
 
+    /**
+     * The comma separated values of the variable, empty if it is not set.
+     */
+    static List<String> getListVariable(Map<String, String> variables, String name) {
+        List<String> values = new ArrayList<>();
+        for (String value : getOptionalVariable(variables, name, "").split(",")) {
+            if (!value.trim().isEmpty()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+
     private static void printUsageAndExit() {
         System.out.println();
         System.out.println("Mandatory env variables: ");
@@ -75,6 +91,28 @@ public class Main  {
         System.out.println("\tGSON: defaults to true, if set to false no gson annotations will be generated.");
         System.out.println("\tJACKSON: defaults to true, if set to false no jackson annotations will be generated.");
         System.out.println("\tJSR380: defaults to true, if set to false no jakarta.validation annotations will be generated.");
+        System.out.println("\tJAVADOC: defaults to true, if set to false descriptions from the schema are neither loaded nor generated as javadoc. Reduces memory usage for large schemas.");
+        System.out.println("\tINCLUDE_TAGS, INCLUDE_OPERATIONS, INCLUDE_PATHS: optional comma separated tags, operation ids and path globs like /pets/* or /admin/**.\n\t\tIf any is set, only the operations matching at least one of them are generated, with the schemas, parameters, responses and headers they use.");
+        System.out.println("\tEXCLUDE_TAGS, EXCLUDE_OPERATIONS, EXCLUDE_PATHS: optional comma separated tags, operation ids and path globs of operations that are not generated.\n\t\tExcludes win over includes, everything only used by excluded operations is not generated either.");
+        System.out.println("\tLINT: defaults to false, if set to true schema shapes that are slow at runtime are reported with severity and location:\n\t\tunbounded list responses, base64 binary data in json and oneOf/anyOf without discriminator.");
+        System.out.println("\tLINT_FAIL_ON: optional INFO, WARNING or ERROR, implies LINT. The generation fails if more than LINT_FAIL_THRESHOLD findings have this severity or a higher one.");
+        System.out.println("\tLINT_FAIL_THRESHOLD: defaults to 0, the number of findings of LINT_FAIL_ON severity or higher that are tolerated.");
+        System.out.println("\tDEDUP_INLINE_SCHEMAS: defaults to false, if set to true identical inline schemas share one generated class named after the first occurrence\n\t\tinstead of one class each.");
+        System.out.println("\tMERGE_OPERATION_CLASSES: defaults to false, if set to true operations with identical responses or request parameters share one generated\n\t\tresponse or request class named after the first operation.");
+        System.out.println("\tINCREMENTAL: defaults to false, if set to true only files whose content changed are written and files from a previous generation that are no longer generated are deleted.\n\t\tA manifest file is kept in each source target directory for this.");
+        System.out.println("\tWRITER_THREADS: number of threads used to write the generated files to disk, defaults to the number of available processors.");
+        System.out.println("\tGENERATOR_THREADS: number of threads used to generate the model, request and response classes, defaults to 1.\n\t\tThe generated sources are the same for any number of threads.");
+        System.out.println("\tREPORT: defaults to false, if set to true the wall time, cpu time and allocated bytes of every phase and the generated classes per package are printed at the end.");
+        System.out.println("\tREPORT_FILE: optional path, the same report is written to this file as json.");
+        System.out.println("\tWATCH: defaults to false, if set to true the generator keeps running and generates again whenever one of the schema files changes.");
+        System.out.println("\tDAEMON_PORT: if set the generator keeps running and generates again for every line 'generate' sent to this port on 127.0.0.1.\n\t\tEvery request is answered with 'OK <ms>' or 'ERROR <message>', the line 'stop' ends the generator. 0 picks a free port.\n\t\tINCREMENTAL defaults to true if WATCH or DAEMON_PORT is set.");
+        System.out.println("\tSTREAMING: defaults to false, if set to true every class is written as soon as it is generated instead of keeping all generated sources in memory.\n\t\tLowers the peak heap for large schemas, the generated files are the same.");
+        System.out.println("\tCACHE_DIR: optional directory for the generation cache, disabled by default.\n\t\tIf the schemas, the configuration and the generator did not change, the output is restored from the cache instead of generated.\n\t\tIf only an extension schema changed, the preprocessed base schema is loaded from the cache.");
+        System.out.println("\tDIFF: defaults to false, if set to true only the model, request and response classes affected by the schema changes since the previous generation are generated again.\n\t\tThe previous generation is taken from CACHE_DIR or, if PREVIOUS_SCHEMA is set, from the target directories. A summary of the changes is printed.");
+        System.out.println("\tPREVIOUS_SCHEMA: optional path to the schema of the previous INCREMENTAL generation into the same target directories, used by DIFF instead of CACHE_DIR.");
+        System.out.println("\tJAR: optional path, the generated sources are compiled in memory and written to this jar. Requires a jdk, cannot be combined with STREAMING.\n\t\tThe jar is only compiled again if the generated sources changed, with CACHE_DIR it is cached as well.");
+        System.out.println("\tJAR_CLASSPATH: the jars the generated sources of JAR are compiled against, separated by the path separator, e.g. gson, jackson-annotations and jakarta.validation-api.");
+        System.out.println("\tJAR_RELEASE: defaults to 11, the java release of JAR.");
         System.out.println();
         System.out.println("Extension env variables (optional): ");
         System.out.println("\tEXTENSION_SCHEMA: path to the extension schema file. This file is a full openapi schema.");
@@ -87,6 +125,15 @@ public class Main  {
         System.out.println("\tEXTENSION_RESPONSE_SUFFIX: Suffix for generated response classes, defaults to 'Response'.");
         System.out.println("\tEXTENSION_REQUEST_SUFFIX: Suffix for generated response classes, defaults to 'Request'.");
         System.out.println("\tEXTENSION_OPERATION_SUFFIX: Suffix for extended operations, defaults to 'Extended'.");
+        System.out.println("More extension schemas can be added with the same variables followed by _2, _3, ... e.g. EXTENSION_SCHEMA_2 and EXTENSION_PACKAGE_2.");
+        System.out.println("The base schema is only processed once, all extensions are generated in parallel.");
+        System.out.println();
+        System.out.println("Batch env variables (optional): ");
+        System.out.println("\tBATCH: path to a json manifest with many generations, all of them are run in this jvm. All other variables are then read from the manifest.");
+        System.out.println("\t\t{\"defaults\": {\"COMMON_PACKAGE\": ...}, \"generations\": [{\"SCHEMA\": ..., \"PACKAGE\": ..., \"SOURCE_TARGET_DIR\": ...}, ...]}");
+        System.out.println("\t\tEvery generation takes the variables above from its entry, then from defaults, then from the environment. WATCH and DAEMON_PORT are not supported.");
+        System.out.println("\t\tThe common files are written once per COMMON_PACKAGE and common target directories. REPORT and REPORT_FILE of the manifest cover all generations.");
+        System.out.println("\tBATCH_THREADS: number of generations that run at the same time, defaults to the number of available processors. May also be set in defaults.");
         System.out.println();
         System.out.println("Simple Example: ");
         System.out.println("export SCHEMA=petstore.json");
@@ -97,43 +144,81 @@ public class Main  {
     }
 
     public static void main(String[] args) throws Exception {
-        String allSources = getOptionalVariable("SOURCE_TARGET_DIR", null);
+        Map<String, String> variables = Collections.emptyMap();
+        String batch = getOptionalVariable(variables, "BATCH", null);
+        if (batch != null) {
+            BatchGenerator.load(new File(batch)).run();
+            return;
+        }
+
+        boolean watch = "true".equalsIgnoreCase(getOptionalVariable(variables, "WATCH", "false"));
+        int daemonPort = Integer.parseInt(getOptionalVariable(variables, "DAEMON_PORT", "-1"));
+        boolean daemon = watch || daemonPort >= 0;
+        OpenApiGeneratorConfig config = createConfig(variables, daemon);
+
+        if (daemon) {
+            new GeneratorDaemon(config).run(watch, daemonPort);
+            return;
+        }
+
+        OpenApiGenerator.generate(config);
+    }
+
+    /**
+     * Creates the configuration of one generation from the variables, see getOptionalVariable.
+     */
+    static OpenApiGeneratorConfig createConfig(Map<String, String> variables, boolean daemon) {
+        String allSources = getOptionalVariable(variables, "SOURCE_TARGET_DIR", null);
         String implSource = allSources != null ?
-                getOptionalVariable("IMPL_SOURCE_TARGET_DIR", allSources) : getMandatoryVariable("IMPL_SOURCE_TARGET_DIR");
+                getOptionalVariable(variables, "IMPL_SOURCE_TARGET_DIR", allSources) : getMandatoryVariable(variables, "IMPL_SOURCE_TARGET_DIR");
         String apiSource = allSources != null ?
-                getOptionalVariable("API_SOURCE_TARGET_DIR", allSources) : getMandatoryVariable("API_SOURCE_TARGET_DIR");
+                getOptionalVariable(variables, "API_SOURCE_TARGET_DIR", allSources) : getMandatoryVariable(variables, "API_SOURCE_TARGET_DIR");
         String commonImplSource = allSources != null ?
-                getOptionalVariable("COMMON_IMPL_SOURCE_TARGET_DIR", allSources) : getMandatoryVariable("COMMON_IMPL_SOURCE_TARGET_DIR");
+                getOptionalVariable(variables, "COMMON_IMPL_SOURCE_TARGET_DIR", allSources) : getMandatoryVariable(variables, "COMMON_IMPL_SOURCE_TARGET_DIR");
         String commonApiSource = allSources != null ?
-                getOptionalVariable("COMMON_API_SOURCE_TARGET_DIR", allSources) : getMandatoryVariable("COMMON_API_SOURCE_TARGET_DIR");
+                getOptionalVariable(variables, "COMMON_API_SOURCE_TARGET_DIR", allSources) : getMandatoryVariable(variables, "COMMON_API_SOURCE_TARGET_DIR");
 
-        String schema = getMandatoryVariable("SCHEMA");
-        String packageName = getMandatoryVariable("PACKAGE");
-        String commonPackageName = getOptionalVariable("COMMON_PACKAGE", packageName + ".common");
+        String schema = getMandatoryVariable(variables, "SCHEMA");
+        String packageName = getMandatoryVariable(variables, "PACKAGE");
+        String commonPackageName = getOptionalVariable(variables, "COMMON_PACKAGE", packageName + ".common");
 
-        String modelSuffix = getOptionalVariable("MODEL_SUFFIX", "");
-        String tagSuffix = getOptionalVariable("TAG_SUFFIX", "Api");
-        String responseSuffix = getOptionalVariable("RESPONSE_SUFFIX", "Response");
-        String requestSuffix = getOptionalVariable("REQUEST_SUFFIX", "Request");
-        String interfaceSuffix = getOptionalVariable("INTERFACE_OPERATION_DEFINITION_SUFFIX", "");
+        String modelSuffix = getOptionalVariable(variables, "MODEL_SUFFIX", "");
+        String tagSuffix = getOptionalVariable(variables, "TAG_SUFFIX", "Api");
+        String responseSuffix = getOptionalVariable(variables, "RESPONSE_SUFFIX", "Response");
+        String requestSuffix = getOptionalVariable(variables, "REQUEST_SUFFIX", "Request");
+        String interfaceSuffix = getOptionalVariable(variables, "INTERFACE_OPERATION_DEFINITION_SUFFIX", "");
 
-        boolean jsr380 = !"false".equalsIgnoreCase(getOptionalVariable("JSR380", "true"));
-        boolean gson = !"false".equalsIgnoreCase(getOptionalVariable("GSON", "true"));
-        boolean jackson = !"false".equalsIgnoreCase(getOptionalVariable("JACKSON", "true"));
+        boolean jsr380 = !"false".equalsIgnoreCase(getOptionalVariable(variables, "JSR380", "true"));
+        boolean gson = !"false".equalsIgnoreCase(getOptionalVariable(variables, "GSON", "true"));
+        boolean jackson = !"false".equalsIgnoreCase(getOptionalVariable(variables, "JACKSON", "true"));
+        boolean javadoc = !"false".equalsIgnoreCase(getOptionalVariable(variables, "JAVADOC", "true"));
+        boolean dedupInlineSchemas = "true".equalsIgnoreCase(getOptionalVariable(variables, "DEDUP_INLINE_SCHEMAS", "false"));
+        boolean incremental = "true".equalsIgnoreCase(getOptionalVariable(variables, "INCREMENTAL", daemon ? "true" : "false"));
+        int writerThreads = Integer.parseInt(getOptionalVariable(variables, "WRITER_THREADS", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int generatorThreads = Integer.parseInt(getOptionalVariable(variables, "GENERATOR_THREADS", "1"));
+        String cacheDir = getOptionalVariable(variables, "CACHE_DIR", null);
+        boolean streaming = "true".equalsIgnoreCase(getOptionalVariable(variables, "STREAMING", "false"));
+        boolean diff = "true".equalsIgnoreCase(getOptionalVariable(variables, "DIFF", "false"));
+        String previousSchema = getOptionalVariable(variables, "PREVIOUS_SCHEMA", null);
+        String jar = getOptionalVariable(variables, "JAR", null);
+        String jarClasspath = getOptionalVariable(variables, "JAR_CLASSPATH", "");
+        int jarRelease = Integer.parseInt(getOptionalVariable(variables, "JAR_RELEASE", "11"));
+        boolean report = "true".equalsIgnoreCase(getOptionalVariable(variables, "REPORT", "false"));
+        String reportFile = getOptionalVariable(variables, "REPORT_FILE", null);
 
-        String extensionSchema = getOptionalVariable("EXTENSION_SCHEMA", null);
-        String extensionPackage = getOptionalVariable("EXTENSION_PACKAGE", null);
-        if (extensionPackage == null) {
+        String extensionSchema = getOptionalVariable(variables, "EXTENSION_SCHEMA", null);
+        String extensionPackage = getOptionalVariable(variables, "EXTENSION_PACKAGE", null);
+        if (extensionSchema != null && extensionPackage == null) {
             System.err.println("EXTENSION_PACKAGE must be set if EXTENSION_SCHEMA is set!");
             printUsageAndExit();
         }
-        String extensionImplSource = getOptionalVariable("EXTENSION_IMPL_SOURCE_TARGET_DIR", implSource);
-        String extensionApiSource = getOptionalVariable("EXTENSION_API_SOURCE_TARGET_DIR", apiSource);
-        String extensionModelSuffix = getOptionalVariable("EXTENSION_MODEL_SUFFIX", "");
-        String extensionTagSuffix = getOptionalVariable("EXTENSION_TAG_SUFFIX", "Api");
-        String extensionResponseSuffix = getOptionalVariable("EXTENSION_RESPONSE_SUFFIX", "Response");
-        String extensionRequestSuffix = getOptionalVariable("EXTENSION_REQUEST_SUFFIX", "Request");
-        String extensionOperationSuffix = getOptionalVariable("EXTENSION_OPERATION_SUFFIX", "Extended");
+        String extensionImplSource = getOptionalVariable(variables, "EXTENSION_IMPL_SOURCE_TARGET_DIR", implSource);
+        String extensionApiSource = getOptionalVariable(variables, "EXTENSION_API_SOURCE_TARGET_DIR", apiSource);
+        String extensionModelSuffix = getOptionalVariable(variables, "EXTENSION_MODEL_SUFFIX", "");
+        String extensionTagSuffix = getOptionalVariable(variables, "EXTENSION_TAG_SUFFIX", "Api");
+        String extensionResponseSuffix = getOptionalVariable(variables, "EXTENSION_RESPONSE_SUFFIX", "Response");
+        String extensionRequestSuffix = getOptionalVariable(variables, "EXTENSION_REQUEST_SUFFIX", "Request");
+        String extensionOperationSuffix = getOptionalVariable(variables, "EXTENSION_OPERATION_SUFFIX", "Extended");
 
         OpenApiGeneratorConfig config = new OpenApiGeneratorConfig();
         config.setSchema(new File(schema));
@@ -151,6 +236,35 @@ public class Main  {
         config.setJsr380(jsr380);
         config.setGson(gson);
         config.setJackson(jackson);
+        config.setJavadoc(javadoc);
+        config.setDedupInlineSchemas(dedupInlineSchemas);
+        config.setMergeOperationClasses("true".equalsIgnoreCase(getOptionalVariable(variables, "MERGE_OPERATION_CLASSES", "false")));
+        config.setLint("true".equalsIgnoreCase(getOptionalVariable(variables, "LINT", "false")));
+        String lintFailOn = getOptionalVariable(variables, "LINT_FAIL_ON", null);
+        config.setLintFailOn(lintFailOn == null ? null : SchemaLinter.Severity.valueOf(lintFailOn.toUpperCase(Locale.ROOT)));
+        config.setLintFailThreshold(Integer.parseInt(getOptionalVariable(variables, "LINT_FAIL_THRESHOLD", "0")));
+        config.setIncludeTags(getListVariable(variables, "INCLUDE_TAGS"));
+        config.setExcludeTags(getListVariable(variables, "EXCLUDE_TAGS"));
+        config.setIncludeOperations(getListVariable(variables, "INCLUDE_OPERATIONS"));
+        config.setExcludeOperations(getListVariable(variables, "EXCLUDE_OPERATIONS"));
+        config.setIncludePaths(getListVariable(variables, "INCLUDE_PATHS"));
+        config.setExcludePaths(getListVariable(variables, "EXCLUDE_PATHS"));
+        config.setIncremental(incremental);
+        config.setWriterThreads(writerThreads);
+        config.setGeneratorThreads(generatorThreads);
+        config.setCacheDir(cacheDir == null ? null : new File(cacheDir));
+        config.setStreaming(streaming);
+        config.setDiff(diff);
+        config.setPreviousSchema(previousSchema == null ? null : new File(previousSchema));
+        config.setJar(jar == null ? null : new File(jar));
+        for (String entry : jarClasspath.split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                config.getJarClasspath().add(new File(entry));
+            }
+        }
+        config.setJarRelease(jarRelease);
+        config.setReport(report);
+        config.setReportFile(reportFile == null ? null : new File(reportFile));
 
         if (extensionSchema != null) {
             config.setExtensionSchema(new File(extensionSchema));
@@ -164,7 +278,27 @@ public class Main  {
             config.setExtensionOperationSuffix(extensionOperationSuffix);
         }
 
-        OpenApiGenerator.generate(config);
+        for (int i = 2; getOptionalVariable(variables, "EXTENSION_SCHEMA_" + i, null) != null; i++) {
+            String pkg = getOptionalVariable(variables, "EXTENSION_PACKAGE_" + i, null);
+            if (pkg == null) {
+                System.err.println("EXTENSION_PACKAGE_" + i + " must be set if EXTENSION_SCHEMA_" + i + " is set!");
+                printUsageAndExit();
+            }
+
+            OpenApiExtensionConfig ext = new OpenApiExtensionConfig();
+            ext.setSchema(new File(getOptionalVariable(variables, "EXTENSION_SCHEMA_" + i, null)));
+            ext.setPackageName(pkg);
+            ext.setImplSource(new File(getOptionalVariable(variables, "EXTENSION_IMPL_SOURCE_TARGET_DIR_" + i, implSource)));
+            ext.setApiSource(new File(getOptionalVariable(variables, "EXTENSION_API_SOURCE_TARGET_DIR_" + i, apiSource)));
+            ext.setModelSuffix(getOptionalVariable(variables, "EXTENSION_MODEL_SUFFIX_" + i, ""));
+            ext.setTagSuffix(getOptionalVariable(variables, "EXTENSION_TAG_SUFFIX_" + i, "Api"));
+            ext.setResponseSuffix(getOptionalVariable(variables, "EXTENSION_RESPONSE_SUFFIX_" + i, "Response"));
+            ext.setRequestSuffix(getOptionalVariable(variables, "EXTENSION_REQUEST_SUFFIX_" + i, "Request"));
+            ext.setOperationSuffix(getOptionalVariable(variables, "EXTENSION_OPERATION_SUFFIX_" + i, "Extended"));
+            config.addExtension(ext);
+        }
+
+        return config;
     }
 
 
@@ -0,0 +1,105 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi;
+
+import java.io.File;
+
+/**
+ * One extension schema, see EXTENSION.md.
+ */
+public class OpenApiExtensionConfig {
+
+    private File schema;
+    private File implSource;
+    private File apiSource;
+    private String packageName;
+    private String modelSuffix = "";
+    private String tagSuffix = "Api";
+    private String responseSuffix = "Response";
+    private String requestSuffix = "Request";
+    private String operationSuffix = "Extended";
+
+    public File getSchema() {
+        return schema;
+    }
+
+    public void setSchema(File schema) {
+        this.schema = schema;
+    }
+
+    public File getImplSource() {
+        return implSource;
+    }
+
+    public void setImplSource(File implSource) {
+        this.implSource = implSource;
+    }
+
+    public File getApiSource() {
+        return apiSource;
+    }
+
+    public void setApiSource(File apiSource) {
+        this.apiSource = apiSource;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public void setPackageName(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public String getModelSuffix() {
+        return modelSuffix;
+    }
+
+    public void setModelSuffix(String modelSuffix) {
+        this.modelSuffix = modelSuffix;
+    }
+
+    public String getTagSuffix() {
+        return tagSuffix;
+    }
+
+    public void setTagSuffix(String tagSuffix) {
+        this.tagSuffix = tagSuffix;
+    }
+
+    public String getResponseSuffix() {
+        return responseSuffix;
+    }
+
+    public void setResponseSuffix(String responseSuffix) {
+        this.responseSuffix = responseSuffix;
+    }
+
+    public String getRequestSuffix() {
+        return requestSuffix;
+    }
+
+    public void setRequestSuffix(String requestSuffix) {
+        this.requestSuffix = requestSuffix;
+    }
+
+    public String getOperationSuffix() {
+        return operationSuffix;
+    }
+
+    public void setOperationSuffix(String operationSuffix) {
+        this.operationSuffix = operationSuffix;
+    }
+}
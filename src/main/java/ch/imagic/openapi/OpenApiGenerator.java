@@ -16,9 +16,10 @@ package ch.imagic.openapi;
 
 import ch.imagic.openapi.misc.*;
 import ch.imagic.openapi.model.RootModel;
-import com.google.gson.Gson;
 
-import java.nio.file.Files;
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
 
 public class OpenApiGenerator {
 
@@ -59,36 +60,339 @@ public class OpenApiGenerator {
             throw new IllegalArgumentException("interfaceSuffix must not be null");
         }
 
-        if (cfg.getExtensionSchema() != null) {
-            if (cfg.getExtensionApiSource() == null) {
+        if (cfg.getWriterThreads() < 1) {
+            throw new IllegalArgumentException("writerThreads must be at least 1");
+        }
+
+        if (cfg.getGeneratorThreads() < 1) {
+            throw new IllegalArgumentException("generatorThreads must be at least 1");
+        }
+
+        Set<String> extensionPackages = new HashSet<>();
+        for (OpenApiExtensionConfig ext : getExtensions(cfg)) {
+            if (ext.getSchema() == null) {
+                throw new IllegalArgumentException("extension schema must not be null");
+            }
+
+            if (ext.getApiSource() == null) {
                 throw new IllegalArgumentException("extensionApiSource must not be null");
             }
 
-            if (cfg.getExtensionImplSource() == null) {
+            if (ext.getImplSource() == null) {
                 throw new IllegalArgumentException("extensionImplSource must not be null");
             }
 
-            if (cfg.getExtensionPackage() == null) {
+            if (ext.getPackageName() == null) {
                 throw new IllegalArgumentException("extensionPackage must not be null");
             }
 
-            if (cfg.getExtensionOperationSuffix() == null) {
+            if (ext.getOperationSuffix() == null) {
                 throw new IllegalArgumentException("extensionOperationSuffix must not be null");
             }
+
+            if (ext.getPackageName().equals(cfg.getPackageName()) || !extensionPackages.add(ext.getPackageName())) {
+                throw new IllegalArgumentException("extensionPackage " + ext.getPackageName() + " is used more than once");
+            }
+        }
+
+        if (cfg.isDiff() && cfg.getPreviousSchema() == null && cfg.getCacheDir() == null) {
+            throw new IllegalArgumentException("diff requires previousSchema or cacheDir");
+        }
+
+        if (cfg.isDiff() && cfg.getPreviousSchema() != null && !cfg.isIncremental()) {
+            throw new IllegalArgumentException("diff with previousSchema requires incremental, the previous files are found through the manifests");
         }
+
+        if (cfg.getJar() != null && cfg.isStreaming()) {
+            throw new IllegalArgumentException("jar cannot be combined with streaming, the generated sources are compiled from memory");
+        }
+
+        if (cfg.getJar() != null && cfg.getJarClasspath() == null) {
+            throw new IllegalArgumentException("jarClasspath must not be null");
+        }
+
+        if (cfg.getLintFailThreshold() < 0) {
+            throw new IllegalArgumentException("lintFailThreshold must not be negative");
+        }
+
+        if (cfg.getIncludeTags() == null || cfg.getExcludeTags() == null || cfg.getIncludeOperations() == null
+                || cfg.getExcludeOperations() == null || cfg.getIncludePaths() == null || cfg.getExcludePaths() == null) {
+            throw new IllegalArgumentException("include and exclude lists must not be null");
+        }
+    }
+
+    /**
+     * The extension configured with the extension* properties followed by all extensions in the extensions list.
+     */
+    private static List<OpenApiExtensionConfig> getExtensions(OpenApiGeneratorConfig cfg) {
+        List<OpenApiExtensionConfig> result = new ArrayList<>();
+        if (cfg.getExtensionSchema() != null) {
+            OpenApiExtensionConfig ext = new OpenApiExtensionConfig();
+            ext.setSchema(cfg.getExtensionSchema());
+            ext.setImplSource(cfg.getExtensionImplSource());
+            ext.setApiSource(cfg.getExtensionApiSource());
+            ext.setPackageName(cfg.getExtensionPackage());
+            ext.setModelSuffix(cfg.getExtensionModelSuffix());
+            ext.setTagSuffix(cfg.getExtensionTagSuffix());
+            ext.setResponseSuffix(cfg.getExtensionResponseSuffix());
+            ext.setRequestSuffix(cfg.getExtensionRequestSuffix());
+            ext.setOperationSuffix(cfg.getExtensionOperationSuffix());
+            result.add(ext);
+        }
+
+        result.addAll(cfg.getExtensions());
+        return result;
     }
 
     public static void generate(OpenApiGeneratorConfig config) throws Exception {
+        GenerationReport report = new GenerationReport(config.isReport() || config.getReportFile() != null);
+        report.time("generate", () -> generate(config, report));
+
+        if (config.isReport()) {
+            report.print();
+        }
+
+        if (config.getReportFile() != null) {
+            report.writeJson(config.getReportFile());
+        }
+    }
+
+    /**
+     * Generates into the given report, which may be shared by generations that run at the same time. The report settings of the config are ignored.
+     */
+    public static void generate(OpenApiGeneratorConfig config, GenerationReport report) throws Exception {
         validateConfig(config);
-        Gson gson = new Gson();
-        String base = new String(Files.readAllBytes(config.getSchema().toPath()));
-        RootModel rootModel = gson.fromJson(base, RootModel.class);
+        try (SchemaDocuments documents = new SchemaDocuments(Runtime.getRuntime().availableProcessors())) {
+            generate(config, report, documents);
+        }
+    }
+
+    private static void generate(OpenApiGeneratorConfig config, GenerationReport report, SchemaDocuments documents) throws Exception {
+        GenerationCache cache = config.getCacheDir() == null ? null : new GenerationCache(config.getCacheDir());
+        String settingsKey = getBaseSettingsKey(config);
+        String baseKey = cache == null ? null : GenerationCache.digest(SchemaDocuments.getSchemaFiles(config.getSchema()), settingsKey);
+
+        List<OpenApiExtensionConfig> extensions = getExtensions(config);
+        List<GenerationContext> extContexts = new ArrayList<>();
+        List<String> extKeys = new ArrayList<>();
+        Set<GenerationContext> restored = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (OpenApiExtensionConfig ext : extensions) {
+            GenerationContext extContext = createExtensionContext(config, ext, report);
+            String extKey = cache == null ? null : getExtensionCacheKey(baseKey, ext);
+            if (cache != null && cache.restoreFiles(extKey, extContext)) {
+                restored.add(extContext);
+            }
+            extContexts.add(extContext);
+            extKeys.add(extKey);
+        }
+
+        //The preprocessed base model is only needed if an extension has to be generated.
+        GenerationContext context = prepareBase(config, report, documents, cache, settingsKey, baseKey, restored.size() < extensions.size());
+
+        if (!extensions.isEmpty()) {
+            //The base context is only read from now on, all extensions share it.
+            SchemaDependencyGraph baseGraph = context.getModel() == null ? null : new SchemaDependencyGraph(context);
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < extensions.size(); i++) {
+                OpenApiExtensionConfig ext = extensions.get(i);
+                GenerationContext extContext = extContexts.get(i);
+                String extKey = extKeys.get(i);
+                if (restored.contains(extContext)) {
+                    tasks.add(report.wrap(() -> {
+                        extContext.writeGeneratedFilesToDisk();
+                        return null;
+                    }));
+                    continue;
+                }
+
+                tasks.add(report.wrap(() -> {
+                    generateExtension(config, ext, extContext, context, baseGraph, documents);
+                    if (cache != null && !config.isStreaming()) {
+                        cache.storeFiles(extKey, extContext);
+                    }
+                    extContext.writeGeneratedFilesToDisk();
+                    return null;
+                }));
+            }
+            runAll(tasks);
+        }
+
+        context.writeGeneratedFilesToDisk();
 
-        GenerationContext context = new GenerationContext(rootModel);
+        if (config.getJar() != null) {
+            report.time(context.getPackageName() + "/jar", () -> buildJar(config, cache, context, extContexts));
+        }
+    }
+
+    /**
+     * Compiles the generated sources of the base schema and all extensions into the configured jar,
+     * unless the jar or the cache already contain the classes of exactly these sources.
+     */
+    private static void buildJar(OpenApiGeneratorConfig config, GenerationCache cache, GenerationContext context, List<GenerationContext> extContexts) throws Exception {
+        //The common files are generated by every context with the same content.
+        Map<String, CharSequence> sources = new TreeMap<>(context.getGenerated());
+        for (GenerationContext extContext : extContexts) {
+            extContext.getGenerated().forEach(sources::putIfAbsent);
+        }
+
+        File jar = config.getJar();
+        String key = JarCompiler.digest(sources, config.getJarClasspath(), config.getJarRelease());
+        if (JarCompiler.isUpToDate(jar, key)) {
+            System.out.println("INFO: " + context.getPackageName() + ": jar " + jar + " is up to date");
+            return;
+        }
+
+        if (cache != null && cache.restoreJar(key, context, jar)) {
+            return;
+        }
+
+        SortedMap<String, byte[]> classes = JarCompiler.compile(sources, config.getJarClasspath(), config.getJarRelease());
+        JarCompiler.writeJar(jar, classes, key);
+        System.out.println("INFO: " + context.getPackageName() + ": compiled " + sources.size() + " sources to " + classes.size() + " classes in " + jar);
+
+        if (cache != null) {
+            cache.storeJar(key, context, jar);
+        }
+    }
+
+    /**
+     * Everything except the schema that influences the generated sources of the base schema.
+     * Settings that only decide where or how fast files are written are not part of the key.
+     * The key is also written to the manifests, a schema diff only reuses files generated with the same key.
+     */
+    private static String getBaseSettingsKey(OpenApiGeneratorConfig config) throws Exception {
+        return GenerationCache.digest(config.getPackageName(), config.getCommonPackageName(),
+                config.getModelSuffix(), config.getTagSuffix(), config.getResponseSuffix(), config.getRequestSuffix(), config.getInterfaceSuffix(),
+                config.isJsr380(), config.isGson(), config.isJackson(), config.isJavadoc(), config.isApiExceptionRuntimeException(), config.isDedupInlineSchemas(), config.isMergeOperationClasses(),
+                config.getIncludeTags(), config.getExcludeTags(), config.getIncludeOperations(), config.getExcludeOperations(),
+                config.getIncludePaths(), config.getExcludePaths(),
+                //A run that failed the lint stores nothing, a stricter lint must not be skipped by a cache hit of a lenient one.
+                config.isLint(), config.getLintFailOn(), config.getLintFailThreshold());
+    }
+
+    private static String getExtensionCacheKey(String baseKey, OpenApiExtensionConfig ext) throws Exception {
+        return GenerationCache.digest(baseKey, SchemaDocuments.getSchemaFiles(ext.getSchema()), ext.getPackageName(),
+                ext.getModelSuffix(), ext.getTagSuffix(), ext.getResponseSuffix(), ext.getRequestSuffix(), ext.getOperationSuffix());
+    }
+
+    /**
+     * Returns the generated base context. Its files and, if needModel is set, its preprocessed model come from the cache if possible.
+     */
+    private static GenerationContext prepareBase(OpenApiGeneratorConfig config, GenerationReport report, SchemaDocuments documents, GenerationCache cache, String settingsKey, String baseKey, boolean needModel) throws Exception {
+        if (cache != null) {
+            GenerationContext context = createBaseContext(config, report, settingsKey);
+            if (cache.restoreFiles(baseKey, context) && (!needModel || cache.restoreSnapshot(baseKey, context))) {
+                return context;
+            }
+        }
+
+        GenerationContext context = createBaseContext(config, report, settingsKey);
+        load(context, config, config.getSchema(), documents);
+        context.addCommonFiles();
+
+        SchemaPreProcessors.preProcess(context);
+        lint(config, context);
+        if (config.isDiff()) {
+            report.time(context.getPackageName() + "/diff", () -> applyDiff(config, report, documents, cache, settingsKey, context));
+        }
+        generate(context);
+        if (config.isDiff()) {
+            System.out.println("INFO: " + context.getPackageName() + ": schema diff: reused " + context.getReusedFiles() + " classes of the previous generation");
+        }
+
+        if (cache != null) {
+            //The files of a streaming run are already written and no longer in memory.
+            if (!config.isStreaming()) {
+                cache.storeFiles(baseKey, context);
+            }
+            cache.storeSnapshot(baseKey, settingsKey, context);
+        }
+
+        return context;
+    }
+
+    /**
+     * Compares the preprocessed base model with the previous generation, the classes that are not affected are taken from the previous generation.
+     * Everything is generated if there is no usable previous generation.
+     */
+    private static void applyDiff(OpenApiGeneratorConfig config, GenerationReport report, SchemaDocuments documents, GenerationCache cache, String settingsKey, GenerationContext context) throws Exception {
+        GenerationContext previous = createBaseContext(config, report, settingsKey);
+        Map<String, String> hashes = Collections.emptyMap();
+        if (config.getPreviousSchema() != null) {
+            load(previous, config, config.getPreviousSchema(), documents);
+            SchemaPreProcessors.preProcess(previous);
+            if (!previous.reserveModelClassNames(previous.getModel().getComponents().getSchemas().keySet())) {
+                System.out.println("INFO: " + context.getPackageName() + ": model class names of the previous schema collide, generating everything");
+                return;
+            }
+            hashes = GeneratedFileWriter.readPrevious(previous);
+            if (hashes.isEmpty()) {
+                System.out.println("INFO: " + context.getPackageName() + ": no usable files of the previous generation, generating everything");
+                return;
+            }
+            System.out.println("INFO: " + context.getPackageName() + ": read " + hashes.size() + " files of the previous generation");
+        } else if (!cache.restorePrevious(settingsKey, previous)) {
+            System.out.println("INFO: " + context.getPackageName() + ": no previous generation in the cache, generating everything");
+            return;
+        }
+
+        //The class names of the new model are fixed up front, so the diff can tell which model classes were renamed.
+        if (!context.reserveModelClassNames(context.getModel().getComponents().getSchemas().keySet())) {
+            System.out.println("INFO: " + context.getPackageName() + ": model class names collide, generating everything");
+            return;
+        }
+
+        SchemaDiff diff = SchemaDiff.compute(previous, context);
+        diff.print(context.getPackageName(), context.getModel().getComponents().getSchemas().size());
+        context.setPreviousGeneration(diff, previous.getGenerated(), hashes);
+    }
+
+    private static void load(GenerationContext context, OpenApiGeneratorConfig config, File schema, SchemaDocuments documents) throws Exception {
+        RootModel model = context.getReport().time(context.getPackageName() + "/parse", () -> {
+            documents.prefetch(schema.getCanonicalFile().toPath());
+            RootModel loaded = SchemaLoader.load(schema, config.isJavadoc());
+            ExternalRefResolver.resolve(loaded, schema, documents, config.isJavadoc());
+            return loaded;
+        });
+
+        OperationFilter filter = createOperationFilter(config);
+        if (!filter.isEmpty()) {
+            context.getReport().time(context.getPackageName() + "/filter", () -> filter.apply(context.getPackageName(), model));
+        }
+        context.setModel(model);
+    }
+
+    private static OperationFilter createOperationFilter(OpenApiGeneratorConfig config) {
+        return new OperationFilter(config.getIncludeTags(), config.getExcludeTags(), config.getIncludeOperations(), config.getExcludeOperations(),
+                config.getIncludePaths(), config.getExcludePaths());
+    }
+
+    private static void lint(OpenApiGeneratorConfig config, GenerationContext context) {
+        if (config.isLint() || config.getLintFailOn() != null) {
+            context.getReport().time(context.getPackageName() + "/lint", () -> SchemaLinter.check(context, config.getLintFailOn(), config.getLintFailThreshold()));
+        }
+    }
+
+    private static void generate(GenerationContext context) {
+        context.getReport().time(context.getPackageName() + "/generateModels", () -> DataModelGenerator.generateModels(context));
+        context.getReport().time(context.getPackageName() + "/generateApis", () -> OperationGenerator.generateApis(context));
+    }
+
+    private static GenerationContext createBaseContext(OpenApiGeneratorConfig config, GenerationReport report, String settingsKey) {
+        GenerationContext context = new GenerationContext(null);
+        context.setReport(report);
+        context.setSettingsKey(settingsKey);
 
         context.setJackson(config.isJackson());
         context.setJsr380(config.isJsr380());
         context.setGson(config.isGson());
+        context.setIncremental(config.isIncremental());
+        context.setWriterThreads(config.getWriterThreads());
+        context.setGeneratorThreads(config.getGeneratorThreads());
+        context.setStreaming(config.isStreaming());
+        context.setWriteCommonFiles(config.isWriteCommonFiles());
+        context.setDedupInlineSchemas(config.isDedupInlineSchemas());
+        context.setMergeOperationClasses(config.isMergeOperationClasses());
 
         context.setImplSourceRoot(config.getImplSourceTargetDir());
         context.setApiSourceRoot(config.getApiSourceTargetDir());
@@ -102,46 +406,75 @@ public class OpenApiGenerator {
 
         context.setPackageName(config.getPackageName());
         context.setCommonPackageName(config.getCommonPackageName());
+        return context;
+    }
 
-        context.addCommonFiles();
-
-        SchemaPreProcessors.preProcess(context);
-        DataModelGenerator.generateModels(context);
-        OperationGenerator.generateApis(context);
-
-        if (config.getExtensionSchema() != null) {
-            String ext = new String(Files.readAllBytes(config.getExtensionSchema().toPath()));
-            GenerationContext extContext = new GenerationContext(gson.fromJson(ext, RootModel.class));
-            extContext.setImplSourceRoot(config.getExtensionImplSource());
-            extContext.setApiSourceRoot(config.getExtensionApiSource());
-            extContext.setCommonApiSourceRoot(config.getCommonApiSourceTargetDir());
-            extContext.setCommonImplSourceRoot(config.getCommonImplSourceTargetDir());
-
-            extContext.setJackson(config.isJackson());
-            extContext.setJsr380(config.isJsr380());
-            extContext.setGson(config.isGson());
-
-            extContext.setPackageName(config.getExtensionPackage());
-            extContext.setCommonPackageName(config.getCommonPackageName());
-            extContext.setModelSuffix(config.getExtensionModelSuffix());
-            extContext.setTagSuffix(config.getExtensionTagSuffix());
-            extContext.setResponseSuffix(config.getExtensionResponseSuffix());
-            extContext.setRequestSuffix(config.getExtensionRequestSuffix());
-            extContext.setExtensionOperationSuffix(config.getExtensionOperationSuffix());
-            extContext.setOperationInterfaceSuffix(config.getInterfaceSuffix());
+    private static GenerationContext createExtensionContext(OpenApiGeneratorConfig config, OpenApiExtensionConfig ext, GenerationReport report) {
+        GenerationContext extContext = new GenerationContext(null);
+        extContext.setReport(report);
+        extContext.setImplSourceRoot(ext.getImplSource());
+        extContext.setApiSourceRoot(ext.getApiSource());
+        extContext.setCommonApiSourceRoot(config.getCommonApiSourceTargetDir());
+        extContext.setCommonImplSourceRoot(config.getCommonImplSourceTargetDir());
+
+        extContext.setJackson(config.isJackson());
+        extContext.setJsr380(config.isJsr380());
+        extContext.setGson(config.isGson());
+        extContext.setIncremental(config.isIncremental());
+        extContext.setWriterThreads(config.getWriterThreads());
+        extContext.setGeneratorThreads(config.getGeneratorThreads());
+        extContext.setStreaming(config.isStreaming());
+        //The extensions share the common package of the base, which writes the common files once.
+        extContext.setWriteCommonFiles(false);
+        extContext.setDedupInlineSchemas(config.isDedupInlineSchemas());
+        extContext.setMergeOperationClasses(config.isMergeOperationClasses());
+
+        extContext.setPackageName(ext.getPackageName());
+        extContext.setCommonPackageName(config.getCommonPackageName());
+        extContext.setModelSuffix(ext.getModelSuffix());
+        extContext.setTagSuffix(ext.getTagSuffix());
+        extContext.setResponseSuffix(ext.getResponseSuffix());
+        extContext.setRequestSuffix(ext.getRequestSuffix());
+        extContext.setExtensionOperationSuffix(ext.getOperationSuffix());
+        extContext.setOperationInterfaceSuffix(config.getInterfaceSuffix());
+        return extContext;
+    }
 
-            extContext.addCommonFiles();
+    private static void generateExtension(OpenApiGeneratorConfig config, OpenApiExtensionConfig ext, GenerationContext extContext, GenerationContext base, SchemaDependencyGraph baseGraph, SchemaDocuments documents) throws Exception {
+        load(extContext, config, ext.getSchema(), documents);
+        extContext.addCommonFiles();
 
-            SchemaPreProcessors.preProcess(extContext);
+        SchemaPreProcessors.preProcess(extContext);
+        lint(config, extContext);
 
-            ExtensionPreProcessor.processExtension(context, extContext);
+        extContext.getReport().time(extContext.getPackageName() + "/processExtension", () -> ExtensionPreProcessor.processExtension(base, baseGraph, extContext));
 
-            DataModelGenerator.generateModels(extContext);
-            OperationGenerator.generateApis(extContext);
+        generate(extContext);
+    }
 
-            extContext.writeGeneratedFilesToDisk();
+    /**
+     * Runs every extension on its own thread, a single extension runs on the calling thread.
+     */
+    private static void runAll(List<Callable<Void>> tasks) throws Exception {
+        if (tasks.size() == 1) {
+            tasks.get(0).call();
+            return;
         }
 
-        context.writeGeneratedFilesToDisk();
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
     }
 }
@@ -14,7 +14,11 @@
 //
 package ch.imagic.openapi;
 
+import ch.imagic.openapi.misc.SchemaLinter;
+
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 public class OpenApiGeneratorConfig {
 
@@ -42,12 +46,100 @@ public class OpenApiGeneratorConfig {
     private String extensionRequestSuffix;
     private String extensionOperationSuffix;
 
+    private List<OpenApiExtensionConfig> extensions = new ArrayList<>();
+
     private boolean jsr380 = false;
     private boolean gson = false;
     private boolean jackson = false;
 
+    private boolean javadoc = true;
+    private boolean dedupInlineSchemas = false;
+    private boolean mergeOperationClasses = false;
+    private boolean lint = false;
+    private SchemaLinter.Severity lintFailOn;
+    private int lintFailThreshold = 0;
+    private boolean incremental = false;
+    private int writerThreads = Runtime.getRuntime().availableProcessors();
+    private int generatorThreads = 1;
+    private File cacheDir;
+    private boolean streaming = false;
+    private boolean report = false;
+    private File reportFile;
+    private boolean diff = false;
+    private File previousSchema;
+    private File jar;
+    private List<File> jarClasspath = new ArrayList<>();
+    private int jarRelease = 11;
+    private boolean writeCommonFiles = true;
+    private List<String> includeTags = new ArrayList<>();
+    private List<String> excludeTags = new ArrayList<>();
+    private List<String> includeOperations = new ArrayList<>();
+    private List<String> excludeOperations = new ArrayList<>();
+    private List<String> includePaths = new ArrayList<>();
+    private List<String> excludePaths = new ArrayList<>();
+
     private boolean isApiExceptionRuntimeException;
 
+    public OpenApiGeneratorConfig() {
+    }
+
+    /**
+     * A copy of the other configuration, changing the copy does not change the other configuration.
+     */
+    public OpenApiGeneratorConfig(OpenApiGeneratorConfig other) {
+        this.schema = other.schema;
+        this.implSourceTargetDir = other.implSourceTargetDir;
+        this.apiSourceTargetDir = other.apiSourceTargetDir;
+        this.commonImplSourceTargetDir = other.commonImplSourceTargetDir;
+        this.commonApiSourceTargetDir = other.commonApiSourceTargetDir;
+        this.packageName = other.packageName;
+        this.commonPackageName = other.commonPackageName;
+        this.modelSuffix = other.modelSuffix;
+        this.tagSuffix = other.tagSuffix;
+        this.responseSuffix = other.responseSuffix;
+        this.requestSuffix = other.requestSuffix;
+        this.interfaceSuffix = other.interfaceSuffix;
+        this.extensionSchema = other.extensionSchema;
+        this.extensionImplSource = other.extensionImplSource;
+        this.extensionApiSource = other.extensionApiSource;
+        this.extensionPackage = other.extensionPackage;
+        this.extensionModelSuffix = other.extensionModelSuffix;
+        this.extensionTagSuffix = other.extensionTagSuffix;
+        this.extensionResponseSuffix = other.extensionResponseSuffix;
+        this.extensionRequestSuffix = other.extensionRequestSuffix;
+        this.extensionOperationSuffix = other.extensionOperationSuffix;
+        this.extensions = new ArrayList<>(other.extensions);
+        this.jsr380 = other.jsr380;
+        this.gson = other.gson;
+        this.jackson = other.jackson;
+        this.javadoc = other.javadoc;
+        this.dedupInlineSchemas = other.dedupInlineSchemas;
+        this.mergeOperationClasses = other.mergeOperationClasses;
+        this.lint = other.lint;
+        this.lintFailOn = other.lintFailOn;
+        this.lintFailThreshold = other.lintFailThreshold;
+        this.incremental = other.incremental;
+        this.writerThreads = other.writerThreads;
+        this.generatorThreads = other.generatorThreads;
+        this.cacheDir = other.cacheDir;
+        this.streaming = other.streaming;
+        this.report = other.report;
+        this.reportFile = other.reportFile;
+        this.diff = other.diff;
+        this.previousSchema = other.previousSchema;
+        this.jar = other.jar;
+        this.jarClasspath = new ArrayList<>(other.jarClasspath);
+        this.jarRelease = other.jarRelease;
+        this.writeCommonFiles = other.writeCommonFiles;
+        this.includeTags = new ArrayList<>(other.includeTags);
+        this.excludeTags = new ArrayList<>(other.excludeTags);
+        this.includeOperations = new ArrayList<>(other.includeOperations);
+        this.excludeOperations = new ArrayList<>(other.excludeOperations);
+        this.includePaths = new ArrayList<>(other.includePaths);
+        this.excludePaths = new ArrayList<>(other.excludePaths);
+        this.isApiExceptionRuntimeException = other.isApiExceptionRuntimeException;
+    }
+
     public boolean isApiExceptionRuntimeException() {
         return isApiExceptionRuntimeException;
     }
@@ -224,6 +316,21 @@ public class OpenApiGeneratorConfig {
         this.extensionOperationSuffix = extensionOperationSuffix;
     }
 
+    /**
+     * Additional extension schemas, generated in parallel after the extension configured above.
+     */
+    public List<OpenApiExtensionConfig> getExtensions() {
+        return extensions;
+    }
+
+    public void setExtensions(List<OpenApiExtensionConfig> extensions) {
+        this.extensions = extensions;
+    }
+
+    public void addExtension(OpenApiExtensionConfig extension) {
+        this.extensions.add(extension);
+    }
+
     public boolean isJsr380() {
         return jsr380;
     }
@@ -247,4 +354,274 @@ public class OpenApiGeneratorConfig {
     public void setJackson(boolean jackson) {
         this.jackson = jackson;
     }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    public void setWriterThreads(int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+
+    public int getGeneratorThreads() {
+        return generatorThreads;
+    }
+
+    public void setGeneratorThreads(int generatorThreads) {
+        this.generatorThreads = generatorThreads;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Write every class as soon as it is generated instead of keeping all generated sources in memory until the end.
+     * The generated files of a streaming run are not stored in the generation cache.
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public File getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * Directory for the generation cache, null disables the cache.
+     */
+    public void setCacheDir(File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public boolean isReport() {
+        return report;
+    }
+
+    /**
+     * Print the time, cpu time and allocation of every phase and the generated classes per package at the end of the generation.
+     */
+    public void setReport(boolean report) {
+        this.report = report;
+    }
+
+    public File getReportFile() {
+        return reportFile;
+    }
+
+    /**
+     * If set the same report is written to this file as json, null disables it.
+     */
+    public void setReportFile(File reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    public boolean isJavadoc() {
+        return javadoc;
+    }
+
+    public void setJavadoc(boolean javadoc) {
+        this.javadoc = javadoc;
+    }
+
+    public List<String> getIncludeTags() {
+        return includeTags;
+    }
+
+    /**
+     * Only operations with at least one of these tags are generated, unless an include of another kind matches.
+     */
+    public void setIncludeTags(List<String> includeTags) {
+        this.includeTags = includeTags;
+    }
+
+    public List<String> getExcludeTags() {
+        return excludeTags;
+    }
+
+    /**
+     * Operations with any of these tags are not generated.
+     */
+    public void setExcludeTags(List<String> excludeTags) {
+        this.excludeTags = excludeTags;
+    }
+
+    public List<String> getIncludeOperations() {
+        return includeOperations;
+    }
+
+    /**
+     * Only operations with one of these operation ids are generated, unless an include of another kind matches.
+     */
+    public void setIncludeOperations(List<String> includeOperations) {
+        this.includeOperations = includeOperations;
+    }
+
+    public List<String> getExcludeOperations() {
+        return excludeOperations;
+    }
+
+    /**
+     * Operations with one of these operation ids are not generated.
+     */
+    public void setExcludeOperations(List<String> excludeOperations) {
+        this.excludeOperations = excludeOperations;
+    }
+
+    public List<String> getIncludePaths() {
+        return includePaths;
+    }
+
+    /**
+     * Only operations whose path matches one of these globs are generated, unless an include of another kind matches.
+     * "*" matches within one path segment, "**" across segments.
+     */
+    public void setIncludePaths(List<String> includePaths) {
+        this.includePaths = includePaths;
+    }
+
+    public List<String> getExcludePaths() {
+        return excludePaths;
+    }
+
+    /**
+     * Operations whose path matches one of these globs are not generated.
+     */
+    public void setExcludePaths(List<String> excludePaths) {
+        this.excludePaths = excludePaths;
+    }
+
+    public boolean isLint() {
+        return lint;
+    }
+
+    /**
+     * Print the performance anti-patterns found in the schema, see SchemaLinter.
+     */
+    public void setLint(boolean lint) {
+        this.lint = lint;
+    }
+
+    public SchemaLinter.Severity getLintFailOn() {
+        return lintFailOn;
+    }
+
+    /**
+     * Fail the generation if more than lintFailThreshold findings have this severity or a higher one. Implies lint.
+     */
+    public void setLintFailOn(SchemaLinter.Severity lintFailOn) {
+        this.lintFailOn = lintFailOn;
+    }
+
+    public int getLintFailThreshold() {
+        return lintFailThreshold;
+    }
+
+    public void setLintFailThreshold(int lintFailThreshold) {
+        this.lintFailThreshold = lintFailThreshold;
+    }
+
+    public boolean isDedupInlineSchemas() {
+        return dedupInlineSchemas;
+    }
+
+    /**
+     * Generate one class for all inline schemas that are identical, including their descriptions, instead of one class per occurrence.
+     * The class is named after the first occurrence.
+     */
+    public void setDedupInlineSchemas(boolean dedupInlineSchemas) {
+        this.dedupInlineSchemas = dedupInlineSchemas;
+    }
+
+    public boolean isMergeOperationClasses() {
+        return mergeOperationClasses;
+    }
+
+    /**
+     * Generate one request or response class for all operations whose request or response is structurally identical,
+     * named after the first operation. Response classes then take the operation id as first constructor argument.
+     */
+    public void setMergeOperationClasses(boolean mergeOperationClasses) {
+        this.mergeOperationClasses = mergeOperationClasses;
+    }
+
+    public boolean isDiff() {
+        return diff;
+    }
+
+    /**
+     * Only regenerate the model, request and response classes of the base schema that are affected by the changes
+     * since the previous generation, all other classes are taken from the previous generation.
+     * The previous generation is read from the cache directory or, if previousSchema is set, from the target directories.
+     */
+    public void setDiff(boolean diff) {
+        this.diff = diff;
+    }
+
+    public File getPreviousSchema() {
+        return previousSchema;
+    }
+
+    /**
+     * The base schema of the previous incremental generation into the same target directories with the same configuration.
+     * Only used in diff mode, null uses the previous generation stored in the cache directory.
+     */
+    public void setPreviousSchema(File previousSchema) {
+        this.previousSchema = previousSchema;
+    }
+
+    public File getJar() {
+        return jar;
+    }
+
+    /**
+     * If set the generated sources of the base schema and all extensions are compiled in memory and written to this jar.
+     * The jar is only compiled again if the sources, the classpath or the release changed, with a cache directory it is cached as well.
+     * Requires a jdk and cannot be combined with streaming.
+     */
+    public void setJar(File jar) {
+        this.jar = jar;
+    }
+
+    public List<File> getJarClasspath() {
+        return jarClasspath;
+    }
+
+    /**
+     * The jars the generated sources are compiled against, e.g. gson, jackson-annotations and jakarta.validation-api depending on the enabled frameworks.
+     */
+    public void setJarClasspath(List<File> jarClasspath) {
+        this.jarClasspath = jarClasspath;
+    }
+
+    public int getJarRelease() {
+        return jarRelease;
+    }
+
+    /**
+     * The java release the jar is compiled for, defaults to 11.
+     */
+    public void setJarRelease(int jarRelease) {
+        this.jarRelease = jarRelease;
+    }
+
+    public boolean isWriteCommonFiles() {
+        return writeCommonFiles;
+    }
+
+    /**
+     * Set to false if the common files are written by another generation into the same common package and target directories.
+     * They are then still generated, e.g. for the jar, but neither written nor deleted.
+     */
+    public void setWriteCommonFiles(boolean writeCommonFiles) {
+        this.writeCommonFiles = writeCommonFiles;
+    }
 }
@@ -29,7 +29,7 @@ public class DataModelGenerator {
         for (Map.Entry<String, SchemaModel> e : context.getModel().getComponents().getSchemas().entrySet()) {
             String name = e.getKey();
             SchemaModel schema = e.getValue();
-            SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
+            SchemaClassification schemaClassification = context.classify(name, schema);
             switch (schemaClassification) {
                 case OBJECT_IMPL:
                     //LATER
@@ -44,27 +44,53 @@ public class DataModelGenerator {
             }
         }
 
+        List<Runnable> tasks = new ArrayList<>();
         for (Map.Entry<String, SchemaModel> e : context.getModel().getComponents().getSchemas().entrySet()) {
             String name = e.getKey();
             SchemaModel schema = e.getValue();
-            SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
-            switch (schemaClassification) {
-                case OBJECT_IMPL:
-                    DataModelGenerator.generateObjectModel(context, name, schema);
-                    break;
-                case ANY_OF:
-                    //CURRENTLY TREATED SAME AS ONE_OF!
-                case ONE_OF:
-                    DataModelGenerator.generateOneOf(context, name, schema);
-                    break;
-                default:
-                    throw new IllegalStateException("Cannot generate model for schema " + name + " classification is " + schemaClassification);
-            }
+            tasks.add(() -> generateModel(context, name, schema));
+        }
+
+        if (context.getGeneratorThreads() <= 1) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+
+        //Every model only pushes to its own class, only the class names of referenced models are shared.
+        if (!context.reserveModelClassNames(context.getModel().getComponents().getSchemas().keySet())) {
+            System.out.println("INFO: " + context.getPackageName() + ": model class names collide, generating models single threaded");
+            tasks.forEach(Runnable::run);
+            return;
+        }
+
+        context.runParallel(tasks);
+    }
+
+    private static void generateModel(GenerationContext context, String name, SchemaModel schema) {
+        if (context.reuseModel(name, context.qualifyModelClass(context.modelNameToJavaClass(name)))) {
+            return;
         }
+
+        SchemaClassification schemaClassification = context.classify(name, schema);
+        switch (schemaClassification) {
+            case OBJECT_IMPL:
+                DataModelGenerator.generateObjectModel(context, name, schema);
+                break;
+            case ANY_OF:
+                //CURRENTLY TREATED SAME AS ONE_OF!
+            case ONE_OF:
+                DataModelGenerator.generateOneOf(context, name, schema);
+                break;
+            default:
+                throw new IllegalStateException("Cannot generate model for schema " + name + " classification is " + schemaClassification);
+        }
+
+        //Nothing else pushes to a model class once it is generated.
+        context.finishFile(context.qualifyModelClass(context.modelNameToJavaClass(name)));
     }
 
     public static void prepareOneOf(GenerationContext context, String name, SchemaModel schema) {
-        SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
+        SchemaClassification schemaClassification = context.classify(name, schema);
         if (schemaClassification != SchemaClassification.ONE_OF &&  schemaClassification != SchemaClassification.ANY_OF) {
             throw new IllegalStateException("schema is not ONE_OF! " + schemaClassification);
         }
@@ -81,7 +107,7 @@ public class DataModelGenerator {
         Set<String> implementations = new LinkedHashSet<>();
 
         for (SchemaModel model : oneOf) {
-            SchemaClassification modelClass = SchemaClassification.fromSchema(name + ".oneOf", model);
+            SchemaClassification modelClass = context.classify(name + ".oneOf", model);
             if (modelClass != SchemaClassification.REF) {
                 throw new IllegalStateException("schema oneOf/anyOf contains non ref " + modelClass);
             }
@@ -103,7 +129,7 @@ public class DataModelGenerator {
     }
 
     public static void generateOneOf(GenerationContext context, String name, SchemaModel schema) {
-        SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
+        SchemaClassification schemaClassification = context.classify(name, schema);
         if (schemaClassification != SchemaClassification.ONE_OF &&  schemaClassification != SchemaClassification.ANY_OF) {
             throw new IllegalStateException("schema is not ONE_OF! " + schemaClassification);
         }
@@ -138,18 +164,19 @@ public class DataModelGenerator {
 
         Set<String> impl = context.getImplsForInterface(fullyQualified);
 
-        context.push(fullyQualified, "package " + context.getModelPackage() + ";");
-        context.push(fullyQualified, "");
+        SourceFile out = context.file(fullyQualified);
+        out.push("package " + context.getModelPackage() + ";");
+        out.push("");
 
         if (context.jackson()) {
             if (discriminator == null) {
                 if (context.jackson()) {
-                    context.push(fullyQualified, "@com.fasterxml.jackson.annotation.JsonTypeInfo(use = com.fasterxml.jackson.annotation.JsonTypeInfo.Id.DEDUCTION)");
+                    out.push("@com.fasterxml.jackson.annotation.JsonTypeInfo(use = com.fasterxml.jackson.annotation.JsonTypeInfo.Id.DEDUCTION)");
                     String subtypes = impl.stream().map(a -> "@com.fasterxml.jackson.annotation.JsonSubTypes.Type(value = "+ a + ".class)").collect(Collectors.joining(",\n    ", "{\n    ", "\n}"));
-                    context.push(fullyQualified, "@com.fasterxml.jackson.annotation.JsonSubTypes(" + subtypes+ ")");
+                    out.push("@com.fasterxml.jackson.annotation.JsonSubTypes(" + subtypes+ ")");
                 }
 
-                context.push(fullyQualified, "@"+context.qualifyCommonApiClass("OneOf")+"(classes = {" + impl.stream().map(a -> a + ".class").collect(Collectors.joining(", "))+ "})");
+                out.push("@"+context.qualifyCommonApiClass("OneOf")+"(classes = {" + impl.stream().map(a -> a + ".class").collect(Collectors.joining(", "))+ "})");
             } else {
                 String propName = discriminator.getPropertyName();
 
@@ -181,23 +208,23 @@ public class DataModelGenerator {
                 }
 
                 if (context.jackson()) {
-                    context.push(fullyQualified, "@com.fasterxml.jackson.annotation.JsonTypeInfo(use=com.fasterxml.jackson.annotation.JsonTypeInfo.Id.NAME, property=\"" + Util.escapeForSourceCode(propName) + "\")");
+                    out.push("@com.fasterxml.jackson.annotation.JsonTypeInfo(use=com.fasterxml.jackson.annotation.JsonTypeInfo.Id.NAME, property=\"" + Util.escapeForSourceCode(propName) + "\")");
                     String subtypes = mapping.entrySet().stream().map(a -> "@com.fasterxml.jackson.annotation.JsonSubTypes.Type(value = " + a.getKey() + ".class, name = \"" + a.getValue() + "\")")
                             .collect(Collectors.joining(",\n    ", "{\n    ", "\n}"));
-                    context.push(fullyQualified, "@com.fasterxml.jackson.annotation.JsonSubTypes(" + subtypes + ")");
+                    out.push("@com.fasterxml.jackson.annotation.JsonSubTypes(" + subtypes + ")");
                 }
 
                 String mappingValues = impl.stream().sorted().map(a -> Objects.requireNonNull(mapping.get(a))).map(a -> "\"" + Util.escapeForSourceCode(a) + "\"").collect(Collectors.joining(", "));
-                context.push(fullyQualified, "@"+context.qualifyCommonApiClass("OneOf")+"(discriminatorFieldName = \""+Util.escapeForSourceCode(propName)+"\", discriminatorFieldValues = {"+mappingValues+"}, classes = {" + impl.stream().sorted().map(a -> a + ".class").collect(Collectors.joining(", "))+ "})");
+                out.push("@"+context.qualifyCommonApiClass("OneOf")+"(discriminatorFieldName = \""+Util.escapeForSourceCode(propName)+"\", discriminatorFieldValues = {"+mappingValues+"}, classes = {" + impl.stream().sorted().map(a -> a + ".class").collect(Collectors.joining(", "))+ "})");
             }
         }
 
-        context.push(fullyQualified, "public interface " + classname + " extends java.io.Serializable" + addIface +" {");
-        context.push(fullyQualified, "}");
+        out.push("public interface " + classname + " extends java.io.Serializable" + addIface +" {");
+        out.push("}");
     }
 
     public static void generateObjectModel(GenerationContext context, String name, SchemaModel schema) {
-        SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
+        SchemaClassification schemaClassification = context.classify(name, schema);
         if (schemaClassification != SchemaClassification.OBJECT_IMPL) {
             throw new IllegalStateException("schema is not object! " + schemaClassification);
         }
@@ -208,16 +235,17 @@ public class DataModelGenerator {
             return;
         }
 
-        context.push(fullyQualified, "package " + context.getModelPackage() + ";");
-        context.push(fullyQualified, "");
+        SourceFile out = context.file(fullyQualified);
+        out.push("package " + context.getModelPackage() + ";");
+        out.push("");
 
         String addIface = String.join(", ", context.getInterfaces(fullyQualified));
         if (!addIface.isEmpty()) {
             addIface = ", " + addIface;
         }
 
-        context.push(fullyQualified, "public class " + classname + " implements java.io.Serializable, " + context.qualifyCommonApiClass("ToString") + ", " + context.qualifyCommonApiClass("Visitable") + addIface +" {");
-        context.addIndent(fullyQualified);
+        out.push("public class " + classname + " implements java.io.Serializable, " + context.qualifyCommonApiClass("ToString") + ", " + context.qualifyCommonApiClass("Visitable") + addIface +" {");
+        out.addIndent();
 
 
         Set<String> required = new HashSet<>();
@@ -239,14 +267,14 @@ public class DataModelGenerator {
             }
 
             SchemaModel propSchema = e.getValue();
-            List<String> enumValues = Util.getEnumRecursive(propSchema);
+            List<String> enumValues = Util.getEnumRecursive(context, propSchema);
             String enumName = null;
             if (enumValues != null) {
                 enumName = Util.capitalize(mangledName);
                 Util.generateEnum(context, fullyQualified, enumName, enumValues);
             }
 
-            SchemaClassification propClassification = SchemaClassification.fromSchema(name, propSchema);
+            SchemaClassification propClassification = context.classify(name, propSchema);
 
             if (context.jsr380()) {
                 generateModelFieldJSR380(context, name, required, propName, fullyQualified, propClassification, propSchema);
@@ -555,16 +583,17 @@ public class DataModelGenerator {
         Util.generateToString(context, fullyQualified, classname, properties);
         Util.generateVisitor(context, fullyQualified, classname, properties);
 
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified, "}");
+        out.subIndent();
+        out.push("}");
 
     }
 
 
 
     private static void generateModelFieldJSR380(GenerationContext context, String name, Set<String> required, String propName, String fullyQualified, SchemaClassification propClassification, SchemaModel propSchema) {
+        SourceFile out = context.file(fullyQualified);
         if (required.contains(propName)) {
-            context.push(fullyQualified, "@jakarta.validation.constraints.NotNull");
+            out.push("@jakarta.validation.constraints.NotNull");
         }
 
         if (propClassification == SchemaClassification.STRING) {
@@ -582,14 +611,14 @@ public class DataModelGenerator {
             }
 
             if (min != 0 || max != Integer.MAX_VALUE) {
-                context.push(fullyQualified, "@jakarta.validation.constraints.Size(min = "+min+", max = " + max + ")");
+                out.push("@jakarta.validation.constraints.Size(min = "+min+", max = " + max + ")");
             }
 
             if (propSchema.getPattern() != null) {
                 String pattern = propSchema.getPattern();
                 try {
                     Pattern.compile(pattern);
-                    context.push(fullyQualified, "@jakarta.validation.constraints.Pattern(regexp = \""+pattern+"\")");
+                    out.push("@jakarta.validation.constraints.Pattern(regexp = \""+pattern+"\")");
                 } catch (Exception ignored) {
                     System.out.println("WARNING: " + name + "." + propName + " has invalid pattern " + pattern);
                 }
@@ -599,17 +628,17 @@ public class DataModelGenerator {
         if (propClassification == SchemaClassification.INT64 || propClassification == SchemaClassification.INT32) {
             if (propSchema.getMinimum() != null) {
                 if (Boolean.TRUE.equals(propSchema.getExclusiveMinimum())) {
-                    context.push(fullyQualified, "@jakarta.validation.constraints.Min(" + (propSchema.getMinimum().longValue()+1) + ")");
+                    out.push("@jakarta.validation.constraints.Min(" + (propSchema.getMinimum().longValue()+1) + ")");
                 } else {
-                    context.push(fullyQualified, "@jakarta.validation.constraints.Min(" + propSchema.getMinimum().longValue() + ")");
+                    out.push("@jakarta.validation.constraints.Min(" + propSchema.getMinimum().longValue() + ")");
                 }
             }
 
             if (propSchema.getMaximum() != null) {
                 if (Boolean.TRUE.equals(propSchema.getExclusiveMaximum())) {
-                    context.push(fullyQualified, "@jakarta.validation.constraints.Min(" + (propSchema.getMinimum().longValue()-1) + ")");
+                    out.push("@jakarta.validation.constraints.Min(" + (propSchema.getMinimum().longValue()-1) + ")");
                 } else {
-                    context.push(fullyQualified, "@jakarta.validation.constraints.Max(" + propSchema.getMaximum().longValue() + ")");
+                    out.push("@jakarta.validation.constraints.Max(" + propSchema.getMaximum().longValue() + ")");
                 }
             }
         }
@@ -617,25 +646,25 @@ public class DataModelGenerator {
         if (propClassification == SchemaClassification.FLOAT || propClassification == SchemaClassification.DOUBLE) {
             if (propSchema.getMinimum() != null) {
                 if (Boolean.TRUE.equals(propSchema.getExclusiveMinimum())) {
-                    context.push(fullyQualified, "@jakarta.validation.constraints.DecimalMin(value = \"" + new BigDecimal(propSchema.getMinimum().doubleValue()) + "\", inclusive = false)");
+                    out.push("@jakarta.validation.constraints.DecimalMin(value = \"" + new BigDecimal(propSchema.getMinimum().doubleValue()) + "\", inclusive = false)");
                 } else {
-                    context.push(fullyQualified, "@jakarta.validation.constraints.DecimalMin(\"" + new BigDecimal(propSchema.getMinimum().doubleValue()) + "\")");
+                    out.push("@jakarta.validation.constraints.DecimalMin(\"" + new BigDecimal(propSchema.getMinimum().doubleValue()) + "\")");
                 }
 
             }
 
             if (propSchema.getMaximum() != null) {
                 if (Boolean.TRUE.equals(propSchema.getExclusiveMaximum())) {
-                    context.push(fullyQualified, "@jakarta.validation.constraints.DecimalMin(value = \"" + new BigDecimal(propSchema.getMinimum().doubleValue()) + "\", inclusive = false)");
+                    out.push("@jakarta.validation.constraints.DecimalMin(value = \"" + new BigDecimal(propSchema.getMinimum().doubleValue()) + "\", inclusive = false)");
                 } else {
-                    context.push(fullyQualified, "@jakarta.validation.constraints.DecimalMin(\"" + new BigDecimal(propSchema.getMinimum().doubleValue()) + "\")");
+                    out.push("@jakarta.validation.constraints.DecimalMin(\"" + new BigDecimal(propSchema.getMinimum().doubleValue()) + "\")");
                 }
             }
         }
 
         //Yes, ghetto I know.
         if (propClassification.name().startsWith("ARRAY_")) {
-            context.push(fullyQualified, "@jakarta.validation.Valid");
+            out.push("@jakarta.validation.Valid");
             int max = Integer.MAX_VALUE;
             int min = 0;
             if (propSchema.getMaxItems() != null) {
@@ -650,13 +679,13 @@ public class DataModelGenerator {
             }
 
             if (min != 0 || max != Integer.MAX_VALUE) {
-                context.push(fullyQualified, "@jakarta.validation.constraints.Size(min = "+min+", max = " + max + ")");
+                out.push("@jakarta.validation.constraints.Size(min = "+min+", max = " + max + ")");
             }
         }
 
         //Yes, ghetto I know.
         if (propClassification.name().startsWith("MAP_")) {
-            context.push(fullyQualified, "@jakarta.validation.Valid");
+            out.push("@jakarta.validation.Valid");
             int max = Integer.MAX_VALUE;
             int min = 0;
             if (propSchema.getMaxProperties() != null) {
@@ -671,12 +700,12 @@ public class DataModelGenerator {
             }
 
             if (min != 0 || max != Integer.MAX_VALUE) {
-                context.push(fullyQualified, "@jakarta.validation.constraints.Size(min = "+min+", max = " + max + ")");
+                out.push("@jakarta.validation.constraints.Size(min = "+min+", max = " + max + ")");
             }
         }
 
         if(propClassification == SchemaClassification.REF) {
-            context.push(fullyQualified, "@jakarta.validation.Valid");
+            out.push("@jakarta.validation.Valid");
         }
     }
 
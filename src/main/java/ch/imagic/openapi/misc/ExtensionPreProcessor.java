@@ -21,44 +21,24 @@ import java.util.*;
 public class ExtensionPreProcessor {
 
     public static void processExtension(GenerationContext base, GenerationContext extension) {
-        Set<String> compatibleModels = new HashSet<>();
-        Set<String> incompatibleModels = new HashSet<>();
-        outer: for (Map.Entry<String, SchemaModel> modelKv : extension.getModel().getComponents().getSchemas().entrySet()) {
-            String modelName = "#/components/schemas/" + modelKv.getKey();
-            if (compatibleModels.contains(modelName) || incompatibleModels.contains(modelName)) {
-                continue;
-            }
-            SchemaModel model = modelKv.getValue();
-            Set<String> dependants = Util.getContainingTypeModelNames(extension, model, modelName);
-            for (String dependant : dependants) {
-                if (compatibleModels.contains(dependant)) {
-                    continue;
-                }
-
-                if (incompatibleModels.contains(dependant)) {
-                    incompatibleModels.add(modelName);
-                    continue outer;
-                }
-
-                SchemaModel baseModel = base.findSchema(dependant);
-                SchemaModel extModel = extension.findSchema(dependant);
-                if (baseModel == null || extModel == null) {
-                    incompatibleModels.add(modelName);
-                    continue outer;
-                }
-                if (!baseModel.equals(extModel)) {
-                    incompatibleModels.add(modelName);
-                    continue outer;
-                }
-            }
+        processExtension(base, new SchemaDependencyGraph(base), extension);
+    }
 
-            compatibleModels.add(modelName);
-        }
+    /**
+     * Only reads from base, so several extensions can be processed against the same base at the same time.
+     */
+    public static void processExtension(GenerationContext base, SchemaDependencyGraph baseGraph, GenerationContext extension) {
+        long start = System.nanoTime();
+        Set<String> compatibleModels = findCompatibleModels(base, baseGraph, extension);
+        int incompatibleModels = extension.getModel().getComponents().getSchemas().size() - compatibleModels.size();
 
-        System.out.println("INFO: Found " + compatibleModels.size() + " compatible models and " + incompatibleModels.size() + " incompatible models");
+        System.out.println("INFO: " + extension.getPackageName() + ": Found " + compatibleModels.size() + " compatible models and " + incompatibleModels + " incompatible models in " + ((System.nanoTime() - start) / 1_000_000) + "ms");
 
-        for (String s : compatibleModels) {
-            extension.addCompatModel(extension.qualifyModelClass(extension.modelNameToJavaClass(s)), base.qualifyModelClass(base.modelNameToJavaClass(s)));
+        for (String name : extension.getModel().getComponents().getSchemas().keySet()) {
+            String s = "#/components/schemas/" + name;
+            if (compatibleModels.contains(s)) {
+                extension.addCompatModel(extension.qualifyModelClass(extension.modelNameToJavaClass(s)), base.qualifyModelClass(base.modelNameToJavaClass(s)));
+            }
         }
 
         Set<String> comptaibleResponse = new HashSet<>();
@@ -113,7 +93,7 @@ public class ExtensionPreProcessor {
                                 continue outer;
                             }
 
-                            Set<String> types = Util.getContainingTypeModelNames(extension, extHeader.getSchema(), null);
+                            Set<String> types = Util.getReferencedModelNames(extension, extHeader.getSchema(), null);
                             if (!compatibleModels.containsAll(types)) {
                                 extension.addExtensionOperation(extModel.getOperationId());
                                 incomptaibleResponse.add(name);
@@ -127,7 +107,7 @@ public class ExtensionPreProcessor {
                     }
 
                     for (PathSchemaModel psm : extensionResponse.getContent().values()) {
-                        Set<String> types = Util.getContainingTypeModelNames(extension, psm.getSchema(), null);
+                        Set<String> types = Util.getReferencedModelNames(extension, psm.getSchema(), null);
                         if (!compatibleModels.containsAll(types)) {
                             extension.addExtensionOperation(extModel.getOperationId());
                             incomptaibleResponse.add(name);
@@ -142,10 +122,10 @@ public class ExtensionPreProcessor {
         }
 
         for (String s : comptaibleResponse) {
-            extension.addCompatResponse(extension.qualifyResponseClass(extension.operationIdToResponseClass(s)), base.qualifyResponseClass(base.operationIdToResponseClass(s)));
+            extension.addCompatResponse(extension.qualifyResponseClass(extension.operationIdToResponseClass(s)), base.getMergedOperationClass(base.qualifyResponseClass(base.operationIdToResponseClass(s))));
         }
 
-        System.out.println("INFO: Found " + comptaibleResponse.size() + " compatible responses and " + incomptaibleResponse.size() + " incompatible responses");
+        System.out.println("INFO: " + extension.getPackageName() + ": Found " + comptaibleResponse.size() + " compatible responses and " + incomptaibleResponse.size() + " incompatible responses");
 
         Map<String, Set<String>> comptaibleRequests = new HashMap<>();
         Set<String> incomptaibleRequests = new HashSet<>();
@@ -187,7 +167,7 @@ public class ExtensionPreProcessor {
                             continue outer;
                         }
 
-                        Set<String> types = Util.getContainingTypeModelNames(extension, extParam.getSchema(), null);
+                        Set<String> types = Util.getReferencedModelNames(extension, extParam.getSchema(), null);
                         if (!compatibleModels.containsAll(types)) {
                             extension.addExtensionOperation(extModel.getOperationId());
                             incomptaibleRequests.add(name);
@@ -220,7 +200,7 @@ public class ExtensionPreProcessor {
                         if (!contentType.equals("application/json")) {
                             continue;
                         }
-                        Set<String> containers = Util.getContainingTypeModelNames(extension, extBodySchema.getSchema(), null);
+                        Set<String> containers = Util.getReferencedModelNames(extension, extBodySchema.getSchema(), null);
                         if (!compatibleModels.containsAll(containers)) {
                             extension.addExtensionOperation(extModel.getOperationId());
                             incomptaibleRequests.add(name);
@@ -235,15 +215,57 @@ public class ExtensionPreProcessor {
 
         for (Map.Entry<String, Set<String>> opIdToMime : comptaibleRequests.entrySet()) {
             if (opIdToMime.getValue().isEmpty()) {
-                extension.addCompatRequest(extension.qualifyRequestClass(extension.operationIdAndMimeToRequestClass(opIdToMime.getKey(), null)), base.qualifyRequestClass(base.operationIdAndMimeToRequestClass(opIdToMime.getKey(), null)));
+                extension.addCompatRequest(extension.qualifyRequestClass(extension.operationIdAndMimeToRequestClass(opIdToMime.getKey(), null)), base.getMergedOperationClass(base.qualifyRequestClass(base.operationIdAndMimeToRequestClass(opIdToMime.getKey(), null))));
                 continue;
             }
 
             for (String mime : opIdToMime.getValue()) {
-                extension.addCompatRequest(extension.qualifyRequestClass(extension.operationIdAndMimeToRequestClass(opIdToMime.getKey(), mime)), base.qualifyRequestClass(base.operationIdAndMimeToRequestClass(opIdToMime.getKey(), mime)));
+                extension.addCompatRequest(extension.qualifyRequestClass(extension.operationIdAndMimeToRequestClass(opIdToMime.getKey(), mime)), base.getMergedOperationClass(base.qualifyRequestClass(base.operationIdAndMimeToRequestClass(opIdToMime.getKey(), mime))));
+            }
+        }
+
+        System.out.println("INFO: " + extension.getPackageName() + ": Found " + comptaibleRequests.size() + " compatible requests and " + incomptaibleRequests.size() + " incompatible requests");
+    }
+
+    /**
+     * A model is compatible if it and every model it references directly or indirectly are the same in both schemas.
+     * Models that reference each other are compatible or incompatible together.
+     */
+    private static Set<String> findCompatibleModels(GenerationContext base, SchemaDependencyGraph baseGraph, GenerationContext extension) {
+        SchemaDependencyGraph extensionGraph = new SchemaDependencyGraph(extension);
+
+        Set<String> compatible = new HashSet<>();
+        for (Set<String> component : extensionGraph.getStronglyConnectedComponents()) {
+            if (isCompatibleComponent(base, extension, baseGraph, extensionGraph, component, compatible)) {
+                compatible.addAll(component);
+            }
+        }
+
+        return compatible;
+    }
+
+    private static boolean isCompatibleComponent(GenerationContext base, GenerationContext extension, SchemaDependencyGraph baseGraph, SchemaDependencyGraph extensionGraph, Set<String> component, Set<String> compatible) {
+        for (String model : component) {
+            Integer baseHash = baseGraph.getStructuralHash(model);
+            if (baseHash == null || !baseHash.equals(extensionGraph.getStructuralHash(model))) {
+                return false;
+            }
+
+            //Components are ordered so that all dependencies outside of this component are already decided.
+            for (String dependency : extensionGraph.getDependencies(model)) {
+                if (!component.contains(dependency) && !compatible.contains(dependency)) {
+                    return false;
+                }
+            }
+        }
+
+        //Equal hashes, make sure it is not a collision.
+        for (String model : component) {
+            if (!base.findSchema(model).equals(extension.findSchema(model))) {
+                return false;
             }
         }
 
-        System.out.println("INFO: Found " + comptaibleRequests.size() + " compatible requests and " + incomptaibleRequests.size() + " incompatible requests");
+        return true;
     }
 }
@@ -0,0 +1,498 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.*;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Resolves the $refs of a schema that point into other files, e.g. "common.json#/components/schemas/Error" or "schemas/Pet.json".
+ * A path item with a $ref, e.g. "/pets": {"$ref": "paths.json#/pets"}, is replaced by the operations of the referenced path item.
+ * Every other referenced element is added once to the components of the schema and the $ref is replaced with a local one,
+ * so everything after loading only sees local $refs. The local $refs of a referenced document point into that document.
+ * The name of an added component is the name of the referenced component, the last segment of the pointer or the file name,
+ * a number is appended if the schema already has a component of that name.
+ */
+public class ExternalRefResolver {
+
+    private static final String SCHEMAS = "schemas";
+    private static final String PARAMETERS = "parameters";
+    private static final String RESPONSES = "responses";
+    private static final String REQUEST_BODIES = "requestBodies";
+    private static final String HEADERS = "headers";
+
+    private final SchemaDocuments documents;
+    private final Path root;
+    private final RootModel model;
+    private final Gson gson;
+
+    //Kind, canonical path and pointer of every added element to its local $ref.
+    private final Map<String, String> imported = new HashMap<>();
+    private final Set<Path> files = new HashSet<>();
+    private final Deque<Object[]> todo = new ArrayDeque<>();
+
+    private ExternalRefResolver(SchemaDocuments documents, Path root, RootModel model, boolean loadDocumentation) {
+        this.documents = documents;
+        this.root = root;
+        this.model = model;
+        this.gson = SchemaLoader.newGson(loadDocumentation);
+    }
+
+    /**
+     * Resolves all $refs of the model into other files, returns the number of added components.
+     */
+    public static int resolve(RootModel model, File schema, SchemaDocuments documents, boolean loadDocumentation) throws IOException {
+        Path root = schema.getCanonicalFile().toPath();
+        documents.addRoot(root);
+        ExternalRefResolver resolver = new ExternalRefResolver(documents, root, model, loadDocumentation);
+        resolver.resolveRoot();
+        if (!resolver.imported.isEmpty()) {
+            System.out.println("INFO: added " + resolver.imported.size() + " components of " + resolver.files.size() + " referenced files to " + schema);
+        }
+        return resolver.imported.size();
+    }
+
+    private void resolveRoot() throws IOException {
+        //The components of the schema are copied first, referenced elements are added to them while resolving.
+        ComponentsModel components = model.getComponents() == null ? new ComponentsModel() : model.getComponents();
+        List<SchemaModel> schemas = values(components.getSchemas());
+        List<ParameterModel> parameters = values(components.getParameters());
+        List<ResponseModel> responses = values(components.getResponses());
+        List<RequestBodyModel> requestBodies = values(components.getRequestBodies());
+        List<HeaderModel> headers = values(components.getHeaders());
+        replaceRefComponents(SCHEMAS, components.getSchemas());
+        replaceRefComponents(PARAMETERS, components.getParameters());
+        replaceRefComponents(RESPONSES, components.getResponses());
+        replaceRefComponents(REQUEST_BODIES, components.getRequestBodies());
+        replaceRefComponents(HEADERS, components.getHeaders());
+
+        if (model.getPaths() != null) {
+            for (Map.Entry<String, Map<String, PathModel>> path : model.getPaths().entrySet()) {
+                path.setValue(resolvePathItem(path.getKey(), path.getValue()));
+            }
+        }
+
+        for (SchemaModel schema : schemas) {
+            resolveSchema(root, schema);
+        }
+        for (ParameterModel parameter : parameters) {
+            resolveParameter(root, parameter);
+        }
+        for (ResponseModel response : responses) {
+            resolveResponse(root, response);
+        }
+        for (RequestBodyModel requestBody : requestBodies) {
+            resolveRequestBody(root, requestBody);
+        }
+        for (HeaderModel header : headers) {
+            resolveHeader(root, header);
+        }
+
+        while (!todo.isEmpty()) {
+            Object[] next = todo.poll();
+            Path document = (Path) next[0];
+            Object element = next[1];
+            if (element instanceof SchemaModel) {
+                resolveSchema(document, (SchemaModel) element);
+            } else if (element instanceof ParameterModel) {
+                resolveParameter(document, (ParameterModel) element);
+            } else if (element instanceof ResponseModel) {
+                resolveResponse(document, (ResponseModel) element);
+            } else if (element instanceof RequestBodyModel) {
+                resolveRequestBody(document, (RequestBodyModel) element);
+            } else {
+                resolveHeader(document, (HeaderModel) element);
+            }
+        }
+    }
+
+    private static <T> List<T> values(Map<String, T> map) {
+        return map == null ? Collections.emptyList() : new ArrayList<>(map.values());
+    }
+
+    /**
+     * Returns the operations of the path item. The operations of a path item with a $ref are those of the referenced path item,
+     * an operation the path item itself also defines is taken from the path item.
+     */
+    private Map<String, PathModel> resolvePathItem(String path, Map<String, PathModel> item) throws IOException {
+        if (item == null) {
+            return null;
+        }
+
+        Map<String, PathModel> result = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        Path document = root;
+        while (true) {
+            for (Map.Entry<String, PathModel> e : item.entrySet()) {
+                if (!result.containsKey(e.getKey())) {
+                    result.put(e.getKey(), e.getValue());
+                    resolveOperation(document, e.getValue());
+                }
+            }
+            if (!(item instanceof PathItemRef)) {
+                return result;
+            }
+
+            String ref = ((PathItemRef) item).getRef();
+            Path file = SchemaDocuments.resolveFile(document, ref);
+            file = file == null ? document : file;
+            String pointer = getPointer(ref);
+            if (!seen.add(file + "#" + pointer)) {
+                throw new IllegalArgumentException("$ref " + ref + " of path " + path + " in " + document + " is circular");
+            }
+
+            JsonElement element = navigate(documents.get(file), pointer);
+            if (element == null || !element.isJsonObject()) {
+                throw new IllegalArgumentException("$ref " + ref + " of path " + path + " in " + document + " does not exist");
+            }
+            if (!file.equals(root)) {
+                files.add(file);
+            }
+            document = file;
+            item = gson.fromJson(element, SchemaLoader.PATH_ITEM);
+        }
+    }
+
+    private void resolveOperation(Path document, PathModel operation) throws IOException {
+        if (operation == null) {
+            return;
+        }
+
+        if (operation.getParameters() != null) {
+            for (ParameterModel parameter : operation.getParameters()) {
+                resolveParameter(document, parameter);
+            }
+        }
+        resolveRequestBody(document, operation.getRequestBody());
+        if (operation.getResponses() != null) {
+            for (ResponseModel response : operation.getResponses().values()) {
+                resolveResponse(document, response);
+            }
+        }
+    }
+
+    private void resolveSchema(Path document, SchemaModel schema) throws IOException {
+        if (schema == null) {
+            return;
+        }
+
+        if (schema.get$ref() != null) {
+            schema.set$ref(resolveRef(document, schema.get$ref(), SCHEMAS));
+        }
+
+        DiscriminatorModel discriminator = schema.getDiscriminator();
+        if (discriminator != null && discriminator.getMapping() != null) {
+            for (Map.Entry<String, String> e : discriminator.getMapping().entrySet()) {
+                if (SchemaDocuments.isMappingRef(e.getValue())) {
+                    e.setValue(resolveRef(document, e.getValue(), SCHEMAS));
+                }
+            }
+        }
+
+        if (schema.getProperties() != null) {
+            for (SchemaModel property : schema.getProperties().values()) {
+                resolveSchema(document, property);
+            }
+        }
+        for (SchemaModel[] list : Arrays.asList(schema.getAllOf(), schema.getAnyOf(), schema.getOneOf())) {
+            if (list != null) {
+                for (SchemaModel child : list) {
+                    resolveSchema(document, child);
+                }
+            }
+        }
+        resolveSchema(document, schema.getItems());
+        resolveSchema(document, schema.getAdditionalProperties());
+    }
+
+    private void resolveParameter(Path document, ParameterModel parameter) throws IOException {
+        if (parameter == null) {
+            return;
+        }
+
+        if (parameter.get$ref() != null) {
+            parameter.set$ref(resolveRef(document, parameter.get$ref(), PARAMETERS));
+        }
+        resolveSchema(document, parameter.getSchema());
+    }
+
+    private void resolveHeader(Path document, HeaderModel header) throws IOException {
+        if (header == null) {
+            return;
+        }
+
+        if (header.get$ref() != null) {
+            header.set$ref(resolveRef(document, header.get$ref(), HEADERS));
+        }
+        resolveSchema(document, header.getSchema());
+    }
+
+    private void resolveResponse(Path document, ResponseModel response) throws IOException {
+        if (response == null) {
+            return;
+        }
+
+        if (response.get$ref() != null) {
+            response.set$ref(resolveRef(document, response.get$ref(), RESPONSES));
+        }
+        resolveContent(document, response.getContent());
+        if (response.getHeaders() != null) {
+            for (HeaderModel header : response.getHeaders().values()) {
+                resolveHeader(document, header);
+            }
+        }
+    }
+
+    private void resolveRequestBody(Path document, RequestBodyModel requestBody) throws IOException {
+        if (requestBody == null) {
+            return;
+        }
+
+        if (requestBody.get$ref() != null) {
+            requestBody.set$ref(resolveRef(document, requestBody.get$ref(), REQUEST_BODIES));
+        }
+        resolveContent(document, requestBody.getContent());
+    }
+
+    private void resolveContent(Path document, Map<String, PathSchemaModel> content) throws IOException {
+        if (content != null) {
+            for (PathSchemaModel mediaType : content.values()) {
+                if (mediaType != null) {
+                    resolveSchema(document, mediaType.getSchema());
+                }
+            }
+        }
+    }
+
+    /**
+     * A component of the schema that only consists of a $ref into another file, e.g. "Pet": {"$ref": "pet.json"}, is replaced by the referenced element,
+     * so the element keeps the name the schema gives it.
+     */
+    private void replaceRefComponents(String kind, Map<String, ?> map) throws IOException {
+        if (map == null) {
+            return;
+        }
+
+        for (Map.Entry<String, ?> e : new ArrayList<>(map.entrySet())) {
+            String ref = getRef(e.getValue());
+            Path file = ref == null ? null : SchemaDocuments.resolveFile(root, ref);
+            if (file == null || file.equals(root) || !isRefOnly(e.getValue(), ref)) {
+                continue;
+            }
+
+            String pointer = getPointer(ref);
+            String key = kind + " " + file + "#" + pointer;
+            if (!imported.containsKey(key)) {
+                importElement(root, ref, file, pointer, kind, key, e.getKey());
+            }
+        }
+    }
+
+    private static String getRef(Object element) {
+        if (element instanceof SchemaModel) {
+            return ((SchemaModel) element).get$ref();
+        } else if (element instanceof ParameterModel) {
+            return ((ParameterModel) element).get$ref();
+        } else if (element instanceof ResponseModel) {
+            return ((ResponseModel) element).get$ref();
+        } else if (element instanceof RequestBodyModel) {
+            return ((RequestBodyModel) element).get$ref();
+        } else if (element instanceof HeaderModel) {
+            return ((HeaderModel) element).get$ref();
+        }
+        return null;
+    }
+
+    private boolean isRefOnly(Object element, String ref) {
+        JsonObject refOnly = new JsonObject();
+        refOnly.addProperty("$ref", ref);
+        return gson.toJsonTree(element).equals(gson.toJsonTree(gson.fromJson(refOnly, element.getClass())));
+    }
+
+    private static String getPointer(String ref) {
+        int idx = ref.indexOf('#');
+        return idx == -1 ? "" : ref.substring(idx + 1);
+    }
+
+    /**
+     * Returns the local $ref for a $ref of the document, the referenced element is added to the components if it is in another file.
+     */
+    private String resolveRef(Path document, String ref, String kind) throws IOException {
+        Path file = SchemaDocuments.resolveFile(document, ref);
+        String pointer = getPointer(ref);
+        if (file == null) {
+            if (document.equals(root)) {
+                return ref;
+            }
+            file = document;
+        }
+
+        if (file.equals(root)) {
+            return "#" + pointer;
+        }
+
+        String key = kind + " " + file + "#" + pointer;
+        String local = imported.get(key);
+        if (local != null) {
+            return local;
+        }
+
+        return importElement(document, ref, file, pointer, kind, key, uniqueName(kind, getName(file, pointer)));
+    }
+
+    private String importElement(Path document, String ref, Path file, String pointer, String kind, String key, String name) throws IOException {
+        JsonElement element = navigate(documents.get(file), pointer);
+        if (element == null) {
+            throw new IllegalArgumentException("$ref " + ref + " in " + document + " does not exist");
+        }
+        files.add(file);
+
+        String local = "#/components/" + kind + "/" + name;
+        imported.put(key, local);
+        Object model = gson.fromJson(element, getModelClass(kind));
+        getComponents(kind).put(name, model);
+        todo.add(new Object[]{file, model});
+        return local;
+    }
+
+    private static JsonElement navigate(JsonElement element, String pointer) {
+        if (pointer.isEmpty() || pointer.equals("/")) {
+            return element;
+        }
+
+        for (String segment : pointer.substring(pointer.startsWith("/") ? 1 : 0).split("/", -1)) {
+            String name = unescape(segment);
+            if (element != null && element.isJsonObject()) {
+                element = element.getAsJsonObject().get(name);
+            } else if (element != null && element.isJsonArray() && name.matches("[0-9]+") && Integer.parseInt(name) < element.getAsJsonArray().size()) {
+                element = element.getAsJsonArray().get(Integer.parseInt(name));
+            } else {
+                return null;
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Decodes the percent encoding of the uri fragment and the ~1 and ~0 escapes of the json pointer.
+     */
+    private static String unescape(String segment) {
+        if (segment.indexOf('%') != -1) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            for (int i = 0; i < segment.length(); i++) {
+                char c = segment.charAt(i);
+                if (c == '%' && i + 2 < segment.length()) {
+                    bytes.write(Integer.parseInt(segment.substring(i + 1, i + 3), 16));
+                    i += 2;
+                } else {
+                    bytes.writeBytes(String.valueOf(c).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            segment = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+        return segment.replace("~1", "/").replace("~0", "~");
+    }
+
+    private static String getName(Path file, String pointer) {
+        String[] segments = pointer.split("/");
+        if (segments.length > 0 && !segments[segments.length - 1].isEmpty()) {
+            return unescape(segments[segments.length - 1]);
+        }
+
+        String name = file.getFileName().toString();
+        int idx = name.lastIndexOf('.');
+        return idx > 0 ? name.substring(0, idx) : name;
+    }
+
+    private String uniqueName(String kind, String name) {
+        Map<String, ?> existing = getComponents(kind);
+        if (!existing.containsKey(name)) {
+            return name;
+        }
+
+        for (int i = 2; ; i++) {
+            if (!existing.containsKey(name + i)) {
+                return name + i;
+            }
+        }
+    }
+
+    private static Class<?> getModelClass(String kind) {
+        switch (kind) {
+            case SCHEMAS:
+                return SchemaModel.class;
+            case PARAMETERS:
+                return ParameterModel.class;
+            case RESPONSES:
+                return ResponseModel.class;
+            case REQUEST_BODIES:
+                return RequestBodyModel.class;
+            case HEADERS:
+                return HeaderModel.class;
+            default:
+                throw new IllegalArgumentException("unknown component kind " + kind);
+        }
+    }
+
+    /**
+     * The components of the kind, the map is created if the schema has none.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getComponents(String kind) {
+        if (model.getComponents() == null) {
+            model.setComponents(new ComponentsModel());
+        }
+
+        ComponentsModel components = model.getComponents();
+        switch (kind) {
+            case SCHEMAS:
+                if (components.getSchemas() == null) {
+                    components.setSchemas(new LinkedHashMap<>());
+                }
+                return (Map<String, Object>) (Map<String, ?>) components.getSchemas();
+            case PARAMETERS:
+                if (components.getParameters() == null) {
+                    components.setParameters(new LinkedHashMap<>());
+                }
+                return (Map<String, Object>) (Map<String, ?>) components.getParameters();
+            case RESPONSES:
+                if (components.getResponses() == null) {
+                    components.setResponses(new LinkedHashMap<>());
+                }
+                return (Map<String, Object>) (Map<String, ?>) components.getResponses();
+            case REQUEST_BODIES:
+                if (components.getRequestBodies() == null) {
+                    components.setRequestBodies(new LinkedHashMap<>());
+                }
+                return (Map<String, Object>) (Map<String, ?>) components.getRequestBodies();
+            case HEADERS:
+                if (components.getHeaders() == null) {
+                    components.setHeaders(new LinkedHashMap<>());
+                }
+                return (Map<String, Object>) (Map<String, ?>) components.getHeaders();
+            default:
+                throw new IllegalArgumentException("unknown component kind " + kind);
+        }
+    }
+}
@@ -0,0 +1,436 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the generated sources of a GenerationContext to disk using multiple threads.
+ * Every thread encodes directly from the generated CharSequence into its own reusable buffer.
+ * Files are either written all at once with write, or one by one with submit while they are generated, followed by finish.
+ */
+public class GeneratedFileWriter {
+
+    private static final int MIN_BUFFER_SIZE = 64 * 1024;
+    private static final String SETTINGS_PREFIX = "#settings ";
+
+    private final GenerationContext context;
+
+    private final Map<Path, Boolean> createdDirectories = new ConcurrentHashMap<>();
+    private final ThreadLocal<CharsetEncoder> encoders = ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE));
+    private final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(MIN_BUFFER_SIZE));
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final Map<File, Map<String, String>> oldManifests = new ConcurrentHashMap<>();
+    private final Map<String, File> dirs = new ConcurrentHashMap<>();
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    private final List<Future<?>> pending = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService executor;
+    //Bounds the number of files that are submitted but not yet written, see submit.
+    private final Semaphore inFlight;
+
+    public GeneratedFileWriter(GenerationContext context, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.context = context;
+        //Daemon threads, a generation that fails before finish must not keep the jvm alive.
+        this.executor = threads == 1 ? null : Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "generated-file-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.inFlight = new Semaphore(threads * 4);
+    }
+
+    public static Result write(GenerationContext context) throws Exception {
+        return new GeneratedFileWriter(context, context.getWriterThreads()).write();
+    }
+
+    /**
+     * Writes all files of the context and finishes.
+     */
+    public Result write() throws Exception {
+        Map<String, ? extends CharSequence> generated = context.getGenerated();
+        for (String clazzName : new TreeSet<>(generated.keySet())) {
+            submit(clazzName, generated.get(clazzName));
+        }
+
+        return finish();
+    }
+
+    /**
+     * Writes one file, on the calling thread if there is only one writer thread.
+     * Otherwise the file is queued and the call blocks while too many files are queued, which bounds the memory held by the queue.
+     * The content must not change after it was submitted.
+     */
+    public void submit(String clazzName, CharSequence content) throws Exception {
+        if (!context.isWriteCommonFiles() && context.isCommonClass(clazzName)) {
+            return;
+        }
+
+        File dir = context.getSourceDirForClass(clazzName);
+        Map<String, String> oldManifest = context.isIncremental() ? oldManifests.computeIfAbsent(dir, this::readManifest) : Collections.emptyMap();
+        if (dirs.put(clazzName, dir) != null) {
+            throw new IllegalStateException("file " + clazzName + " was written twice");
+        }
+
+        Callable<String> task = context.getReport().wrap(() -> writeFile(dir, clazzName, content, oldManifest.get(clazzName)));
+        if (executor == null) {
+            hashes.put(clazzName, String.valueOf(task.call()));
+            return;
+        }
+
+        inFlight.acquire();
+        try {
+            pending.add(executor.submit(() -> {
+                try {
+                    hashes.put(clazzName, String.valueOf(task.call()));
+                    return null;
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for all submitted files, deletes stale files and writes the manifests in incremental mode.
+     */
+    public Result finish() throws Exception {
+        try {
+            List<Future<?>> futures;
+            synchronized (pending) {
+                futures = new ArrayList<>(pending);
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        int deleted = 0;
+        if (context.isIncremental()) {
+            Map<File, Map<String, String>> newManifests = new LinkedHashMap<>();
+            for (String clazzName : new TreeSet<>(dirs.keySet())) {
+                newManifests.computeIfAbsent(dirs.get(clazzName), k -> new TreeMap<>()).put(clazzName, hashes.get(clazzName));
+            }
+
+            for (Map.Entry<File, Map<String, String>> e : oldManifests.entrySet()) {
+                Map<String, String> newManifest = newManifests.get(e.getKey());
+                for (String clazzName : e.getValue().keySet()) {
+                    //Common files of a previous run belong to the generation that writes them now.
+                    if (newManifest.containsKey(clazzName) || (!context.isWriteCommonFiles() && context.isCommonClass(clazzName))) {
+                        continue;
+                    }
+
+                    if (Files.deleteIfExists(e.getKey().toPath().resolve(toFileName(clazzName)))) {
+                        deleted++;
+                    }
+                }
+            }
+
+            for (Map.Entry<File, Map<String, String>> e : newManifests.entrySet()) {
+                writeManifest(e.getKey(), e.getValue());
+            }
+        }
+
+        Result result = new Result(dirs.size(), written.get(), unchanged.get(), deleted, bytes.get());
+        System.out.println("INFO: " + context.getPackageName() + ": " + result);
+        return result;
+    }
+
+    private String writeFile(File dir, String clazzName, CharSequence content, String manifestHash) throws Exception {
+        ByteBuffer buffer = encode(content);
+        bytes.addAndGet(buffer.remaining());
+
+        Path target = dir.toPath().resolve(toFileName(clazzName));
+        String hash = null;
+        if (context.isIncremental()) {
+            //A file reused in diff mode was read from the target with this hash, it is unchanged as long as the manifest agrees.
+            String reusedHash = context.getReusedFileHash(clazzName);
+            if (reusedHash != null && reusedHash.equals(manifestHash)) {
+                unchanged.incrementAndGet();
+                return reusedHash;
+            }
+
+            MessageDigest digest = digests.get();
+            digest.update(buffer.duplicate());
+            hash = toHex(digest.digest());
+            if (isUpToDate(target, buffer, hash, manifestHash)) {
+                unchanged.incrementAndGet();
+                return hash;
+            }
+        }
+
+        createDirectory(target.getParent());
+        try(FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        written.incrementAndGet();
+        return hash;
+    }
+
+    private void createDirectory(Path dir) {
+        createdDirectories.computeIfAbsent(dir, k -> {
+            try {
+                Files.createDirectories(k);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private ByteBuffer encode(CharSequence content) {
+        CharsetEncoder encoder = encoders.get().reset();
+        ByteBuffer out = buffers.get();
+        out.clear();
+        if (out.capacity() < content.length()) {
+            out = ByteBuffer.allocate(content.length() + content.length() / 8);
+        }
+
+        CharBuffer in = CharBuffer.wrap(content);
+        while (encoder.encode(in, out, true).isOverflow()) {
+            out = grow(out);
+        }
+
+        while (encoder.flush(out).isOverflow()) {
+            out = grow(out);
+        }
+
+        buffers.set(out);
+        out.flip();
+        return out;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private static boolean isUpToDate(Path target, ByteBuffer content, String hash, String manifestHash) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(target) != content.remaining()) {
+            return false;
+        }
+
+        if (manifestHash != null && !manifestHash.equals(hash)) {
+            return false;
+        }
+
+        //The manifest only lists what was written last time, the file may have been edited or corrupted since.
+        return ByteBuffer.wrap(Files.readAllBytes(target)).equals(content);
+    }
+
+    /**
+     * Adds the files of the previous incremental generation of the package to the context, as listed in the manifests of the source roots.
+     * Files that were changed or deleted since are skipped. Returns the hashes of the files that were read.
+     * Nothing is read if a manifest was written with other settings than those of the context, or by another generator version.
+     */
+    public static Map<String, String> readPrevious(GenerationContext context) throws IOException {
+        GeneratedFileWriter writer = new GeneratedFileWriter(context, 1);
+        Map<File, Map<String, String>> manifests = new LinkedHashMap<>();
+        for (File root : Arrays.asList(context.getApiSourceRoot(), context.getImplSourceRoot(), context.getCommonApiSourceRoot(), context.getCommonImplSourceRoot())) {
+            if (root != null && !manifests.containsKey(root.getAbsoluteFile())) {
+                manifests.put(root.getAbsoluteFile(), writer.readManifest(root.getAbsoluteFile()));
+            }
+        }
+
+        for (Map.Entry<File, Map<String, String>> e : manifests.entrySet()) {
+            if (!e.getValue().isEmpty() && (context.getSettingsKey() == null || !context.getSettingsKey().equals(writer.readSettingsKey(e.getKey())))) {
+                System.out.println("WARNING " + context.getPackageName() + ": the previous generation in " + e.getKey()
+                        + " was generated with other settings or another generator version, none of its files are reused");
+                return Collections.emptyMap();
+            }
+        }
+
+        Map<String, String> result = new HashMap<>();
+        MessageDigest digest = writer.digests.get();
+        for (Map.Entry<File, Map<String, String>> manifest : manifests.entrySet()) {
+            File root = manifest.getKey();
+            for (Map.Entry<String, String> e : manifest.getValue().entrySet()) {
+                Path file = root.toPath().resolve(toFileName(e.getKey()));
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+
+                byte[] content = Files.readAllBytes(file);
+                if (toHex(digest.digest(content)).equals(e.getValue())) {
+                    context.putGenerated(e.getKey(), new String(content, StandardCharsets.UTF_8));
+                    result.put(e.getKey(), e.getValue());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private File getManifestFile(File sourceRoot) {
+        return new File(sourceRoot, ".robust-openapi-generator-" + context.getPackageName() + ".manifest");
+    }
+
+    private Map<String, String> readManifest(File sourceRoot) {
+        Map<String, String> result = new TreeMap<>();
+        File manifest = getManifestFile(sourceRoot);
+        if (!manifest.isFile()) {
+            return result;
+        }
+
+        try {
+            for (String line : Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8)) {
+                if (line.startsWith(SETTINGS_PREFIX)) {
+                    continue;
+                }
+                int idx = line.indexOf(' ');
+                if (idx <= 0) {
+                    continue;
+                }
+                result.put(line.substring(idx + 1), line.substring(0, idx));
+            }
+        } catch (Exception e) {
+            System.out.println("WARNING could not read manifest " + manifest + " will regenerate all files: " + e.getMessage());
+            result.clear();
+        }
+
+        return result;
+    }
+
+    /**
+     * The settings key the manifest was written with, null if there is none.
+     */
+    private String readSettingsKey(File sourceRoot) {
+        File manifest = getManifestFile(sourceRoot);
+        try (BufferedReader reader = Files.newBufferedReader(manifest.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            return line != null && line.startsWith(SETTINGS_PREFIX) ? line.substring(SETTINGS_PREFIX.length()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeManifest(File sourceRoot, Map<String, String> manifest) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        if (context.getSettingsKey() != null) {
+            sb.append(SETTINGS_PREFIX).append(context.getSettingsKey()).append('\n');
+        }
+        for (Map.Entry<String, String> entry : manifest.entrySet()) {
+            sb.append(entry.getValue()).append(' ').append(entry.getKey()).append('\n');
+        }
+
+        Path file = getManifestFile(sourceRoot).toPath();
+        createDirectory(file.getParent());
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toFileName(String clazzName) {
+        return clazzName.replace('.', File.separatorChar) + ".java";
+    }
+
+    static String toHex(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    public static class Result {
+        private final int files;
+        private final int written;
+        private final int unchanged;
+        private final int deleted;
+        private final long bytes;
+
+        public Result(int files, int written, int unchanged, int deleted, long bytes) {
+            this.files = files;
+            this.written = written;
+            this.unchanged = unchanged;
+            this.deleted = deleted;
+            this.bytes = bytes;
+        }
+
+        public int getFiles() {
+            return files;
+        }
+
+        public int getWritten() {
+            return written;
+        }
+
+        public int getUnchanged() {
+            return unchanged;
+        }
+
+        public int getDeleted() {
+            return deleted;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return "generated " + files + " files (" + bytes + " bytes), wrote " + written + " files, " + unchanged + " files unchanged, deleted " + deleted + " stale files";
+        }
+    }
+}
@@ -0,0 +1,358 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.RootModel;
+import com.google.gson.Gson;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On disk cache of the generated files and of the preprocessed model of a GenerationContext.
+ * Entries are keyed by a digest of everything that influences the generated sources, see digest.
+ * Only the newest entry of each package is kept.
+ */
+public class GenerationCache {
+
+    private static final String FILES = ".files.gz";
+    private static final String SNAPSHOT = ".model.gz";
+    private static final String JAR = ".jar";
+
+    private static final Gson GSON = new Gson();
+
+    private static String generatorVersion;
+
+    private final File dir;
+
+    public GenerationCache(File dir) {
+        this.dir = Objects.requireNonNull(dir, "dir must not be null");
+    }
+
+    /**
+     * Digest of the generator itself and all given values. The content of files is digested, not their path.
+     * The elements of a collection are digested one by one.
+     */
+    public static String digest(Object... values) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(getGeneratorVersion().getBytes(StandardCharsets.UTF_8));
+        for (Object value : values) {
+            digest.update((byte) 0);
+            digestValue(digest, value);
+        }
+
+        return GeneratedFileWriter.toHex(digest.digest());
+    }
+
+    private static void digestValue(MessageDigest digest, Object value) throws IOException {
+        if (value instanceof File) {
+            digestFile(digest, ((File) value).toPath());
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                digestValue(digest, element);
+                digest.update((byte) 1);
+            }
+        } else {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Digest of the classes of the generator, a rebuilt generator never uses entries of an older build.
+     */
+    private static synchronized String getGeneratorVersion() throws IOException {
+        if (generatorVersion != null) {
+            return generatorVersion;
+        }
+
+        MessageDigest digest = newDigest();
+        CodeSource source = GenerationCache.class.getProtectionDomain().getCodeSource();
+        URL location = source == null ? null : source.getLocation();
+        Path path;
+        try {
+            path = location == null ? null : Paths.get(location.toURI());
+        } catch (Exception e) {
+            path = null;
+        }
+
+        if (path == null) {
+            throw new IllegalStateException("could not determine the location of the generator classes");
+        }
+
+        if (Files.isDirectory(path)) {
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(path)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                digest.update(path.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                digestFile(digest, file);
+            }
+        } else {
+            digestFile(digest, path);
+        }
+
+        generatorVersion = GeneratedFileWriter.toHex(digest.digest());
+        return generatorVersion;
+    }
+
+    private static void digestFile(MessageDigest digest, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Adds the cached generated files to the context. Returns false if there is no usable entry.
+     */
+    public boolean restoreFiles(String key, GenerationContext context) {
+        return context.getReport().time(context.getPackageName() + "/cacheRestore", () -> readFiles(key, context));
+    }
+
+    private boolean readFiles(String key, GenerationContext context) {
+        File file = getEntry(context, key, FILES);
+        if (!file.isFile()) {
+            return false;
+        }
+
+        Map<String, String> files = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String clazzName = in.readUTF();
+                byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                files.put(clazzName, new String(content, StandardCharsets.UTF_8));
+            }
+        } catch (Exception e) {
+            System.out.println("WARNING could not read generation cache entry " + file + " will generate again: " + e.getMessage());
+            return false;
+        }
+
+        for (Map.Entry<String, String> e : files.entrySet()) {
+            context.putGenerated(e.getKey(), e.getValue());
+        }
+
+        System.out.println("INFO: " + context.getPackageName() + ": restored " + files.size() + " generated files from cache");
+        return true;
+    }
+
+    public void storeFiles(String key, GenerationContext context) throws IOException {
+        Map<String, ? extends CharSequence> generated = context.getGenerated();
+        List<String> classes = new ArrayList<>(new TreeSet<>(generated.keySet()));
+        store(context, key, FILES, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(classes.size());
+            for (String clazzName : classes) {
+                byte[] content = generated.get(clazzName).toString().getBytes(StandardCharsets.UTF_8);
+                data.writeUTF(clazzName);
+                data.writeInt(content.length);
+                data.write(content);
+            }
+            data.flush();
+        });
+    }
+
+    /**
+     * Restores the preprocessed model, the model class names and the merged request and response classes of a fully generated context,
+     * which is everything an extension needs from its base. Returns false if there is no usable entry.
+     */
+    public boolean restoreSnapshot(String key, GenerationContext context) {
+        return context.getReport().time(context.getPackageName() + "/cacheRestoreModel", () -> readSnapshot(key, context));
+    }
+
+    private boolean readSnapshot(String key, GenerationContext context) {
+        Snapshot snapshot = readSnapshot(getEntry(context, key, SNAPSHOT));
+        if (snapshot == null) {
+            return false;
+        }
+
+        apply(snapshot, context);
+        System.out.println("INFO: " + context.getPackageName() + ": reusing preprocessed model from cache");
+        return true;
+    }
+
+    private static Snapshot readSnapshot(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        Snapshot snapshot;
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))), StandardCharsets.UTF_8)) {
+            //The restored model is as compact as a freshly loaded one.
+            snapshot = SchemaLoader.newGson(true).fromJson(reader, Snapshot.class);
+        } catch (Exception e) {
+            System.out.println("WARNING could not read generation cache entry " + file + " will generate again: " + e.getMessage());
+            return null;
+        }
+
+        return snapshot == null || snapshot.model == null ? null : snapshot;
+    }
+
+    private static void apply(Snapshot snapshot, GenerationContext context) {
+        context.setModel(snapshot.model);
+        context.setModelClassNamesMangle(new HashSet<>(snapshot.modelClassNamesMangle));
+        context.setModelClassNameMapping(new HashMap<>(snapshot.modelClassNameMapping));
+        if (snapshot.mergedOperationClasses != null) {
+            context.setMergedOperationClasses(new HashMap<>(snapshot.mergedOperationClasses));
+        }
+    }
+
+    /**
+     * Restores the generated files and the preprocessed model of the newest entry of the package that was generated with the given settings,
+     * whatever its schema was. Returns false if there is no such entry.
+     */
+    public boolean restorePrevious(String settings, GenerationContext context) {
+        return context.getReport().time(context.getPackageName() + "/cacheRestorePrevious", () -> readPrevious(settings, context));
+    }
+
+    private boolean readPrevious(String settings, GenerationContext context) {
+        String prefix = context.getPackageName() + "-";
+        File[] entries = dir.listFiles((d, name) -> name.startsWith(prefix) && name.endsWith(SNAPSHOT));
+        if (entries == null) {
+            return false;
+        }
+
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified).reversed());
+        for (File entry : entries) {
+            String key = entry.getName().substring(prefix.length(), entry.getName().length() - SNAPSHOT.length());
+            if (!getEntry(context, key, FILES).isFile()) {
+                continue;
+            }
+
+            Snapshot snapshot = readSnapshot(entry);
+            if (snapshot != null && settings.equals(snapshot.settings) && readFiles(key, context)) {
+                apply(snapshot, context);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Stores everything restoreSnapshot and restorePrevious need. Settings is a digest of the configuration without the schema.
+     */
+    public void storeSnapshot(String key, String settings, GenerationContext context) throws IOException {
+        Snapshot snapshot = new Snapshot();
+        snapshot.settings = settings;
+        snapshot.model = context.getModel();
+        snapshot.modelClassNamesMangle = new TreeSet<>(context.getModelClassNamesMangle());
+        snapshot.modelClassNameMapping = new TreeMap<>(context.getModelClassNameMapping());
+        snapshot.mergedOperationClasses = new TreeMap<>(context.getMergedOperationClasses());
+        store(context, key, SNAPSHOT, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            GSON.toJson(snapshot, writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Copies the cached jar compiled from sources with the given digest to the target. Returns false if there is no such entry.
+     */
+    public boolean restoreJar(String key, GenerationContext context, File target) throws IOException {
+        File file = getEntry(context, key, JAR);
+        if (!file.isFile()) {
+            return false;
+        }
+
+        Path dir = target.getAbsoluteFile().getParentFile().toPath();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, target.getName(), ".tmp");
+        try {
+            Files.copy(file.toPath(), tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        System.out.println("INFO: " + context.getPackageName() + ": restored jar " + target + " from cache");
+        return true;
+    }
+
+    public void storeJar(String key, GenerationContext context, File jar) throws IOException {
+        //The jar is already compressed.
+        context.getReport().time(context.getPackageName() + "/cacheStore", () -> writeEntry(context, key, JAR, out -> Files.copy(jar.toPath(), out), false));
+    }
+
+    private File getEntry(GenerationContext context, String key, String type) {
+        return new File(dir, context.getPackageName() + "-" + key + type);
+    }
+
+    private void store(GenerationContext context, String key, String type, EntryWriter entryWriter) throws IOException {
+        context.getReport().time(context.getPackageName() + "/cacheStore", () -> writeEntry(context, key, type, entryWriter, true));
+    }
+
+    private void writeEntry(GenerationContext context, String key, String type, EntryWriter entryWriter, boolean gzip) throws IOException {
+        Files.createDirectories(dir.toPath());
+        Path target = getEntry(context, key, type).toPath();
+        Path tmp = Files.createTempFile(dir.toPath(), context.getPackageName() + "-", ".tmp");
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(tmp));
+                 OutputStream out = gzip ? new GZIPOutputStream(file) : file) {
+                entryWriter.write(out);
+            }
+            //Concurrent runs sharing the cache directory never see a partially written entry.
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        File[] stale = dir.listFiles((d, name) -> name.startsWith(context.getPackageName() + "-") && name.endsWith(type) && !name.equals(target.getFileName().toString()));
+        if (stale != null) {
+            for (File file : stale) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    private interface EntryWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static class Snapshot {
+        private String settings;
+        private RootModel model;
+        private Set<String> modelClassNamesMangle;
+        private Map<String, String> modelClassNameMapping;
+        //Extensions need the request and response classes the operations of the base were merged into.
+        private Map<String, String> mergedOperationClasses;
+    }
+}
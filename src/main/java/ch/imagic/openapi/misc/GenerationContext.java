@@ -17,15 +17,30 @@ package ch.imagic.openapi.misc;
 import ch.imagic.openapi.model.*;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GenerationContext {
 
-    private final Map<String, StringBuilder> generated = new HashMap<>();
-    private final Map<String, Integer> indentMap = new HashMap<>();
+    private static final String GENERATED_FILE_HEADER = "//THIS FILE IS MACHINE GENERATED DO NOT EDIT\n";
+
+    //Concurrent because every generator task of the parallel generation pushes to its own file.
+    private final Map<String, SourceFile> generated = new ConcurrentHashMap<>();
+    //Name and length of the files that were already handed to the streaming writer.
+    private final Map<String, Integer> finished = new ConcurrentHashMap<>();
+    //Files of the previous generation and what changed since then, see reuseModel and reuseOperationClass.
+    private Map<String, ? extends CharSequence> previousFiles = Collections.emptyMap();
+    private Map<String, String> previousHashes = Collections.emptyMap();
+    private final Map<String, String> reusedHashes = new ConcurrentHashMap<>();
+    private SchemaDiff schemaDiff;
+    private final AtomicLong reusedFiles = new AtomicLong();
     private final Map<String, Set<String>> interfacesForModelObjects = new HashMap<>();
+    private final Map<String, SortedSet<String>> implsForInterfaces = new HashMap<>();
+
+    private final Map<SchemaModel, SchemaClassification> classifications = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final AtomicLong classificationHits = new AtomicLong();
+    private final AtomicLong classificationMisses = new AtomicLong();
 
     private RootModel model;
     private String packageName;
@@ -61,6 +76,25 @@ public class GenerationContext {
     private boolean gson = false;
     private boolean jackson = false;
 
+    private boolean incremental = false;
+    //Digest of the settings the files are generated with, written to the manifests, see GeneratedFileWriter.readPrevious.
+    private String settingsKey;
+    private int writerThreads = 1;
+    private int generatorThreads = 1;
+    private final List<Runnable> deferredGeneration = new ArrayList<>();
+    private GenerationReport report = new GenerationReport();
+    private boolean streaming = false;
+    private boolean writeCommonFiles = true;
+    private boolean dedupInlineSchemas = false;
+    //Json of every hoisted inline schema at the time it was hoisted to its component name.
+    private final Map<String, String> hoistedSchemas = new HashMap<>();
+    private long dedupedSchemas;
+    private boolean mergeOperationClasses = false;
+    //Structural key of every request and response class generated in merge mode, and the class each merged operation class was replaced with.
+    private final Map<String, String> sharedOperationClasses = new HashMap<>();
+    private Map<String, String> mergedOperationClasses = new HashMap<>();
+    private GeneratedFileWriter streamingWriter;
+
     private Map<String, Map<Integer, String>> managledRequestParameterNames = new HashMap<>();
 
     public GenerationContext(RootModel model) {
@@ -111,6 +145,195 @@ public class GenerationContext {
         this.jackson = jackson;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public String getSettingsKey() {
+        return settingsKey;
+    }
+
+    public void setSettingsKey(String settingsKey) {
+        this.settingsKey = settingsKey;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    public void setWriterThreads(int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+
+    public int getGeneratorThreads() {
+        return generatorThreads;
+    }
+
+    public void setGeneratorThreads(int generatorThreads) {
+        this.generatorThreads = generatorThreads;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Write every file as soon as it is finished instead of keeping all of them in memory until writeGeneratedFilesToDisk.
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public boolean isWriteCommonFiles() {
+        return writeCommonFiles;
+    }
+
+    public void setWriteCommonFiles(boolean writeCommonFiles) {
+        this.writeCommonFiles = writeCommonFiles;
+    }
+
+    public boolean isDedupInlineSchemas() {
+        return dedupInlineSchemas;
+    }
+
+    /**
+     * Hoist identical inline schemas into one component instead of one component each.
+     */
+    public void setDedupInlineSchemas(boolean dedupInlineSchemas) {
+        this.dedupInlineSchemas = dedupInlineSchemas;
+    }
+
+    /**
+     * The component name of an already hoisted inline schema with this json, null if there is none.
+     */
+    public String findHoistedSchema(String json) {
+        String name = hoistedSchemas.get(json);
+        if (name != null) {
+            dedupedSchemas++;
+        }
+        return name;
+    }
+
+    public void addHoistedSchema(String json, String name) {
+        hoistedSchemas.putIfAbsent(json, name);
+    }
+
+    public long getDedupedSchemas() {
+        return dedupedSchemas;
+    }
+
+    public boolean isMergeOperationClasses() {
+        return mergeOperationClasses;
+    }
+
+    /**
+     * Generate one request or response class for all operations whose request or response is structurally identical.
+     * Response classes then take the operation id as constructor argument.
+     */
+    public void setMergeOperationClasses(boolean mergeOperationClasses) {
+        this.mergeOperationClasses = mergeOperationClasses;
+    }
+
+    /**
+     * The request or response class that was already generated for this structural key, null if there is none.
+     * Records that the class the operation would have had is replaced with it.
+     */
+    public synchronized String findSharedOperationClass(String key, String clazz) {
+        String shared = sharedOperationClasses.get(key);
+        if (shared != null) {
+            mergedOperationClasses.put(clazz, shared);
+        }
+        return shared;
+    }
+
+    public synchronized void addSharedOperationClass(String key, String clazz) {
+        sharedOperationClasses.putIfAbsent(key, clazz);
+    }
+
+    /**
+     * The class that is generated instead of the given request or response class, the class itself if it was not merged.
+     */
+    public synchronized String getMergedOperationClass(String clazz) {
+        return mergedOperationClasses.getOrDefault(clazz, clazz);
+    }
+
+    public synchronized Map<String, String> getMergedOperationClasses() {
+        return mergedOperationClasses;
+    }
+
+    public synchronized void setMergedOperationClasses(Map<String, String> mergedOperationClasses) {
+        this.mergedOperationClasses = mergedOperationClasses;
+    }
+
+    public boolean isCommonClass(String clazzName) {
+        return clazzName.startsWith(getCommonApiPackageName() + ".") || clazzName.startsWith(getCommonImplPackageName() + ".");
+    }
+
+    public GenerationReport getReport() {
+        return report;
+    }
+
+    public void setReport(GenerationReport report) {
+        this.report = report;
+    }
+
+    /**
+     * Runs the task immediately, or queues it for runDeferredGeneration if there is more than one generator thread.
+     * The task must only push to files that it owns and that were already reserved with file.
+     */
+    public void deferGeneration(Runnable task) {
+        if (generatorThreads <= 1) {
+            task.run();
+            return;
+        }
+
+        deferredGeneration.add(task);
+    }
+
+    public void runDeferredGeneration() {
+        List<Runnable> tasks = new ArrayList<>(deferredGeneration);
+        deferredGeneration.clear();
+        runParallel(tasks);
+    }
+
+    /**
+     * Runs the tasks on a ForkJoinPool with generatorThreads threads and waits for all of them.
+     */
+    public void runParallel(List<Runnable> tasks) {
+        if (generatorThreads <= 1 || tasks.size() < 2) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(generatorThreads, tasks.size()));
+        try {
+            List<Callable<Void>> callables = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                callables.add(Executors.callable(report.wrap(task), null));
+            }
+
+            for (Future<Void> future : pool.invokeAll(callables)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while generating", e);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     public File getCommonApiSourceRoot() {
         return commonApiSourceRoot;
     }
@@ -151,32 +374,97 @@ public class GenerationContext {
         this.operationInterfaceSuffix = operationInterfaceSuffix;
     }
 
-    public void push(String file, String line1, String... content) {
-        StringBuilder current = generated.get(file);
-        if (current == null) {
-            current = new StringBuilder("//THIS FILE IS MACHINE GENERATED DO NOT EDIT\n");
-            generated.put(file, current);
-        }
-        List<String> ar = new ArrayList<>();
-        ar.add(line1);
-        ar.addAll(Arrays.asList(content));
-        for (String line : ar) {
-            int indent = indentMap.getOrDefault(file, 0);
-            while(indent > 0) {
-                indent--;
-                current.append("    ");
+    /**
+     * The generated file with the given name. Creates the file if it does not exist yet,
+     * so name collision checks see it before its content is generated.
+     */
+    public SourceFile file(String file) {
+        SourceFile current = generated.get(file);
+        if (current != null) {
+            return current;
+        }
+
+        return generated.computeIfAbsent(file, k -> {
+            if (finished.containsKey(k)) {
+                throw new IllegalStateException("file " + k + " was already finished");
             }
+            return new SourceFile(k, GENERATED_FILE_HEADER);
+        });
+    }
+
+    /**
+     * Marks a file as complete. In streaming mode it is handed to the writer right away and only its name and length are kept.
+     * Does nothing if the file does not exist.
+     */
+    public void finishFile(String file) {
+        if (!streaming) {
+            return;
+        }
+
+        SourceFile content = generated.get(file);
+        if (content == null) {
+            return;
+        }
 
-            current.append(line).append("\n");
+        finished.put(file, content.length());
+        generated.remove(file);
+        try {
+            getStreamingWriter().submit(file, content);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while writing " + file, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("could not write " + file, e);
         }
     }
 
+    private synchronized GeneratedFileWriter getStreamingWriter() {
+        if (streamingWriter == null) {
+            streamingWriter = new GeneratedFileWriter(this, writerThreads);
+        }
+        return streamingWriter;
+    }
+
+    public boolean isGenerated(String file) {
+        return generated.containsKey(file) || finished.containsKey(file);
+    }
+
+    /**
+     * Names of all generated files, including the files that were already written in streaming mode.
+     */
+    public SortedSet<String> getGeneratedClassNames() {
+        SortedSet<String> result = new TreeSet<>(finished.keySet());
+        result.addAll(generated.keySet());
+        return result;
+    }
+
+    /**
+     * Length in chars of all generated files, including the files that were already written in streaming mode.
+     */
+    public Map<String, Integer> getGeneratedLengths() {
+        Map<String, Integer> result = new HashMap<>(finished);
+        for (Map.Entry<String, SourceFile> e : generated.entrySet()) {
+            result.put(e.getKey(), e.getValue().length());
+        }
+        return result;
+    }
+
+    public void push(String file, String line1, String... content) {
+        file(file).push(line1, content);
+    }
+
     private void addCommonApiFile(String name, String resource) {
-        this.generated.put(qualifyCommonApiClass(name), new StringBuilder("package " + getCommonApiPackageName() +";\n" + Util.readResource("/togen/"+resource+".java")));
+        String clazz = qualifyCommonApiClass(name);
+        this.generated.put(clazz, new SourceFile(clazz, "package " + getCommonApiPackageName() +";\n" + Util.readResource("/togen/"+resource+".java")));
+        finishFile(clazz);
     }
 
     private void addCommonImplFile(String name, String resource) {
-        this.generated.put(qualifyCommonImplClass(name), new StringBuilder("package " + getCommonImplPackageName() +";\nimport "+getCommonApiPackageName()+".*;\n" + Util.readResource("/togen/"+resource+".java")));
+        String clazz = qualifyCommonImplClass(name);
+        this.generated.put(clazz, new SourceFile(clazz, "package " + getCommonImplPackageName() +";\nimport "+getCommonApiPackageName()+".*;\n" + Util.readResource("/togen/"+resource+".java")));
+        finishFile(clazz);
     }
 
     public void addCommonFiles() {
@@ -208,32 +496,57 @@ public class GenerationContext {
     }
 
     public void addIndent(String file) {
-        indentMap.put(file, indentMap.getOrDefault(file, 0)+1);
+        file(file).addIndent();
     }
 
     public void subIndent(String file) {
-        int cnt = indentMap.getOrDefault(file, 0);
-        if (cnt == 0) {
-            throw new IllegalStateException("subIndent of " + file + " < 0");
-        }
-
-        cnt--;
-        indentMap.put(file, cnt);
+        file(file).subIndent();
     }
 
     public Set<String> getInterfaces(String clazz) {
         return interfacesForModelObjects.getOrDefault(clazz, Collections.emptySet());
     }
 
-    public Set<String> getImplsForInterface(String iface) {
-        Set<String> r = new TreeSet<>();
-        for (Map.Entry<String, Set<String>> e : interfacesForModelObjects.entrySet()) {
-            if (e.getValue().contains(iface)) {
-                r.add(e.getKey());
-            }
+    /**
+     * Returns a sorted, read only view of all classes that implement the interface.
+     */
+    public SortedSet<String> getImplsForInterface(String iface) {
+        SortedSet<String> impls = implsForInterfaces.get(iface);
+        if (impls == null) {
+            return Collections.emptySortedSet();
         }
 
-        return r;
+        return Collections.unmodifiableSortedSet(impls);
+    }
+
+    /**
+     * Same as SchemaClassification.fromSchema, but remembers the result for the schema instance.
+     * The classification depends on the schema and its items and additionalProperties,
+     * code that modifies a schema after it was classified must call invalidateClassification for it.
+     */
+    public SchemaClassification classify(String name, SchemaModel schema) {
+        SchemaClassification classification = classifications.get(schema);
+        if (classification != null) {
+            classificationHits.incrementAndGet();
+            return classification;
+        }
+
+        classificationMisses.incrementAndGet();
+        classification = SchemaClassification.fromSchema(name, schema);
+        classifications.put(schema, classification);
+        return classification;
+    }
+
+    public void invalidateClassification(SchemaModel schema) {
+        classifications.remove(schema);
+    }
+
+    public long getClassificationHits() {
+        return classificationHits.get();
+    }
+
+    public long getClassificationMisses() {
+        return classificationMisses.get();
     }
 
     public String getModelSuffix() {
@@ -278,6 +591,7 @@ public class GenerationContext {
 
     public void addInterface(String clazz, String iface) {
         interfacesForModelObjects.computeIfAbsent(clazz, k -> new LinkedHashSet<>()).add(iface);
+        implsForInterfaces.computeIfAbsent(iface, k -> new TreeSet<>()).add(clazz);
     }
 
     public String getExtensionOperationSuffix() {
@@ -301,7 +615,7 @@ public class GenerationContext {
     }
 
     public String getMangledRequestParameterName(String clazz, int index) {
-        return managledRequestParameterNames.computeIfAbsent(clazz,  k -> new HashMap<>()).get(index);
+        return managledRequestParameterNames.getOrDefault(clazz, Collections.emptyMap()).get(index);
     }
 
     public Long getTypeInfo(String type) {
@@ -351,7 +665,7 @@ public class GenerationContext {
         return compatRequestValues.contains(s);
     }
 
-    public String modelNameToJavaClass(String name) {
+    public synchronized String modelNameToJavaClass(String name) {
         if (name.startsWith("#/components/schemas/")) {
             name = name.substring("#/components/schemas/".length());
         }
@@ -379,10 +693,94 @@ public class GenerationContext {
         }
     }
 
+    /**
+     * Assigns the class names of all given schemas up front so that they no longer depend on the order in which the models are generated.
+     * Returns false and assigns nothing if two schemas would need a collision suffix, as the suffix depends on that order.
+     */
+    public synchronized boolean reserveModelClassNames(Collection<String> names) {
+        Map<String, String> toAssign = new LinkedHashMap<>();
+        Set<String> mangled = new HashSet<>();
+        for (String name : names) {
+            if (modelClassNameMapping.containsKey(name)) {
+                continue;
+            }
+
+            String mangledName = Util.mangleName(Util.capitalize(name) + getModelSuffix());
+            if (modelClassNamesMangle.contains(mangledName) || !mangled.add(mangledName)) {
+                return false;
+            }
+            toAssign.put(name, mangledName);
+        }
+
+        for (Map.Entry<String, String> e : toAssign.entrySet()) {
+            modelClassNamesMangle.add(e.getValue());
+            modelClassNameMapping.put(e.getKey(), e.getValue());
+        }
+
+        return true;
+    }
+
     public Map<String, ? extends CharSequence> getGenerated() {
         return generated;
     }
 
+    /**
+     * Hashes are optional, if the hash of a file on disk is known the writer does not need to check a reused file again.
+     */
+    public void setPreviousGeneration(SchemaDiff schemaDiff, Map<String, ? extends CharSequence> previousFiles, Map<String, String> previousHashes) {
+        this.schemaDiff = schemaDiff;
+        this.previousFiles = previousFiles;
+        this.previousHashes = previousHashes;
+    }
+
+    /**
+     * Takes the class of a model that is not affected by the schema diff from the previous generation.
+     * Returns false if the class has to be generated.
+     */
+    public boolean reuseModel(String name, String file) {
+        return schemaDiff != null && !schemaDiff.isModelAffected(name) && reuse(file);
+    }
+
+    /**
+     * Takes a request or response class of an operation that is not affected by the schema diff from the previous generation.
+     * Returns false if the class has to be generated.
+     */
+    public boolean reuseOperationClass(PathModel operation, String file) {
+        return schemaDiff != null && !schemaDiff.isOperationAffected(operation) && reuse(file);
+    }
+
+    private boolean reuse(String file) {
+        CharSequence content = previousFiles.get(file);
+        if (content == null) {
+            return false;
+        }
+
+        String hash = previousHashes.get(file);
+        if (hash != null) {
+            reusedHashes.put(file, hash);
+        }
+
+        putGenerated(file, content);
+        finishFile(file);
+        reusedFiles.incrementAndGet();
+        return true;
+    }
+
+    public String getReusedFileHash(String file) {
+        return reusedHashes.get(file);
+    }
+
+    public long getReusedFiles() {
+        return reusedFiles.get();
+    }
+
+    /**
+     * Adds a previously generated file, see GenerationCache.
+     */
+    public void putGenerated(String clazzName, CharSequence content) {
+        generated.put(clazzName, new SourceFile(clazzName, content));
+    }
+
     public RootModel getModel() {
         return model;
     }
@@ -628,22 +1026,11 @@ public class GenerationContext {
         return jsr380;
     }
 
-    public void writeGeneratedFilesToDisk() throws Exception {
-        for (Map.Entry<String, ? extends CharSequence> e : this.getGenerated().entrySet()) {
-            String clazzName = e.getKey();
-            File dir = this.getSourceDirForClass(clazzName);
-
-            String fileName = clazzName.replace('.', File.separatorChar) + ".java";
-            File target = new File(dir, fileName);
-            if (target.exists()) {
-                target.delete();
-            }
-
-            target.getParentFile().mkdirs();
-            try(FileOutputStream faos = new FileOutputStream(target, false)) {
-                faos.write(e.getValue().toString().getBytes(StandardCharsets.UTF_8));
-            }
-        }
+    public GeneratedFileWriter.Result writeGeneratedFilesToDisk() throws Exception {
+        return report.time(getPackageName() + "/write", () -> {
+            GeneratedFileWriter.Result result = streaming ? getStreamingWriter().write() : GeneratedFileWriter.write(this);
+            report.recordGenerated(getPackageName(), getGeneratedLengths(), result.getBytes());
+            return result;
+        });
     }
 }
-
@@ -0,0 +1,338 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wall time, cpu time and allocated bytes of every phase of a generation run and some counts per package.
+ * Cpu time and allocation are only measured if requested, on the thread that runs the phase,
+ * work the phase hands to other threads is only included if the task was passed through wrap.
+ */
+public class GenerationReport {
+
+    private static final int LARGEST_CLASSES = 10;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocations;
+
+    private final List<Phase> phases = new ArrayList<>();
+    private final Map<String, PackageCounts> packages = new TreeMap<>();
+    private final ThreadLocal<Phase> current = new ThreadLocal<>();
+    private final boolean measure;
+
+    /**
+     * A report that only measures wall time.
+     */
+    public GenerationReport() {
+        this(false);
+    }
+
+    /**
+     * If measure is set, thread cpu time and allocation measurement are turned on for the whole jvm.
+     */
+    public GenerationReport(boolean measure) {
+        this.measure = measure;
+        if (measure && threads.isCurrentThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+
+        com.sun.management.ThreadMXBean alloc = null;
+        if (measure && threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            alloc = (com.sun.management.ThreadMXBean) threads;
+            if (!alloc.isThreadAllocatedMemoryEnabled()) {
+                alloc.setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+        this.allocations = alloc;
+    }
+
+    /**
+     * Runs the task as a phase on the current thread, phases started by the task are nested in it.
+     */
+    public <T, E extends Exception> T time(String name, Task<T, E> task) throws E {
+        Phase phase = begin(name);
+        try {
+            return task.run();
+        } finally {
+            phase.end();
+        }
+    }
+
+    public <E extends Exception> void time(String name, Action<E> action) throws E {
+        Phase phase = begin(name);
+        try {
+            action.run();
+        } finally {
+            phase.end();
+        }
+    }
+
+    private Phase begin(String name) {
+        Phase parent = current.get();
+        Phase phase = new Phase(name, parent);
+        synchronized (phases) {
+            phases.add(phase);
+        }
+        current.set(phase);
+        return phase;
+    }
+
+    /**
+     * Adds the cpu time and allocation of the task to the phase that is running on the calling thread.
+     */
+    public Runnable wrap(Runnable task) {
+        Phase phase = current.get();
+        if (phase == null) {
+            return task;
+        }
+
+        return () -> {
+            long cpu = cpuTime();
+            long allocated = allocatedBytes();
+            try {
+                task.run();
+            } finally {
+                phase.addWorker(cpuTime() - cpu, allocatedBytes() - allocated);
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Phase phase = current.get();
+        if (phase == null) {
+            return task;
+        }
+
+        return () -> {
+            long cpu = cpuTime();
+            long allocated = allocatedBytes();
+            try {
+                return task.call();
+            } finally {
+                phase.addWorker(cpuTime() - cpu, allocatedBytes() - allocated);
+            }
+        };
+    }
+
+    public void recordSchemas(String packageName, int schemas, int hoisted) {
+        synchronized (packages) {
+            PackageCounts counts = packages.computeIfAbsent(packageName, k -> new PackageCounts());
+            counts.schemas = schemas;
+            counts.hoisted = hoisted;
+        }
+    }
+
+    public void recordGenerated(String packageName, Map<String, Integer> lengths, long bytes) {
+        List<Map.Entry<String, Integer>> largest = new ArrayList<>(lengths.entrySet());
+        largest.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        synchronized (packages) {
+            PackageCounts counts = packages.computeIfAbsent(packageName, k -> new PackageCounts());
+            counts.classes = lengths.size();
+            counts.bytes = bytes;
+            counts.largest.clear();
+            for (Map.Entry<String, Integer> e : largest.subList(0, Math.min(LARGEST_CLASSES, largest.size()))) {
+                counts.largest.put(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    public void print() {
+        printPhases(Integer.MAX_VALUE);
+
+        synchronized (packages) {
+            for (Map.Entry<String, PackageCounts> e : packages.entrySet()) {
+                PackageCounts c = e.getValue();
+                System.out.println("INFO: " + e.getKey() + ": " + c.schemas + " schemas (" + c.hoisted + " hoisted), " + c.classes + " classes, " + c.bytes + " bytes");
+                if (!c.largest.isEmpty()) {
+                    StringBuilder sb = new StringBuilder("INFO: " + e.getKey() + ": largest classes");
+                    String sep = " ";
+                    for (Map.Entry<String, Integer> l : c.largest.entrySet()) {
+                        sb.append(sep).append(l.getKey()).append(" (").append(l.getValue()).append(")");
+                        sep = ", ";
+                    }
+                    System.out.println(sb);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints the phases nested less than maxDepth levels deep, 1 only prints the top level phases.
+     * Nested phases follow their parent, also if phases of concurrent generations were started in between.
+     */
+    public void printPhases(int maxDepth) {
+        List<Phase> roots = new ArrayList<>();
+        Map<Phase, List<Phase>> children = new HashMap<>();
+        synchronized (phases) {
+            for (Phase phase : phases) {
+                if (phase.parent == null) {
+                    roots.add(phase);
+                } else {
+                    children.computeIfAbsent(phase.parent, k -> new ArrayList<>()).add(phase);
+                }
+            }
+        }
+
+        for (Phase root : roots) {
+            printPhase(root, children, 0, maxDepth);
+        }
+    }
+
+    private void printPhase(Phase phase, Map<Phase, List<Phase>> children, int depth, int maxDepth) {
+        if (depth >= maxDepth) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder("INFO: ");
+        for (int i = 0; i < depth; i++) {
+            sb.append("  ");
+        }
+        sb.append(phase.name).append(": ").append(phase.wallNanos / 1_000_000).append("ms wall");
+        if (phase.cpuNanos >= 0) {
+            sb.append(", ").append(phase.cpuNanos / 1_000_000).append("ms cpu");
+        }
+        if (phase.allocatedBytes >= 0) {
+            sb.append(", ").append(phase.allocatedBytes >> 20).append("MB allocated");
+        }
+        System.out.println(sb);
+
+        for (Phase child : children.getOrDefault(phase, Collections.emptyList())) {
+            printPhase(child, children, depth + 1, maxDepth);
+        }
+    }
+
+    public void writeJson(File file) throws IOException {
+        JsonObject root = new JsonObject();
+        JsonArray phaseArray = new JsonArray();
+        synchronized (phases) {
+            for (Phase phase : phases) {
+                JsonObject p = new JsonObject();
+                p.addProperty("name", phase.name);
+                p.addProperty("parent", phase.parent == null ? null : phase.parent.name);
+                p.addProperty("wallMs", phase.wallNanos / 1_000_000);
+                p.addProperty("cpuMs", phase.cpuNanos < 0 ? -1 : phase.cpuNanos / 1_000_000);
+                p.addProperty("allocatedBytes", phase.allocatedBytes);
+                phaseArray.add(p);
+            }
+        }
+        root.add("phases", phaseArray);
+
+        JsonObject packageObject = new JsonObject();
+        synchronized (packages) {
+            for (Map.Entry<String, PackageCounts> e : packages.entrySet()) {
+                PackageCounts c = e.getValue();
+                JsonObject p = new JsonObject();
+                p.addProperty("schemas", c.schemas);
+                p.addProperty("hoistedSchemas", c.hoisted);
+                p.addProperty("classes", c.classes);
+                p.addProperty("bytes", c.bytes);
+                JsonArray largest = new JsonArray();
+                for (Map.Entry<String, Integer> l : c.largest.entrySet()) {
+                    JsonObject clazz = new JsonObject();
+                    clazz.addProperty("name", l.getKey());
+                    clazz.addProperty("chars", l.getValue());
+                    largest.add(clazz);
+                }
+                p.add("largestClasses", largest);
+                packageObject.add(e.getKey(), p);
+            }
+        }
+        root.add("packages", packageObject);
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        Files.write(file.toPath(), new GsonBuilder().setPrettyPrinting().serializeNulls().create().toJson(root).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long cpuTime() {
+        return measure && threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    private long allocatedBytes() {
+        return allocations == null ? -1 : allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static class PackageCounts {
+        private int schemas;
+        private int hoisted;
+        private int classes;
+        private long bytes;
+        private final Map<String, Integer> largest = new LinkedHashMap<>();
+    }
+
+    public interface Task<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    private class Phase {
+        private final String name;
+        private final Phase parent;
+        private final long startWall = System.nanoTime();
+        private final long startCpu = cpuTime();
+        private final long startAllocated = allocatedBytes();
+        private final AtomicLong workerCpu = new AtomicLong();
+        private final AtomicLong workerAllocated = new AtomicLong();
+
+        private long wallNanos;
+        private long cpuNanos = -1;
+        private long allocatedBytes = -1;
+
+        private Phase(String name, Phase parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private void addWorker(long cpu, long allocated) {
+            workerCpu.addAndGet(Math.max(0, cpu));
+            workerAllocated.addAndGet(Math.max(0, allocated));
+        }
+
+        private void end() {
+            wallNanos = System.nanoTime() - startWall;
+            if (startCpu >= 0) {
+                cpuNanos = cpuTime() - startCpu + workerCpu.get();
+            }
+            if (startAllocated >= 0) {
+                allocatedBytes = allocatedBytes() - startAllocated + workerAllocated.get();
+            }
+
+            //The calling thread part of a nested phase is already in the parent, the worker part is not.
+            if (parent != null) {
+                parent.addWorker(workerCpu.get(), workerAllocated.get());
+            }
+            current.set(parent);
+        }
+    }
+}
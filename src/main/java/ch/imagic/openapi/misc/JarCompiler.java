@@ -0,0 +1,253 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import javax.tools.*;
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Compiles generated sources in memory with the javax.tools compiler of the running jdk and writes the classes to a jar.
+ * The jar is reproducible, its entries are sorted and have a fixed time.
+ * Its manifest contains the digest of the sources it was compiled from, see digest.
+ */
+public class JarCompiler {
+
+    public static final String SOURCES_DIGEST = "Generated-Sources-Digest";
+
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private JarCompiler() {
+    }
+
+    /**
+     * Digest of the sources by class name and of everything else that influences the compiled classes.
+     * Classpath entries that are files are digested by content, directories only by path.
+     */
+    public static String digest(Map<String, ? extends CharSequence> sources, List<File> classpath, int release) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        for (String clazz : new TreeSet<>(sources.keySet())) {
+            digest.update(clazz.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(sources.get(clazz).toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        List<Object> values = new ArrayList<>();
+        values.add(GeneratedFileWriter.toHex(digest.digest()));
+        values.add(release);
+        for (File entry : classpath) {
+            values.add(entry.isFile() ? entry : entry.getAbsolutePath());
+        }
+
+        return GenerationCache.digest(values.toArray());
+    }
+
+    /**
+     * True if the jar exists and was built from sources with the given digest.
+     */
+    public static boolean isUpToDate(File jar, String digest) {
+        if (!jar.isFile()) {
+            return false;
+        }
+
+        try (JarFile jarFile = new JarFile(jar)) {
+            Manifest manifest = jarFile.getManifest();
+            return manifest != null && digest.equals(manifest.getMainAttributes().getValue(SOURCES_DIGEST));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compiles the sources, keyed by their fully qualified class name, and returns the class files keyed by their path in a jar.
+     * Nothing is written to disk. Throws IllegalStateException with the compiler errors if the sources do not compile.
+     */
+    public static SortedMap<String, byte[]> compile(Map<String, ? extends CharSequence> sources, List<File> classpath, int release) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("no java compiler available, compiling the generated sources requires a jdk");
+        }
+
+        List<JavaFileObject> units = new ArrayList<>();
+        for (Map.Entry<String, ? extends CharSequence> e : new TreeMap<>(sources).entrySet()) {
+            units.add(new SourceObject(e.getKey(), e.getValue()));
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> options = Arrays.asList("--release", String.valueOf(release), "-encoding", "UTF-8", "-proc:none", "-nowarn");
+        try (StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            standard.setLocation(StandardLocation.CLASS_PATH, classpath);
+            MemoryFileManager fileManager = new MemoryFileManager(standard);
+            boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, units).call();
+            if (!success) {
+                throw new IllegalStateException("compiling the generated sources failed:\n" + formatErrors(diagnostics));
+            }
+            return new TreeMap<>(fileManager.classes);
+        }
+    }
+
+    private static String formatErrors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        StringBuilder sb = new StringBuilder();
+        int errors = 0;
+        for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+            if (d.getKind() != Diagnostic.Kind.ERROR) {
+                continue;
+            }
+
+            errors++;
+            if (errors <= MAX_REPORTED_ERRORS) {
+                sb.append(d.getSource() == null ? "" : d.getSource().getName()).append(':').append(d.getLineNumber()).append(": ")
+                        .append(d.getMessage(Locale.ROOT)).append('\n');
+            }
+        }
+
+        if (errors > MAX_REPORTED_ERRORS) {
+            sb.append("and ").append(errors - MAX_REPORTED_ERRORS).append(" more errors\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the entries, keyed by their path in the jar, to the jar. The jar is replaced atomically.
+     * The manifest comes first, all other entries and their directories are sorted by name.
+     */
+    public static void writeJar(File jar, SortedMap<String, byte[]> entries, String digest) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Created-By", "robust-openapi-generator");
+        manifest.getMainAttributes().putValue(SOURCES_DIGEST, digest);
+
+        SortedSet<String> dirs = new TreeSet<>();
+        for (String name : entries.keySet()) {
+            for (int idx = name.indexOf('/'); idx != -1; idx = name.indexOf('/', idx + 1)) {
+                dirs.add(name.substring(0, idx + 1));
+            }
+        }
+
+        SortedMap<String, byte[]> all = new TreeMap<>(entries);
+        for (String dir : dirs) {
+            all.put(dir, null);
+        }
+        all.remove("META-INF/");
+        all.remove(JarFile.MANIFEST_NAME);
+
+        Path target = jar.getAbsoluteFile().toPath();
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), jar.getName(), ".tmp");
+        try {
+            try (JarOutputStream out = new JarOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                putEntry(out, "META-INF/", null);
+                ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+                manifest.write(manifestBytes);
+                putEntry(out, JarFile.MANIFEST_NAME, manifestBytes.toByteArray());
+                for (Map.Entry<String, byte[]> e : all.entrySet()) {
+                    putEntry(out, e.getKey(), e.getValue());
+                }
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void putEntry(JarOutputStream out, String name, byte[] content) throws IOException {
+        JarEntry entry = new JarEntry(name);
+        entry.setTimeLocal(ENTRY_TIME);
+        out.putNextEntry(entry);
+        if (content != null) {
+            out.write(content);
+        }
+        out.closeEntry();
+    }
+
+    private static class SourceObject extends SimpleJavaFileObject {
+
+        private final CharSequence content;
+
+        private SourceObject(String clazz, CharSequence content) {
+            super(URI.create("string:///" + clazz.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    private static class ClassObject extends SimpleJavaFileObject {
+
+        private final String path;
+        private final SortedMap<String, byte[]> classes;
+
+        private ClassObject(String path, SortedMap<String, byte[]> classes) {
+            super(URI.create("mem:///" + path), Kind.CLASS);
+            this.path = path;
+            this.classes = classes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    classes.put(path, toByteArray());
+                }
+            };
+        }
+    }
+
+    /**
+     * Reads the classpath from disk and keeps every class file written by the compiler in memory.
+     */
+    private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        private final SortedMap<String, byte[]> classes = Collections.synchronizedSortedMap(new TreeMap<>());
+
+        private MemoryFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+            if (kind != JavaFileObject.Kind.CLASS) {
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+            return new ClassObject(className.replace('.', '/') + kind.extension, classes);
+        }
+    }
+}
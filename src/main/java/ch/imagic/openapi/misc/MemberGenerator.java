@@ -19,302 +19,306 @@ import ch.imagic.openapi.model.SchemaModel;
 public class MemberGenerator {
 
     public static void generateTrivialMember(GenerationContext context, String fullyQualified, String propName, String mangledName, String classname, String memberType, SchemaModel propSchema) {
+        SourceFile out = context.file(fullyQualified);
 
         //Util.pushJavaDoc(context, fullyQualified, propSchema);
 
         if (!propName.equals(mangledName)) {
             if (context.jackson()) {
-                context.push(fullyQualified, "@com.fasterxml.jackson.annotation.JsonProperty(\"" +  Util.escapeForSourceCode(propName) +  "\")");
+                out.push("@com.fasterxml.jackson.annotation.JsonProperty(\"" +  Util.escapeForSourceCode(propName) +  "\")");
             }
             if (context.gson()) {
-                context.push(fullyQualified, "@com.google.gson.annotations.SerializedName(\"" + Util.escapeForSourceCode(propName) + "\")");
+                out.push("@com.google.gson.annotations.SerializedName(\"" + Util.escapeForSourceCode(propName) + "\")");
             }
         }
 
-        context.push(fullyQualified, "private "+memberType+" " + mangledName + ";");
-        context.push(fullyQualified, "");
+        out.push("private "+memberType+" " + mangledName + ";");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public "+memberType+" get" + Util.capitalize(mangledName) + "() {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "return this." + mangledName + ";");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public "+memberType+" get" + Util.capitalize(mangledName) + "() {");
+        out.addIndent();
+        out.push("return this." + mangledName + ";");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public void set" + Util.capitalize(mangledName) + "("+memberType+" value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this." + mangledName + " = value;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public void set" + Util.capitalize(mangledName) + "("+memberType+" value) {");
+        out.addIndent();
+        out.push("this." + mangledName + " = value;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " with" + Util.capitalize(mangledName) + "("+memberType+" value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this." + mangledName + " = value;");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " with" + Util.capitalize(mangledName) + "("+memberType+" value) {");
+        out.addIndent();
+        out.push("this." + mangledName + " = value;");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
     }
 
     public static void generateSetMember(GenerationContext context, String fullyQualified, String propName, String mangledName, String classname, String memberType, SchemaModel propSchema) {
+        SourceFile out = context.file(fullyQualified);
         if (!propName.equals(mangledName)) {
             if (context.jackson()) {
-                context.push(fullyQualified, "@com.fasterxml.jackson.annotation.JsonProperty(\"" +  Util.escapeForSourceCode(propName) +  "\")");
+                out.push("@com.fasterxml.jackson.annotation.JsonProperty(\"" +  Util.escapeForSourceCode(propName) +  "\")");
             }
         }
 
         //Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified, "private java.util.Set<"+memberType+"> " + mangledName + ";");
-        context.push(fullyQualified, "");
+        out.push("private java.util.Set<"+memberType+"> " + mangledName + ";");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public java.util.Set<"+memberType+"> get" + Util.capitalize(mangledName) + "() {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "return this." + mangledName + ";");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public java.util.Set<"+memberType+"> get" + Util.capitalize(mangledName) + "() {");
+        out.addIndent();
+        out.push("return this." + mangledName + ";");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public void set" + Util.capitalize(mangledName) + "(java.util.Set<"+memberType+"> value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this." + mangledName + " = value;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public void set" + Util.capitalize(mangledName) + "(java.util.Set<"+memberType+"> value) {");
+        out.addIndent();
+        out.push("this." + mangledName + " = value;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " with" + Util.capitalize(mangledName) + "(java.util.Set<"+memberType+"> value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this." + mangledName + " = value;");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " with" + Util.capitalize(mangledName) + "(java.util.Set<"+memberType+"> value) {");
+        out.addIndent();
+        out.push("this." + mangledName + " = value;");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " with" + Util.capitalize(mangledName) + "("+memberType+"... value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (value == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this."+mangledName+" = new java.util.LinkedHashSet<>();");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "this." + mangledName + " = new java.util.LinkedHashSet<>(java.util.Arrays.asList(value));");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " with" + Util.capitalize(mangledName) + "("+memberType+"... value) {");
+        out.addIndent();
+        out.push("if (value == null) {");
+        out.addIndent();
+        out.push("this."+mangledName+" = new java.util.LinkedHashSet<>();");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("this." + mangledName + " = new java.util.LinkedHashSet<>(java.util.Arrays.asList(value));");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " add" + Util.capitalize(mangledName) + "("+memberType+" value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (this."+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this."+mangledName+" = new java.util.LinkedHashSet<>();");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "this." + mangledName + ".add(value);");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " add" + Util.capitalize(mangledName) + "("+memberType+" value) {");
+        out.addIndent();
+        out.push("if (this."+mangledName + " == null) {");
+        out.addIndent();
+        out.push("this."+mangledName+" = new java.util.LinkedHashSet<>();");
+        out.subIndent();
+        out.push("}");
+        out.push("this." + mangledName + ".add(value);");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public boolean contains" + Util.capitalize(mangledName) + "("+memberType+" value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (this."+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "return false;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "return this." + mangledName + ".contains(value);");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public boolean contains" + Util.capitalize(mangledName) + "("+memberType+" value) {");
+        out.addIndent();
+        out.push("if (this."+mangledName + " == null) {");
+        out.addIndent();
+        out.push("return false;");
+        out.subIndent();
+        out.push("}");
+        out.push("return this." + mangledName + ".contains(value);");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " addAll" + Util.capitalize(mangledName) + "(java.util.Collection<"+memberType+"> value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (this."+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this."+mangledName+" = new java.util.LinkedHashSet<>();");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "if ("+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "this." + mangledName + ".addAll(value);");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " addAll" + Util.capitalize(mangledName) + "(java.util.Collection<"+memberType+"> value) {");
+        out.addIndent();
+        out.push("if (this."+mangledName + " == null) {");
+        out.addIndent();
+        out.push("this."+mangledName+" = new java.util.LinkedHashSet<>();");
+        out.subIndent();
+        out.push("}");
+        out.push("if ("+mangledName + " == null) {");
+        out.addIndent();
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("this." + mangledName + ".addAll(value);");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
     }
 
     public static void generateListMember(GenerationContext context, String fullyQualified, String propName, String mangledName, String classname, String memberType, SchemaModel propSchema) {
+        SourceFile out = context.file(fullyQualified);
         if (!propName.equals(mangledName)) {
             if (context.jackson()) {
-                context.push(fullyQualified, "@com.fasterxml.jackson.annotation.JsonProperty(\"" +  Util.escapeForSourceCode(propName) +  "\")");
+                out.push("@com.fasterxml.jackson.annotation.JsonProperty(\"" +  Util.escapeForSourceCode(propName) +  "\")");
             }
         }
 
         //Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified, "private java.util.List<"+memberType+"> " + mangledName + ";");
-        context.push(fullyQualified, "");
+        out.push("private java.util.List<"+memberType+"> " + mangledName + ";");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public java.util.List<"+memberType+"> get" + Util.capitalize(mangledName) + "() {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "return this." + mangledName + ";");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public java.util.List<"+memberType+"> get" + Util.capitalize(mangledName) + "() {");
+        out.addIndent();
+        out.push("return this." + mangledName + ";");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public void set" + Util.capitalize(mangledName) + "(java.util.List<"+memberType+"> value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this." + mangledName + " = value;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public void set" + Util.capitalize(mangledName) + "(java.util.List<"+memberType+"> value) {");
+        out.addIndent();
+        out.push("this." + mangledName + " = value;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " with" + Util.capitalize(mangledName) + "(java.util.List<"+memberType+"> value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this." + mangledName + " = value;");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " with" + Util.capitalize(mangledName) + "(java.util.List<"+memberType+"> value) {");
+        out.addIndent();
+        out.push("this." + mangledName + " = value;");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " with" + Util.capitalize(mangledName) + "("+memberType+"... value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (value == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this."+mangledName+" = new java.util.ArrayList<>();");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "this." + mangledName + " = new java.util.ArrayList<>(java.util.Arrays.asList(value));");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " with" + Util.capitalize(mangledName) + "("+memberType+"... value) {");
+        out.addIndent();
+        out.push("if (value == null) {");
+        out.addIndent();
+        out.push("this."+mangledName+" = new java.util.ArrayList<>();");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("this." + mangledName + " = new java.util.ArrayList<>(java.util.Arrays.asList(value));");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " add" + Util.capitalize(mangledName) + "("+memberType+" value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (this."+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this."+mangledName+" = new java.util.ArrayList<>();");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "this." + mangledName + ".add(value);");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " add" + Util.capitalize(mangledName) + "("+memberType+" value) {");
+        out.addIndent();
+        out.push("if (this."+mangledName + " == null) {");
+        out.addIndent();
+        out.push("this."+mangledName+" = new java.util.ArrayList<>();");
+        out.subIndent();
+        out.push("}");
+        out.push("this." + mangledName + ".add(value);");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " addAll" + Util.capitalize(mangledName) + "(java.util.Collection<"+memberType+"> value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (this."+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this."+mangledName+" = new java.util.ArrayList<>();");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "if ("+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "this." + mangledName + ".addAll(value);");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " addAll" + Util.capitalize(mangledName) + "(java.util.Collection<"+memberType+"> value) {");
+        out.addIndent();
+        out.push("if (this."+mangledName + " == null) {");
+        out.addIndent();
+        out.push("this."+mangledName+" = new java.util.ArrayList<>();");
+        out.subIndent();
+        out.push("}");
+        out.push("if ("+mangledName + " == null) {");
+        out.addIndent();
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("this." + mangledName + ".addAll(value);");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
     }
 
     public static void generateMapMember(GenerationContext context, String fullyQualified, String propName, String mangledName, String classname, String memberType, SchemaModel propSchema) {
+        SourceFile out = context.file(fullyQualified);
         if (!propName.equals(mangledName)) {
             if (context.jackson()) {
-                context.push(fullyQualified, "@com.fasterxml.jackson.annotation.JsonProperty(\"" +  Util.escapeForSourceCode(propName) +  "\")");
+                out.push("@com.fasterxml.jackson.annotation.JsonProperty(\"" +  Util.escapeForSourceCode(propName) +  "\")");
             }
         }
 
         //Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified, "private java.util.Map<String, "+memberType+"> " + mangledName + ";");
-        context.push(fullyQualified, "");
+        out.push("private java.util.Map<String, "+memberType+"> " + mangledName + ";");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public java.util.Map<String, "+memberType+"> get" + Util.capitalize(mangledName) + "() {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "return this." + mangledName + ";");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public java.util.Map<String, "+memberType+"> get" + Util.capitalize(mangledName) + "() {");
+        out.addIndent();
+        out.push("return this." + mangledName + ";");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public void set" + Util.capitalize(mangledName) + "(java.util.Map<String, "+memberType+"> value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this." + mangledName + " = value;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public void set" + Util.capitalize(mangledName) + "(java.util.Map<String, "+memberType+"> value) {");
+        out.addIndent();
+        out.push("this." + mangledName + " = value;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " with" + Util.capitalize(mangledName) + "(java.util.Map<String, "+memberType+"> value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this." + mangledName + " = value;");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " with" + Util.capitalize(mangledName) + "(java.util.Map<String, "+memberType+"> value) {");
+        out.addIndent();
+        out.push("this." + mangledName + " = value;");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + classname + " put" + Util.capitalize(mangledName) + "(String key, "+memberType+" value) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (this."+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "this."+mangledName+" = new java.util.LinkedHashMap<>();");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "this." + mangledName + ".put(key, value);");
-        context.push(fullyQualified, "return this;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + classname + " put" + Util.capitalize(mangledName) + "(String key, "+memberType+" value) {");
+        out.addIndent();
+        out.push("if (this."+mangledName + " == null) {");
+        out.addIndent();
+        out.push("this."+mangledName+" = new java.util.LinkedHashMap<>();");
+        out.subIndent();
+        out.push("}");
+        out.push("this." + mangledName + ".put(key, value);");
+        out.push("return this;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         Util.pushJavaDoc(context, fullyQualified, propSchema);
-        context.push(fullyQualified,"public " + memberType + " get" + Util.capitalize(mangledName) + "(String key) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "if (this."+mangledName + " == null) {");
-        context.addIndent(fullyQualified);
-        context.push(fullyQualified, "return null;");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "return this." + mangledName + ".get(key);");
-        context.subIndent(fullyQualified);
-        context.push(fullyQualified,"}");
-        context.push(fullyQualified, "");
+        out.push("public " + memberType + " get" + Util.capitalize(mangledName) + "(String key) {");
+        out.addIndent();
+        out.push("if (this."+mangledName + " == null) {");
+        out.addIndent();
+        out.push("return null;");
+        out.subIndent();
+        out.push("}");
+        out.push("return this." + mangledName + ".get(key);");
+        out.subIndent();
+        out.push("}");
+        out.push("");
     }
 }
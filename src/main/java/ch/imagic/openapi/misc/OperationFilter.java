@@ -0,0 +1,307 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.*;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Selects the operations of a schema by tag, operation id and path, and removes everything the selected operations do not use.
+ * An operation is selected if it matches none of the excludes and, if there are any includes, at least one include.
+ * Path patterns are globs, "*" matches within one path segment and "**" matches across segments, e.g. "/pets/*" or "/admin/**".
+ * <p>
+ * After filtering, only the component schemas, parameters, responses, request bodies and headers that are reachable
+ * from the remaining operations through $refs, properties, items, allOf, anyOf, oneOf and discriminator mappings are kept.
+ * This runs on the loaded schema before preprocessing, so nothing that was removed is ever generated.
+ */
+public class OperationFilter {
+
+    private static final String SCHEMAS = "#/components/schemas/";
+    private static final String PARAMETERS = "#/components/parameters/";
+    private static final String RESPONSES = "#/components/responses/";
+    private static final String REQUEST_BODIES = "#/components/requestBodies/";
+    private static final String HEADERS = "#/components/headers/";
+
+    private final Set<String> includeTags;
+    private final Set<String> excludeTags;
+    private final Set<String> includeOperations;
+    private final Set<String> excludeOperations;
+    private final List<Pattern> includePaths;
+    private final List<Pattern> excludePaths;
+
+    public OperationFilter(Collection<String> includeTags, Collection<String> excludeTags,
+                           Collection<String> includeOperations, Collection<String> excludeOperations,
+                           Collection<String> includePaths, Collection<String> excludePaths) {
+        this.includeTags = new HashSet<>(includeTags);
+        this.excludeTags = new HashSet<>(excludeTags);
+        this.includeOperations = new HashSet<>(includeOperations);
+        this.excludeOperations = new HashSet<>(excludeOperations);
+        this.includePaths = toPatterns(includePaths);
+        this.excludePaths = toPatterns(excludePaths);
+    }
+
+    private static List<Pattern> toPatterns(Collection<String> globs) {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String glob : globs) {
+            patterns.add(globToPattern(glob));
+        }
+        return patterns;
+    }
+
+    static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * True if nothing is filtered, the schema is then left as it is.
+     */
+    public boolean isEmpty() {
+        return includeTags.isEmpty() && excludeTags.isEmpty() && includeOperations.isEmpty() && excludeOperations.isEmpty()
+                && includePaths.isEmpty() && excludePaths.isEmpty();
+    }
+
+    public boolean isSelected(String path, PathModel operation) {
+        List<String> tags = operation.getTags() == null ? Collections.emptyList() : operation.getTags();
+        String operationId = operation.getOperationId();
+        if (tags.stream().anyMatch(excludeTags::contains)
+                || (operationId != null && excludeOperations.contains(operationId))
+                || excludePaths.stream().anyMatch(p -> p.matcher(path).matches())) {
+            return false;
+        }
+
+        if (includeTags.isEmpty() && includeOperations.isEmpty() && includePaths.isEmpty()) {
+            return true;
+        }
+
+        return tags.stream().anyMatch(includeTags::contains)
+                || (operationId != null && includeOperations.contains(operationId))
+                || includePaths.stream().anyMatch(p -> p.matcher(path).matches());
+    }
+
+    /**
+     * Removes the operations that are not selected and all components they alone used.
+     */
+    public void apply(String packageName, RootModel model) {
+        if (isEmpty()) {
+            return;
+        }
+
+        int operations = 0;
+        int selected = 0;
+        if (model.getPaths() != null) {
+            for (Iterator<Map.Entry<String, Map<String, PathModel>>> paths = model.getPaths().entrySet().iterator(); paths.hasNext(); ) {
+                Map.Entry<String, Map<String, PathModel>> path = paths.next();
+                for (Iterator<PathModel> methods = path.getValue().values().iterator(); methods.hasNext(); ) {
+                    operations++;
+                    if (isSelected(path.getKey(), methods.next())) {
+                        selected++;
+                    } else {
+                        methods.remove();
+                    }
+                }
+                if (path.getValue().isEmpty()) {
+                    paths.remove();
+                }
+            }
+        }
+
+        int components = countComponents(model.getComponents());
+        if (model.getComponents() != null) {
+            new Reachability(model).prune();
+        }
+        System.out.println("INFO: " + packageName + ": selected " + selected + " of " + operations + " operations, they use "
+                + countComponents(model.getComponents()) + " of " + components + " components");
+    }
+
+    private static int countComponents(ComponentsModel components) {
+        if (components == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (Map<String, ?> map : Arrays.asList(components.getSchemas(), components.getParameters(), components.getResponses(),
+                components.getRequestBodies(), components.getHeaders())) {
+            count += map == null ? 0 : map.size();
+        }
+        return count;
+    }
+
+    /**
+     * Marks every component reachable from the operations of the model, then removes all others.
+     */
+    private static class Reachability {
+        private final RootModel model;
+        private final ComponentsModel components;
+        //Local $refs of all reached components, e.g. "#/components/schemas/Pet".
+        private final Set<String> reached = new HashSet<>();
+        private final Deque<Object> todo = new ArrayDeque<>();
+
+        Reachability(RootModel model) {
+            this.model = model;
+            this.components = model.getComponents();
+        }
+
+        void prune() {
+            if (model.getPaths() != null) {
+                for (Map<String, PathModel> methods : model.getPaths().values()) {
+                    for (PathModel operation : methods.values()) {
+                        visitOperation(operation);
+                    }
+                }
+            }
+
+            while (!todo.isEmpty()) {
+                Object next = todo.poll();
+                if (next instanceof SchemaModel) {
+                    visitSchema((SchemaModel) next);
+                } else if (next instanceof ParameterModel) {
+                    visitParameter((ParameterModel) next);
+                } else if (next instanceof ResponseModel) {
+                    visitResponse((ResponseModel) next);
+                } else if (next instanceof RequestBodyModel) {
+                    visitRequestBody((RequestBodyModel) next);
+                } else if (next instanceof HeaderModel) {
+                    visitHeader((HeaderModel) next);
+                }
+            }
+
+            retain(components.getSchemas(), SCHEMAS);
+            retain(components.getParameters(), PARAMETERS);
+            retain(components.getResponses(), RESPONSES);
+            retain(components.getRequestBodies(), REQUEST_BODIES);
+            retain(components.getHeaders(), HEADERS);
+        }
+
+        private void retain(Map<String, ?> map, String prefix) {
+            if (map != null) {
+                map.keySet().removeIf(name -> !reached.contains(prefix + name));
+            }
+        }
+
+        /**
+         * Queues the referenced component unless it was already reached. Refs that do not point into the components are left to the generator.
+         */
+        private void reach(String ref, String prefix, Map<String, ?> map) {
+            if (ref == null || !ref.startsWith(prefix) || map == null) {
+                return;
+            }
+
+            if (reached.add(ref)) {
+                Object component = map.get(ref.substring(prefix.length()));
+                if (component != null) {
+                    todo.add(component);
+                }
+            }
+        }
+
+        private void visitOperation(PathModel operation) {
+            if (operation.getParameters() != null) {
+                for (ParameterModel parameter : operation.getParameters()) {
+                    visitParameter(parameter);
+                }
+            }
+            visitRequestBody(operation.getRequestBody());
+            if (operation.getResponses() != null) {
+                for (ResponseModel response : operation.getResponses().values()) {
+                    visitResponse(response);
+                }
+            }
+        }
+
+        private void visitSchema(SchemaModel schema) {
+            if (schema == null) {
+                return;
+            }
+
+            reach(schema.get$ref(), SCHEMAS, components.getSchemas());
+            DiscriminatorModel discriminator = schema.getDiscriminator();
+            if (discriminator != null && discriminator.getMapping() != null) {
+                for (String target : discriminator.getMapping().values()) {
+                    reach(target.startsWith("#") ? target : SCHEMAS + target, SCHEMAS, components.getSchemas());
+                }
+            }
+
+            if (schema.getProperties() != null) {
+                schema.getProperties().values().forEach(this::visitSchema);
+            }
+            for (SchemaModel[] list : Arrays.asList(schema.getAllOf(), schema.getAnyOf(), schema.getOneOf())) {
+                if (list != null) {
+                    for (SchemaModel child : list) {
+                        visitSchema(child);
+                    }
+                }
+            }
+            visitSchema(schema.getItems());
+            visitSchema(schema.getAdditionalProperties());
+        }
+
+        private void visitParameter(ParameterModel parameter) {
+            if (parameter != null) {
+                reach(parameter.get$ref(), PARAMETERS, components.getParameters());
+                visitSchema(parameter.getSchema());
+            }
+        }
+
+        private void visitHeader(HeaderModel header) {
+            if (header != null) {
+                reach(header.get$ref(), HEADERS, components.getHeaders());
+                visitSchema(header.getSchema());
+            }
+        }
+
+        private void visitResponse(ResponseModel response) {
+            if (response == null) {
+                return;
+            }
+
+            reach(response.get$ref(), RESPONSES, components.getResponses());
+            visitContent(response.getContent());
+            if (response.getHeaders() != null) {
+                response.getHeaders().values().forEach(this::visitHeader);
+            }
+        }
+
+        private void visitRequestBody(RequestBodyModel requestBody) {
+            if (requestBody != null) {
+                reach(requestBody.get$ref(), REQUEST_BODIES, components.getRequestBodies());
+                visitContent(requestBody.getContent());
+            }
+        }
+
+        private void visitContent(Map<String, PathSchemaModel> content) {
+            if (content != null) {
+                for (PathSchemaModel mediaType : content.values()) {
+                    if (mediaType != null) {
+                        visitSchema(mediaType.getSchema());
+                    }
+                }
+            }
+        }
+    }
+}
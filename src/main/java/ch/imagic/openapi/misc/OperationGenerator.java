@@ -40,15 +40,16 @@ public class OperationGenerator {
 
         String primaryInterface = ctx.qualifyTagInterfaceClass(primaryInterfaceName);
 
-        ctx.push(primaryInterface, "package " + ctx.getTagPackage() + ";");
-        ctx.push(primaryInterface, "");
+        SourceFile primaryInterfaceOut = ctx.file(primaryInterface);
+        primaryInterfaceOut.push("package " + ctx.getTagPackage() + ";");
+        primaryInterfaceOut.push("");
         if (apiIfaces.isEmpty()) {
-            ctx.push(primaryInterface, "public interface "+primaryInterfaceName+" extends java.lang.AutoCloseable {");
+            primaryInterfaceOut.push("public interface "+primaryInterfaceName+" extends java.lang.AutoCloseable {");
         } else {
-            ctx.push(primaryInterface, "public interface "+primaryInterfaceName+" extends java.lang.AutoCloseable, " +apiIfaces.stream().map(ctx::qualifyTagInterfaceClass).collect(Collectors.joining(", ")) + " {");
+            primaryInterfaceOut.push("public interface "+primaryInterfaceName+" extends java.lang.AutoCloseable, " +apiIfaces.stream().map(ctx::qualifyTagInterfaceClass).collect(Collectors.joining(", ")) + " {");
         }
-        ctx.addIndent(primaryInterface);
-        ctx.push(primaryInterface, "");
+        primaryInterfaceOut.addIndent();
+        primaryInterfaceOut.push("");
         /// //////////////////////////////////
 
 
@@ -183,100 +184,113 @@ public class OperationGenerator {
             }
         }
 
+        //Request and response classes of all operations, if generated in parallel.
+        ctx.runDeferredGeneration();
+        if (ctx.isMergeOperationClasses()) {
+            System.out.println("INFO: " + ctx.getPackageName() + ": " + ctx.getMergedOperationClasses().size() + " request and response classes were merged into an identical class");
+        }
+
         finishApiImpl(ctx, className, metaFields);
 
         finishTagInterfaces(ctx, apiIfaces, primaryInterface);
 
         //Finish the types class
-        ctx.subIndent(typesClass);
-        ctx.push(typesClass, "}");
+        SourceFile typesOut = ctx.file(typesClass);
+        typesOut.subIndent();
+        typesOut.push("}");
     }
 
     private static void prepareApiImpl(GenerationContext ctx, String className, String primaryInterface) {
-        ctx.push(className, "package " + ctx.getImplPackage() + ";");
-        ctx.push(className, "");
-        ctx.push(className, "public abstract class ApiImpl extends "+ ctx.qualifyCommonImplClass("ApiClient")+" implements " + primaryInterface + "{");
-        ctx.addIndent(className);
-        ctx.push(className, "");
-        ctx.push(className, "public ApiImpl(String baseUrl, java.net.http.HttpClient.Builder builder) {");
-        ctx.addIndent(className);
-        ctx.push(className, "super(baseUrl, builder);");
-        ctx.subIndent(className);
-        ctx.push(className, "}");
-        ctx.push(className, "");
-        ctx.push(className, "public ApiImpl(String baseUrl, java.net.http.HttpClient client) {");
-        ctx.addIndent(className);
-        ctx.push(className, "super(baseUrl, client);");
-        ctx.subIndent(className);
-        ctx.push(className, "}");
-        ctx.push(className, "");
+        SourceFile out = ctx.file(className);
+        out.push("package " + ctx.getImplPackage() + ";");
+        out.push("");
+        out.push("public abstract class ApiImpl extends "+ ctx.qualifyCommonImplClass("ApiClient")+" implements " + primaryInterface + "{");
+        out.addIndent();
+        out.push("");
+        out.push("public ApiImpl(String baseUrl, java.net.http.HttpClient.Builder builder) {");
+        out.addIndent();
+        out.push("super(baseUrl, builder);");
+        out.subIndent();
+        out.push("}");
+        out.push("");
+        out.push("public ApiImpl(String baseUrl, java.net.http.HttpClient client) {");
+        out.addIndent();
+        out.push("super(baseUrl, client);");
+        out.subIndent();
+        out.push("}");
+        out.push("");
     }
 
     private static void finishApiImpl(GenerationContext ctx, String apiImplClassName, Set<String> metaFields) {
-        ctx.push(apiImplClassName, "protected static final java.util.List<"+ ctx.qualifyCommonImplClass("RequestMetadata") +"> ALL_REQUEST_METADATA = java.util.Arrays.asList(" + metaFields.stream().sorted().collect(Collectors.joining(", ")) + ");");
+        SourceFile out = ctx.file(apiImplClassName);
+        out.push("protected static final java.util.List<"+ ctx.qualifyCommonImplClass("RequestMetadata") +"> ALL_REQUEST_METADATA = java.util.Arrays.asList(" + metaFields.stream().sorted().collect(Collectors.joining(", ")) + ");");
 
-        String generatedModelClasses = ctx.getGenerated().keySet().stream().sorted().filter(a -> a.startsWith(ctx.getModelPackage())).map(a -> a + ".class").collect(Collectors.joining(", "));
-        String generatedResponseClasses = ctx.getGenerated().keySet().stream().sorted().filter(a -> a.startsWith(ctx.getResponsePackage())).map(a -> a + ".class").collect(Collectors.joining(", "));
-        String generatedRequestClasses = ctx.getGenerated().keySet().stream().sorted().filter(a -> a.startsWith(ctx.getReqParamPackage())).map(a -> a + ".class").collect(Collectors.joining(", "));
+        String generatedModelClasses = ctx.getGeneratedClassNames().stream().filter(a -> a.startsWith(ctx.getModelPackage())).map(a -> a + ".class").collect(Collectors.joining(", "));
+        String generatedResponseClasses = ctx.getGeneratedClassNames().stream().filter(a -> a.startsWith(ctx.getResponsePackage())).map(a -> a + ".class").collect(Collectors.joining(", "));
+        String generatedRequestClasses = ctx.getGeneratedClassNames().stream().filter(a -> a.startsWith(ctx.getReqParamPackage())).map(a -> a + ".class").collect(Collectors.joining(", "));
 
-        ctx.push(apiImplClassName, "protected static final java.util.List<java.lang.Class<?>> ALL_MODEL_CLASSES = java.util.Arrays.asList(" + generatedModelClasses + ");");
-        ctx.push(apiImplClassName, "protected static final java.util.List<java.lang.Class<? extends " + ctx.qualifyCommonApiClass("Response") +">> ALL_RESPONSE_CLASSES = java.util.Arrays.asList(" + generatedResponseClasses + ");");
-        ctx.push(apiImplClassName, "protected static final java.util.List<java.lang.Class<? extends " + ctx.qualifyCommonApiClass("RequestParameters") +">> ALL_REQUEST_CLASSES = java.util.Arrays.asList(" + generatedRequestClasses + ");");
+        out.push("protected static final java.util.List<java.lang.Class<?>> ALL_MODEL_CLASSES = java.util.Arrays.asList(" + generatedModelClasses + ");");
+        out.push("protected static final java.util.List<java.lang.Class<? extends " + ctx.qualifyCommonApiClass("Response") +">> ALL_RESPONSE_CLASSES = java.util.Arrays.asList(" + generatedResponseClasses + ");");
+        out.push("protected static final java.util.List<java.lang.Class<? extends " + ctx.qualifyCommonApiClass("RequestParameters") +">> ALL_REQUEST_CLASSES = java.util.Arrays.asList(" + generatedRequestClasses + ");");
 
-        ctx.subIndent(apiImplClassName);
-        ctx.push(apiImplClassName, "}");
+        out.subIndent();
+        out.push("}");
     }
 
     private static String prepareTypesClass(GenerationContext ctx) {
         String typesClass = ctx.qualifyImplClass("Types");
-        ctx.push(typesClass, "package " + ctx.getImplPackage() + ";");
-        ctx.push(typesClass, "");
-        ctx.push(typesClass, "/**");
-        ctx.push(typesClass, " * This class contains generic type information needed for json parsing of response bodies.");
-        ctx.push(typesClass, " * All response bodies which need to be parsed as generic type such as List&ltSomeType&gt have an entry here.");
-        ctx.push(typesClass, " */");
-        ctx.push(typesClass, "public class Types {");
-        ctx.addIndent(typesClass);
-        ctx.push(typesClass, "private static abstract class TypeInfo<T> {");
-        ctx.addIndent(typesClass);
-        ctx.push(typesClass, "public java.lang.reflect.Type getType() {");
-        ctx.addIndent(typesClass);
-        ctx.push(typesClass, "return ((java.lang.reflect.ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[0];");
-        ctx.subIndent(typesClass);
-        ctx.push(typesClass, "}");
-        ctx.subIndent(typesClass);
-        ctx.push(typesClass, "}");
+        SourceFile out = ctx.file(typesClass);
+        out.push("package " + ctx.getImplPackage() + ";");
+        out.push("");
+        out.push("/**");
+        out.push(" * This class contains generic type information needed for json parsing of response bodies.");
+        out.push(" * All response bodies which need to be parsed as generic type such as List&ltSomeType&gt have an entry here.");
+        out.push(" */");
+        out.push("public class Types {");
+        out.addIndent();
+        out.push("private static abstract class TypeInfo<T> {");
+        out.addIndent();
+        out.push("public java.lang.reflect.Type getType() {");
+        out.addIndent();
+        out.push("return ((java.lang.reflect.ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[0];");
+        out.subIndent();
+        out.push("}");
+        out.subIndent();
+        out.push("}");
         return typesClass;
     }
 
     private static void finishTagInterfaces(GenerationContext ctx, Set<String> apiIfaces, String primaryInterface) {
         for (String iface: apiIfaces) {
             String qual = ctx.qualifyTagInterfaceClass(iface);
-            ctx.subIndent(qual);
-            ctx.push(qual, "}");
+            SourceFile qualOut = ctx.file(qual);
+            qualOut.subIndent();
+            qualOut.push("}");
         }
 
-        ctx.push(primaryInterface, "");
-        ctx.push(primaryInterface, "/**");
-        ctx.push(primaryInterface, " * On Java 21 and newer this function should be implemented to call HttpClient.close()/HttpClient.shutdownNow() etc.<br>");
-        ctx.push(primaryInterface, " * <br>");
-        ctx.push(primaryInterface, " * With older Java versions this method should be implemented to a noop,<br>");
-        ctx.push(primaryInterface, " * or set the HttpClient to null and possibly call System.gc() if necesarry.<br>");
-        ctx.push(primaryInterface, " * <br>");
-        ctx.push(primaryInterface, " * To help you decide: It depends entirely how many instances of HttpClient your application creates and if natural garbage collection is fast enough.<br>");
-        ctx.push(primaryInterface, " * An example where where calling System.gc() may be necesarry is if you are running in environments where the number of user mode threads is limited to a fixed very low number (some Cloud Service Providers do this),<br>");
-        ctx.push(primaryInterface, " * and your application requires communication with a lot of different servers and therefore multiple instances of HttpClient<br>");
-        ctx.push(primaryInterface, " */");
-        ctx.push(primaryInterface, "@Override");
-        ctx.push(primaryInterface, "void close() throws RuntimeException;");
-
-
-        ctx.subIndent(primaryInterface);
-        ctx.push(primaryInterface, "}");
+        SourceFile primaryInterfaceOut = ctx.file(primaryInterface);
+        primaryInterfaceOut.push("");
+        primaryInterfaceOut.push("/**");
+        primaryInterfaceOut.push(" * On Java 21 and newer this function should be implemented to call HttpClient.close()/HttpClient.shutdownNow() etc.<br>");
+        primaryInterfaceOut.push(" * <br>");
+        primaryInterfaceOut.push(" * With older Java versions this method should be implemented to a noop,<br>");
+        primaryInterfaceOut.push(" * or set the HttpClient to null and possibly call System.gc() if necesarry.<br>");
+        primaryInterfaceOut.push(" * <br>");
+        primaryInterfaceOut.push(" * To help you decide: It depends entirely how many instances of HttpClient your application creates and if natural garbage collection is fast enough.<br>");
+        primaryInterfaceOut.push(" * An example where where calling System.gc() may be necesarry is if you are running in environments where the number of user mode threads is limited to a fixed very low number (some Cloud Service Providers do this),<br>");
+        primaryInterfaceOut.push(" * and your application requires communication with a lot of different servers and therefore multiple instances of HttpClient<br>");
+        primaryInterfaceOut.push(" */");
+        primaryInterfaceOut.push("@Override");
+        primaryInterfaceOut.push("void close() throws RuntimeException;");
+
+
+        primaryInterfaceOut.subIndent();
+        primaryInterfaceOut.push("}");
     }
 
     private static Set<String> prepareTagInterfaces(GenerationContext ctx) {
-        Set<String> apiIfaces = new HashSet<>();
+        //Sorted, the primary interface extends them in this order.
+        Set<String> apiIfaces = new TreeSet<>();
         for (Map.Entry<String, Map<String, PathModel>> paths : ctx.getModel().getPaths().entrySet()) {
             for (Map.Entry<String, PathModel> pm : paths.getValue().entrySet()) {
                 PathModel model = pm.getValue();
@@ -288,8 +302,9 @@ public class OperationGenerator {
                     String name = Util.capitalize(Util.mangleName(tag)) + ctx.getTagSuffix();
                     if (apiIfaces.add(name)) {
                         String className = ctx.qualifyTagInterfaceClass(name);
-                        ctx.push(className, "package " + ctx.getTagPackage() + ";");
-                        ctx.push(className, "");
+                        SourceFile out = ctx.file(className);
+                        out.push("package " + ctx.getTagPackage() + ";");
+                        out.push("");
 
                         if (ctx.getModel().getTags() != null) {
                             for (TagModel t : ctx.getModel().getTags()) {
@@ -300,8 +315,8 @@ public class OperationGenerator {
                             }
                         }
 
-                        ctx.push(className, "public interface " + name + " {");
-                        ctx.addIndent(className);
+                        out.push("public interface " + name + " {");
+                        out.addIndent();
                     }
 
                 }
@@ -315,31 +330,32 @@ public class OperationGenerator {
 
 
 
-        ctx.push(apiClassName, "");
-        ctx.push(apiClassName, "/**");
-        ctx.push(apiClassName, " * Schema metadata of the " + operationId + " operation.");
-        ctx.push(apiClassName, " */");
-        ctx.push(apiClassName, "protected static " + ctx.qualifyCommonImplClass("RequestMetadata") + " " + metaFieldName +
+        SourceFile out = ctx.file(apiClassName);
+        out.push("");
+        out.push("/**");
+        out.push(" * Schema metadata of the " + operationId + " operation.");
+        out.push(" */");
+        out.push("protected static " + ctx.qualifyCommonImplClass("RequestMetadata") + " " + metaFieldName +
                 " = new " + ctx.qualifyCommonImplClass("RequestMetadata") + "(");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "\"" + Util.escapeForSourceCode(operationId) + "\", \"" + Util.escapeForSourceCode(method.toUpperCase()) + "\", \"" + Util.escapeForSourceCode(path) + "\", " + responseObjectClassName + ".class,",
+        out.addIndent();
+        out.push("\"" + Util.escapeForSourceCode(operationId) + "\", \"" + Util.escapeForSourceCode(method.toUpperCase()) + "\", \"" + Util.escapeForSourceCode(path) + "\", " + responseObjectClassName + ".class,",
                 "java.util.Map.ofEntries(" + methodNamesForRequestBodyContentType.entrySet().stream().sorted(Map.Entry.comparingByKey()).map(a -> "java.util.Map.entry(\""+Util.escapeForSourceCode(a.getKey()) + "\", \""+Util.escapeForSourceCode(a.getValue())+"\")").collect(Collectors.joining(", ")) +"),",
                 "new java.util.LinkedHashSet<>(java.util.Arrays.asList(" + requestParameterClasses.stream().sorted().map(a -> a + ".class").collect(Collectors.joining(", ")) +")),",
                 "new java.util.LinkedHashSet<>(java.util.Arrays.asList(" + headerParameters.stream().map(a -> "\"" + Util.escapeForSourceCode(a) + "\"").collect(Collectors.joining(", ")) +")),",
                 "new java.util.LinkedHashSet<>(java.util.Arrays.asList(" + queryParameters.stream().map(a -> "\"" + Util.escapeForSourceCode(a) + "\"").collect(Collectors.joining(", ")) +")),",
                 "new java.util.LinkedHashSet<>(java.util.Arrays.asList(" + pathParameters.stream().map(a -> "\"" + Util.escapeForSourceCode(a) + "\"").collect(Collectors.joining(", ")) +")),",
                 "new java.util.LinkedHashSet<>(java.util.Arrays.asList(" + patternPathParameters.stream().map(a -> "\"" + Util.escapeForSourceCode(a) + "\"").collect(Collectors.joining(", ")) +"))");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, ");");
-        ctx.push(apiClassName, "");
+        out.subIndent();
+        out.push(");");
+        out.push("");
     }
 
     private static void generateOperationContent(GenerationContext ctx, String apiClassName, String primaryInterfaceClassName, String responseClassName, String methodNameToGenerate, String requestParameterClass, String metaFieldName, PathModel model, String operationId, String contentType) {
         Map<String, ResponseModel> responses = model.getResponses();
         if (responses == null) {
-            responses = new HashMap<>();
+            responses = new LinkedHashMap<>();
         }
-        responses = new HashMap<>(responses);
+        responses = new LinkedHashMap<>(responses);
 
         for (Map.Entry<String, ResponseModel> res : responses.entrySet()) {
             res.setValue(ctx.findResponse(res.getValue().get$ref()));
@@ -349,85 +365,88 @@ public class OperationGenerator {
             for (String tag : model.getTags()) {
                 String interfaceName = Util.capitalize(Util.mangleName(tag)) + ctx.getTagSuffix();
                 String iface = ctx.qualifyTagInterfaceClass(interfaceName);
-                ctx.push(iface, "");
+                SourceFile ifaceOut = ctx.file(iface);
+                ifaceOut.push("");
                 Util.pushJavaDoc(ctx, interfaceName, model.getDescription());
-                ctx.push(iface, responseClassName + " " + methodNameToGenerate + "(" + requestParameterClass + " param) throws " + ctx.qualifyCommonApiClass("ApiException") + ctx.getOperationInterfaceSuffix()+ ";");
+                ifaceOut.push(responseClassName + " " + methodNameToGenerate + "(" + requestParameterClass + " param) throws " + ctx.qualifyCommonApiClass("ApiException") + ctx.getOperationInterfaceSuffix()+ ";");
             }
         } else {
-            ctx.push(primaryInterfaceClassName, "");
+            SourceFile primaryInterfaceOut = ctx.file(primaryInterfaceClassName);
+            primaryInterfaceOut.push("");
             Util.pushJavaDoc(ctx, primaryInterfaceClassName, model.getDescription());
-            ctx.push(primaryInterfaceClassName, responseClassName + " " + methodNameToGenerate + "(" + requestParameterClass + " param) throws " + ctx.qualifyCommonApiClass("ApiException") + ctx.getOperationInterfaceSuffix()+ ";");
+            primaryInterfaceOut.push(responseClassName + " " + methodNameToGenerate + "(" + requestParameterClass + " param) throws " + ctx.qualifyCommonApiClass("ApiException") + ctx.getOperationInterfaceSuffix()+ ";");
         }
 
-        ctx.push(apiClassName, "/**");
-        ctx.push(apiClassName, " * Implementation of the " + operationId + " operation.");
-        ctx.push(apiClassName, " */");
-        ctx.push(apiClassName, "@Override");
-        ctx.push(apiClassName, "public " + responseClassName + " " + methodNameToGenerate + "(" + requestParameterClass + " param) throws " + ctx.qualifyCommonApiClass("ApiException") + "{");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, ctx.qualifyCommonImplClass("RequestContext") + " context = newRequestContext(" + metaFieldName + ", java.util.Objects.requireNonNull(param, \"param must not be null\"));");
+        SourceFile apiOut = ctx.file(apiClassName);
+        apiOut.push("/**");
+        apiOut.push(" * Implementation of the " + operationId + " operation.");
+        apiOut.push(" */");
+        apiOut.push("@Override");
+        apiOut.push("public " + responseClassName + " " + methodNameToGenerate + "(" + requestParameterClass + " param) throws " + ctx.qualifyCommonApiClass("ApiException") + "{");
+        apiOut.addIndent();
+        apiOut.push(ctx.qualifyCommonImplClass("RequestContext") + " context = newRequestContext(" + metaFieldName + ", java.util.Objects.requireNonNull(param, \"param must not be null\"));");
 
-        ctx.push(apiClassName, "java.net.http.HttpResponse<java.io.InputStream> response = null;");
+        apiOut.push("java.net.http.HttpResponse<java.io.InputStream> response = null;");
 
         if (contentType != null && !contentType.equals("application/json") && !contentType.equals("text/plain")) {
-            ctx.push(apiClassName, "try ("+ctx.qualifyCommonApiClass("BinaryPayload")+" requestBody = param.getRequestBody()) {");
+            apiOut.push("try ("+ctx.qualifyCommonApiClass("BinaryPayload")+" requestBody = param.getRequestBody()) {");
         } else {
-            ctx.push(apiClassName, "try {");
+            apiOut.push("try {");
         }
 
-        ctx.addIndent(apiClassName);
+        apiOut.addIndent();
         if (requestParameterClass != null) {
-            ctx.push(apiClassName, "validateRequest(context, param);");
+            apiOut.push("validateRequest(context, param);");
         }
 
-        ctx.push(apiClassName, "context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());");
-        ctx.push(apiClassName, "context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());");
-        ctx.push(apiClassName, "context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());");
+        apiOut.push("context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());");
+        apiOut.push("context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());");
+        apiOut.push("context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());");
 
-        ctx.push(apiClassName, "context.setBaseUrl(this.getBaseUrl());");
+        apiOut.push("context.setBaseUrl(this.getBaseUrl());");
         if ("application/json".equals(contentType)) {
-            ctx.push(apiClassName, "context.setContentType(\"application/json\");");
-            ctx.push(apiClassName, "context.setRequestBody(serializeJsonData(context, param.getRequestBody()));");
+            apiOut.push("context.setContentType(\"application/json\");");
+            apiOut.push("context.setRequestBody(serializeJsonData(context, param.getRequestBody()));");
         } else if ("text/plain".equals(contentType)) {
-            ctx.push(apiClassName, "context.setContentType(\"text/plain\");");
-            ctx.push(apiClassName, "context.setRequestBody(processTextRequestBody(context, param.getRequestBody()));");
+            apiOut.push("context.setContentType(\"text/plain\");");
+            apiOut.push("context.setRequestBody(processTextRequestBody(context, param.getRequestBody()));");
         } else if (contentType != null) {
-            ctx.push(apiClassName, "context.setRequestBody(processBinaryDataRequestBody(context, \""+ Util.escapeForSourceCode(contentType)+"\", requestBody));");
+            apiOut.push("context.setRequestBody(processBinaryDataRequestBody(context, \""+ Util.escapeForSourceCode(contentType)+"\", requestBody));");
         }
 
         if (requestParameterClass != null) {
             generateOperationParameterTransferToRequestContext(ctx, model, requestParameterClass, apiClassName);
         }
-        ctx.push(apiClassName, "customizeRequestContext(context);");
-        ctx.push(apiClassName, "java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);");
-        ctx.push(apiClassName, "context.apply(builder);");
-        ctx.push(apiClassName, "customizeRequest(context, builder);");
-        ctx.push(apiClassName, "java.net.http.HttpRequest request = builder.build();");
-        ctx.push(apiClassName, "response = sendRequest(context, request);");
-        ctx.push(apiClassName, "java.util.Optional<"+ responseClassName +"> customizedResponse = customizeResponse(context, "+ responseClassName +".class, response);");
-        ctx.push(apiClassName, "if (customizedResponse != null) {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "if (customizedResponse.isEmpty()) {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "return null;");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-        ctx.push(apiClassName, "return customizedResponse.get();");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-        ctx.push(apiClassName, "");
-        ctx.push(apiClassName, "int statusCode = response.statusCode();");
-        ctx.push(apiClassName, "java.net.http.HttpHeaders headers =  response.headers();");
-        ctx.push(apiClassName, "String contentType = headers.firstValue(\"Content-Type\").orElse(\"no-content-type\").toLowerCase();");
-        ctx.push(apiClassName, "int contentTypeEnd = contentType.indexOf(';');");
-        ctx.push(apiClassName, "if (contentTypeEnd >= 0) {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "contentType = contentType.substring(0, contentTypeEnd);");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-
-        ctx.push(apiClassName, "switch (statusCode) {");
-        ctx.addIndent(apiClassName);
+        apiOut.push("customizeRequestContext(context);");
+        apiOut.push("java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);");
+        apiOut.push("context.apply(builder);");
+        apiOut.push("customizeRequest(context, builder);");
+        apiOut.push("java.net.http.HttpRequest request = builder.build();");
+        apiOut.push("response = sendRequest(context, request);");
+        apiOut.push("java.util.Optional<"+ responseClassName +"> customizedResponse = customizeResponse(context, "+ responseClassName +".class, response);");
+        apiOut.push("if (customizedResponse != null) {");
+        apiOut.addIndent();
+        apiOut.push("if (customizedResponse.isEmpty()) {");
+        apiOut.addIndent();
+        apiOut.push("return null;");
+        apiOut.subIndent();
+        apiOut.push("}");
+        apiOut.push("return customizedResponse.get();");
+        apiOut.subIndent();
+        apiOut.push("}");
+        apiOut.push("");
+        apiOut.push("int statusCode = response.statusCode();");
+        apiOut.push("java.net.http.HttpHeaders headers =  response.headers();");
+        apiOut.push("String contentType = headers.firstValue(\"Content-Type\").orElse(\"no-content-type\").toLowerCase();");
+        apiOut.push("int contentTypeEnd = contentType.indexOf(';');");
+        apiOut.push("if (contentTypeEnd >= 0) {");
+        apiOut.addIndent();
+        apiOut.push("contentType = contentType.substring(0, contentTypeEnd);");
+        apiOut.subIndent();
+        apiOut.push("}");
+
+        apiOut.push("switch (statusCode) {");
+        apiOut.addIndent();
 
         for (Map.Entry<String, ResponseModel> res : responses.entrySet().stream().sorted(Map.Entry.comparingByKey()).collect(Collectors.toList())) {
             if (res.getKey().equals("default")) {
@@ -438,31 +457,31 @@ public class OperationGenerator {
                 continue;
             }
 
-            ctx.push(apiClassName,"case " + res.getKey()+  ": {");
-            ctx.addIndent(apiClassName);
-            ctx.push(apiClassName,"switch(contentType) {");
-            ctx.addIndent(apiClassName);
+            apiOut.push("case " + res.getKey()+  ": {");
+            apiOut.addIndent();
+            apiOut.push("switch(contentType) {");
+            apiOut.addIndent();
             generateResponseSwitchBlockCases(ctx, apiClassName, responseClassName, res.getValue(), "S" + res.getKey());
             if (res.getValue().getContent() == null || !res.getValue().getContent().containsKey("*/*")) {
                 //Default case already handled by */*
-                ctx.push(apiClassName,"default: {");
-                ctx.addIndent(apiClassName);
-                ctx.push(apiClassName, "throw new "+ctx.qualifyCommonApiClass("ApiException")+"(\""+operationId+"\", statusCode, headers.map(), processResponseForException(context, response), \"Unexpected content type for status code \" + statusCode + \" \" + contentType);");
-                ctx.subIndent(apiClassName);
-                ctx.push(apiClassName,"}");
+                apiOut.push("default: {");
+                apiOut.addIndent();
+                apiOut.push("throw new "+ctx.qualifyCommonApiClass("ApiException")+"(\""+operationId+"\", statusCode, headers.map(), processResponseForException(context, response), \"Unexpected content type for status code \" + statusCode + \" \" + contentType);");
+                apiOut.subIndent();
+                apiOut.push("}");
             }
 
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
+            apiOut.subIndent();
+            apiOut.push("}");
 
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
+            apiOut.subIndent();
+            apiOut.push("}");
         }
 
-        ctx.push(apiClassName,"default: {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "switch (contentType) {");
-        ctx.addIndent(apiClassName);
+        apiOut.push("default: {");
+        apiOut.addIndent();
+        apiOut.push("switch (contentType) {");
+        apiOut.addIndent();
 
         ResponseModel defModel = responses.get("default");
         if (defModel != null) {
@@ -471,85 +490,94 @@ public class OperationGenerator {
 
         if (defModel == null || defModel.getContent() == null || !defModel.getContent().containsKey("*/*")) {
             //Default case already handled by */*
-            ctx.push(apiClassName,"default: {");
-            ctx.addIndent(apiClassName);
-            ctx.push(apiClassName, "throw new "+ctx.qualifyCommonApiClass("ApiException")+"(\""+operationId+"\", statusCode, headers.map(), processResponseForException(context, response), \"Unexpected status code and content type \" + statusCode + \" \" + contentType);");
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName,"}");
+            apiOut.push("default: {");
+            apiOut.addIndent();
+            apiOut.push("throw new "+ctx.qualifyCommonApiClass("ApiException")+"(\""+operationId+"\", statusCode, headers.map(), processResponseForException(context, response), \"Unexpected status code and content type \" + statusCode + \" \" + contentType);");
+            apiOut.subIndent();
+            apiOut.push("}");
         }
 
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "} catch (Throwable throwable) {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "if (response != null) {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "try {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "response.body().close();");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "} catch (Throwable t) {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "//Ignored");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-        ctx.push(apiClassName, "if (throwable instanceof "+ ctx.qualifyCommonApiClass("ApiException")+ ") {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "throw ("+ ctx.qualifyCommonApiClass("ApiException")+") throwable;");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-        ctx.push(apiClassName, "if (response != null) {");
-        ctx.addIndent(apiClassName);
-        ctx.push(apiClassName, "throw new "+ ctx.qualifyCommonApiClass("ApiException")+"(\""+ operationId +"\", response.statusCode(), response.headers().map(), throwable);");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-        ctx.push(apiClassName, "throw new "+ ctx.qualifyCommonApiClass("ApiException")+"(\""+ operationId +"\", throwable);");
-        ctx.subIndent(apiClassName);
-
-        ctx.push(apiClassName, "}");
-        ctx.subIndent(apiClassName);
-        ctx.push(apiClassName, "}");
-        ctx.push(apiClassName, "");
+        apiOut.subIndent();
+        apiOut.push("}");
+
+        apiOut.subIndent();
+        apiOut.push("}");
+
+        apiOut.subIndent();
+        apiOut.push("}");
+
+        apiOut.subIndent();
+        apiOut.push("} catch (Throwable throwable) {");
+        apiOut.addIndent();
+        apiOut.push("if (response != null) {");
+        apiOut.addIndent();
+        apiOut.push("try {");
+        apiOut.addIndent();
+        apiOut.push("response.body().close();");
+        apiOut.subIndent();
+        apiOut.push("} catch (Throwable t) {");
+        apiOut.addIndent();
+        apiOut.push("//Ignored");
+        apiOut.subIndent();
+        apiOut.push("}");
+        apiOut.subIndent();
+        apiOut.push("}");
+        apiOut.push("if (throwable instanceof "+ ctx.qualifyCommonApiClass("ApiException")+ ") {");
+        apiOut.addIndent();
+        apiOut.push("throw ("+ ctx.qualifyCommonApiClass("ApiException")+") throwable;");
+        apiOut.subIndent();
+        apiOut.push("}");
+        apiOut.push("if (response != null) {");
+        apiOut.addIndent();
+        apiOut.push("throw new "+ ctx.qualifyCommonApiClass("ApiException")+"(\""+ operationId +"\", response.statusCode(), response.headers().map(), throwable);");
+        apiOut.subIndent();
+        apiOut.push("}");
+        apiOut.push("throw new "+ ctx.qualifyCommonApiClass("ApiException")+"(\""+ operationId +"\", throwable);");
+        apiOut.subIndent();
+
+        apiOut.push("}");
+        apiOut.subIndent();
+        apiOut.push("}");
+        apiOut.push("");
+    }
+
+    /**
+     * A response class shared by several operations takes the operation id from the request metadata.
+     */
+    private static String newResponseObject(GenerationContext ctx, String responseClassName, String variant, String body) {
+        String operationId = ctx.isMergeOperationClasses() ? "context.getMetadata().getOperationId(), " : "";
+        return responseClassName + " responseObj = new " + responseClassName + "(" + operationId + responseClassName + ".Variant." + variant + ", statusCode, headers.map(), " + body + ");";
     }
 
     private static void generateResponseSwitchBlockCases(GenerationContext ctx, String apiClassName, String responseClassName, ResponseModel responseModel, String statusCodeVariantPrefix) {
+        SourceFile apiOut = ctx.file(apiClassName);
         Map<String, PathSchemaModel> content = responseModel.getContent();
         if (content == null) {
             //NO-CONTENT
-            ctx.push(apiClassName, "case \"no-content-type\": {");
-            ctx.addIndent(apiClassName);
-            ctx.push(apiClassName, "response.body().close();");
-            ctx.push(apiClassName, responseClassName+" responseObj = new "+ responseClassName +"("+ responseClassName +".Variant."+ statusCodeVariantPrefix + ", statusCode, headers.map(), null);");
-            ctx.push(apiClassName, "validateResponse(context, responseObj);");
-            ctx.push(apiClassName, "return responseObj;");
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
+            apiOut.push("case \"no-content-type\": {");
+            apiOut.addIndent();
+            apiOut.push("response.body().close();");
+            apiOut.push(newResponseObject(ctx, responseClassName, statusCodeVariantPrefix, "null"));
+            apiOut.push("validateResponse(context, responseObj);");
+            apiOut.push("return responseObj;");
+            apiOut.subIndent();
+            apiOut.push("}");
             return;
         }
         PathSchemaModel jzon = content.get("application/json");
         if (jzon != null && !Util.isJsonStringSpecialSchema(jzon.getSchema())) {
-            ctx.push(apiClassName, "case \"application/json\": {");
-            ctx.addIndent(apiClassName);
+            apiOut.push("case \"application/json\": {");
+            apiOut.addIndent();
 
             String enumName = null;
-            if (Util.getEnumRecursive(jzon.getSchema()) != null) {
+            if (Util.getEnumRecursive(ctx, jzon.getSchema()) != null) {
                 enumName = responseClassName + "." + statusCodeVariantPrefix + "ResponseBodyEnum";
             }
             String modelClass = Util.findRecursiveTypeName(ctx, jzon.getSchema(), enumName);
 
-            ctx.push(apiClassName, "Object result;");
-            ctx.push(apiClassName, "try (java.io.InputStream is = response.body()) {");
-            ctx.addIndent(apiClassName);
+            apiOut.push("Object result;");
+            apiOut.push("try (java.io.InputStream is = response.body()) {");
+            apiOut.addIndent();
 
 
             if (modelClass.contains("<")) {
@@ -559,74 +587,75 @@ public class OperationGenerator {
                 if (typeCnt == null) {
                     //This is the first time we have seen this type, so we need to add it to the type lookup table.
                     typeCnt = ctx.nextType();
-                    ctx.push(typesClass, "");
-                    ctx.push(typesClass, "/**");
-                    ctx.push(typesClass, " * Generic type for " + modelClass.replace("<", "&lt").replace(">", "&gt"));
-                    ctx.push(typesClass, " */");
-
-                    ctx.push(typesClass, "public static final java.lang.reflect.Type TYPE" + typeCnt + ";");
-                    ctx.push(typesClass, "static {");
-                    ctx.addIndent(typesClass);
-                    ctx.push(typesClass, "TypeInfo typ = new TypeInfo<" + modelClass + ">() {};");
-                    ctx.push(typesClass, "TYPE" + typeCnt + " = typ.getType();");
-                    ctx.subIndent(typesClass);
-                    ctx.push(typesClass, "}");
-                    ctx.push(typesClass, "");
+                    SourceFile typesOut = ctx.file(typesClass);
+                    typesOut.push("");
+                    typesOut.push("/**");
+                    typesOut.push(" * Generic type for " + modelClass.replace("<", "&lt").replace(">", "&gt"));
+                    typesOut.push(" */");
+
+                    typesOut.push("public static final java.lang.reflect.Type TYPE" + typeCnt + ";");
+                    typesOut.push("static {");
+                    typesOut.addIndent();
+                    typesOut.push("TypeInfo typ = new TypeInfo<" + modelClass + ">() {};");
+                    typesOut.push("TYPE" + typeCnt + " = typ.getType();");
+                    typesOut.subIndent();
+                    typesOut.push("}");
+                    typesOut.push("");
 
                     //Add it to the lookup table.
                     ctx.setTypeInfo(modelClass, typeCnt);
                 }
 
-                ctx.push(apiClassName, "result = deserializeJsonData(context, " + typesClass + ".TYPE" + typeCnt + ", statusCode, headers, is);");
+                apiOut.push("result = deserializeJsonData(context, " + typesClass + ".TYPE" + typeCnt + ", statusCode, headers, is);");
             } else {
                 //Model class is a simple class we can reference by using the .class syntax.
-                ctx.push(apiClassName, "result = deserializeJsonData(context, " + modelClass + ".class, statusCode, headers, is);");
+                apiOut.push("result = deserializeJsonData(context, " + modelClass + ".class, statusCode, headers, is);");
             }
 
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
-            ctx.push(apiClassName, responseClassName + " responseObj = new "+ responseClassName +"("+ responseClassName +".Variant."+ statusCodeVariantPrefix +"_APPLICATION_JSON, statusCode, headers.map(), result);");
-            ctx.push(apiClassName, "validateResponse(context, responseObj);");
-            ctx.push(apiClassName, "return responseObj;");
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
+            apiOut.subIndent();
+            apiOut.push("}");
+            apiOut.push(newResponseObject(ctx, responseClassName, statusCodeVariantPrefix + "_APPLICATION_JSON", "result"));
+            apiOut.push("validateResponse(context, responseObj);");
+            apiOut.push("return responseObj;");
+            apiOut.subIndent();
+            apiOut.push("}");
         }
 
         if (jzon != null && Util.isJsonStringSpecialSchema(jzon.getSchema())) {
-            ctx.push(apiClassName, "case \"application/json\": {");
-            ctx.addIndent(apiClassName);
-            ctx.push(apiClassName, "Object result;");
-            ctx.push(apiClassName, "try (java.io.InputStream input = response.body()){");
-            ctx.addIndent(apiClassName);
-            ctx.push(apiClassName, "result = new String(input.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);");
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
-            ctx.push(apiClassName, responseClassName + " responseObj = new "+ responseClassName +"("+ responseClassName +".Variant."+ statusCodeVariantPrefix +"_APPLICATION_JSON, statusCode, headers.map(), result);");
-            ctx.push(apiClassName, "validateResponse(context, responseObj);");
-            ctx.push(apiClassName, "return responseObj;");
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
+            apiOut.push("case \"application/json\": {");
+            apiOut.addIndent();
+            apiOut.push("Object result;");
+            apiOut.push("try (java.io.InputStream input = response.body()){");
+            apiOut.addIndent();
+            apiOut.push("result = new String(input.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);");
+            apiOut.subIndent();
+            apiOut.push("}");
+            apiOut.push(newResponseObject(ctx, responseClassName, statusCodeVariantPrefix + "_APPLICATION_JSON", "result"));
+            apiOut.push("validateResponse(context, responseObj);");
+            apiOut.push("return responseObj;");
+            apiOut.subIndent();
+            apiOut.push("}");
         }
 
         PathSchemaModel plain = content.get("text/plain");
         if (plain != null) {
             if (!content.containsKey("*/*") && !content.containsKey("application/octet-stream")) {
-                ctx.push(apiClassName, "case \"no-content-type\":");
-                ctx.push(apiClassName, "//FALL THROUGH");
+                apiOut.push("case \"no-content-type\":");
+                apiOut.push("//FALL THROUGH");
             }
-            ctx.push(apiClassName, "case \"text/plain\": {");
-            ctx.addIndent(apiClassName);
-            ctx.push(apiClassName, "Object result;");
-            ctx.push(apiClassName, "try (java.io.InputStream input = response.body()){");
-            ctx.addIndent(apiClassName);
-            ctx.push(apiClassName, "result = new String(input.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);");
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
-            ctx.push(apiClassName, responseClassName + " responseObj = new "+ responseClassName +"("+ responseClassName +".Variant."+ statusCodeVariantPrefix +"_TEXT_PLAIN, statusCode, headers.map(), result);");
-            ctx.push(apiClassName, "validateResponse(context, responseObj);");
-            ctx.push(apiClassName, "return responseObj;");
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
+            apiOut.push("case \"text/plain\": {");
+            apiOut.addIndent();
+            apiOut.push("Object result;");
+            apiOut.push("try (java.io.InputStream input = response.body()){");
+            apiOut.addIndent();
+            apiOut.push("result = new String(input.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);");
+            apiOut.subIndent();
+            apiOut.push("}");
+            apiOut.push(newResponseObject(ctx, responseClassName, statusCodeVariantPrefix + "_TEXT_PLAIN", "result"));
+            apiOut.push("validateResponse(context, responseObj);");
+            apiOut.push("return responseObj;");
+            apiOut.subIndent();
+            apiOut.push("}");
         }
 
         for (Map.Entry<String, PathSchemaModel> e : content.entrySet()) {
@@ -639,21 +668,21 @@ public class OperationGenerator {
 
             //Special case for ANY
             if (e.getKey().equals("*/*")) {
-                ctx.push(apiClassName,"default: {");
+                apiOut.push("default: {");
             } else {
                 if (e.getKey().equals("application/octet-stream") && !content.containsKey("*/*")) {
-                    ctx.push(apiClassName, "case \"no-content-type\":");
-                    ctx.push(apiClassName, "//FALL THROUGH");
+                    apiOut.push("case \"no-content-type\":");
+                    apiOut.push("//FALL THROUGH");
                 }
-                ctx.push(apiClassName,"case \""+Util.escapeForSourceCode(e.getKey().toLowerCase())+"\": {");
+                apiOut.push("case \""+Util.escapeForSourceCode(e.getKey().toLowerCase())+"\": {");
             }
 
-            ctx.addIndent(apiClassName);
-            ctx.push(apiClassName, responseClassName + " responseObj = new "+ responseClassName +"("+ responseClassName +".Variant."+ statusCodeVariantPrefix +"_"+contentTypeSuffix + ", statusCode, headers.map(), processResponseForBinaryPayload(context, response));");
-            ctx.push(apiClassName, "validateResponse(context, responseObj);");
-            ctx.push(apiClassName, "return responseObj;");
-            ctx.subIndent(apiClassName);
-            ctx.push(apiClassName, "}");
+            apiOut.addIndent();
+            apiOut.push(newResponseObject(ctx, responseClassName, statusCodeVariantPrefix + "_" + contentTypeSuffix, "processResponseForBinaryPayload(context, response)"));
+            apiOut.push("validateResponse(context, responseObj);");
+            apiOut.push("return responseObj;");
+            apiOut.subIndent();
+            apiOut.push("}");
         }
     }
 
@@ -667,10 +696,11 @@ public class OperationGenerator {
             idx++;
             String mgl = ctx.getMangledRequestParameterName(requestParameterClass, idx);
             ParameterModel prm = ctx.findParameter(parameter.get$ref());
-            SchemaClassification clazz = SchemaClassification.fromSchema("pm " + idx, prm.getSchema());
+            SchemaClassification clazz = ctx.classify("pm " + idx, prm.getSchema());
             String getter = "get" + Util.capitalize(mgl);
-            ctx.push(className, "if (param."+getter+"() != null) {");
-            ctx.addIndent(className);
+            SourceFile out = ctx.file(className);
+            out.push("if (param."+getter+"() != null) {");
+            out.addIndent();
 
             switch (clazz) {
                 case STRING:
@@ -727,8 +757,8 @@ public class OperationGenerator {
                 default:
                     throw new UnsupportedOperationException("not supported " + clazz + " input parameter");
             }
-            ctx.subIndent(className);
-            ctx.push(className, "}");
+            out.subIndent();
+            out.push("}");
         }
 
     }
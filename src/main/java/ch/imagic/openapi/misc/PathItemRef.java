@@ -0,0 +1,38 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.PathModel;
+
+import java.util.LinkedHashMap;
+
+/**
+ * A path item with a $ref, e.g. "/pets": {"$ref": "paths.json#/pets"}, as read by SchemaLoader.
+ * It holds the operations of the path item itself, ExternalRefResolver replaces it with these and the operations of the referenced path item.
+ */
+final class PathItemRef extends LinkedHashMap<String, PathModel> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String ref;
+
+    PathItemRef(String ref) {
+        this.ref = ref;
+    }
+
+    String getRef() {
+        return ref;
+    }
+}
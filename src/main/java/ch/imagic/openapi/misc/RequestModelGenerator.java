@@ -18,6 +18,9 @@ import ch.imagic.openapi.model.ParameterModel;
 import ch.imagic.openapi.model.PathModel;
 import ch.imagic.openapi.model.PathSchemaModel;
 import ch.imagic.openapi.model.RequestBodyModel;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -26,15 +29,26 @@ import java.util.stream.Collectors;
 
 public class RequestModelGenerator {
 
+    private static final Gson GSON = new Gson();
+
     public static String generateRequestModel(GenerationContext ctx, PathModel model, String path, String mimeType) {
 
         String name = ctx.operationIdAndMimeToRequestClass(model.getOperationId(), mimeType);
         String clazz = ctx.qualifyRequestClass(name);
 
-        if (!ctx.isCompatRequest(clazz) && ctx.getGenerated().containsKey(clazz)) {
+        String key = null;
+        if (ctx.isMergeOperationClasses() && !ctx.isCompatRequest(clazz)) {
+            key = structuralKey(ctx, model, path, mimeType);
+            String shared = ctx.findSharedOperationClass(key, clazz);
+            if (shared != null) {
+                return shared;
+            }
+        }
+
+        if (!ctx.isCompatRequest(clazz) && ctx.isGenerated(clazz)) {
             //TODO is this needed?, probably doesnt work either...
             int cnt = 0;
-            while (ctx.getGenerated().containsKey(clazz + cnt)) {
+            while (ctx.isGenerated(clazz + cnt)) {
                 cnt++;
             }
             clazz = clazz + cnt;
@@ -72,9 +86,57 @@ public class RequestModelGenerator {
             return clazz;
         }
 
-        ctx.push(clazz, "package " + ctx.getReqParamPackage() + ";");
-        ctx.push(clazz, "public class " + name + " implements java.io.Serializable, " + ctx.qualifyCommonApiClass("ToString") + ", " + ctx.qualifyCommonApiClass("RequestParameters") + " {");
-        ctx.addIndent(clazz);
+        if (key != null) {
+            ctx.addSharedOperationClass(key, clazz);
+        }
+
+        if (ctx.reuseOperationClass(model, clazz)) {
+            return clazz;
+        }
+
+        //Name and parameter names are fixed, the content only depends on the operation.
+        ctx.file(clazz);
+        String className = name;
+        String qualifiedClassName = clazz;
+        ctx.deferGeneration(() -> {
+            generateRequestModelContent(ctx, model, path, mimeType, className, qualifiedClassName, mangledNames);
+            ctx.finishFile(qualifiedClassName);
+        });
+        return clazz;
+    }
+
+    /**
+     * Everything the request class depends on: the content type, its body schema and the resolved parameters in order.
+     * Descriptions are left out as they are not generated.
+     */
+    private static String structuralKey(GenerationContext ctx, PathModel model, String path, String mimeType) {
+        JsonObject key = new JsonObject();
+        key.addProperty("mimeType", mimeType);
+        if (mimeType != null) {
+            RequestBodyModel requestBody = ctx.findRequestBody(model.getRequestBody().get$ref());
+            key.add("body", GSON.toJsonTree(requestBody.getContent().get(mimeType)));
+        }
+
+        JsonArray parameters = new JsonArray();
+        if (model.getParameters() != null) {
+            for (ParameterModel parameter : model.getParameters()) {
+                ParameterModel pm = ctx.findParameter(parameter.get$ref());
+                JsonObject json = GSON.toJsonTree(pm).getAsJsonObject();
+                json.remove("description");
+                //Path parameters at the end of the path may be empty.
+                json.addProperty("last", path.endsWith("{" + pm.getName() + "}"));
+                parameters.add(json);
+            }
+        }
+        key.add("parameters", parameters);
+        return "request " + key;
+    }
+
+    private static void generateRequestModelContent(GenerationContext ctx, PathModel model, String path, String mimeType, String name, String clazz, Set<String> mangledNames) {
+        SourceFile out = ctx.file(clazz);
+        out.push("package " + ctx.getReqParamPackage() + ";");
+        out.push("public class " + name + " implements java.io.Serializable, " + ctx.qualifyCommonApiClass("ToString") + ", " + ctx.qualifyCommonApiClass("RequestParameters") + " {");
+        out.addIndent();
 
         if (model.getParameters() != null) {
             int idx = -1;
@@ -82,7 +144,7 @@ public class RequestModelGenerator {
                 idx++;
                 ParameterModel pm = ctx.findParameter(parameter.get$ref());
 
-                SchemaClassification paramClazz = SchemaClassification.fromSchema("parameter " + pm.getName() + " for op " + model.getOperationId(), pm.getSchema());
+                SchemaClassification paramClazz = ctx.classify("parameter " + pm.getName() + " for op " + model.getOperationId(), pm.getSchema());
                 String paramType = getParameterMemberTypeName(ctx, model, pm, paramClazz);
                 String mngl = ctx.getMangledRequestParameterName(clazz, idx);
 
@@ -95,7 +157,7 @@ public class RequestModelGenerator {
                                 //Theres other case where we have to add NotEmpty, but there are very hard to detect and rare (mostly list/map parameter)
                                 //This is a cheap win
                                 if (!".*".equals(pm.getSchema().getPattern()) || !path.endsWith("{"+pm.getName()+"}")) {
-                                    ctx.push(clazz, "@jakarta.validation.constraints.NotEmpty");
+                                    out.push("@jakarta.validation.constraints.NotEmpty");
                                 }
                             }
                         }
@@ -110,7 +172,7 @@ public class RequestModelGenerator {
 
                 if (ctx.jsr380()) {
                     if (required) {
-                        ctx.push(clazz, "@jakarta.validation.constraints.NotNull");
+                        out.push("@jakarta.validation.constraints.NotNull");
                     }
                 }
                 MemberGenerator.generateTrivialMember(ctx, clazz, mngl, mngl, name, paramType, pm.getSchema());
@@ -121,7 +183,7 @@ public class RequestModelGenerator {
             if (mimeType.equals("application/json")) {
                 RequestBodyModel requestBody = ctx.findRequestBody(model.getRequestBody().get$ref());
                 PathSchemaModel pathSchemaModel = requestBody.getContent().get(mimeType);
-                SchemaClassification childClass = SchemaClassification.fromSchema("request body " + model.getOperationId(), pathSchemaModel.getSchema());
+                SchemaClassification childClass = ctx.classify("request body " + model.getOperationId(), pathSchemaModel.getSchema());
                 String propertyType;
                 switch (childClass) {
                     case ARRAY_STRING: {
@@ -134,7 +196,7 @@ public class RequestModelGenerator {
                         }
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         propertyType = "java.util.List<" + ctx.qualifyModelClass(ctx.modelNameToJavaClass(pathSchemaModel.getSchema().getItems().get$ref())) + ">";
@@ -169,7 +231,7 @@ public class RequestModelGenerator {
                         }
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         propertyType = ctx.qualifyModelClass(ctx.modelNameToJavaClass(pathSchemaModel.getSchema().get$ref()));
@@ -212,7 +274,7 @@ public class RequestModelGenerator {
                         }
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         String componentType = ctx.qualifyModelClass(ctx.modelNameToJavaClass(pathSchemaModel.getSchema().getAdditionalProperties().get$ref()));
@@ -222,7 +284,7 @@ public class RequestModelGenerator {
                     case MAP_ANY:
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         propertyType = "java.util.Map<String, Object>";
@@ -255,7 +317,7 @@ public class RequestModelGenerator {
                         }
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         String componentType = ctx.qualifyModelClass(ctx.modelNameToJavaClass(pathSchemaModel.getSchema().getAdditionalProperties().getItems().get$ref()));
@@ -264,7 +326,7 @@ public class RequestModelGenerator {
                     }
                     case MAP_ARRAY_ANY:
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         propertyType = "java.util.Map<String, java.util.List<Object>>";
@@ -297,7 +359,7 @@ public class RequestModelGenerator {
                         }
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         String componentType = ctx.qualifyModelClass(ctx.modelNameToJavaClass(pathSchemaModel.getSchema().getAdditionalProperties().getItems().get$ref()));
@@ -306,7 +368,7 @@ public class RequestModelGenerator {
                     }
                     case MAP_SET_ANY:
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         propertyType = "java.util.Map<String, java.util.Set<Object>>";
@@ -339,7 +401,7 @@ public class RequestModelGenerator {
                         }
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         String componentType = ctx.qualifyModelClass(ctx.modelNameToJavaClass(pathSchemaModel.getSchema().getItems().get$ref()));
@@ -348,7 +410,7 @@ public class RequestModelGenerator {
                     }
                     case SET_ANY:
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
                         propertyType = "java.util.Set<Object>";
                         break;
@@ -380,7 +442,7 @@ public class RequestModelGenerator {
                         }
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         String componentType = ctx.qualifyModelClass(ctx.modelNameToJavaClass(pathSchemaModel.getSchema().getItems().getAdditionalProperties().get$ref()));
@@ -389,7 +451,7 @@ public class RequestModelGenerator {
                     }
                     case SET_MAP_ANY:
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         propertyType = "java.util.Set<java.util.Map<String, Object>>";
@@ -416,7 +478,7 @@ public class RequestModelGenerator {
                         break;
                     case ARRAY_ANY:
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         propertyType = "java.util.List<Object>";
@@ -449,7 +511,7 @@ public class RequestModelGenerator {
                         }
 
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
 
                         String componentType = ctx.qualifyModelClass(ctx.modelNameToJavaClass(pathSchemaModel.getSchema().getItems().getAdditionalProperties().get$ref()));
@@ -458,13 +520,13 @@ public class RequestModelGenerator {
                     }
                     case ARRAY_MAP_ANY:
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
                         propertyType = "java.util.List<java.util.Map<String, Object>>";
                         break;
                     case ANY:
                         if (ctx.jsr380()) {
-                            ctx.push(clazz, "@jakarta.validation.Valid");
+                            out.push("@jakarta.validation.Valid");
                         }
                         propertyType = "Object";
                         break;
@@ -481,61 +543,61 @@ public class RequestModelGenerator {
                 }
 
                 if (ctx.jsr380()) {
-                    ctx.push(clazz, "@jakarta.validation.constraints.NotNull");
+                    out.push("@jakarta.validation.constraints.NotNull");
                 }
 
                 MemberGenerator.generateTrivialMember(ctx, clazz, "requestBody", "requestBody", name, propertyType, pathSchemaModel.getSchema());
             } else if (mimeType.equals("text/plain")) {
                 if (ctx.jsr380()) {
-                    ctx.push(clazz, "@jakarta.validation.constraints.NotNull");
+                    out.push("@jakarta.validation.constraints.NotNull");
                 }
                 MemberGenerator.generateTrivialMember(ctx, clazz, "requestBody", "requestBody", name, "String", null);
             } else {
                 if (ctx.jsr380()) {
-                    ctx.push(clazz, "@jakarta.validation.Valid");
-                    ctx.push(clazz, "@jakarta.validation.constraints.NotNull");
+                    out.push("@jakarta.validation.Valid");
+                    out.push("@jakarta.validation.constraints.NotNull");
                 }
                 MemberGenerator.generateTrivialMember(ctx, clazz, "requestBody", "requestBody", name, ctx.qualifyCommonApiClass("BinaryPayload"), null);
 
 
-                ctx.push(clazz, "public " + clazz + " withRequestBody(java.io.InputStream value) {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "this.requestBody = new " + ctx.qualifyCommonApiClass("InputStreamBinaryPayload") + "(value);");
-                ctx.push(clazz, "return this;");
-                ctx.subIndent(clazz);
-                ctx.push(clazz,"}");
-                ctx.push(clazz, "");
-
-                ctx.push(clazz, "public " + clazz + " withRequestBody(String value) {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "this.requestBody = new " + ctx.qualifyCommonApiClass("ByteArrayBinaryPayload") + "(value);");
-                ctx.push(clazz, "return this;");
-                ctx.subIndent(clazz);
-                ctx.push(clazz,"}");
-                ctx.push(clazz, "");
-
-                ctx.push(clazz, "public " + clazz + " withRequestBody(java.io.File value) throws java.io.FileNotFoundException {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "this.requestBody = new " + ctx.qualifyCommonApiClass("FileBinaryPayload") + "(value);");
-                ctx.push(clazz, "return this;");
-                ctx.subIndent(clazz);
-                ctx.push(clazz,"}");
-                ctx.push(clazz, "");
-
-                ctx.push(clazz, "public " + clazz + " withRequestBody(byte[] value, int off, int len) {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "this.requestBody = new " + ctx.qualifyCommonApiClass("ByteArrayBinaryPayload") + "(value, off, len);");
-                ctx.push(clazz, "return this;");
-                ctx.subIndent(clazz);
-                ctx.push(clazz,"}");
-                ctx.push(clazz, "");
-
-                ctx.push(clazz, "public " + clazz + " withRequestBody(byte[] value) {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "return this.withRequestBody(value, 0, value.length);");
-                ctx.subIndent(clazz);
-                ctx.push(clazz,"}");
-                ctx.push(clazz, "");
+                out.push("public " + clazz + " withRequestBody(java.io.InputStream value) {");
+                out.addIndent();
+                out.push("this.requestBody = new " + ctx.qualifyCommonApiClass("InputStreamBinaryPayload") + "(value);");
+                out.push("return this;");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+
+                out.push("public " + clazz + " withRequestBody(String value) {");
+                out.addIndent();
+                out.push("this.requestBody = new " + ctx.qualifyCommonApiClass("ByteArrayBinaryPayload") + "(value);");
+                out.push("return this;");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+
+                out.push("public " + clazz + " withRequestBody(java.io.File value) throws java.io.FileNotFoundException {");
+                out.addIndent();
+                out.push("this.requestBody = new " + ctx.qualifyCommonApiClass("FileBinaryPayload") + "(value);");
+                out.push("return this;");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+
+                out.push("public " + clazz + " withRequestBody(byte[] value, int off, int len) {");
+                out.addIndent();
+                out.push("this.requestBody = new " + ctx.qualifyCommonApiClass("ByteArrayBinaryPayload") + "(value, off, len);");
+                out.push("return this;");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+
+                out.push("public " + clazz + " withRequestBody(byte[] value) {");
+                out.addIndent();
+                out.push("return this.withRequestBody(value, 0, value.length);");
+                out.subIndent();
+                out.push("}");
+                out.push("");
             }
         }
 
@@ -551,14 +613,12 @@ public class RequestModelGenerator {
         Util.generateHashCodeEquals(ctx, clazz, toStringMembers);
         Util.generateToString(ctx, clazz, name, toStringMembers);
 
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-
-        return clazz;
+        out.subIndent();
+        out.push("}");
     }
 
     public static String getParameterMemberTypeName(GenerationContext ctx, PathModel model, ParameterModel pm, SchemaClassification paramClazz) {
-        if (Util.getEnumRecursive(pm.getSchema()) != null) {
+        if (Util.getEnumRecursive(ctx, pm.getSchema()) != null) {
             throw new IllegalStateException("Not implemented yet enum for path/query/header parameter");
         }
 
@@ -19,13 +19,14 @@ import ch.imagic.openapi.model.ParameterModel;
 public class RequestParamGenerator {
 
     public static void generatePrimitiveParameter(GenerationContext ctx, String apiClassName, ParameterModel prm,  String parameterGetterName) {
+        SourceFile out = ctx.file(apiClassName);
         String rawParamName = Util.escapeForSourceCode(prm.getName());
         switch (prm.getIn()) {
             case "query":
                 switch (String.valueOf(prm.getStyle())) {
                     case "null":
                     case "form":
-                        ctx.push(apiClassName, "context.addQueryParam(\""+ rawParamName +"\", String.valueOf(param."+parameterGetterName+"()));");
+                        out.push("context.addQueryParam(\""+ rawParamName +"\", String.valueOf(param."+parameterGetterName+"()));");
                         return;
                     case "spaceDelimited":
                         throw new IllegalArgumentException("spaceDelimited primitive query parameters are undefined");
@@ -37,15 +38,15 @@ public class RequestParamGenerator {
             case "path":
                 switch (String.valueOf(prm.getStyle())) {
                     case "matrix":
-                        ctx.push(apiClassName, "context.addPathParam(\""+ rawParamName +"\", \";"+ rawParamName +"=\" + String.valueOf(param."+parameterGetterName+"()));");
+                        out.push("context.addPathParam(\""+ rawParamName +"\", \";"+ rawParamName +"=\" + String.valueOf(param."+parameterGetterName+"()));");
                         return;
                     case "label":
                         //TODO what about numbers with dots?
-                        ctx.push(apiClassName, "context.addPathParam(\""+ rawParamName +"\", \".\" + String.valueOf(param."+parameterGetterName+"()));");
+                        out.push("context.addPathParam(\""+ rawParamName +"\", \".\" + String.valueOf(param."+parameterGetterName+"()));");
                         return;
                     case "null":
                     case "simple":
-                        ctx.push(apiClassName, "context.addPathParam(\""+ rawParamName +"\", String.valueOf(param."+parameterGetterName+"()));");
+                        out.push("context.addPathParam(\""+ rawParamName +"\", String.valueOf(param."+parameterGetterName+"()));");
                         return;
                     default:
                         throw new IllegalArgumentException("Unsupported path parameter style " + prm.getStyle() + " for  primitive path parameter");
@@ -54,38 +55,39 @@ public class RequestParamGenerator {
                 if (prm.getStyle() != null && !"simple".equals(prm.getStyle())) {
                     throw new IllegalArgumentException("Unsupported header parameter style " + prm.getStyle() + " for primitive header parameter");
                 }
-                ctx.push(apiClassName, "context.addHeaderParam(\""+ rawParamName +"\", String.valueOf(param."+parameterGetterName+"()));");
+                out.push("context.addHeaderParam(\""+ rawParamName +"\", String.valueOf(param."+parameterGetterName+"()));");
                 return;
         }
     }
 
     public static void generateArrayParameter(GenerationContext ctx, String apiClassName, ParameterModel prm, String parameterGetterName) {
+        SourceFile out = ctx.file(apiClassName);
         switch (prm.getIn()) {
             case "query":
                 switch (prm.getStyle()) {
                     case "form":
                         if (!prm.isExplode()) {
-                            ctx.push(apiClassName, "context.addQueryParam(\""+Util.escapeForSourceCode(prm.getName())+"\", String.join(\",\", param."+ parameterGetterName +"()));");
+                            out.push("context.addQueryParam(\""+Util.escapeForSourceCode(prm.getName())+"\", String.join(\",\", param."+ parameterGetterName +"()));");
                             return;
                         }
-                        ctx.push(apiClassName, "for (Object qparam: param."+ parameterGetterName +"()) {");
-                        ctx.addIndent(apiClassName);
-                        ctx.push(apiClassName, "context.addQueryParam(\""+Util.escapeForSourceCode(prm.getName())+"\", String.valueOf(qparam));");
-                        ctx.subIndent(apiClassName);
-                        ctx.push(apiClassName, "}");
+                        out.push("for (Object qparam: param."+ parameterGetterName +"()) {");
+                        out.addIndent();
+                        out.push("context.addQueryParam(\""+Util.escapeForSourceCode(prm.getName())+"\", String.valueOf(qparam));");
+                        out.subIndent();
+                        out.push("}");
 
                         return;
                     case "spaceDelimited":
                         if (prm.isExplode()) {
                             throw new IllegalArgumentException("explosion of spaceDelimited array query parameters is undefined");
                         }
-                        ctx.push(apiClassName, "context.addQueryParam(\""+Util.escapeForSourceCode(prm.getName())+"\", String.join(\" \", param."+ parameterGetterName +"()));");
+                        out.push("context.addQueryParam(\""+Util.escapeForSourceCode(prm.getName())+"\", String.join(\" \", param."+ parameterGetterName +"()));");
                         return;
                     case "pipeDelimited":
                         if (prm.isExplode()) {
                             throw new IllegalArgumentException("explosion of pipeDelimited array query parameters is undefined");
                         }
-                        ctx.push(apiClassName, "context.addQueryParam(\""+Util.escapeForSourceCode(prm.getName())+"\", String.join(\"|\", param."+ parameterGetterName +"()));");
+                        out.push("context.addQueryParam(\""+Util.escapeForSourceCode(prm.getName())+"\", String.join(\"|\", param."+ parameterGetterName +"()));");
                         return;
                     default:
                         throw new IllegalArgumentException("Unsupported query parameter style " + prm.getStyle() + " for string array query parameter");
@@ -94,10 +96,10 @@ public class RequestParamGenerator {
                 switch (prm.getStyle()) {
                     case "matrix":
                         if (!prm.isExplode()) {
-                            ctx.push(apiClassName, "context.addPathParam(\""+Util.escapeForSourceCode(prm.getName())+"\", \";"+Util.escapeForSourceCode(prm.getName())+"=\" + String.join(\",\", param."+ parameterGetterName +"()));");
+                            out.push("context.addPathParam(\""+Util.escapeForSourceCode(prm.getName())+"\", \";"+Util.escapeForSourceCode(prm.getName())+"=\" + String.join(\",\", param."+ parameterGetterName +"()));");
                             return;
                         }
-                        ctx.push(apiClassName, "context.addPathParam(\""+Util.escapeForSourceCode(prm.getName())+"\", " +
+                        out.push("context.addPathParam(\""+Util.escapeForSourceCode(prm.getName())+"\", " +
                                 "param."+ parameterGetterName +"().stream().map(a -> \";"+Util.escapeForSourceCode(prm.getName())+"=\" + String.valueOf(a)).collect(Collectors.joining()));");
                         return;
                     case "label":
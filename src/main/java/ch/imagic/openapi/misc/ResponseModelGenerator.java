@@ -18,11 +18,15 @@ import ch.imagic.openapi.model.HeaderModel;
 import ch.imagic.openapi.model.PathModel;
 import ch.imagic.openapi.model.PathSchemaModel;
 import ch.imagic.openapi.model.ResponseModel;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 
 import java.util.*;
 
 public class ResponseModelGenerator {
 
+    private static final Gson GSON = new Gson();
+
     public static String generateResponseModel(GenerationContext ctx, PathModel model) {
         String name = ctx.operationIdToResponseClass(model.getOperationId());
         String clazz = ctx.qualifyResponseClass(name);
@@ -30,15 +34,75 @@ public class ResponseModelGenerator {
             return clazz;
         }
 
-        if (ctx.getGenerated().containsKey(clazz)) {
+        String key = null;
+        if (ctx.isMergeOperationClasses()) {
+            key = structuralKey(ctx, model);
+            String shared = ctx.findSharedOperationClass(key, clazz);
+            if (shared != null) {
+                return shared;
+            }
+        }
+
+        if (ctx.isGenerated(clazz)) {
             int cnt = 0;
-            while (ctx.getGenerated().containsKey(clazz + cnt)) {
+            while (ctx.isGenerated(clazz + cnt)) {
                 cnt++;
             }
             clazz = clazz + cnt;
             name = name + cnt;
         }
 
+        if (key != null) {
+            ctx.addSharedOperationClass(key, clazz);
+        }
+
+        if (ctx.reuseOperationClass(model, clazz)) {
+            return clazz;
+        }
+
+        //The class is reserved now, so collision checks of the following operations see it, its content may be generated later by another thread.
+        ctx.file(clazz);
+        String className = name;
+        String qualifiedClassName = clazz;
+        ctx.deferGeneration(() -> {
+            generateResponseModelContent(ctx, model, className, qualifiedClassName);
+            ctx.finishFile(qualifiedClassName);
+        });
+        return clazz;
+    }
+
+    /**
+     * Everything the response class depends on: the status codes in order with their resolved content and headers.
+     * Descriptions are left out as they are not generated.
+     */
+    private static String structuralKey(GenerationContext ctx, PathModel model) {
+        JsonObject key = new JsonObject();
+        for (Map.Entry<String, ResponseModel> e : model.getResponses().entrySet()) {
+            ResponseModel response = ctx.findResponse(e.getValue().get$ref());
+            JsonObject json = GSON.toJsonTree(response).getAsJsonObject();
+            json.remove("description");
+            if (response.getHeaders() != null) {
+                JsonObject headers = new JsonObject();
+                for (Map.Entry<String, HeaderModel> header : response.getHeaders().entrySet()) {
+                    JsonObject headerJson = GSON.toJsonTree(ctx.findHeader(header.getValue().get$ref())).getAsJsonObject();
+                    headerJson.remove("description");
+                    headers.add(header.getKey(), headerJson);
+                }
+                json.add("headers", headers);
+            }
+            key.add(e.getKey(), json);
+        }
+        return "response " + key;
+    }
+
+    /**
+     * The operation id passed to ApiException, a response class that is shared by several operations gets it from its constructor.
+     */
+    static String operationId(GenerationContext ctx, PathModel model) {
+        return ctx.isMergeOperationClasses() ? "this.operationId" : "\"" + model.getOperationId() + "\"";
+    }
+
+    private static void generateResponseModelContent(GenerationContext ctx, PathModel model, String name, String clazz) {
         Set<String> mangledNames = new LinkedHashSet<>();
         mangledNames.add("variant");
         mangledNames.add("body");
@@ -47,14 +111,15 @@ public class ResponseModelGenerator {
         mangledNames.add("contentType");
         mangledNames.add("contentLength");
 
-        ctx.push(clazz, "package " + ctx.getResponsePackage() + ";");
-        ctx.push(clazz, "");
-        ctx.push(clazz, "public class " + name + " implements java.io.Serializable, " + ctx.qualifyCommonApiClass("ToString") + ", " + ctx.qualifyCommonApiClass("Response") +" {");
-        ctx.addIndent(clazz);
-        ctx.push(clazz, "");
+        SourceFile out = ctx.file(clazz);
+        out.push("package " + ctx.getResponsePackage() + ";");
+        out.push("");
+        out.push("public class " + name + " implements java.io.Serializable, " + ctx.qualifyCommonApiClass("ToString") + ", " + ctx.qualifyCommonApiClass("Response") +" {");
+        out.addIndent();
+        out.push("");
 
-        ctx.push(clazz, "public enum Variant {");
-        ctx.addIndent(clazz);
+        out.push("public enum Variant {");
+        out.addIndent();
 
         Map<String, Map<String, HeaderModel>> headerModelPerVariant = new LinkedHashMap<>();
         Map<String, String> variantNameToStatusCodePrefix = new LinkedHashMap<>();
@@ -70,7 +135,7 @@ public class ResponseModelGenerator {
             Map<String, HeaderModel> headers = responseModel.getHeaders();
             if (responseModel.getContent() == null || responseModel.getContent().isEmpty()) {
                 String variantName = Util.mangleName(statusCode.toUpperCase());
-                ctx.push(clazz, variantName +",");
+                out.push(variantName +",");
                 headerModelPerVariant.put(variantName, headers);
                 variantNameToStatusCodePrefix.put(variantName, statusCode);
                 continue;
@@ -81,15 +146,15 @@ public class ResponseModelGenerator {
                 if (!Util.mangleName(variantName).equals(variantName)) {
                     throw new IllegalStateException("invalid status code or content type status: '" + statusCode + "' contentType: '" + contentType + "'");
                 }
-                ctx.push(clazz, variantName +",");
+                out.push(variantName +",");
                 headerModelPerVariant.put(variantName, headers);
                 variantNameToStatusCodePrefix.put(variantName, statusCode);
             }
         }
 
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-        ctx.push(clazz, "");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         boolean hasTrivial404 = false;
         if (variantNameToStatusCodePrefix.containsKey("S404")) {
@@ -102,21 +167,25 @@ public class ResponseModelGenerator {
         }
 
 
-        ctx.push(clazz, "private final Variant variant;");
-        ctx.push(clazz, "");
-        ctx.push(clazz, "private final int statusCode;");
-        ctx.push(clazz, "");
-        ctx.push(clazz, "private final java.util.Map<String, java.util.List<String>> headers;");
-        ctx.push(clazz, "");
+        if (ctx.isMergeOperationClasses()) {
+            out.push("private final String operationId;");
+            out.push("");
+        }
+        out.push("private final Variant variant;");
+        out.push("");
+        out.push("private final int statusCode;");
+        out.push("");
+        out.push("private final java.util.Map<String, java.util.List<String>> headers;");
+        out.push("");
 
         if (ctx.jsr380()) {
-            ctx.push(clazz, "@jakarta.validation.Valid");
+            out.push("@jakarta.validation.Valid");
         }
-        ctx.push(clazz, "private final Object body;");
-        ctx.push(clazz, "");
+        out.push("private final Object body;");
+        out.push("");
 
-        Map<String, String> headerFieldNamesToTypes = new HashMap<>();
-        Map<String, String> headerFieldNamesToEnumName = new HashMap<>();
+        Map<String, String> headerFieldNamesToTypes = new LinkedHashMap<>();
+        Map<String, String> headerFieldNamesToEnumName = new LinkedHashMap<>();
         for (Map.Entry<String, Map<String, HeaderModel>> e : headerModelPerVariant.entrySet()) {
             String variantName = e.getKey();
             Map<String, HeaderModel> hdr = e.getValue();
@@ -130,8 +199,8 @@ public class ResponseModelGenerator {
                 mangledNames.add(fieldName);
 
                 HeaderModel hm = ctx.findHeader(e2.getValue().get$ref());
-                SchemaClassification.fromSchema("response header " + model.getOperationId() + " " + variantName + " " + headerName, hm.getSchema());
-                List<String> enumRecursive = Util.getEnumRecursive(hm.getSchema());
+                ctx.classify("response header " + model.getOperationId() + " " + variantName + " " + headerName, hm.getSchema());
+                List<String> enumRecursive = Util.getEnumRecursive(ctx, hm.getSchema());
                 String enumName = null;
                 if (enumRecursive != null) {
                     enumName = Util.capitalize(fieldName) + "Enum";
@@ -145,19 +214,23 @@ public class ResponseModelGenerator {
                     Util.generateEnum(ctx, clazz, enumName, enumRecursive);
                     headerFieldNamesToEnumName.put(fieldName, enumName);
                 }
-                ctx.push(clazz, "private " + typeName + " "+ fieldName  +";");
+                out.push("private " + typeName + " "+ fieldName  +";");
             }
         }
 
-        ctx.push(clazz, "");
+        out.push("");
 
-        ctx.push(clazz, "public " + name + "(Variant variant, int statusCode, java.util.Map<String, java.util.List<String>> headers, Object body) throws " +ctx.qualifyCommonApiClass("ApiException") + "{");
-        ctx.addIndent(clazz);
-        ctx.push(clazz, "this.variant = variant;");
-        ctx.push(clazz, "this.body = body;");
-        ctx.push(clazz, "this.headers = headers;");
-        ctx.push(clazz, "this.statusCode = statusCode;");
-        ctx.push(clazz, "");
+        String operationIdParameter = ctx.isMergeOperationClasses() ? "String operationId, " : "";
+        out.push("public " + name + "(" + operationIdParameter + "Variant variant, int statusCode, java.util.Map<String, java.util.List<String>> headers, Object body) throws " +ctx.qualifyCommonApiClass("ApiException") + "{");
+        out.addIndent();
+        if (ctx.isMergeOperationClasses()) {
+            out.push("this.operationId = operationId;");
+        }
+        out.push("this.variant = variant;");
+        out.push("this.body = body;");
+        out.push("this.headers = headers;");
+        out.push("this.statusCode = statusCode;");
+        out.push("");
         for (Map.Entry<String, Map<String, HeaderModel>> e : headerModelPerVariant.entrySet()) {
             String variantName = e.getKey();
             Map<String, HeaderModel> hdr = e.getValue();
@@ -168,29 +241,29 @@ public class ResponseModelGenerator {
                 String headerName =  e2.getKey();
                 String prefix = variantNameToStatusCodePrefix.get(variantName);
                 String fieldName = Util.mangleName(prefix + Util.capitalize(headerName));
-                ctx.push(clazz, "if (variant == Variant." + variantName + ") {");
-                ctx.addIndent(clazz);
+                out.push("if (variant == Variant." + variantName + ") {");
+                out.addIndent();
                 //CODE that parses header here
                 HeaderModel hm = ctx.findHeader(e2.getValue().get$ref());
-                SchemaClassification hdrClazz = SchemaClassification.fromSchema("response header " + model.getOperationId() + " " + variantName + " " + headerName, hm.getSchema());
-                ctx.push(clazz, "java.util.List<String> theHdr = headers.getOrDefault(\"" + Util.escapeForSourceCode(headerName)+ "\", java.util.Collections.emptyList());");
+                SchemaClassification hdrClazz = ctx.classify("response header " + model.getOperationId() + " " + variantName + " " + headerName, hm.getSchema());
+                out.push("java.util.List<String> theHdr = headers.getOrDefault(\"" + Util.escapeForSourceCode(headerName)+ "\", java.util.Collections.emptyList());");
 
-                ctx.push(clazz, "if (theHdr.isEmpty()) {");
-                ctx.addIndent(clazz);
+                out.push("if (theHdr.isEmpty()) {");
+                out.addIndent();
                 if (hm.isRequired()) {
-                    ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Header " + Util.escapeForSourceCode(headerName) + " is required and was not found in the response headers\");");
+                    out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Header " + Util.escapeForSourceCode(headerName) + " is required and was not found in the response headers\");");
                 } else {
-                    ctx.push(clazz, "this." + fieldName + " = null;");
+                    out.push("this." + fieldName + " = null;");
                 }
 
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "} else if (theHdr.size() > 1) {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Header " + Util.escapeForSourceCode(headerName) + " is present more than once in the response\");");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "} else {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "String rawHdr = theHdr.get(0);");
+                out.subIndent();
+                out.push("} else if (theHdr.size() > 1) {");
+                out.addIndent();
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Header " + Util.escapeForSourceCode(headerName) + " is present more than once in the response\");");
+                out.subIndent();
+                out.push("} else {");
+                out.addIndent();
+                out.push("String rawHdr = theHdr.get(0);");
 
                 switch (hdrClazz) {
                     case ENUM: {
@@ -215,7 +288,7 @@ public class ResponseModelGenerator {
                     case ANY:
                         //LATER
                     case STRING:
-                        ctx.push(clazz, "this." + fieldName + " = rawHdr;");
+                        out.push("this." + fieldName + " = rawHdr;");
                         break;
                     case INT64:
                         ResponseParserGenerator.generateParseInt64Header(ctx, model, clazz, fieldName, headerName);
@@ -325,47 +398,47 @@ public class ResponseModelGenerator {
                     default:
                         throw new IllegalStateException("HDR clazz " + hdrClazz);
                 }
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
+                out.subIndent();
+                out.push("}");
 
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
+                out.subIndent();
+                out.push("}");
             }
         }
 
         generateConstructorTypeVerifier(ctx, model, clazz);
 
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-        ctx.push(clazz, "");
-
-        ctx.push(clazz, "public Object getRawBody() {");
-        ctx.addIndent(clazz);
-        ctx.push(clazz, "return this.body;");
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-        ctx.push(clazz, "");
-
-        ctx.push(clazz, "public Variant getVariant() {");
-        ctx.addIndent(clazz);
-        ctx.push(clazz, "return this.variant;");
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-        ctx.push(clazz, "");
-
-        ctx.push(clazz, "public int getStatusCode() {");
-        ctx.addIndent(clazz);
-        ctx.push(clazz, "return this.statusCode;");
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-        ctx.push(clazz, "");
-
-        ctx.push(clazz, "public java.util.Map<String, java.util.List<String>> getRawHeaders() {");
-        ctx.addIndent(clazz);
-        ctx.push(clazz, "return this.headers;");
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-        ctx.push(clazz, "");
+        out.subIndent();
+        out.push("}");
+        out.push("");
+
+        out.push("public Object getRawBody() {");
+        out.addIndent();
+        out.push("return this.body;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
+
+        out.push("public Variant getVariant() {");
+        out.addIndent();
+        out.push("return this.variant;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
+
+        out.push("public int getStatusCode() {");
+        out.addIndent();
+        out.push("return this.statusCode;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
+
+        out.push("public java.util.Map<String, java.util.List<String>> getRawHeaders() {");
+        out.addIndent();
+        out.push("return this.headers;");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         for (Map.Entry<String, String> e : headerFieldNamesToTypes.entrySet()) {
 
@@ -373,20 +446,20 @@ public class ResponseModelGenerator {
             String fieldType = e.getValue();
 
             //TODO check mangles, probably incorrect
-            ctx.push(clazz, "public " + fieldType +  " get" + Util.capitalize(fieldName) + "() {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "return this." + fieldName + ";");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
+            out.push("public " + fieldType +  " get" + Util.capitalize(fieldName) + "() {");
+            out.addIndent();
+            out.push("return this." + fieldName + ";");
+            out.subIndent();
+            out.push("}");
+            out.push("");
         }
 
-        ctx.push(clazz, "public <T, E extends Throwable> T map("+ctx.qualifyCommonApiClass("Response")+".ResponseMapper<"+clazz+", T, E> mapper) throws E {");
-        ctx.addIndent(clazz);
-        ctx.push(clazz, "return mapper.map(this);");
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-        ctx.push(clazz, "");
+        out.push("public <T, E extends Throwable> T map("+ctx.qualifyCommonApiClass("Response")+".ResponseMapper<"+clazz+", T, E> mapper) throws E {");
+        out.addIndent();
+        out.push("return mapper.map(this);");
+        out.subIndent();
+        out.push("}");
+        out.push("");
 
         for (Map.Entry<String, ResponseModel> e1 : model.getResponses().entrySet()) {
             ResponseModel resp = ctx.findResponse(e1.getValue().get$ref());
@@ -413,7 +486,7 @@ public class ResponseModelGenerator {
                 continue;
             }
 
-            List<String> enumValues = Util.getEnumRecursive(psm.getSchema());
+            List<String> enumValues = Util.getEnumRecursive(ctx, psm.getSchema());
             String enumName = null;
             if (enumValues != null) {
                 enumName = statusCode + "ResponseBodyEnum";
@@ -426,77 +499,77 @@ public class ResponseModelGenerator {
                 jsonBodyTypeName = "String";
             }
 
-            ctx.push(clazz, "public boolean is" + statusCode + "Json() {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "return variant == Variant." + variantName + ";");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
-
-            ctx.push(clazz, "public void assert" + statusCode + "Json() throws " +  ctx.qualifyCommonApiClass("ApiException")+ " {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "if (variant == Variant." + variantName + ") {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "return;");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Unexpected variant received: \" + this.variant);");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
-
-            ctx.push(clazz, "public " + jsonBodyTypeName +  " getResponseBody" + statusCode + "Json() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "if (variant != Variant." + variantName + ") {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
-
-            ctx.push(clazz, "return (" + jsonBodyTypeName+ ")this.body;");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
+            out.push("public boolean is" + statusCode + "Json() {");
+            out.addIndent();
+            out.push("return variant == Variant." + variantName + ";");
+            out.subIndent();
+            out.push("}");
+            out.push("");
+
+            out.push("public void assert" + statusCode + "Json() throws " +  ctx.qualifyCommonApiClass("ApiException")+ " {");
+            out.addIndent();
+            out.push("if (variant == Variant." + variantName + ") {");
+            out.addIndent();
+            out.push("return;");
+            out.subIndent();
+            out.push("}");
+            out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Unexpected variant received: \" + this.variant);");
+            out.subIndent();
+            out.push("}");
+            out.push("");
+
+            out.push("public " + jsonBodyTypeName +  " getResponseBody" + statusCode + "Json() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
+            out.addIndent();
+            out.push("if (variant != Variant." + variantName + ") {");
+            out.addIndent();
+            out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
+            out.subIndent();
+            out.push("}");
+            out.push("");
+
+            out.push("return (" + jsonBodyTypeName+ ")this.body;");
+            out.subIndent();
+            out.push("}");
+            out.push("");
 
             if (hasTrivial404 || hasText404) {
-                ctx.push(clazz, "public java.util.Optional<" + jsonBodyTypeName + "> getResponseBody" + statusCode + "JsonOr404() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "if (variant != Variant." + variantName + ") {");
-                ctx.addIndent(clazz);
+                out.push("public java.util.Optional<" + jsonBodyTypeName + "> getResponseBody" + statusCode + "JsonOr404() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
+                out.addIndent();
+                out.push("if (variant != Variant." + variantName + ") {");
+                out.addIndent();
                 if (hasText404) {
-                    ctx.push(clazz, "if (variant != Variant.S404_TEXT_PLAIN) {");
+                    out.push("if (variant != Variant.S404_TEXT_PLAIN) {");
                 } else {
-                    ctx.push(clazz, "if (variant != Variant.S404) {");
+                    out.push("if (variant != Variant.S404) {");
                 }
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "return java.util.Optional.empty();");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
-
-                ctx.push(clazz, "return java.util.Optional.ofNullable((" + jsonBodyTypeName+ ") this.body);");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
-            }
-
-            ctx.push(clazz, "public java.util.Optional<" + jsonBodyTypeName +  "> tryGetResponseBody" + statusCode + "Json() {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "if (variant != Variant." + variantName + ") {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "return java.util.Optional.empty();");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
-
-            ctx.push(clazz, "return java.util.Optional.ofNullable((" + jsonBodyTypeName+ ") this.body);");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
+                out.addIndent();
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
+                out.subIndent();
+                out.push("}");
+                out.push("return java.util.Optional.empty();");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+
+                out.push("return java.util.Optional.ofNullable((" + jsonBodyTypeName+ ") this.body);");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+            }
+
+            out.push("public java.util.Optional<" + jsonBodyTypeName +  "> tryGetResponseBody" + statusCode + "Json() {");
+            out.addIndent();
+            out.push("if (variant != Variant." + variantName + ") {");
+            out.addIndent();
+            out.push("return java.util.Optional.empty();");
+            out.subIndent();
+            out.push("}");
+            out.push("");
+
+            out.push("return java.util.Optional.ofNullable((" + jsonBodyTypeName+ ") this.body);");
+            out.subIndent();
+            out.push("}");
+            out.push("");
         }
 
         for (Map.Entry<String, ResponseModel> e1 : model.getResponses().entrySet()) {
@@ -525,75 +598,75 @@ public class ResponseModelGenerator {
                 continue;
             }
 
-            ctx.push(clazz, "public boolean is" + statusCode + "String() {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "return variant == Variant." + variantName + ";");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
-
-            ctx.push(clazz, "public void assert" + statusCode + "String() throws " +  ctx.qualifyCommonApiClass("ApiException")+ " {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "if (variant == Variant." + variantName + ") {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "return;");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Unexpected variant received: \" + this.variant);");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
-
-            ctx.push(clazz, "public String getResponseBody" + statusCode + "String() throws " + ctx.qualifyCommonApiClass("ApiException") + "{");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "if (variant != Variant." + variantName + ") {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "return this.body == null ? null : String.valueOf(this.body);");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
+            out.push("public boolean is" + statusCode + "String() {");
+            out.addIndent();
+            out.push("return variant == Variant." + variantName + ";");
+            out.subIndent();
+            out.push("}");
+            out.push("");
+
+            out.push("public void assert" + statusCode + "String() throws " +  ctx.qualifyCommonApiClass("ApiException")+ " {");
+            out.addIndent();
+            out.push("if (variant == Variant." + variantName + ") {");
+            out.addIndent();
+            out.push("return;");
+            out.subIndent();
+            out.push("}");
+            out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Unexpected variant received: \" + this.variant);");
+            out.subIndent();
+            out.push("}");
+            out.push("");
+
+            out.push("public String getResponseBody" + statusCode + "String() throws " + ctx.qualifyCommonApiClass("ApiException") + "{");
+            out.addIndent();
+            out.push("if (variant != Variant." + variantName + ") {");
+            out.addIndent();
+            out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
+            out.subIndent();
+            out.push("}");
+            out.push("return this.body == null ? null : String.valueOf(this.body);");
+            out.subIndent();
+            out.push("}");
+            out.push("");
 
             if (hasTrivial404 || (hasText404 && !"S404_TEXT_PLAIN".equals(variantName))) {
-                ctx.push(clazz, "public java.util.Optional<String> getResponseBody" + statusCode + "StringOr404() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "if (variant != Variant." + variantName + ") {");
-                ctx.addIndent(clazz);
+                out.push("public java.util.Optional<String> getResponseBody" + statusCode + "StringOr404() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
+                out.addIndent();
+                out.push("if (variant != Variant." + variantName + ") {");
+                out.addIndent();
                 if (hasText404) {
-                    ctx.push(clazz, "if (variant != Variant.S404_TEXT_PLAIN) {");
+                    out.push("if (variant != Variant.S404_TEXT_PLAIN) {");
                 } else {
-                    ctx.push(clazz, "if (variant != Variant.S404) {");
+                    out.push("if (variant != Variant.S404) {");
                 }
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "return java.util.Optional.empty();");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
-
-                ctx.push(clazz, "return java.util.Optional.ofNullable(this.body == null ? null : String.valueOf(this.body));");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
-            }
-
-            ctx.push(clazz, "public java.util.Optional<String> tryGetResponseBody" + statusCode + "String() {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "if (variant != Variant." + variantName + ") {");
-            ctx.addIndent(clazz);
-            ctx.push(clazz, "return java.util.Optional.empty();");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
-
-            ctx.push(clazz, "return  java.util.Optional.ofNullable(String.valueOf(this.body));");
-            ctx.subIndent(clazz);
-            ctx.push(clazz, "}");
-            ctx.push(clazz, "");
+                out.addIndent();
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
+                out.subIndent();
+                out.push("}");
+                out.push("return java.util.Optional.empty();");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+
+                out.push("return java.util.Optional.ofNullable(this.body == null ? null : String.valueOf(this.body));");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+            }
+
+            out.push("public java.util.Optional<String> tryGetResponseBody" + statusCode + "String() {");
+            out.addIndent();
+            out.push("if (variant != Variant." + variantName + ") {");
+            out.addIndent();
+            out.push("return java.util.Optional.empty();");
+            out.subIndent();
+            out.push("}");
+            out.push("");
+
+            out.push("return  java.util.Optional.ofNullable(String.valueOf(this.body));");
+            out.subIndent();
+            out.push("}");
+            out.push("");
         }
 
         for (Map.Entry<String, ResponseModel> e1 : model.getResponses().entrySet()) {
@@ -611,24 +684,24 @@ public class ResponseModelGenerator {
             }
 
             if (resp.getContent() == null) {
-                ctx.push(clazz, "public boolean is" + statusCode +"() {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "return variant == Variant." + statusCode + ";");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
-
-                ctx.push(clazz, "public void assert" + statusCode + "() throws " +  ctx.qualifyCommonApiClass("ApiException")+ " {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "if (variant == Variant." + statusCode + ") {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "return;");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Unexpected variant received: \" + this.variant);");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
+                out.push("public boolean is" + statusCode +"() {");
+                out.addIndent();
+                out.push("return variant == Variant." + statusCode + ";");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+
+                out.push("public void assert" + statusCode + "() throws " +  ctx.qualifyCommonApiClass("ApiException")+ " {");
+                out.addIndent();
+                out.push("if (variant == Variant." + statusCode + ") {");
+                out.addIndent();
+                out.push("return;");
+                out.subIndent();
+                out.push("}");
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Unexpected variant received: \" + this.variant);");
+                out.subIndent();
+                out.push("}");
+                out.push("");
 
                 continue;
             }
@@ -643,61 +716,61 @@ public class ResponseModelGenerator {
 
                 String mangledSuffix = statusCode + Util.capitalize(Util.mangleContentType(e2.getKey()));
 
-                ctx.push(clazz, "public boolean is" + mangledSuffix + "() {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "return variant == Variant." + variantName + ";");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
-
-                ctx.push(clazz, "public void assert" + mangledSuffix + "() throws " +  ctx.qualifyCommonApiClass("ApiException")+ " {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "if (variant == Variant." + variantName + ") {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "return;");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Unexpected variant received: \" + this.variant);");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
+                out.push("public boolean is" + mangledSuffix + "() {");
+                out.addIndent();
+                out.push("return variant == Variant." + variantName + ";");
+                out.subIndent();
+                out.push("}");
+                out.push("");
+
+                out.push("public void assert" + mangledSuffix + "() throws " +  ctx.qualifyCommonApiClass("ApiException")+ " {");
+                out.addIndent();
+                out.push("if (variant == Variant." + variantName + ") {");
+                out.addIndent();
+                out.push("return;");
+                out.subIndent();
+                out.push("}");
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Unexpected variant received: \" + this.variant);");
+                out.subIndent();
+                out.push("}");
+                out.push("");
 
                 if (hasTrivial404 | hasText404) {
-                    ctx.push(clazz, "public java.util.Optional<"+ctx.qualifyCommonApiClass("BinaryPayload")+"> getResponseBody" + mangledSuffix + "Or404() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
-                    ctx.addIndent(clazz);
-                    ctx.push(clazz, "if (variant != Variant." + variantName + ") {");
-                    ctx.addIndent(clazz);
+                    out.push("public java.util.Optional<"+ctx.qualifyCommonApiClass("BinaryPayload")+"> getResponseBody" + mangledSuffix + "Or404() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
+                    out.addIndent();
+                    out.push("if (variant != Variant." + variantName + ") {");
+                    out.addIndent();
                     if (hasText404) {
-                        ctx.push(clazz, "if (variant != Variant.S404_TEXT_PLAIN) {");
+                        out.push("if (variant != Variant.S404_TEXT_PLAIN) {");
                     } else {
-                        ctx.push(clazz, "if (variant != Variant.S404) {");
+                        out.push("if (variant != Variant.S404) {");
                     }
-                    ctx.addIndent(clazz);
-                    ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
-                    ctx.subIndent(clazz);
-                    ctx.push(clazz, "}");
-                    ctx.push(clazz, "return java.util.Optional.empty();");
-                    ctx.subIndent(clazz);
-                    ctx.push(clazz, "}");
-                    ctx.push(clazz, "");
-
-                    ctx.push(clazz, "return java.util.Optional.ofNullable(("+ ctx.qualifyCommonApiClass("BinaryPayload")+") this.body);");
-                    ctx.subIndent(clazz);
-                    ctx.push(clazz, "}");
-                    ctx.push(clazz, "");
+                    out.addIndent();
+                    out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
+                    out.subIndent();
+                    out.push("}");
+                    out.push("return java.util.Optional.empty();");
+                    out.subIndent();
+                    out.push("}");
+                    out.push("");
+
+                    out.push("return java.util.Optional.ofNullable(("+ ctx.qualifyCommonApiClass("BinaryPayload")+") this.body);");
+                    out.subIndent();
+                    out.push("}");
+                    out.push("");
                 }
 
-                ctx.push(clazz, "public " + ctx.qualifyCommonApiClass("BinaryPayload") + " getResponseBody" + mangledSuffix + "() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "if (variant != Variant." + variantName + ") {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "return (" + ctx.qualifyCommonApiClass("BinaryPayload")+ ") this.body;");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
-                ctx.push(clazz, "");
+                out.push("public " + ctx.qualifyCommonApiClass("BinaryPayload") + " getResponseBody" + mangledSuffix + "() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
+                out.addIndent();
+                out.push("if (variant != Variant." + variantName + ") {");
+                out.addIndent();
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Wrong body for variant \" + this.variant);");
+                out.subIndent();
+                out.push("}");
+                out.push("return (" + ctx.qualifyCommonApiClass("BinaryPayload")+ ") this.body;");
+                out.subIndent();
+                out.push("}");
+                out.push("");
 
 
             }
@@ -709,28 +782,27 @@ public class ResponseModelGenerator {
         members.remove("contentLength"); //only getter from interface
 
 
-        ctx.push(clazz, "/**");
-        ctx.push(clazz, " * This method always throws the response as an exception. It doesnt return, it always throws.");
-        ctx.push(clazz,
+        out.push("/**");
+        out.push(" * This method always throws the response as an exception. It doesnt return, it always throws.");
+        out.push(
                     " * If this response contains binary data that is not yet received, ",
                  " * then that data may be truncated by this call and the binary stream will always be closed.");
-        ctx.push(clazz, " */");
-        ctx.push(clazz, "public "+ ctx.qualifyCommonApiClass("ApiException") +" throwIt() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
-        ctx.addIndent(clazz);
-        ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body);");
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
+        out.push(" */");
+        out.push("public "+ ctx.qualifyCommonApiClass("ApiException") +" throwIt() throws " + ctx.qualifyCommonApiClass("ApiException") + " {");
+        out.addIndent();
+        out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body);");
+        out.subIndent();
+        out.push("}");
 
         Util.generateHashCodeEquals(ctx, clazz, members);
         Util.generateToString(ctx, clazz, name, members);
 
-        ctx.subIndent(clazz);
-        ctx.push(clazz, "}");
-
-        return clazz;
+        out.subIndent();
+        out.push("}");
     }
 
     private static void generateConstructorTypeVerifier(GenerationContext ctx, PathModel model, String clazz) {
+        SourceFile out = ctx.file(clazz);
         for (Map.Entry<String, ResponseModel> e1 : model.getResponses().entrySet()) {
             ResponseModel resp = ctx.findResponse(e1.getValue().get$ref());
 
@@ -753,18 +825,18 @@ public class ResponseModelGenerator {
             PathSchemaModel tp = resp.getContent().get("text/plain");
             if (tp != null) {
                 String variantName = Util.mangleName(statusCode.toUpperCase() + "_TEXT_PLAIN").toUpperCase();
-                ctx.push(clazz, "if (variant == Variant." + variantName + " && !(this.body instanceof String)) {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Response body type mismatch when constructing response object for variant '" + variantName + "'\");");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
+                out.push("if (variant == Variant." + variantName + " && !(this.body instanceof String)) {");
+                out.addIndent();
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Response body type mismatch when constructing response object for variant '" + variantName + "'\");");
+                out.subIndent();
+                out.push("}");
             }
 
             PathSchemaModel aj = resp.getContent().get("application/json");
             if (aj != null) {
                 String variantName = Util.mangleName(statusCode.toUpperCase() + "_APPLICATION_JSON").toUpperCase();
 
-                List<String> enumValues = Util.getEnumRecursive(aj.getSchema());
+                List<String> enumValues = Util.getEnumRecursive(ctx, aj.getSchema());
                 String enumName = null;
                 if (enumValues != null) {
                     enumName = statusCode + "ResponseBodyEnum";
@@ -789,11 +861,11 @@ public class ResponseModelGenerator {
                     jsonBodyTypeName = "java.lang.Object";
                 }
 
-                ctx.push(clazz, "if (variant == Variant." + variantName + " && !(this.body instanceof " + jsonBodyTypeName + ")) {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Response body type mismatch when constructing response object for variant '" + variantName + "'\");");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
+                out.push("if (variant == Variant." + variantName + " && !(this.body instanceof " + jsonBodyTypeName + ")) {");
+                out.addIndent();
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Response body type mismatch when constructing response object for variant '" + variantName + "'\");");
+                out.subIndent();
+                out.push("}");
             }
 
             for (Map.Entry<String, PathSchemaModel> e2 : resp.getContent().entrySet()) {
@@ -805,11 +877,11 @@ public class ResponseModelGenerator {
                 String variantName = Util.mangleName(statusCode.toUpperCase() + "_" + Util.contentTypeToEnumPrefix(contentType));
                 String binaryPayload = ctx.qualifyCommonApiClass("BinaryPayload");
 
-                ctx.push(clazz, "if (variant == Variant." + variantName + " && !(this.body instanceof " + binaryPayload + ")) {");
-                ctx.addIndent(clazz);
-                ctx.push(clazz, "throw new " + ctx.qualifyCommonApiClass("ApiException") + "(\"" + model.getOperationId() + "\", statusCode, headers, body, \"Response body type mismatch when constructing response object for variant '" + variantName + "'\");");
-                ctx.subIndent(clazz);
-                ctx.push(clazz, "}");
+                out.push("if (variant == Variant." + variantName + " && !(this.body instanceof " + binaryPayload + ")) {");
+                out.addIndent();
+                out.push("throw new " + ctx.qualifyCommonApiClass("ApiException") + "(" + operationId(ctx, model) + ", statusCode, headers, body, \"Response body type mismatch when constructing response object for variant '" + variantName + "'\");");
+                out.subIndent();
+                out.push("}");
             }
         }
     }
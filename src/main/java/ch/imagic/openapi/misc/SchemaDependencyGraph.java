@@ -0,0 +1,128 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.SchemaModel;
+
+import java.util.*;
+
+/**
+ * The direct references between the component schemas of a context, computed once.
+ * Models are named by their reference, e.g. "#/components/schemas/Pet".
+ */
+public class SchemaDependencyGraph {
+
+    private static final String PREFIX = "#/components/schemas/";
+
+    private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+    private final Map<String, Integer> structuralHashes = new HashMap<>();
+
+    public SchemaDependencyGraph(GenerationContext context) {
+        for (Map.Entry<String, SchemaModel> e : context.getModel().getComponents().getSchemas().entrySet()) {
+            String name = PREFIX + e.getKey();
+            dependencies.put(name, Util.getReferencedModelNames(context, e.getValue(), name));
+            structuralHashes.put(name, e.getValue().hashCode());
+        }
+
+        //References to schemas that do not exist are models without dependencies.
+        for (Set<String> refs : new ArrayList<>(dependencies.values())) {
+            for (String ref : refs) {
+                dependencies.putIfAbsent(ref, Collections.emptySet());
+            }
+        }
+    }
+
+    public Set<String> getModels() {
+        return Collections.unmodifiableSet(dependencies.keySet());
+    }
+
+    public Set<String> getDependencies(String model) {
+        return dependencies.getOrDefault(model, Collections.emptySet());
+    }
+
+    /**
+     * Hash of the schema itself. References are part of the hash by name only, not by the content of the referenced model.
+     * Returns null if the model does not exist.
+     */
+    public Integer getStructuralHash(String model) {
+        return structuralHashes.get(model);
+    }
+
+    /**
+     * Returns the strongly connected components of the graph, models that reference each other in a cycle form one component.
+     * Every component comes after all components it depends on.
+     */
+    public List<Set<String>> getStronglyConnectedComponents() {
+        //Iterative Tarjan, the reference chains of real world schemas are too deep for recursion.
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> lowLink = new HashMap<>();
+        Set<String> onStack = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        List<Set<String>> result = new ArrayList<>();
+
+        Deque<String> callStack = new ArrayDeque<>();
+        Deque<Iterator<String>> iterators = new ArrayDeque<>();
+
+        for (String root : dependencies.keySet()) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+
+            visit(root, index, lowLink, onStack, stack, callStack, iterators);
+            while (!callStack.isEmpty()) {
+                String current = callStack.peek();
+                Iterator<String> it = iterators.peek();
+                if (it.hasNext()) {
+                    String next = it.next();
+                    if (!index.containsKey(next)) {
+                        visit(next, index, lowLink, onStack, stack, callStack, iterators);
+                    } else if (onStack.contains(next)) {
+                        lowLink.put(current, Math.min(lowLink.get(current), index.get(next)));
+                    }
+                    continue;
+                }
+
+                callStack.pop();
+                iterators.pop();
+                if (!callStack.isEmpty()) {
+                    String parent = callStack.peek();
+                    lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(current)));
+                }
+
+                if (lowLink.get(current).equals(index.get(current))) {
+                    Set<String> component = new LinkedHashSet<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(current));
+                    result.add(component);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void visit(String model, Map<String, Integer> index, Map<String, Integer> lowLink, Set<String> onStack, Deque<String> stack, Deque<String> callStack, Deque<Iterator<String>> iterators) {
+        index.put(model, index.size());
+        lowLink.put(model, index.get(model));
+        stack.push(model);
+        onStack.add(model);
+        callStack.push(model);
+        iterators.push(getDependencies(model).iterator());
+    }
+}
@@ -0,0 +1,290 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.ComponentsModel;
+import ch.imagic.openapi.model.PathModel;
+import ch.imagic.openapi.model.RootModel;
+import ch.imagic.openapi.model.SchemaModel;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+import java.util.*;
+
+/**
+ * The differences between two preprocessed models of the same package.
+ * A component is affected if it changed or if it references an affected component, directly or through other components.
+ * The variants of an affected oneOf are affected as well, their classes implement the oneOf interface.
+ * Classes that reference a variant only use its name, so this does not spread any further.
+ * A model whose class name differs from the previous generation counts as changed.
+ * An operation is affected if it changed or references an affected component.
+ * If operations were added, removed or reordered the class names of the operations may shift, then all operations are affected.
+ */
+public class SchemaDiff {
+
+    private static final Gson GSON = new Gson();
+    private static final int MAX_LISTED = 20;
+
+    private static final String SCHEMAS = "#/components/schemas/";
+
+    private final Map<String, Changes> changes = new LinkedHashMap<>();
+    private final Set<String> affectedComponents = new HashSet<>();
+    private final Set<String> affectedVariants = new HashSet<>();
+    private final Set<PathModel> affectedOperations = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int operationCount;
+    private boolean allOperationsAffected;
+
+    private SchemaDiff() {
+    }
+
+    public static SchemaDiff compute(GenerationContext previousContext, GenerationContext currentContext) {
+        SchemaDiff diff = new SchemaDiff();
+        RootModel previous = previousContext.getModel();
+        RootModel current = currentContext.getModel();
+
+        Map<String, Object> previousComponents = components(previous);
+        Map<String, Object> currentComponents = components(current);
+        Set<String> changed = new HashSet<>();
+        for (String ref : union(previousComponents.keySet(), currentComponents.keySet())) {
+            Object before = previousComponents.get(ref);
+            Object after = currentComponents.get(ref);
+            if (Objects.equals(before, after)) {
+                continue;
+            }
+
+            changed.add(ref);
+            int idx = ref.lastIndexOf('/');
+            diff.changes.computeIfAbsent(ref.substring("#/components/".length(), idx), k -> new Changes()).add(ref.substring(idx + 1), before, after);
+        }
+
+        Map<String, String> previousClassNames = previousContext.getModelClassNameMapping();
+        for (Map.Entry<String, String> e : currentContext.getModelClassNameMapping().entrySet()) {
+            String previousClassName = previousClassNames.get(e.getKey());
+            if (previousClassName != null && !previousClassName.equals(e.getValue())) {
+                changed.add(SCHEMAS + e.getKey());
+            }
+        }
+
+        //Schemas reference each other the way the generator follows them, the other components are only referenced by operations.
+        Map<String, Set<String>> dependants = new HashMap<>();
+        SchemaDependencyGraph graph = new SchemaDependencyGraph(currentContext);
+        for (String model : graph.getModels()) {
+            for (String ref : graph.getDependencies(model)) {
+                dependants.computeIfAbsent(ref, k -> new HashSet<>()).add(model);
+            }
+        }
+        for (Map.Entry<String, Object> e : currentComponents.entrySet()) {
+            if (!e.getKey().startsWith(SCHEMAS)) {
+                for (String ref : getRefs(GSON.toJsonTree(e.getValue()))) {
+                    dependants.computeIfAbsent(ref, k -> new HashSet<>()).add(e.getKey());
+                }
+            }
+        }
+
+        Deque<String> todo = new ArrayDeque<>(changed);
+        while (!todo.isEmpty()) {
+            String ref = todo.poll();
+            if (!diff.affectedComponents.add(ref)) {
+                continue;
+            }
+
+            todo.addAll(dependants.getOrDefault(ref, Collections.emptySet()));
+            if (ref.startsWith(SCHEMAS)) {
+                diff.affectedVariants.addAll(getVariants(previousComponents.get(ref)));
+                diff.affectedVariants.addAll(getVariants(currentComponents.get(ref)));
+            }
+        }
+
+        Map<String, JsonElement> previousOperations = operations(previous);
+        Map<String, PathModel> currentOperations = new LinkedHashMap<>();
+        if (current.getPaths() != null) {
+            current.getPaths().forEach((path, methods) -> methods.forEach((method, model) -> currentOperations.put(method.toUpperCase() + " " + path, model)));
+        }
+        diff.operationCount = currentOperations.size();
+
+        List<String> previousIds = operationIds(previous);
+        diff.allOperationsAffected = !previousIds.equals(operationIds(current));
+
+        for (Map.Entry<String, PathModel> e : currentOperations.entrySet()) {
+            JsonElement before = previousOperations.get(e.getKey());
+            JsonElement after = GSON.toJsonTree(e.getValue());
+            if (!after.equals(before)) {
+                diff.changes.computeIfAbsent("operations", k -> new Changes()).add(e.getKey(), before, after);
+            }
+
+            if (diff.allOperationsAffected || !after.equals(before) || !Collections.disjoint(getRefs(after), diff.affectedComponents)) {
+                diff.affectedOperations.add(e.getValue());
+            }
+        }
+
+        for (String removed : previousOperations.keySet()) {
+            if (!currentOperations.containsKey(removed)) {
+                diff.changes.computeIfAbsent("operations", k -> new Changes()).add(removed, previousOperations.get(removed), null);
+            }
+        }
+
+        return diff;
+    }
+
+    public boolean isModelAffected(String name) {
+        return affectedComponents.contains(SCHEMAS + name) || affectedVariants.contains(SCHEMAS + name);
+    }
+
+    public boolean isOperationAffected(PathModel operation) {
+        return affectedOperations.contains(operation);
+    }
+
+    public void print(String packageName, int models) {
+        if (changes.isEmpty()) {
+            System.out.println("INFO: " + packageName + ": schema diff: no changes");
+        }
+
+        for (Map.Entry<String, Changes> e : changes.entrySet()) {
+            Changes c = e.getValue();
+            System.out.println("INFO: " + packageName + ": schema diff: " + e.getKey() + " " + c.added.size() + " added, " + c.removed.size() + " removed, " + c.changed.size() + " changed");
+            list(packageName, e.getKey(), "added", c.added);
+            list(packageName, e.getKey(), "removed", c.removed);
+            list(packageName, e.getKey(), "changed", c.changed);
+        }
+
+        Set<String> affectedModels = new HashSet<>(affectedVariants);
+        affectedComponents.stream().filter(ref -> ref.startsWith(SCHEMAS)).forEach(affectedModels::add);
+        System.out.println("INFO: " + packageName + ": schema diff: regenerating at most " + Math.min(affectedModels.size(), models) + " of " + models + " models and "
+                + affectedOperations.size() + " of " + operationCount + " operations" + (allOperationsAffected ? " (operations were added, removed or reordered)" : ""));
+    }
+
+    private static void list(String packageName, String kind, String what, List<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder("INFO: " + packageName + ": schema diff: " + what + " " + kind + ":");
+        for (int i = 0; i < names.size() && i < MAX_LISTED; i++) {
+            sb.append(' ').append(names.get(i));
+        }
+        if (names.size() > MAX_LISTED) {
+            sb.append(" and ").append(names.size() - MAX_LISTED).append(" more");
+        }
+        System.out.println(sb);
+    }
+
+    private static Map<String, Object> components(RootModel model) {
+        Map<String, Object> result = new TreeMap<>();
+        ComponentsModel components = model.getComponents();
+        if (components == null) {
+            return result;
+        }
+
+        addComponents(result, "schemas", components.getSchemas());
+        addComponents(result, "parameters", components.getParameters());
+        addComponents(result, "responses", components.getResponses());
+        addComponents(result, "requestBodies", components.getRequestBodies());
+        addComponents(result, "headers", components.getHeaders());
+        return result;
+    }
+
+    private static void addComponents(Map<String, Object> result, String kind, Map<String, ?> components) {
+        if (components == null) {
+            return;
+        }
+
+        for (Map.Entry<String, ?> e : components.entrySet()) {
+            result.put("#/components/" + kind + "/" + e.getKey(), e.getValue());
+        }
+    }
+
+    private static Map<String, JsonElement> operations(RootModel model) {
+        Map<String, JsonElement> result = new LinkedHashMap<>();
+        if (model.getPaths() != null) {
+            model.getPaths().forEach((path, methods) -> methods.forEach((method, op) -> result.put(method.toUpperCase() + " " + path, GSON.toJsonTree(op))));
+        }
+        return result;
+    }
+
+    /**
+     * Method, path and operation id of all operations in generation order, the names of the generated classes only depend on this.
+     */
+    private static List<String> operationIds(RootModel model) {
+        List<String> result = new ArrayList<>();
+        if (model.getPaths() != null) {
+            model.getPaths().forEach((path, methods) -> methods.forEach((method, op) -> result.add(method + " " + path + " " + op.getOperationId())));
+        }
+        return result;
+    }
+
+    private static Set<String> getRefs(JsonElement element) {
+        Set<String> refs = new HashSet<>();
+        collectRefs(element, refs);
+        return refs;
+    }
+
+    private static void collectRefs(JsonElement element, Set<String> refs) {
+        if (element == null) {
+            return;
+        }
+
+        if (element.isJsonArray()) {
+            element.getAsJsonArray().forEach(child -> collectRefs(child, refs));
+        } else if (element.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> e : element.getAsJsonObject().entrySet()) {
+                if (e.getKey().equals("$ref") && e.getValue().isJsonPrimitive()) {
+                    refs.add(e.getValue().getAsString());
+                } else {
+                    collectRefs(e.getValue(), refs);
+                }
+            }
+        }
+    }
+
+    private static Set<String> getVariants(Object schema) {
+        if (!(schema instanceof SchemaModel)) {
+            return Collections.emptySet();
+        }
+
+        Set<String> refs = new HashSet<>();
+        for (SchemaModel[] variants : Arrays.asList(((SchemaModel) schema).getOneOf(), ((SchemaModel) schema).getAnyOf())) {
+            if (variants != null) {
+                for (SchemaModel variant : variants) {
+                    if (variant.get$ref() != null) {
+                        refs.add(variant.get$ref());
+                    }
+                }
+            }
+        }
+        return refs;
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> result = new TreeSet<>(a);
+        result.addAll(b);
+        return result;
+    }
+
+    private static class Changes {
+        private final List<String> added = new ArrayList<>();
+        private final List<String> removed = new ArrayList<>();
+        private final List<String> changed = new ArrayList<>();
+
+        private void add(String name, Object before, Object after) {
+            if (before == null) {
+                added.add(name);
+            } else if (after == null) {
+                removed.add(name);
+            } else {
+                changed.add(name);
+            }
+        }
+    }
+}
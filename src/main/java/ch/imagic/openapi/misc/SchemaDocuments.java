@@ -0,0 +1,275 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * The documents referenced by the relative file $refs of a schema, parsed at most once per canonical path.
+ * A document is parsed on a worker thread as soon as it is first requested,
+ * the documents it references are then requested as well, so a tree of documents is parsed in parallel.
+ * One instance is shared by the base schema and all extensions of a generation.
+ */
+public class SchemaDocuments implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Map<Path, Future<JsonElement>> documents = new ConcurrentHashMap<>();
+    //The schemas themselves are streamed into the model by SchemaLoader, they are only parsed here if another document references them.
+    private final Set<Path> roots = ConcurrentHashMap.newKeySet();
+    private final int threads;
+    private ExecutorService executor;
+
+    public SchemaDocuments(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.threads = threads;
+    }
+
+    public void addRoot(Path schema) {
+        roots.add(schema);
+    }
+
+    /**
+     * Adds the schema as root and starts parsing every file it references directly, while SchemaLoader streams the schema itself.
+     * Only the $refs of the schema are read, on a worker thread.
+     */
+    public void prefetch(Path schema) {
+        addRoot(schema);
+        //An unreadable schema is reported by SchemaLoader, the future is never read.
+        getExecutor().submit(() -> {
+            for (String ref : scanRefs(schema)) {
+                Path file = resolveFile(schema, ref);
+                if (file != null && !roots.contains(file)) {
+                    request(file);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The canonical path of the file part of a $ref relative to the document that contains it, null for a local $ref.
+     */
+    public static Path resolveFile(Path document, String ref) throws IOException {
+        int idx = ref.indexOf('#');
+        String file = idx == -1 ? ref : ref.substring(0, idx);
+        if (file.isEmpty()) {
+            return null;
+        }
+
+        if (file.contains("://")) {
+            throw new IllegalArgumentException("$ref " + ref + " in " + document + " is not a relative file reference, only local and relative file references are supported");
+        }
+
+        return document.resolveSibling(file).toFile().getCanonicalFile().toPath();
+    }
+
+    /**
+     * A discriminator mapping value is either a $ref or the name of a schema of the same document.
+     */
+    public static boolean isMappingRef(String value) {
+        return value.contains("#") || value.contains("/") || value.endsWith(".json");
+    }
+
+    /**
+     * Returns the parsed document, waits if it is still being parsed.
+     */
+    public JsonElement get(Path document) throws IOException {
+        try {
+            return request(document).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while parsing " + document);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("could not parse " + document, e.getCause());
+        }
+    }
+
+    /**
+     * Starts parsing the document unless it was already requested.
+     */
+    public Future<JsonElement> request(Path document) {
+        return documents.computeIfAbsent(document, k -> getExecutor().submit(() -> parse(k)));
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "schema-document-parser");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private JsonElement parse(Path document) throws IOException {
+        JsonElement root;
+        try (Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(document), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            root = JsonParser.parseReader(reader);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("could not parse " + document + ": " + e.getMessage(), e);
+        }
+
+        for (String ref : collectRefs(root)) {
+            Path file = resolveFile(document, ref);
+            if (file != null && !roots.contains(file)) {
+                request(file);
+            }
+        }
+        return root;
+    }
+
+    private static Set<String> collectRefs(JsonElement root) {
+        Set<String> refs = new LinkedHashSet<>();
+        Deque<JsonElement> todo = new ArrayDeque<>();
+        todo.add(root);
+        while (!todo.isEmpty()) {
+            JsonElement element = todo.poll();
+            if (element.isJsonArray()) {
+                element.getAsJsonArray().forEach(todo::add);
+            } else if (element.isJsonObject()) {
+                for (Map.Entry<String, JsonElement> e : element.getAsJsonObject().entrySet()) {
+                    if (e.getKey().equals("$ref") && e.getValue().isJsonPrimitive()) {
+                        refs.add(e.getValue().getAsString());
+                    } else if (e.getKey().equals("mapping") && e.getValue().isJsonObject()) {
+                        for (JsonElement target : e.getValue().getAsJsonObject().asMap().values()) {
+                            if (target.isJsonPrimitive() && isMappingRef(target.getAsString())) {
+                                refs.add(target.getAsString());
+                            }
+                        }
+                    } else {
+                        todo.add(e.getValue());
+                    }
+                }
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * The schema followed by all files it references directly or indirectly, sorted by path.
+     * Only the $refs are read, nothing is parsed into a tree. Used to digest a schema that is split over several files.
+     */
+    public static List<File> getSchemaFiles(File schema) throws IOException {
+        Path root = schema.getCanonicalFile().toPath();
+        Set<Path> seen = new HashSet<>();
+        seen.add(root);
+        SortedSet<Path> referenced = new TreeSet<>();
+        Deque<Path> todo = new ArrayDeque<>();
+        todo.add(root);
+        while (!todo.isEmpty()) {
+            Path document = todo.poll();
+            for (String ref : scanRefs(document)) {
+                Path file = resolveFile(document, ref);
+                if (file != null && seen.add(file)) {
+                    referenced.add(file);
+                    todo.add(file);
+                }
+            }
+        }
+
+        List<File> files = new ArrayList<>();
+        files.add(schema);
+        referenced.forEach(p -> files.add(p.toFile()));
+        return files;
+    }
+
+    private static Set<String> scanRefs(Path document) throws IOException {
+        Set<String> refs = new LinkedHashSet<>();
+        try (JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(Files.newInputStream(document), StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            String name = null;
+            //Depth at which the current discriminator mapping object was entered, -1 outside of a mapping.
+            int depth = 0;
+            int mappingDepth = -1;
+            while (true) {
+                JsonToken token = reader.peek();
+                switch (token) {
+                    case BEGIN_OBJECT:
+                        reader.beginObject();
+                        depth++;
+                        if ("mapping".equals(name)) {
+                            mappingDepth = depth;
+                        }
+                        name = null;
+                        break;
+                    case END_OBJECT:
+                        reader.endObject();
+                        if (depth == mappingDepth) {
+                            mappingDepth = -1;
+                        }
+                        depth--;
+                        name = null;
+                        break;
+                    case BEGIN_ARRAY:
+                        reader.beginArray();
+                        name = null;
+                        break;
+                    case END_ARRAY:
+                        reader.endArray();
+                        name = null;
+                        break;
+                    case NAME:
+                        name = reader.nextName();
+                        break;
+                    case STRING:
+                        String value = reader.nextString();
+                        if ("$ref".equals(name) || (name != null && depth == mappingDepth && isMappingRef(value))) {
+                            refs.add(value);
+                        }
+                        name = null;
+                        break;
+                    case END_DOCUMENT:
+                        return refs;
+                    default:
+                        reader.skipValue();
+                        name = null;
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("could not read " + document + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
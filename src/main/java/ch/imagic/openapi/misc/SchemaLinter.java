@@ -0,0 +1,247 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.*;
+
+import java.util.*;
+
+/**
+ * Finds schema shapes that are known to be slow at runtime in a preprocessed schema.
+ * Preprocessing moved all bodies, parameters and inline schemas into the components, so only the components and the operations are checked:
+ * <ul>
+ *     <li>UNBOUNDED_LIST: a GET operation returns a json array without maxItems and has no paging query parameter.</li>
+ *     <li>BASE64_BINARY: a string with format byte, binary data that is sent base64 encoded inside json.</li>
+ *     <li>UNION_WITHOUT_DISCRIMINATOR: a oneOf or anyOf without discriminator, jackson has to deduce the type from the fields of every member.
+ *     The severity grows with the number of members.</li>
+ * </ul>
+ */
+public class SchemaLinter {
+
+    public enum Severity {
+        INFO, WARNING, ERROR
+    }
+
+    public static class Finding {
+        private final Severity severity;
+        private final String rule;
+        private final String location;
+        private final String message;
+
+        Finding(Severity severity, String rule, String location, String message) {
+            this.severity = severity;
+            this.rule = rule;
+            this.location = location;
+            this.message = message;
+        }
+
+        public Severity getSeverity() {
+            return severity;
+        }
+
+        public String getRule() {
+            return rule;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return severity + " lint " + rule + " at " + location + ": " + message;
+        }
+    }
+
+    private static final Set<String> PAGING_PARAMETERS = new HashSet<>(Arrays.asList(
+            "limit", "offset", "page", "pagesize", "page_size", "size", "perpage", "per_page", "cursor", "pagetoken", "page_token",
+            "continuationtoken", "after", "before", "skip", "top", "$top", "$skip", "first", "last", "max", "maxresults", "max_results"));
+
+    private static final int UNION_WARNING_MEMBERS = 4;
+    private static final int UNION_ERROR_MEMBERS = 10;
+
+    private final GenerationContext context;
+    private final List<Finding> findings = new ArrayList<>();
+
+    private SchemaLinter(GenerationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * All findings of the preprocessed schema of the context, the most severe first.
+     */
+    public static List<Finding> lint(GenerationContext context) {
+        SchemaLinter linter = new SchemaLinter(context);
+        linter.lintOperations();
+        linter.lintComponents();
+        linter.findings.sort(Comparator.comparing(Finding::getSeverity).reversed().thenComparing(Finding::getLocation).thenComparing(Finding::getRule));
+        return linter.findings;
+    }
+
+    /**
+     * Prints all findings and a summary. Throws if failOn is not null and more than threshold findings have at least that severity.
+     */
+    public static void check(GenerationContext context, Severity failOn, int threshold) {
+        List<Finding> findings = lint(context);
+        Map<Severity, Integer> counts = new EnumMap<>(Severity.class);
+        for (Finding finding : findings) {
+            System.out.println(finding);
+            counts.merge(finding.getSeverity(), 1, Integer::sum);
+        }
+
+        System.out.println("INFO: " + context.getPackageName() + ": lint found " + counts.getOrDefault(Severity.ERROR, 0) + " errors, "
+                + counts.getOrDefault(Severity.WARNING, 0) + " warnings and " + counts.getOrDefault(Severity.INFO, 0) + " infos");
+        if (failOn == null) {
+            return;
+        }
+
+        long failing = findings.stream().filter(f -> f.getSeverity().compareTo(failOn) >= 0).count();
+        if (failing > threshold) {
+            throw new IllegalStateException(context.getPackageName() + ": lint found " + failing + " findings of severity " + failOn
+                    + " or higher, at most " + threshold + " are allowed");
+        }
+    }
+
+    private void add(Severity severity, String rule, String location, String message) {
+        findings.add(new Finding(severity, rule, location, message));
+    }
+
+    private void lintOperations() {
+        if (context.getModel().getPaths() == null) {
+            return;
+        }
+
+        for (Map.Entry<String, Map<String, PathModel>> path : context.getModel().getPaths().entrySet()) {
+            for (Map.Entry<String, PathModel> method : path.getValue().entrySet()) {
+                PathModel operation = method.getValue();
+                if (!"get".equalsIgnoreCase(method.getKey()) || operation.getResponses() == null || hasPagingParameter(operation)) {
+                    continue;
+                }
+
+                for (Map.Entry<String, ResponseModel> response : operation.getResponses().entrySet()) {
+                    ResponseModel model = resolve(response.getValue());
+                    if (!response.getKey().startsWith("2") || model == null || model.getContent() == null) {
+                        continue;
+                    }
+
+                    for (Map.Entry<String, PathSchemaModel> content : model.getContent().entrySet()) {
+                        SchemaModel schema = content.getValue() == null ? null : resolve(content.getValue().getSchema());
+                        if (content.getKey().contains("json") && schema != null && isArray(schema) && schema.getMaxItems() == null) {
+                            add(Severity.WARNING, "UNBOUNDED_LIST", "operation " + operation.getOperationId() + " (" + method.getKey().toUpperCase(Locale.ROOT) + " " + path.getKey() + ") response " + response.getKey(),
+                                    "returns an array without maxItems and has no paging query parameter, the whole list is read into memory");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean hasPagingParameter(PathModel operation) {
+        if (operation.getParameters() == null) {
+            return false;
+        }
+
+        for (ParameterModel parameter : operation.getParameters()) {
+            ParameterModel resolved = parameter.get$ref() == null ? parameter : context.findParameter(parameter.get$ref());
+            if (resolved != null && "query".equalsIgnoreCase(resolved.getIn()) && resolved.getName() != null
+                    && PAGING_PARAMETERS.contains(resolved.getName().toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void lintComponents() {
+        ComponentsModel components = context.getModel().getComponents();
+        if (components == null) {
+            return;
+        }
+
+        if (components.getSchemas() != null) {
+            for (Map.Entry<String, SchemaModel> e : components.getSchemas().entrySet()) {
+                lintSchema("schema " + e.getKey(), e.getValue());
+            }
+        }
+
+        if (components.getRequestBodies() != null) {
+            for (Map.Entry<String, RequestBodyModel> e : components.getRequestBodies().entrySet()) {
+                lintContent("request body " + e.getKey(), e.getValue().getContent());
+            }
+        }
+
+        if (components.getResponses() != null) {
+            for (Map.Entry<String, ResponseModel> e : components.getResponses().entrySet()) {
+                lintContent("response " + e.getKey(), e.getValue().getContent());
+            }
+        }
+    }
+
+    private void lintContent(String location, Map<String, PathSchemaModel> content) {
+        if (content == null) {
+            return;
+        }
+
+        for (Map.Entry<String, PathSchemaModel> e : content.entrySet()) {
+            if (e.getKey().contains("json") && e.getValue() != null && e.getValue().getSchema() != null) {
+                lintSchema(location + " " + e.getKey(), e.getValue().getSchema());
+            }
+        }
+    }
+
+    /**
+     * Checks the schema and the schemas nested in it that preprocessing left inline, referenced schemas are checked on their own.
+     */
+    private void lintSchema(String location, SchemaModel schema) {
+        if (schema == null || schema.get$ref() != null) {
+            return;
+        }
+
+        if ("string".equals(schema.getType()) && "byte".equals(schema.getFormat())) {
+            add(Severity.WARNING, "BASE64_BINARY", location,
+                    "binary data as a base64 string in json is a third larger and has to be decoded in memory, send it as application/octet-stream");
+        }
+
+        SchemaModel[] members = schema.getOneOf() != null ? schema.getOneOf() : schema.getAnyOf();
+        if (members != null && members.length > 1 && schema.getDiscriminator() == null) {
+            Severity severity = members.length >= UNION_ERROR_MEMBERS ? Severity.ERROR : members.length >= UNION_WARNING_MEMBERS ? Severity.WARNING : Severity.INFO;
+            add(severity, "UNION_WITHOUT_DISCRIMINATOR", location,
+                    (schema.getOneOf() != null ? "oneOf" : "anyOf") + " with " + members.length + " members has no discriminator, the type is deduced from the fields of every member");
+        }
+
+        if (schema.getProperties() != null) {
+            for (Map.Entry<String, SchemaModel> e : schema.getProperties().entrySet()) {
+                lintSchema(location + " property " + e.getKey(), e.getValue());
+            }
+        }
+        lintSchema(location + " items", schema.getItems());
+        lintSchema(location + " additionalProperties", schema.getAdditionalProperties());
+    }
+
+    private ResponseModel resolve(ResponseModel response) {
+        return response == null || response.get$ref() == null ? response : context.findResponse(response.get$ref());
+    }
+
+    private SchemaModel resolve(SchemaModel schema) {
+        return schema == null || schema.get$ref() == null ? schema : context.findSchema(schema.get$ref());
+    }
+
+    private static boolean isArray(SchemaModel schema) {
+        return "array".equals(schema.getType()) || (schema.getType() == null && schema.getItems() != null);
+    }
+}
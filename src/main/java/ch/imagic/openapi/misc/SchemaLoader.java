@@ -0,0 +1,231 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.PathModel;
+import ch.imagic.openapi.model.RootModel;
+import ch.imagic.openapi.model.SchemaModel;
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Reads a schema file directly into the model without holding the whole document in memory.
+ * Anything that is not mapped by the model package (examples, extensions, ...) is skipped by the reader.
+ * <p>
+ * Large schemas repeat the same type, format, $ref and property name strings for every node, all strings are interned while reading.
+ * Empty properties, required, enum, allOf, anyOf and oneOf values of schemas share one immutable instance.
+ */
+public class SchemaLoader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    //The operations of a path item by method.
+    static final Type PATH_ITEM = TypeToken.getParameterized(Map.class, String.class, PathModel.class).getType();
+
+    private static final String[] NO_STRINGS = new String[0];
+    private static final SchemaModel[] NO_SCHEMAS = new SchemaModel[0];
+
+    /**
+     * One per Gson instance and therefore per load, so the strings of a schema are released with its model.
+     * Also used for map keys, gson reads them with the adapter of the key type.
+     */
+    private static class InternedStrings extends TypeAdapter<String> {
+        private final Map<String, String> pool = new HashMap<>();
+
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(value);
+        }
+
+        @Override
+        public String read(JsonReader in) throws IOException {
+            JsonToken token = in.peek();
+            if (token == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            if (token == JsonToken.BOOLEAN) {
+                return Boolean.toString(in.nextBoolean());
+            }
+            String value = in.nextString();
+            String pooled = pool.putIfAbsent(value, value);
+            return pooled == null ? value : pooled;
+        }
+    }
+
+    private static final TypeAdapterFactory COMPACT_SCHEMAS = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != SchemaModel.class) {
+                return null;
+            }
+
+            TypeAdapter<SchemaModel> delegate = gson.getDelegateAdapter(this, TypeToken.get(SchemaModel.class));
+            return (TypeAdapter<T>) new TypeAdapter<SchemaModel>() {
+                @Override
+                public void write(JsonWriter out, SchemaModel value) throws IOException {
+                    delegate.write(out, value);
+                }
+
+                @Override
+                public SchemaModel read(JsonReader in) throws IOException {
+                    return compact(delegate.read(in));
+                }
+            };
+        }
+    };
+
+    /**
+     * Reads a path item with a $ref as PathItemRef, it is resolved by ExternalRefResolver.
+     */
+    private static final TypeAdapterFactory PATH_ITEM_REFS = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!type.getType().equals(PATH_ITEM)) {
+                return null;
+            }
+
+            TypeAdapter<PathModel> operations = gson.getAdapter(PathModel.class);
+            TypeAdapter<String> strings = gson.getAdapter(String.class);
+            return (TypeAdapter<T>) new TypeAdapter<Map<String, PathModel>>() {
+                @Override
+                public void write(JsonWriter out, Map<String, PathModel> value) throws IOException {
+                    if (value == null) {
+                        out.nullValue();
+                        return;
+                    }
+
+                    out.beginObject();
+                    if (value instanceof PathItemRef) {
+                        out.name("$ref").value(((PathItemRef) value).getRef());
+                    }
+                    for (Map.Entry<String, PathModel> e : value.entrySet()) {
+                        out.name(e.getKey());
+                        operations.write(out, e.getValue());
+                    }
+                    out.endObject();
+                }
+
+                @Override
+                public Map<String, PathModel> read(JsonReader in) throws IOException {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        return null;
+                    }
+
+                    Map<String, PathModel> result = new LinkedHashMap<>();
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        String name = in.nextName();
+                        if (name.equals("$ref") && in.peek() == JsonToken.STRING) {
+                            PathItemRef ref = new PathItemRef(strings.read(in));
+                            ref.putAll(result);
+                            result = ref;
+                        } else {
+                            result.put(name, operations.read(in));
+                        }
+                    }
+                    in.endObject();
+                    return result;
+                }
+            };
+        }
+    };
+
+    private static final ExclusionStrategy WITHOUT_DOCUMENTATION = new ExclusionStrategy() {
+        @Override
+        public boolean shouldSkipField(FieldAttributes f) {
+            return f.getName().equals("description") || f.getName().equals("summary");
+        }
+
+        @Override
+        public boolean shouldSkipClass(Class<?> clazz) {
+            return false;
+        }
+    };
+
+    /**
+     * Only replaces values that are never modified, preprocessing puts into the properties of a schema but only ever replaces existing entries.
+     */
+    private static SchemaModel compact(SchemaModel schema) {
+        if (schema == null) {
+            return null;
+        }
+
+        if (schema.getProperties() != null && schema.getProperties().isEmpty()) {
+            schema.setProperties(Collections.emptyMap());
+        }
+        if (schema.getRequired() != null && schema.getRequired().length == 0) {
+            schema.setRequired(NO_STRINGS);
+        }
+        if (schema.get$enum() != null) {
+            if (schema.get$enum().isEmpty()) {
+                schema.set$enum(Collections.emptyList());
+            } else if (schema.get$enum() instanceof ArrayList) {
+                ((ArrayList<String>) schema.get$enum()).trimToSize();
+            }
+        }
+        if (schema.getAllOf() != null && schema.getAllOf().length == 0) {
+            schema.setAllOf(NO_SCHEMAS);
+        }
+        if (schema.getAnyOf() != null && schema.getAnyOf().length == 0) {
+            schema.setAnyOf(NO_SCHEMAS);
+        }
+        if (schema.getOneOf() != null && schema.getOneOf().length == 0) {
+            schema.setOneOf(NO_SCHEMAS);
+        }
+        return schema;
+    }
+
+    /**
+     * A new instance with its own string pool, not thread safe.
+     */
+    static Gson newGson(boolean loadDocumentation) {
+        GsonBuilder builder = new GsonBuilder()
+                .registerTypeAdapter(String.class, new InternedStrings())
+                .registerTypeAdapterFactory(COMPACT_SCHEMAS)
+                .registerTypeAdapterFactory(PATH_ITEM_REFS);
+        if (!loadDocumentation) {
+            builder.setExclusionStrategies(WITHOUT_DOCUMENTATION);
+        }
+        return builder.create();
+    }
+
+    public static RootModel load(File schema, boolean loadDocumentation) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(schema.toPath()), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            return load(reader, loadDocumentation);
+        }
+    }
+
+    public static RootModel load(Reader reader, boolean loadDocumentation) {
+        //Gson wraps the reader in a JsonReader and streams directly into the model.
+        RootModel model = newGson(loadDocumentation).fromJson(reader, RootModel.class);
+        if (model == null) {
+            throw new IllegalArgumentException("schema is empty");
+        }
+        return model;
+    }
+}
@@ -15,30 +15,41 @@
 package ch.imagic.openapi.misc;
 
 import ch.imagic.openapi.model.*;
+import com.google.gson.Gson;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 public class SchemaPreProcessors {
 
+    private static final Gson GSON = new Gson();
+
     public static void preProcess(GenerationContext context) {
-        ensureComponentsObjectIsPopulated(context);
-        ensureOpIds(context);
-        moveRequestBodies(context);
-        moveResponseBodies(context);
-        moveParameters(context);
-        moveHeader(context);
-        moveHeaderSchemas(context);
+        context.getReport().time(context.getPackageName() + "/preProcess", () -> {
+            ensureComponentsObjectIsPopulated(context);
+            int schemas = context.getModel().getComponents().getSchemas().size();
 
-        boolean working;
-        do {
-            working = false;
-            working |= bustObjects(context);
-            working |= bustArrays(context);
-            working |= bustPoly(context);
-            working |= bustUnions(context);
-        } while (working);
+            pass(context, "ensureOpIds", SchemaPreProcessors::ensureOpIds);
+            pass(context, "moveRequestBodies", SchemaPreProcessors::moveRequestBodies);
+            pass(context, "moveResponseBodies", SchemaPreProcessors::moveResponseBodies);
+            pass(context, "moveParameters", SchemaPreProcessors::moveParameters);
+            pass(context, "moveHeader", SchemaPreProcessors::moveHeader);
+            pass(context, "moveHeaderSchemas", SchemaPreProcessors::moveHeaderSchemas);
+
+            pass(context, "bustInlineSchemas", SchemaPreProcessors::bustInlineSchemas);
+
+            pass(context, "bustRefs", SchemaPreProcessors::bustRefs);
 
-        bustRefs(context);
+            int total = context.getModel().getComponents().getSchemas().size();
+            context.getReport().recordSchemas(context.getPackageName(), total, total - schemas);
+            if (context.isDedupInlineSchemas()) {
+                System.out.println("INFO: " + context.getPackageName() + ": " + context.getDedupedSchemas() + " inline schemas reuse an identical hoisted schema");
+            }
+        });
+    }
+
+    private static void pass(GenerationContext context, String name, Consumer<GenerationContext> pass) {
+        context.getReport().time(context.getPackageName() + "/preProcess/" + name, () -> pass.accept(context));
     }
 
     public static void ensureComponentsObjectIsPopulated(GenerationContext context) {
@@ -48,23 +59,25 @@ public class SchemaPreProcessors {
 
         ComponentsModel components = context.getModel().getComponents();
         if (components.getSchemas() == null) {
-            components.setSchemas(new HashMap<>());
+            //Must keep insertion order, see bustInlineSchemas
+            components.setSchemas(new LinkedHashMap<>());
         }
 
+        //The moved bodies, parameters and headers are named in iteration order, so these keep insertion order as well.
         if (components.getHeaders() == null) {
-            components.setHeaders(new HashMap<>());
+            components.setHeaders(new LinkedHashMap<>());
         }
 
         if (components.getResponses() == null) {
-            components.setResponses(new HashMap<>());
+            components.setResponses(new LinkedHashMap<>());
         }
 
         if (components.getRequestBodies() == null) {
-            components.setRequestBodies(new HashMap<>());
+            components.setRequestBodies(new LinkedHashMap<>());
         }
 
         if (components.getParameters() == null) {
-            components.setParameters(new HashMap<>());
+            components.setParameters(new LinkedHashMap<>());
         }
     }
 
@@ -170,7 +183,7 @@ public class SchemaPreProcessors {
 
 
             SchemaModel actualSchema = requestBodySchemaModel.getSchema();
-            SchemaClassification schemaClassification = SchemaClassification.fromSchema(id + "->application/json->requestBody", actualSchema);
+            SchemaClassification schemaClassification = context.classify(id + "->application/json->requestBody", actualSchema);
             switch (schemaClassification) {
                 case STRING:
                 case INT64:
@@ -230,6 +243,7 @@ public class SchemaPreProcessors {
                     refModel.set$ref("#/components/schemas/" + itemName);
                     context.getModel().getComponents().getSchemas().put(itemName, actualSchema.getItems());
                     actualSchema.setItems(refModel);
+                    context.invalidateClassification(actualSchema);
                     break;
                 }
                 default:
@@ -294,7 +308,7 @@ public class SchemaPreProcessors {
 
 
             SchemaModel actualSchema = responseBodySchema.getSchema();
-            SchemaClassification schemaClassification = SchemaClassification.fromSchema("response " + id + "->application/json->responseBody", actualSchema);
+            SchemaClassification schemaClassification = context.classify("response " + id + "->application/json->responseBody", actualSchema);
             switch (schemaClassification) {
                 case STRING:
                 case ENUM:
@@ -356,6 +370,7 @@ public class SchemaPreProcessors {
                     refModel.set$ref("#/components/schemas/" + itemName);
                     context.getModel().getComponents().getSchemas().put(itemName, actualSchema.getItems());
                     actualSchema.setItems(refModel);
+                    context.invalidateClassification(actualSchema);
                     break;
                 }
                 default:
@@ -374,46 +389,40 @@ public class SchemaPreProcessors {
         }
 
         for (Map.Entry<String, SchemaModel> e : context.getModel().getComponents().getSchemas().entrySet()) {
-            String name = e.getKey();
-            SchemaModel schema = e.getValue();
-            SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
-            if (schemaClassification != SchemaClassification.ONE_OF  && schemaClassification != SchemaClassification.ANY_OF) {
-                continue;
-            }
-
-            SchemaModel[] content = schema.getOneOf();
-            if (content == null) {
-                content = schema.getAnyOf();
+            if (bustPoly(context, e.getKey(), e.getValue(), null)) {
+                return true;
             }
+        }
 
-            for (int i = 0; i < content.length; i++) {
-                SchemaClassification innerClass = SchemaClassification.fromSchema(name, content[i]);
-                switch (innerClass) {
-                    case REF:
-                        break;
-                    case OBJECT_IMPL:
-                    case UNION:
-                    case ANY_OF:
-                    case ONE_OF:
-                        SchemaModel refModel = new SchemaModel();
+        return false;
+    }
 
-                        String itemName = name + "Poly";
+    private static boolean bustPoly(GenerationContext context, String name, SchemaModel schema, List<String> hoisted) {
+        SchemaClassification schemaClassification = context.classify(name, schema);
+        if (schemaClassification != SchemaClassification.ONE_OF  && schemaClassification != SchemaClassification.ANY_OF) {
+            return false;
+        }
 
-                        if (context.getModel().getComponents().getSchemas().containsKey(itemName)) {
-                            int cnt = 0;
-                            while(context.getModel().getComponents().getSchemas().containsKey(itemName + cnt)) {
-                                cnt++;
-                            }
-                            itemName += cnt;
-                        }
+        SchemaModel[] content = schema.getOneOf();
+        if (content == null) {
+            content = schema.getAnyOf();
+        }
 
-                        refModel.set$ref("#/components/schemas/" + itemName);
-                        context.getModel().getComponents().getSchemas().put(itemName, content[i]);
-                        content[i] = refModel;
-                        return true;
-                    default:
-                        throw new IllegalArgumentException("Cannot poly with " + innerClass);
-                }
+        for (int i = 0; i < content.length; i++) {
+            SchemaClassification innerClass = context.classify(name, content[i]);
+            switch (innerClass) {
+                case REF:
+                    break;
+                case OBJECT_IMPL:
+                case UNION:
+                case ANY_OF:
+                case ONE_OF:
+                    //Without a mapping the discriminator value is the name of the hoisted schema, it must stay the same with dedup.
+                    content[i] = hoistSchema(context, name + "Poly", content[i], hoisted, schema.getDiscriminator() == null);
+                    context.invalidateClassification(schema);
+                    return true;
+                default:
+                    throw new IllegalArgumentException("Cannot poly with " + innerClass);
             }
         }
 
@@ -422,63 +431,45 @@ public class SchemaPreProcessors {
 
     public static boolean bustObjects(GenerationContext context) {
         for (Map.Entry<String, SchemaModel> e : context.getModel().getComponents().getSchemas().entrySet()) {
-            String name = e.getKey();
-            SchemaModel schema = e.getValue();
-            SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
-            if (schemaClassification != SchemaClassification.OBJECT_IMPL) {
-                continue;
+            if (bustObject(context, e.getKey(), e.getValue(), null)) {
+                return true;
             }
+        }
 
-            Map<String, SchemaModel> properties = schema.getProperties();
-            for (Map.Entry<String, SchemaModel> p : properties.entrySet()) {
-                String propName = p.getKey();
-                SchemaModel propSchema = p.getValue();
-                SchemaClassification propClass = SchemaClassification.fromSchema(name + "." + propName, propSchema);
-                if (propClass != SchemaClassification.UNION && propClass != SchemaClassification.OBJECT_IMPL) {
-                    continue;
-                }
-                SchemaModel refModel = new SchemaModel();
-
-                String itemName = name + Util.capitalize(propName) + "Property";
+        return false;
+    }
 
-                if (context.getModel().getComponents().getSchemas().containsKey(itemName)) {
-                    int cnt = 0;
-                    while(context.getModel().getComponents().getSchemas().containsKey(itemName + cnt)) {
-                        cnt++;
-                    }
-                    itemName += cnt;
-                }
+    private static boolean bustObject(GenerationContext context, String name, SchemaModel schema, List<String> hoisted) {
+        SchemaClassification schemaClassification = context.classify(name, schema);
+        if (schemaClassification != SchemaClassification.OBJECT_IMPL) {
+            return false;
+        }
 
-                refModel.set$ref("#/components/schemas/" + itemName);
-                context.getModel().getComponents().getSchemas().put(itemName, propSchema);
-                properties.put(propName, refModel);
-                return true;
+        Map<String, SchemaModel> properties = schema.getProperties();
+        for (Map.Entry<String, SchemaModel> p : properties.entrySet()) {
+            String propName = p.getKey();
+            SchemaModel propSchema = p.getValue();
+            SchemaClassification propClass = context.classify(name + "." + propName, propSchema);
+            if (propClass != SchemaClassification.UNION && propClass != SchemaClassification.OBJECT_IMPL) {
+                continue;
             }
 
-            for (Map.Entry<String, SchemaModel> p : properties.entrySet()) {
-                String propName = p.getKey();
-                SchemaModel propSchema = p.getValue();
-                SchemaClassification propClass = SchemaClassification.fromSchema(name + "." + propName, propSchema);
-                if (propClass != SchemaClassification.ARRAY_IMPL) {
-                    continue;
-                }
-                SchemaModel refModel = new SchemaModel();
-
-                String itemName = name + Util.capitalize(propName) + "Item";
-
-                if (context.getModel().getComponents().getSchemas().containsKey(itemName)) {
-                    int cnt = 0;
-                    while(context.getModel().getComponents().getSchemas().containsKey(itemName + cnt)) {
-                        cnt++;
-                    }
-                    itemName += cnt;
-                }
+            properties.put(propName, hoistSchema(context, name + Util.capitalize(propName) + "Property", propSchema, hoisted));
+            context.invalidateClassification(schema);
+            return true;
+        }
 
-                refModel.set$ref("#/components/schemas/" + itemName);
-                context.getModel().getComponents().getSchemas().put(itemName, propSchema.getItems());
-                propSchema.setItems(refModel);
-                return true;
+        for (Map.Entry<String, SchemaModel> p : properties.entrySet()) {
+            String propName = p.getKey();
+            SchemaModel propSchema = p.getValue();
+            SchemaClassification propClass = context.classify(name + "." + propName, propSchema);
+            if (propClass != SchemaClassification.ARRAY_IMPL) {
+                continue;
             }
+
+            propSchema.setItems(hoistSchema(context, name + Util.capitalize(propName) + "Item", propSchema.getItems(), hoisted));
+            context.invalidateClassification(propSchema);
+            return true;
         }
 
         return false;
@@ -494,32 +485,102 @@ public class SchemaPreProcessors {
         }
 
         for (Map.Entry<String, SchemaModel> e : context.getModel().getComponents().getSchemas().entrySet()) {
-            String name = e.getKey();
-            SchemaModel schema = e.getValue();
-            SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
-            if (schemaClassification != SchemaClassification.ARRAY_IMPL) {
-                continue;
+            if (bustArray(context, e.getKey(), e.getValue(), null)) {
+                return true;
             }
+        }
 
-            SchemaModel refModel = new SchemaModel();
+        return false;
+    }
 
-            String itemName = name + "Item";
+    private static boolean bustArray(GenerationContext context, String name, SchemaModel schema, List<String> hoisted) {
+        SchemaClassification schemaClassification = context.classify(name, schema);
+        if (schemaClassification != SchemaClassification.ARRAY_IMPL) {
+            return false;
+        }
 
-            if (context.getModel().getComponents().getSchemas().containsKey(itemName)) {
-                int cnt = 0;
-                while(context.getModel().getComponents().getSchemas().containsKey(itemName + cnt)) {
-                    cnt++;
-                }
-                itemName += cnt;
+        schema.setItems(hoistSchema(context, name + "Item", schema.getItems(), hoisted));
+        context.invalidateClassification(schema);
+        return true;
+    }
+
+    /**
+     * Moves the schema into the components under the given name, or the name with a number appended if taken.
+     * Returns the reference to put in place of the schema. The final name is added to hoisted if not null.
+     */
+    private static SchemaModel hoistSchema(GenerationContext context, String itemName, SchemaModel schema, List<String> hoisted) {
+        return hoistSchema(context, itemName, schema, hoisted, true);
+    }
+
+    /**
+     * If dedup is set and enabled in the context, an already hoisted identical schema is referenced instead of hoisting the schema again.
+     */
+    private static SchemaModel hoistSchema(GenerationContext context, String itemName, SchemaModel schema, List<String> hoisted, boolean dedup) {
+        Map<String, SchemaModel> schemas = context.getModel().getComponents().getSchemas();
+        String json = null;
+        if (dedup && context.isDedupInlineSchemas() && !containsUnmappedDiscriminator(schema)) {
+            //The json is taken before the hoisted schema itself is busted, it is compared with other schemas that are not busted yet either.
+            json = GSON.toJson(schema);
+            String existing = context.findHoistedSchema(json);
+            if (existing != null) {
+                SchemaModel refModel = new SchemaModel();
+                refModel.set$ref("#/components/schemas/" + existing);
+                return refModel;
+            }
+        }
+
+        if (schemas.containsKey(itemName)) {
+            int cnt = 0;
+            while(schemas.containsKey(itemName + cnt)) {
+                cnt++;
             }
+            itemName += cnt;
+        }
+
+        SchemaModel refModel = new SchemaModel();
+        refModel.set$ref("#/components/schemas/" + itemName);
+        schemas.put(itemName, schema);
+        if (json != null) {
+            context.addHoistedSchema(json, itemName);
+        }
+        if (hoisted != null) {
+            hoisted.add(itemName);
+        }
+        return refModel;
+    }
 
-            refModel.set$ref("#/components/schemas/" + itemName);
-            context.getModel().getComponents().getSchemas().put(itemName, schema.getItems());
-            schema.setItems(refModel);
+    /**
+     * True if the schema or a schema nested in it has a oneOf or anyOf with a discriminator that does not map every member.
+     * The discriminator values of unmapped members are the names of their hoisted schemas, which depend on the name of the enclosing schema.
+     */
+    private static boolean containsUnmappedDiscriminator(SchemaModel schema) {
+        if (schema == null) {
+            return false;
+        }
+
+        SchemaModel[] members = schema.getOneOf() != null ? schema.getOneOf() : schema.getAnyOf();
+        DiscriminatorModel discriminator = schema.getDiscriminator();
+        if (members != null && discriminator != null && (discriminator.getMapping() == null || discriminator.getMapping().size() < members.length)) {
             return true;
         }
 
-        return false;
+        if (schema.getProperties() != null) {
+            for (SchemaModel property : schema.getProperties().values()) {
+                if (containsUnmappedDiscriminator(property)) {
+                    return true;
+                }
+            }
+        }
+        for (SchemaModel[] list : Arrays.asList(schema.getAllOf(), schema.getAnyOf(), schema.getOneOf())) {
+            if (list != null) {
+                for (SchemaModel child : list) {
+                    if (containsUnmappedDiscriminator(child)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return containsUnmappedDiscriminator(schema.getItems()) || containsUnmappedDiscriminator(schema.getAdditionalProperties());
     }
 
     public static boolean bustRefs(GenerationContext context) {
@@ -539,7 +600,7 @@ public class SchemaPreProcessors {
             boolean found = false;
             for (String name : new ArrayList<>(context.getModel().getComponents().getSchemas().keySet())) {
                 SchemaModel schema = context.getModel().getComponents().getSchemas().get(name);
-                SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
+                SchemaClassification schemaClassification = context.classify(name, schema);
                 if (schemaClassification != SchemaClassification.REF) {
                     continue;
                 }
@@ -574,120 +635,264 @@ public class SchemaPreProcessors {
         }
 
         for (Map.Entry<String, SchemaModel> e : context.getModel().getComponents().getSchemas().entrySet()) {
-            String name = e.getKey();
-            SchemaModel schema = e.getValue();
-            SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
-            if (schemaClassification != SchemaClassification.UNION) {
-                continue;
+            int result = bustUnion(context, e.getKey(), e.getValue(), containsUnionOfUnion, null);
+            if (result == UNION_CHANGED) {
+                return true;
             }
 
-            SchemaModel[] allOf = schema.getAllOf();
-
-
-            for (int i = 0; i < allOf.length; i++) {
-                SchemaClassification unionClassification = SchemaClassification.fromSchema(name + ".union." + i, allOf[i]);
-                switch (unionClassification) {
-                    case REF:
-                        //We will bust this union later!
-                        break;
-                    case ANY_OF:
-                    case OBJECT_IMPL:
-                    case UNION:
-                        //We can make progress towards busting the union by further dividing it
-                        SchemaModel refModel = new SchemaModel();
+            if (result == UNION_OF_UNION) {
+                containsUnionOfUnion = true;
+            }
+        }
 
-                        String unionName = name + "Union";
+        if (containsUnionOfUnion) {
+            throw new IllegalStateException("Cyclic union detected");
+        }
 
-                        if (context.getModel().getComponents().getSchemas().containsKey(unionName)) {
-                            int cnt = 0;
-                            while(context.getModel().getComponents().getSchemas().containsKey(unionName + cnt)) {
-                                cnt++;
-                            }
-                            unionName += cnt;
-                        }
+        return false;
+    }
 
-                        refModel.set$ref("#/components/schemas/" + unionName);
-                        context.getModel().getComponents().getSchemas().put(unionName, allOf[i]);
-                        allOf[i] = refModel;
-                        return true;
-                    default:
-                        throw new IllegalArgumentException("Cannot union with type " + unionClassification + " in union " + name);
-                }
-            }
+    private static final int UNION_UNCHANGED = 0;
+    private static final int UNION_CHANGED = 1;
+    private static final int UNION_OF_UNION = 2;
+
+    /**
+     * Makes one step towards busting the union. Once a union of unions has been seen,
+     * unions that could be busted are skipped until the next pass.
+     */
+    private static int bustUnion(GenerationContext context, String name, SchemaModel schema, boolean skipBust, List<String> hoisted) {
+        SchemaClassification schemaClassification = context.classify(name, schema);
+        if (schemaClassification != SchemaClassification.UNION) {
+            return UNION_UNCHANGED;
+        }
 
-            List<SchemaModel> unionCompoents = new ArrayList<>();
+        SchemaModel[] allOf = schema.getAllOf();
 
-            for (int i = 0; i < allOf.length; i++) {
-                SchemaClassification unionClassification = SchemaClassification.fromSchema(name + ".union." + i, allOf[i]);
-                if (unionClassification != SchemaClassification.REF) {
-                    throw new IllegalStateException("Can not bust union because type is not ref at this point. Is " + unionClassification + " in union " + name);
-                }
 
-                String ref = allOf[i].get$ref();
-                SchemaModel model = context.findSchema(ref);
-                if (model == null) {
-                    throw new IllegalArgumentException("Cannot find referenced model " + ref + " when busting union " + name);
-                }
-                SchemaClassification targetClass = SchemaClassification.fromSchema(name + ".union." + i + ".target", model);
-                if (targetClass == SchemaClassification.UNION) {
-                    containsUnionOfUnion = true;
+        for (int i = 0; i < allOf.length; i++) {
+            SchemaClassification unionClassification = context.classify(name + ".union." + i, allOf[i]);
+            switch (unionClassification) {
+                case REF:
+                    //We will bust this union later!
                     break;
-                }
-                if (targetClass != SchemaClassification.OBJECT_IMPL) {
+                case ANY_OF:
+                case OBJECT_IMPL:
+                case UNION:
+                    //We can make progress towards busting the union by further dividing it
+                    allOf[i] = hoistSchema(context, name + "Union", allOf[i], hoisted);
+                    context.invalidateClassification(schema);
+                    return UNION_CHANGED;
+                default:
                     throw new IllegalArgumentException("Cannot union with type " + unionClassification + " in union " + name);
-                }
+            }
+        }
+
+        List<SchemaModel> unionCompoents = new ArrayList<>();
 
-                unionCompoents.add(model);
+        for (int i = 0; i < allOf.length; i++) {
+            SchemaClassification unionClassification = context.classify(name + ".union." + i, allOf[i]);
+            if (unionClassification != SchemaClassification.REF) {
+                throw new IllegalStateException("Can not bust union because type is not ref at this point. Is " + unionClassification + " in union " + name);
             }
 
-            if (containsUnionOfUnion) {
-                continue;
+            String ref = allOf[i].get$ref();
+            SchemaModel model = context.findSchema(ref);
+            if (model == null) {
+                throw new IllegalArgumentException("Cannot find referenced model " + ref + " when busting union " + name);
+            }
+            SchemaClassification targetClass = context.classify(name + ".union." + i + ".target", model);
+            if (targetClass == SchemaClassification.UNION) {
+                return UNION_OF_UNION;
+            }
+            if (targetClass != SchemaClassification.OBJECT_IMPL) {
+                throw new IllegalArgumentException("Cannot union with type " + unionClassification + " in union " + name);
             }
 
-            Map<String, SchemaModel> properties = new LinkedHashMap<>();
-            Set<String> required = new LinkedHashSet<>();
+            unionCompoents.add(model);
+        }
 
-            for (SchemaModel model : unionCompoents) {
-                if (model.getProperties() != null) {
-                    for (Map.Entry<String, SchemaModel> newProp : model.getProperties().entrySet()) {
-                        SchemaModel eprop = properties.get(newProp.getKey());
-                        if (eprop == null) {
-                            continue;
-                        }
+        if (skipBust) {
+            return UNION_UNCHANGED;
+        }
 
-                        SchemaClassification newPropClass = SchemaClassification.fromSchema(name + "." + newProp.getKey(), newProp.getValue());
+        Map<String, SchemaModel> properties = new LinkedHashMap<>();
+        Set<String> required = new LinkedHashSet<>();
 
-                        if (SchemaClassification.fromSchema(name + "." + newProp.getKey(), eprop) != newPropClass) {
-                            throw new IllegalArgumentException("Property is clashing between two union members " + newProp.getKey() + " in union " + name);
-                        }
+        for (SchemaModel model : unionCompoents) {
+            if (model.getProperties() != null) {
+                for (Map.Entry<String, SchemaModel> newProp : model.getProperties().entrySet()) {
+                    SchemaModel eprop = properties.get(newProp.getKey());
+                    if (eprop == null) {
+                        continue;
+                    }
 
-                        if (newPropClass == SchemaClassification.REF && !Objects.equals(newProp.getValue().get$ref(), eprop.get$ref())) {
-                            throw new IllegalArgumentException("Property is clashing between two union members " + newProp.getKey() + " in union " + name + " they refer to two different schemas");
-                        }
+                    SchemaClassification newPropClass = context.classify(name + "." + newProp.getKey(), newProp.getValue());
+
+                    if (context.classify(name + "." + newProp.getKey(), eprop) != newPropClass) {
+                        throw new IllegalArgumentException("Property is clashing between two union members " + newProp.getKey() + " in union " + name);
                     }
 
-                    properties.putAll(model.getProperties());
+                    if (newPropClass == SchemaClassification.REF && !Objects.equals(newProp.getValue().get$ref(), eprop.get$ref())) {
+                        throw new IllegalArgumentException("Property is clashing between two union members " + newProp.getKey() + " in union " + name + " they refer to two different schemas");
+                    }
                 }
-                if (model.getRequired() != null) {
-                    required.addAll(Arrays.asList(model.getRequired()));
+
+                properties.putAll(model.getProperties());
+            }
+            if (model.getRequired() != null) {
+                required.addAll(Arrays.asList(model.getRequired()));
+            }
+        }
+
+        SchemaModel bustedModel = new SchemaModel();
+        bustedModel.setType("object");
+        bustedModel.setProperties(properties);
+        bustedModel.setRequired(required.toArray(new String[required.size()]));
+        context.getModel().getComponents().getSchemas().put(name, bustedModel);
+        context.invalidateClassification(schema);
+        return UNION_CHANGED;
+    }
+
+    /**
+     * Hoists all inline objects, arrays, poly and union members into their own component schemas.
+     * <p>
+     * This performs exactly the same steps in the same order as calling bustObjects, bustArrays, bustPoly and bustUnions
+     * until none of them make progress, so the names of the hoisted schemas do not change.
+     * Unlike those methods it does not rescan all schemas after every step, each kind of step remembers up to where
+     * there is nothing left to do. This relies on the schema map keeping insertion order, which both gson and
+     * ensureComponentsObjectIsPopulated guarantee.
+     */
+    public static void bustInlineSchemas(GenerationContext context) {
+        HoistWorklist worklist = new HoistWorklist(context);
+        boolean working;
+        do {
+            working = false;
+            working |= worklist.bustNextObject();
+            working |= worklist.bustNextArray();
+            working |= worklist.bustNextPoly();
+            working |= worklist.bustNextUnion();
+        } while (working);
+    }
+
+    private static class HoistWorklist {
+        private final GenerationContext context;
+        private final Map<String, SchemaModel> schemas;
+        //Names of all schemas in the iteration order of the schemas map
+        private final List<String> names;
+        private final List<String> hoisted = new ArrayList<>();
+
+        //Everything below a cursor has nothing left to do for the respective step.
+        private int objectCursor;
+        private int arrayCursor;
+        private int polyCursor;
+        private int unionCursor;
+
+        //Busted unions become objects that may contain inline schemas, even when they are below the object cursor.
+        private final TreeSet<Integer> objectsBelowCursor = new TreeSet<>();
+        //Unions below the union cursor, they may need to wait on other unions so they are kept until busted.
+        private final TreeSet<Integer> unionsBelowCursor = new TreeSet<>();
+
+        HoistWorklist(GenerationContext context) {
+            this.context = context;
+            this.schemas = context.getModel().getComponents().getSchemas();
+            this.names = new ArrayList<>(schemas.keySet());
+        }
+
+        private boolean syncNames(boolean changed) {
+            names.addAll(hoisted);
+            hoisted.clear();
+            return changed;
+        }
+
+        boolean bustNextObject() {
+            while (!objectsBelowCursor.isEmpty()) {
+                int index = objectsBelowCursor.first();
+                String name = names.get(index);
+                if (syncNames(bustObject(context, name, schemas.get(name), hoisted))) {
+                    return true;
                 }
+                objectsBelowCursor.pollFirst();
             }
 
-            SchemaModel bustedModel = new SchemaModel();
-            bustedModel.setType("object");
-            bustedModel.setProperties(properties);
-            bustedModel.setRequired(required.toArray(new String[required.size()]));
-            context.getModel().getComponents().getSchemas().put(name, bustedModel);
-            return true;
+            for (; objectCursor < names.size(); objectCursor++) {
+                String name = names.get(objectCursor);
+                if (syncNames(bustObject(context, name, schemas.get(name), hoisted))) {
+                    return true;
+                }
+            }
+
+            return false;
         }
 
-        if (containsUnionOfUnion) {
-            throw new IllegalStateException("Cyclic union detected");
+        boolean bustNextArray() {
+            for (; arrayCursor < names.size(); arrayCursor++) {
+                String name = names.get(arrayCursor);
+                if (syncNames(bustArray(context, name, schemas.get(name), hoisted))) {
+                    return true;
+                }
+            }
+
+            return false;
         }
 
-        return false;
-    }
+        boolean bustNextPoly() {
+            for (; polyCursor < names.size(); polyCursor++) {
+                String name = names.get(polyCursor);
+                if (syncNames(bustPoly(context, name, schemas.get(name), hoisted))) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        boolean bustNextUnion() {
+            boolean containsUnionOfUnion = false;
+            for (Integer index = unionsBelowCursor.isEmpty() ? null : unionsBelowCursor.first(); index != null; index = unionsBelowCursor.higher(index)) {
+                int result = bustUnionAt(index, containsUnionOfUnion);
+                if (result == UNION_CHANGED) {
+                    return true;
+                }
+                containsUnionOfUnion |= result == UNION_OF_UNION;
+            }
+
+            for (; unionCursor < names.size(); unionCursor++) {
+                int index = unionCursor;
+                String name = names.get(index);
+                if (context.classify(name, schemas.get(name)) != SchemaClassification.UNION) {
+                    continue;
+                }
+
+                unionsBelowCursor.add(index);
+                int result = bustUnionAt(index, containsUnionOfUnion);
+                if (result == UNION_CHANGED) {
+                    unionCursor++;
+                    return true;
+                }
+                containsUnionOfUnion |= result == UNION_OF_UNION;
+            }
+
+            if (containsUnionOfUnion) {
+                throw new IllegalStateException("Cyclic union detected");
+            }
+
+            return false;
+        }
 
+        private int bustUnionAt(int index, boolean containsUnionOfUnion) {
+            String name = names.get(index);
+            int result = bustUnion(context, name, schemas.get(name), containsUnionOfUnion, hoisted);
+            syncNames(result == UNION_CHANGED);
+            if (result == UNION_CHANGED && context.classify(name, schemas.get(name)) != SchemaClassification.UNION) {
+                //The union was replaced with an object
+                unionsBelowCursor.remove(index);
+                if (index < objectCursor) {
+                    objectsBelowCursor.add(index);
+                }
+            }
+            return result;
+        }
+    }
 
     public static void moveHeader(GenerationContext context) {
         for (Map.Entry<String, ResponseModel> e : context.getModel().getComponents().getResponses().entrySet()) {
@@ -730,7 +935,7 @@ public class SchemaPreProcessors {
         for (Map.Entry<String, HeaderModel> e : context.getModel().getComponents().getHeaders().entrySet()) {
             String headerName = e.getKey();
             HeaderModel model = e.getValue();
-            SchemaClassification headerClass = SchemaClassification.fromSchema("header " + headerName, model.getSchema());
+            SchemaClassification headerClass = context.classify("header " + headerName, model.getSchema());
             switch (headerClass) {
                 case OBJECT_IMPL:
                 case ARRAY_IMPL:
@@ -0,0 +1,108 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+/**
+ * Content and current indentation of one generated file.
+ * Lines are appended directly to the content, nothing is allocated per line.
+ * A file is only ever pushed to by the one generator task that owns it.
+ */
+public class SourceFile implements CharSequence {
+
+    private static final String INDENT = "    ";
+
+    private static final String[] INDENTS = new String[32];
+
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < INDENTS.length; i++) {
+            INDENTS[i] = sb.toString();
+            sb.append(INDENT);
+        }
+    }
+
+    private final String name;
+    private final StringBuilder content;
+    private int indent;
+
+    public SourceFile(String name, CharSequence header) {
+        this.name = name;
+        this.content = new StringBuilder(Math.max(1024, header.length() + 256));
+        this.content.append(header);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SourceFile push(String line) {
+        appendIndent();
+        content.append(line).append('\n');
+        return this;
+    }
+
+    public SourceFile push(String line1, String... more) {
+        push(line1);
+        for (String line : more) {
+            push(line);
+        }
+        return this;
+    }
+
+    public SourceFile addIndent() {
+        indent++;
+        return this;
+    }
+
+    public SourceFile subIndent() {
+        if (indent == 0) {
+            throw new IllegalStateException("subIndent of " + name + " < 0");
+        }
+
+        indent--;
+        return this;
+    }
+
+    private void appendIndent() {
+        if (indent < INDENTS.length) {
+            content.append(INDENTS[indent]);
+            return;
+        }
+
+        for (int i = 0; i < indent; i++) {
+            content.append(INDENT);
+        }
+    }
+
+    @Override
+    public int length() {
+        return content.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return content.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return content.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return content.toString();
+    }
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Util {
 
@@ -175,10 +176,11 @@ public class Util {
         return name;
     }
 
-    private static final Map<String, String> CHARACTERS_THAT_NEED_ESCAPING = new HashMap<>();
+    //The backslash must be escaped first, the other escapes add backslashes.
+    private static final Map<String, String> CHARACTERS_THAT_NEED_ESCAPING = new LinkedHashMap<>();
     static {
-        CHARACTERS_THAT_NEED_ESCAPING.put("\"", "\\\"");
         CHARACTERS_THAT_NEED_ESCAPING.put("\\", "\\\\");
+        CHARACTERS_THAT_NEED_ESCAPING.put("\"", "\\\"");
         CHARACTERS_THAT_NEED_ESCAPING.put("\r", "\\r");
         CHARACTERS_THAT_NEED_ESCAPING.put("\n", "\\n");
         CHARACTERS_THAT_NEED_ESCAPING.put("\t", "\\t");
@@ -193,7 +195,14 @@ public class Util {
         return name;
     }
 
+    //The common files are read for every generation, a batch runs many generations in one jvm.
+    private static final Map<String, String> RESOURCES = new ConcurrentHashMap<>();
+
     public static String readResource(String name) {
+        return RESOURCES.computeIfAbsent(name, Util::loadResource);
+    }
+
+    private static String loadResource(String name) {
         try (InputStream is = Util.class.getResourceAsStream(name)) {
             if (is == null) {
                 throw new RuntimeException("Resource " + name + " not found");
@@ -212,16 +221,17 @@ public class Util {
 
     public static void pushJavaDoc(GenerationContext context, String clazz, String doc) {
         if (doc != null) {
-            context.push(clazz, "/**");
+            SourceFile out = context.file(clazz);
+            out.push("/**");
             for (String s : doc.replace("\r\n", "\n").split("\n")) {
-                context.push(clazz, " * " + s);
+                out.push(" * " + s);
             }
-            context.push(clazz, " */");
+            out.push(" */");
         }
     }
 
-    public static List<String> getEnumRecursive(SchemaModel schema) {
-        SchemaClassification schemaClassification = SchemaClassification.fromSchema("isEnumRecursive", schema);
+    public static List<String> getEnumRecursive(GenerationContext context, SchemaModel schema) {
+        SchemaClassification schemaClassification = context.classify("isEnumRecursive", schema);
         switch (schemaClassification) {
             case ENUM:
                 return schema.get$enum();
@@ -236,9 +246,9 @@ public class Util {
                 return schema.getAdditionalProperties().getItems().get$enum();
             case MULTI_DIMENSIONAL_ARRAY:
             case MULTI_DIMENSIONAL_SET:
-                return getEnumRecursive(schema.getItems());
+                return getEnumRecursive(context, schema.getItems());
             case MULTI_DIMENSIONAL_MAP:
-                return getEnumRecursive(schema.getAdditionalProperties());
+                return getEnumRecursive(context, schema.getAdditionalProperties());
             default:
                 return null;
         }
@@ -249,7 +259,7 @@ public class Util {
     }
 
     public static String findRecursiveTypeName(GenerationContext context, SchemaModel schema, String enumName) {
-        SchemaClassification schemaClassification = SchemaClassification.fromSchema("findRecursiveTypeName", schema);
+        SchemaClassification schemaClassification = context.classify("findRecursiveTypeName", schema);
         switch (schemaClassification) {
             case STRING:
                 return "String";
@@ -467,64 +477,82 @@ public class Util {
         return ct.replace("/", "_").replace("-", "_").replace('+', '_').replace("*", "$").toUpperCase();
     }
 
+    /**
+     * Returns the names of all models that the schema references directly or through other models.
+     * If name is not null then it is part of the result.
+     */
     public static Set<String> getContainingTypeModelNames(GenerationContext ctx, SchemaModel schema, String name) {
         Set<String> elements = new TreeSet<>();
         if (name != null) {
             elements.add(name);
             name = "";
         }
-        getContainingTypeModelNames(ctx, schema, name, elements);
+
+        Deque<String> todo = new ArrayDeque<>();
+        for (String ref : getReferencedModelNames(ctx, schema, name)) {
+            if (elements.add(ref)) {
+                todo.add(ref);
+            }
+        }
+
+        while (!todo.isEmpty()) {
+            String current = todo.poll();
+            for (String ref : getReferencedModelNames(ctx, ctx.findSchema(current), current)) {
+                if (elements.add(ref)) {
+                    todo.add(ref);
+                }
+            }
+        }
+
         return elements;
     }
 
-    private static void getContainingTypeModelNames(GenerationContext ctx, SchemaModel schema, String name, Set<String> schemas) {
-        SchemaClassification schemaClassification = SchemaClassification.fromSchema(name, schema);
-        String ref = null;
+    /**
+     * Returns the names of the models that the schema references directly, without following the references.
+     */
+    public static Set<String> getReferencedModelNames(GenerationContext ctx, SchemaModel schema, String name) {
+        Set<String> refs = new TreeSet<>();
+        getReferencedModelNames(ctx, schema, name, refs);
+        return refs;
+    }
+
+    private static void getReferencedModelNames(GenerationContext ctx, SchemaModel schema, String name, Set<String> refs) {
+        SchemaClassification schemaClassification = ctx.classify(name, schema);
         switch (schemaClassification) {
             case REF:
-                ref = schema.get$ref();
+                refs.add(schema.get$ref());
                 break;
             case ARRAY_OBJECT_REF:
-                ref = schema.getItems().get$ref();
+                refs.add(schema.getItems().get$ref());
                 break;
             case MAP_OBJECT_REF:
-                ref = schema.getAdditionalProperties().get$ref();
+                refs.add(schema.getAdditionalProperties().get$ref());
                 break;
-        }
-
-        if (ref != null) {
-            if (schemas.add(ref)) {
-                SchemaModel schem = ctx.findSchema(ref);
-                getContainingTypeModelNames(ctx, schem, ref, schemas);
-            }
-        }
-
-        switch (schemaClassification) {
-            case OBJECT_IMPL: {
-                schema.getProperties().forEach((key, value) -> getContainingTypeModelNames(ctx, value, name + "." + key, schemas));
+            case OBJECT_IMPL:
+                schema.getProperties().forEach((key, value) -> getReferencedModelNames(ctx, value, name + "." + key, refs));
                 break;
-            }
             case ONE_OF:
-                Arrays.stream(schema.getOneOf()).forEach(child -> getContainingTypeModelNames(ctx, child,name + ".oneOf", schemas));
+                Arrays.stream(schema.getOneOf()).forEach(child -> getReferencedModelNames(ctx, child, name + ".oneOf", refs));
                 break;
             case ANY_OF:
-                Arrays.stream(schema.getAnyOf()).forEach(child -> getContainingTypeModelNames(ctx, child, name + ".anyOf", schemas));
+                Arrays.stream(schema.getAnyOf()).forEach(child -> getReferencedModelNames(ctx, child, name + ".anyOf", refs));
                 break;
             case MULTI_DIMENSIONAL_IMPL:
                 if (schema.getItems() != null) {
-                    getContainingTypeModelNames(ctx, schema.getItems(), name + ".items", schemas);
+                    getReferencedModelNames(ctx, schema.getItems(), name + ".items", refs);
                 }
                 if (schema.getAdditionalProperties() != null) {
-                    getContainingTypeModelNames(ctx, schema.getItems(), name + ".items", schemas);
+                    getReferencedModelNames(ctx, schema.getAdditionalProperties(), name + ".additionalProperties", refs);
                 }
                 break;
         }
     }
 
     public static void generateEnum(GenerationContext context, String containingClass, String enumName, List<String> variants) {
-        context.push(containingClass, "");
-        context.push(containingClass, "public enum " + enumName + " {");
-        context.addIndent(containingClass);
+        SourceFile out = context.file(containingClass);
+        out.push("");
+        out.push("public enum " + enumName + " {");
+        out.addIndent();
         Set<String> generatedVariants = new HashSet<>();
         for (String v : variants) {
             if (!Util.canEnum(v)) {
@@ -534,114 +562,117 @@ public class Util {
             if (!generatedVariants.add(v)) {
                 continue;
             }
-            context.push(containingClass, v + ",");
+            out.push(v + ",");
         }
 
-        context.subIndent(containingClass);
-        context.push(containingClass, "}");
+        out.subIndent();
+        out.push("}");
     }
 
     public static void generateHashCodeEquals(GenerationContext context,  String fullyQualifiedClazzName, Iterable<String> members) {
         context.push(fullyQualifiedClazzName ,"");
-        context.push(fullyQualifiedClazzName, "@Override");
-        context.push(fullyQualifiedClazzName, "public boolean equals(Object o) {");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "if (o == null || getClass() != o.getClass()) {");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "return false;");
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "}");
-
-        context.push(fullyQualifiedClazzName, fullyQualifiedClazzName + " other = (" + fullyQualifiedClazzName + ") o;");
-
-        context.push(fullyQualifiedClazzName, "return true");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "//");
+        SourceFile out = context.file(fullyQualifiedClazzName);
+        out.push("@Override");
+        out.push("public boolean equals(Object o) {");
+        out.addIndent();
+        out.push("if (o == null || getClass() != o.getClass()) {");
+        out.addIndent();
+        out.push("return false;");
+        out.subIndent();
+        out.push("}");
+
+        out.push(fullyQualifiedClazzName + " other = (" + fullyQualifiedClazzName + ") o;");
+
+        out.push("return true");
+        out.addIndent();
+        out.push("//");
         for (String prop : members) {
-            context.push(fullyQualifiedClazzName, "&& java.util.Objects.equals(this." + Util.escapeForSourceCode(prop) + ", other." + Util.escapeForSourceCode(prop) + ")" );
+            out.push("&& java.util.Objects.equals(this." + Util.escapeForSourceCode(prop) + ", other." + Util.escapeForSourceCode(prop) + ")" );
         }
-        context.push(fullyQualifiedClazzName, "//");
-        context.push(fullyQualifiedClazzName, ";");
-        context.subIndent(fullyQualifiedClazzName);
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "}");
+        out.push("//");
+        out.push(";");
+        out.subIndent();
+        out.subIndent();
+        out.push("}");
 
         context.push(fullyQualifiedClazzName ,"");
-        context.push(fullyQualifiedClazzName, "@Override");
-        context.push(fullyQualifiedClazzName, "public int hashCode() {");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "return java.util.Objects.hash(");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "//");
+        out.push("@Override");
+        out.push("public int hashCode() {");
+        out.addIndent();
+        out.push("return java.util.Objects.hash(");
+        out.addIndent();
+        out.push("//");
         Iterator<String> iter = members.iterator();
         while(iter.hasNext()) {
             String prop = iter.next();
             if (iter.hasNext()) {
-                context.push(fullyQualifiedClazzName, "this." + Util.escapeForSourceCode(prop) + ", ");
+                out.push("this." + Util.escapeForSourceCode(prop) + ", ");
                 continue;
             }
-            context.push(fullyQualifiedClazzName, "this." + Util.escapeForSourceCode(prop));
+            out.push("this." + Util.escapeForSourceCode(prop));
         }
-        context.push(fullyQualifiedClazzName, "//");
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, ");");
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "}");
+        out.push("//");
+        out.subIndent();
+        out.push(");");
+        out.subIndent();
+        out.push("}");
     }
 
     public static void generateVisitor(GenerationContext context, String fullyQualifiedClazzName, String simpleClassName, Iterable<String> members) {
         context.push(fullyQualifiedClazzName ,"");
-        context.push(fullyQualifiedClazzName, "@Override");
-        context.push(fullyQualifiedClazzName, "public <E extends Throwable> void visit("+ context.qualifyCommonApiClass("PropertyVisitor")+"<E> visitor) throws E {");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, context.qualifyCommonApiClass("Visitable")+".visitObject(this, visitor");
-        context.addIndent(fullyQualifiedClazzName);
+        SourceFile out = context.file(fullyQualifiedClazzName);
+        out.push("@Override");
+        out.push("public <E extends Throwable> void visit("+ context.qualifyCommonApiClass("PropertyVisitor")+"<E> visitor) throws E {");
+        out.addIndent();
+        out.push(context.qualifyCommonApiClass("Visitable")+".visitObject(this, visitor");
+        out.addIndent();
         for (String prop : members) {
-            context.push(fullyQualifiedClazzName, ", \""+ Util.escapeForSourceCode(prop) + "\", this." + Util.escapeForSourceCode(prop));
+            out.push(", \""+ Util.escapeForSourceCode(prop) + "\", this." + Util.escapeForSourceCode(prop));
         }
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, ");");
+        out.subIndent();
+        out.push(");");
 
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "}");
-        context.push(fullyQualifiedClazzName, "");
+        out.subIndent();
+        out.push("}");
+        out.push("");
     }
 
     public static void generateToString(GenerationContext context, String fullyQualifiedClazzName, String simpleClassName, Iterable<String> members) {
         context.push(fullyQualifiedClazzName ,"");
-        context.push(fullyQualifiedClazzName, "@Override");
-        context.push(fullyQualifiedClazzName, "public String toString() {");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "return this.toString(0);");
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "}");
-        context.push(fullyQualifiedClazzName, "");
-
-        context.push(fullyQualifiedClazzName, "@Override");
-        context.push(fullyQualifiedClazzName, "public String toString(int level) {");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "level+=1;");
-        context.push(fullyQualifiedClazzName, "StringBuilder sb = new StringBuilder(\"" + simpleClassName + "{\\n\");");
+        SourceFile out = context.file(fullyQualifiedClazzName);
+        out.push("@Override");
+        out.push("public String toString() {");
+        out.addIndent();
+        out.push("return this.toString(0);");
+        out.subIndent();
+        out.push("}");
+        out.push("");
+
+        out.push("@Override");
+        out.push("public String toString(int level) {");
+        out.addIndent();
+        out.push("level+=1;");
+        out.push("StringBuilder sb = new StringBuilder(\"" + simpleClassName + "{\\n\");");
         for (String prop : members) {
-            context.push(fullyQualifiedClazzName, "for (int i = 0; i < level; i++) {");
-            context.addIndent(fullyQualifiedClazzName);
-            context.push(fullyQualifiedClazzName, "sb.append(\"  \");");
-            context.subIndent(fullyQualifiedClazzName);
-            context.push(fullyQualifiedClazzName, "}");
-
-            context.push(fullyQualifiedClazzName, "sb.append(\"" + prop + "=\");");
-            context.push(fullyQualifiedClazzName, "sb.append(" + context.qualifyCommonApiClass("ToString") +".toString(" + Util.escapeForSourceCode(prop) + ", level));");
-            context.push(fullyQualifiedClazzName, "sb.append('\\n');");
+            out.push("for (int i = 0; i < level; i++) {");
+            out.addIndent();
+            out.push("sb.append(\"  \");");
+            out.subIndent();
+            out.push("}");
+
+            out.push("sb.append(\"" + prop + "=\");");
+            out.push("sb.append(" + context.qualifyCommonApiClass("ToString") +".toString(" + Util.escapeForSourceCode(prop) + ", level));");
+            out.push("sb.append('\\n');");
         }
-        context.push(fullyQualifiedClazzName, "for (int i = 0; i < level-1; i++) {");
-        context.addIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "sb.append(\"  \");");
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "}");
-        context.push(fullyQualifiedClazzName, "sb.append('}');");
-        context.push(fullyQualifiedClazzName, "return sb.toString();");
-        context.subIndent(fullyQualifiedClazzName);
-        context.push(fullyQualifiedClazzName, "}");
+        out.push("for (int i = 0; i < level-1; i++) {");
+        out.addIndent();
+        out.push("sb.append(\"  \");");
+        out.subIndent();
+        out.push("}");
+        out.push("sb.append('}');");
+        out.push("return sb.toString();");
+        out.subIndent();
+        out.push("}");
 
 
     }
@@ -0,0 +1,161 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.bench;
+
+import ch.imagic.openapi.misc.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the code emission of SourceFile with the previous emission through a map of StringBuilders and indents,
+ * which built a list per push and appended the indent one level at a time.
+ * The lines of all files generated for a large synthetic schema are recorded once and replayed through both.
+ * JMH benchmark, main runs it with the gc profiler, see PipelineBenchmark for the classpath.
+ * java -cp ... ch.imagic.openapi.bench.EmitterBenchmark [-p schemas=3000] [jmh options]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmitterBenchmark {
+
+    @Param("3000")
+    public int schemas;
+
+    private List<Line> trace;
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = new String[args.length + 3];
+        jmhArgs[0] = EmitterBenchmark.class.getName();
+        jmhArgs[1] = "-prof";
+        jmhArgs[2] = "gc";
+        System.arraycopy(args, 0, jmhArgs, 3, args.length);
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trace = record(schemas);
+    }
+
+    @Benchmark
+    public int legacy() {
+        return replayLegacy(trace);
+    }
+
+    @Benchmark
+    public int sourceFile() {
+        return replaySourceFile(trace);
+    }
+
+    private static List<Line> record(int schemas) {
+        String json = new SyntheticSchema().schemas(schemas).properties(10).depth(2).oneOfFanOut(2).operations(schemas / 10).build();
+        GenerationContext context = new GenerationContext(SchemaLoader.load(new StringReader(json), true));
+        context.setPackageName("bench");
+        context.setCommonPackageName("bench.common");
+        context.setModelSuffix("");
+        context.setOperationInterfaceSuffix("");
+        context.setTagSuffix("Api");
+        context.setResponseSuffix("Response");
+        context.setRequestSuffix("Request");
+        context.setGeneratorThreads(1);
+        context.setJackson(true);
+        context.setJsr380(true);
+        context.setGson(true);
+        SchemaPreProcessors.preProcess(context);
+        DataModelGenerator.generateModels(context);
+        OperationGenerator.generateApis(context);
+
+        //Every file is emitted line by line, the indent of a line is taken from its leading spaces
+        //and replayed as the addIndent or subIndent calls relative to the previous line.
+        List<Line> trace = new ArrayList<>();
+        for (Map.Entry<String, ? extends CharSequence> e : new TreeMap<>(context.getGenerated()).entrySet()) {
+            int previous = 0;
+            for (String line : e.getValue().toString().split("\n")) {
+                int indent = 0;
+                while (line.startsWith("    ", indent * 4)) {
+                    indent++;
+                }
+                trace.add(new Line(e.getKey(), indent - previous, line.substring(indent * 4)));
+                previous = indent;
+            }
+        }
+        return trace;
+    }
+
+    private static int replayLegacy(List<Line> trace) {
+        Map<String, StringBuilder> generated = new ConcurrentHashMap<>();
+        Map<String, Integer> indentMap = new ConcurrentHashMap<>();
+        for (Line line : trace) {
+            for (int i = 0; i < line.indentChange; i++) {
+                indentMap.put(line.file, indentMap.getOrDefault(line.file, 0) + 1);
+            }
+            for (int i = 0; i > line.indentChange; i--) {
+                indentMap.put(line.file, indentMap.getOrDefault(line.file, 0) - 1);
+            }
+
+            StringBuilder current = generated.computeIfAbsent(line.file, k -> new StringBuilder());
+            List<String> ar = new ArrayList<>();
+            ar.add(line.text);
+            ar.addAll(Arrays.asList(new String[0]));
+            for (String l : ar) {
+                int indent = indentMap.getOrDefault(line.file, 0);
+                while (indent > 0) {
+                    indent--;
+                    current.append("    ");
+                }
+                current.append(l).append("\n");
+            }
+        }
+        return generated.size();
+    }
+
+    private static int replaySourceFile(List<Line> trace) {
+        Map<String, SourceFile> generated = new ConcurrentHashMap<>();
+        SourceFile current = null;
+        for (Line line : trace) {
+            //Generators hold on to the file they emit to, the lookup only happens when the file changes.
+            if (current == null || !current.getName().equals(line.file)) {
+                current = generated.computeIfAbsent(line.file, k -> new SourceFile(k, ""));
+            }
+            for (int i = 0; i < line.indentChange; i++) {
+                current.addIndent();
+            }
+            for (int i = 0; i > line.indentChange; i--) {
+                current.subIndent();
+            }
+            current.push(line.text);
+        }
+        return generated.size();
+    }
+
+    private static class Line {
+        private final String file;
+        private final int indentChange;
+        private final String text;
+
+        private Line(String file, int indentChange, String text) {
+            this.file = file;
+            this.indentChange = indentChange;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.bench;
+
+import ch.imagic.openapi.misc.ExtensionPreProcessor;
+import ch.imagic.openapi.misc.GenerationContext;
+import ch.imagic.openapi.misc.SchemaLoader;
+import ch.imagic.openapi.misc.SchemaPreProcessors;
+
+import java.io.StringReader;
+
+/**
+ * Measures ExtensionPreProcessor.processExtension on two versions of the same schema.
+ * In the second version every 100th model has an additional property, which makes all models that reference it incompatible.
+ * java -cp ... ch.imagic.openapi.bench.ExtensionBenchmark [sizes...]
+ */
+public class ExtensionBenchmark {
+
+    public static void main(String[] args) {
+        int[] sizes = {500, 1000, 2000, 5000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int size : sizes) {
+            SyntheticSchema schema = new SyntheticSchema().schemas(size).properties(10).depth(1).oneOfFanOut(2).operations(size / 10).documentation(false);
+            GenerationContext base = context(schema.build(), "base");
+            GenerationContext extension = context(schema.modifiedEvery(100).build(), "extension");
+
+            long start = System.nanoTime();
+            ExtensionPreProcessor.processExtension(base, extension);
+            long time = System.nanoTime() - start;
+
+            System.out.println("schemas=" + base.getModel().getComponents().getSchemas().size() + " time=" + (time / 1_000_000) + "ms");
+        }
+    }
+
+    private static GenerationContext context(String json, String packageName) {
+        GenerationContext context = new GenerationContext(SchemaLoader.load(new StringReader(json), false));
+        context.setPackageName(packageName);
+        context.setModelSuffix("");
+        context.setRequestSuffix("Request");
+        context.setResponseSuffix("Response");
+        context.setExtensionOperationSuffix("Extended");
+        SchemaPreProcessors.preProcess(context);
+        return context;
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.bench;
+
+import ch.imagic.openapi.misc.SchemaLoader;
+import ch.imagic.openapi.model.RootModel;
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+
+/**
+ * Compares the peak heap usage of the different ways to load a schema, and the heap the loaded model retains.
+ * streamPlain streams into the model with a plain Gson, without the string interning and shared empty values of SchemaLoader.
+ * Run every mode in its own JVM for reliable numbers:
+ * java -cp ... ch.imagic.openapi.bench.LoaderMemoryBenchmark [readAllBytes|streamPlain|stream|streamNoDoc] [schemas]
+ */
+public class LoaderMemoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "stream";
+        int schemas = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        File file = File.createTempFile("synthetic", ".json");
+        file.deleteOnExit();
+        new SyntheticSchema().schemas(schemas).properties(20).depth(2).operations(schemas / 2).writeTo(file);
+
+        System.gc();
+        long baseline = usedHeap();
+        resetPeaks();
+
+        long start = System.nanoTime();
+        RootModel model;
+        switch (mode) {
+            case "readAllBytes":
+                model = new Gson().fromJson(new String(Files.readAllBytes(file.toPath())), RootModel.class);
+                break;
+            case "streamPlain":
+                try (Reader reader = Files.newBufferedReader(file.toPath())) {
+                    model = new Gson().fromJson(reader, RootModel.class);
+                }
+                break;
+            case "stream":
+                model = SchemaLoader.load(file, true);
+                break;
+            case "streamNoDoc":
+                model = SchemaLoader.load(file, false);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown mode " + mode);
+        }
+        long time = System.nanoTime() - start;
+
+        long peak = peakHeap() - baseline;
+        System.gc();
+        long retained = usedHeap() - baseline;
+
+        System.out.println(mode + ": file=" + (file.length() >> 20) + "MB schemas=" + model.getComponents().getSchemas().size()
+                + " time=" + (time / 1_000_000) + "ms peak=" + (peak >> 20) + "MB retained=" + (retained >> 20) + "MB");
+    }
+
+    private static void resetPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long sum = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                sum += pool.getPeakUsage().getUsed();
+            }
+        }
+        return sum;
+    }
+
+    private static long usedHeap() {
+        long sum = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                sum += pool.getUsage().getUsed();
+            }
+        }
+        return sum;
+    }
+}
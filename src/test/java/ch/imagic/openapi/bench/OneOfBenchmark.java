@@ -0,0 +1,56 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.bench;
+
+import ch.imagic.openapi.misc.DataModelGenerator;
+import ch.imagic.openapi.misc.GenerationContext;
+import ch.imagic.openapi.misc.SchemaLoader;
+import ch.imagic.openapi.misc.SchemaPreProcessors;
+
+import java.io.StringReader;
+
+/**
+ * Measures the model generation of schemas where every model has a discriminated oneOf sibling.
+ * Every oneOf looks up its implementations with GenerationContext.getImplsForInterface.
+ * java -cp ... ch.imagic.openapi.bench.OneOfBenchmark [sizes...]
+ */
+public class OneOfBenchmark {
+
+    public static void main(String[] args) {
+        int[] sizes = {1000, 2500, 5000, 10000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int size : sizes) {
+            String json = new SyntheticSchema().schemas(size).properties(3).depth(0).oneOfFanOut(4).operations(0).documentation(false).build();
+            GenerationContext context = new GenerationContext(SchemaLoader.load(new StringReader(json), false));
+            context.setPackageName("bench");
+            context.setModelSuffix("");
+            context.setGson(true);
+            context.setJackson(true);
+            SchemaPreProcessors.preProcess(context);
+
+            long start = System.nanoTime();
+            DataModelGenerator.generateModels(context);
+            long time = System.nanoTime() - start;
+
+            System.out.println("unions=" + size + " models=" + context.getGenerated().size() + " time=" + (time / 1_000_000) + "ms");
+        }
+    }
+}
@@ -0,0 +1,262 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.bench;
+
+import ch.imagic.openapi.misc.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH benchmark of the generator pipeline on a synthetic schema, run with the gc profiler by main.
+ * Every benchmark measures one stage, the context of the previous stages is prepared before every invocation.
+ * gc.alloc.rate.norm includes that preparation, stage.alloc.norm of the StageAllocationProfiler are the bytes allocated by the stage alone.
+ * Everything runs on one thread so the allocation of the benchmark thread covers all work.
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) ch.imagic.openapi.bench.PipelineBenchmark [-p schemas=2000] [jmh options]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PipelineBenchmark {
+
+    @Param("2000")
+    public int schemas;
+
+    @Param("10")
+    public int properties;
+
+    @Param("2")
+    public int depth;
+
+    @Param("2")
+    public int oneOf;
+
+    @Param("200")
+    public int operations;
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final AtomicLong STAGE_BYTES = new AtomicLong();
+    private static final AtomicLong STAGE_INVOCATIONS = new AtomicLong();
+
+    private File schema;
+    private File out;
+    private long stageStart;
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = new String[args.length + 5];
+        jmhArgs[0] = PipelineBenchmark.class.getName();
+        jmhArgs[1] = "-prof";
+        jmhArgs[2] = "gc";
+        jmhArgs[3] = "-prof";
+        jmhArgs[4] = StageAllocationProfiler.class.getName();
+        System.arraycopy(args, 0, jmhArgs, 5, args.length);
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        schema = File.createTempFile("synthetic", ".json");
+        new SyntheticSchema().schemas(schemas).properties(properties).depth(depth)
+                .oneOfFanOut(oneOf).operations(operations).writeTo(schema);
+        out = Files.createTempDirectory("pipeline").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        schema.delete();
+        deleteRecursive(out);
+    }
+
+    @Benchmark
+    public GenerationContext parse() throws Exception {
+        beginStage();
+        GenerationContext context = context();
+        endStage();
+        return context;
+    }
+
+    @Benchmark
+    public GenerationContext preProcess(Parsed state) {
+        beginStage();
+        SchemaPreProcessors.preProcess(state.context);
+        endStage();
+        return state.context;
+    }
+
+    @Benchmark
+    public GenerationContext generateModels(PreProcessed state) {
+        beginStage();
+        DataModelGenerator.generateModels(state.context);
+        endStage();
+        return state.context;
+    }
+
+    @Benchmark
+    public GenerationContext generateApis(ModelsGenerated state) {
+        beginStage();
+        OperationGenerator.generateApis(state.context);
+        endStage();
+        return state.context;
+    }
+
+    @Benchmark
+    public GeneratedFileWriter.Result write(ApisGenerated state) throws Exception {
+        beginStage();
+        GeneratedFileWriter.Result result = state.context.writeGeneratedFilesToDisk();
+        endStage();
+        return result;
+    }
+
+    private void beginStage() {
+        stageStart = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private void endStage() {
+        STAGE_BYTES.addAndGet(THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - stageStart);
+        STAGE_INVOCATIONS.incrementAndGet();
+    }
+
+    /**
+     * A new context run through the given number of stages after parsing.
+     */
+    private GenerationContext prepare(int stages) throws Exception {
+        GenerationContext context = context();
+        if (stages > 0) {
+            SchemaPreProcessors.preProcess(context);
+        }
+        if (stages > 1) {
+            DataModelGenerator.generateModels(context);
+        }
+        if (stages > 2) {
+            OperationGenerator.generateApis(context);
+        }
+        return context;
+    }
+
+    /**
+     * Reports stage.alloc.norm, the bytes allocated by the measured stage per invocation without the setup before it.
+     */
+    public static class StageAllocationProfiler implements InternalProfiler {
+
+        @Override
+        public String getDescription() {
+            return "bytes allocated by the measured pipeline stage";
+        }
+
+        @Override
+        public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+            STAGE_BYTES.set(0);
+            STAGE_INVOCATIONS.set(0);
+        }
+
+        @Override
+        public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+            long invocations = STAGE_INVOCATIONS.get();
+            if (invocations == 0) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(new ScalarResult("stage.alloc.norm", (double) STAGE_BYTES.get() / invocations, "B/op", AggregationPolicy.AVG));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+        GenerationContext context;
+
+        @Setup(Level.Invocation)
+        public void setUp(PipelineBenchmark benchmark) throws Exception {
+            context = benchmark.prepare(0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PreProcessed {
+        GenerationContext context;
+
+        @Setup(Level.Invocation)
+        public void setUp(PipelineBenchmark benchmark) throws Exception {
+            context = benchmark.prepare(1);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ModelsGenerated {
+        GenerationContext context;
+
+        @Setup(Level.Invocation)
+        public void setUp(PipelineBenchmark benchmark) throws Exception {
+            context = benchmark.prepare(2);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ApisGenerated {
+        GenerationContext context;
+
+        @Setup(Level.Invocation)
+        public void setUp(PipelineBenchmark benchmark) throws Exception {
+            context = benchmark.prepare(3);
+        }
+    }
+
+    private GenerationContext context() throws Exception {
+        GenerationContext context = new GenerationContext(SchemaLoader.load(schema, true));
+        context.setJackson(true);
+        context.setJsr380(true);
+        context.setGson(true);
+        context.setWriterThreads(1);
+        context.setGeneratorThreads(1);
+        context.setImplSourceRoot(out);
+        context.setApiSourceRoot(out);
+        context.setCommonApiSourceRoot(out);
+        context.setCommonImplSourceRoot(out);
+        context.setOperationInterfaceSuffix("");
+        context.setModelSuffix("");
+        context.setTagSuffix("Api");
+        context.setResponseSuffix("Response");
+        context.setRequestSuffix("Request");
+        context.setPackageName("bench");
+        context.setCommonPackageName("bench.common");
+        context.addCommonFiles();
+        return context;
+    }
+
+    private static void deleteRecursive(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursive(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.bench;
+
+import ch.imagic.openapi.misc.GenerationContext;
+import ch.imagic.openapi.misc.SchemaLoader;
+import ch.imagic.openapi.misc.SchemaPreProcessors;
+
+import java.io.StringReader;
+
+/**
+ * Measures how SchemaPreProcessors.preProcess scales with the number of schemas.
+ * Every synthetic schema contains two levels of inline objects and an inline array, which are all hoisted.
+ * java -cp ... ch.imagic.openapi.bench.PreProcessorBenchmark [sizes...]
+ */
+public class PreProcessorBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = {1000, 5000, 10000, 25000, 50000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int size : sizes) {
+            String json = new SyntheticSchema().schemas(size).properties(5).depth(2).operations(size / 10).documentation(false).build();
+            GenerationContext context = new GenerationContext(SchemaLoader.load(new StringReader(json), false));
+            int before = context.getModel().getComponents().getSchemas().size();
+
+            long start = System.nanoTime();
+            SchemaPreProcessors.preProcess(context);
+            long time = System.nanoTime() - start;
+
+            int after = context.getModel().getComponents().getSchemas().size();
+            System.out.println("schemas=" + before + " hoisted=" + (after - before) + " time=" + (time / 1_000_000) + "ms"
+                    + " classificationHits=" + context.getClassificationHits() + " classificationMisses=" + context.getClassificationMisses());
+        }
+    }
+}
@@ -0,0 +1,266 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.bench;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Builds large synthetic OpenAPI schemas for benchmarks.
+ */
+public class SyntheticSchema {
+
+    private int schemas = 100;
+    private int properties = 10;
+    private int depth = 1;
+    private int oneOfFanOut = 0;
+    private int operations = 10;
+    private boolean documentation = true;
+    private int modifiedEvery = 0;
+
+    public SyntheticSchema schemas(int schemas) {
+        this.schemas = schemas;
+        return this;
+    }
+
+    public SyntheticSchema properties(int properties) {
+        this.properties = properties;
+        return this;
+    }
+
+    /**
+     * Nesting depth of inline objects inside every schema, 0 for no inline objects.
+     */
+    public SyntheticSchema depth(int depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * If larger than 0 then every model gets a discriminated oneOf sibling over this many other models.
+     */
+    public SyntheticSchema oneOfFanOut(int oneOfFanOut) {
+        this.oneOfFanOut = oneOfFanOut;
+        return this;
+    }
+
+    public SyntheticSchema operations(int operations) {
+        this.operations = operations;
+        return this;
+    }
+
+    /**
+     * Adds descriptions and examples everywhere, like real world schemas have.
+     */
+    public SyntheticSchema documentation(boolean documentation) {
+        this.documentation = documentation;
+        return this;
+    }
+
+    /**
+     * If larger than 0 then every n-th model gets an additional property, to build a second version of the same schema.
+     */
+    public SyntheticSchema modifiedEvery(int modifiedEvery) {
+        this.modifiedEvery = modifiedEvery;
+        return this;
+    }
+
+    public File writeTo(File file) throws IOException {
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8), 64 * 1024)) {
+            write(w);
+        }
+        return file;
+    }
+
+    public String build() {
+        StringWriter sw = new StringWriter();
+        try {
+            write(sw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sw.toString();
+    }
+
+    public void write(Writer writer) throws IOException {
+        JsonWriter w = new JsonWriter(writer);
+        w.beginObject();
+        w.name("openapi").value("3.0.0");
+        w.name("info").beginObject().name("title").value("synthetic").name("version").value("1.0.0").endObject();
+
+        w.name("paths").beginObject();
+        for (int i = 0; i < operations; i++) {
+            writePath(w, i);
+        }
+        w.endObject();
+
+        w.name("components").beginObject();
+        w.name("schemas").beginObject();
+        for (int i = 0; i < schemas; i++) {
+            writeModel(w, i);
+            if (oneOfFanOut > 0) {
+                writeOneOf(w, i);
+            }
+        }
+        w.endObject();
+        w.endObject();
+
+        w.endObject();
+        w.flush();
+    }
+
+    private void writePath(JsonWriter w, int i) throws IOException {
+        String model = "#/components/schemas/Model" + (i % schemas);
+        w.name("/resource" + i + "/{id}").beginObject();
+
+        w.name("get").beginObject();
+        w.name("operationId").value("getResource" + i);
+        w.name("tags").beginArray().value("Tag" + (i % 10)).endArray();
+        description(w, "Returns resource " + i);
+        w.name("parameters").beginArray();
+        w.beginObject().name("name").value("id").name("in").value("path").name("required").value(true);
+        w.name("schema").beginObject().name("type").value("integer").name("format").value("int64").endObject();
+        w.endObject();
+        w.beginObject().name("name").value("limit").name("in").value("query");
+        w.name("schema").beginObject().name("type").value("integer").name("format").value("int32").endObject();
+        w.endObject();
+        w.endArray();
+        w.name("responses").beginObject();
+        w.name("200").beginObject();
+        w.name("description").value("ok");
+        w.name("content").beginObject().name("application/json").beginObject();
+        w.name("schema").beginObject().name("$ref").value(model).endObject();
+        w.endObject().endObject();
+        w.endObject();
+        w.name("404").beginObject().name("description").value("not found").endObject();
+        w.endObject();
+        w.endObject();
+
+        w.name("put").beginObject();
+        w.name("operationId").value("putResource" + i);
+        w.name("tags").beginArray().value("Tag" + (i % 10)).endArray();
+        w.name("parameters").beginArray();
+        w.beginObject().name("name").value("id").name("in").value("path").name("required").value(true);
+        w.name("schema").beginObject().name("type").value("integer").name("format").value("int64").endObject();
+        w.endObject();
+        w.endArray();
+        w.name("requestBody").beginObject();
+        w.name("content").beginObject().name("application/json").beginObject();
+        w.name("schema").beginObject().name("$ref").value(model).endObject();
+        w.endObject().endObject();
+        w.endObject();
+        w.name("responses").beginObject();
+        w.name("204").beginObject().name("description").value("updated").endObject();
+        w.endObject();
+        w.endObject();
+
+        w.endObject();
+    }
+
+    private void writeModel(JsonWriter w, int i) throws IOException {
+        w.name("Model" + i).beginObject();
+        w.name("type").value("object");
+        description(w, "Synthetic model number " + i + ". This text is only here to make the schema look like a real world schema.");
+        w.name("required").beginArray().value("kind").value("id").endArray();
+        w.name("properties").beginObject();
+        w.name("kind").beginObject().name("type").value("string").endObject();
+        w.name("id").beginObject().name("type").value("integer").name("format").value("int64").endObject();
+        writeProperties(w, i);
+        if (modifiedEvery > 0 && i % modifiedEvery == 0) {
+            w.name("addedProperty").beginObject().name("type").value("string").endObject();
+        }
+        if (depth > 0) {
+            w.name("nested");
+            writeInlineObject(w, i, depth);
+        }
+        w.endObject();
+        w.endObject();
+    }
+
+    private void writeProperties(JsonWriter w, int i) throws IOException {
+        for (int p = 0; p < properties; p++) {
+            w.name("prop" + p).beginObject();
+            switch (p % 5) {
+                case 0:
+                    w.name("type").value("string");
+                    w.name("maxLength").value(64);
+                    break;
+                case 1:
+                    w.name("type").value("integer").name("format").value("int32");
+                    w.name("minimum").value(0);
+                    break;
+                case 2:
+                    w.name("type").value("array");
+                    w.name("items").beginObject().name("$ref").value("#/components/schemas/Model" + ((i + p) % schemas)).endObject();
+                    break;
+                case 3:
+                    w.name("type").value("string");
+                    w.name("enum").beginArray().value("A").value("B").value("C").endArray();
+                    break;
+                default:
+                    w.name("type").value("object");
+                    w.name("additionalProperties").beginObject().name("type").value("string").endObject();
+                    break;
+            }
+            description(w, "Property " + p + " of model " + i);
+            if (documentation) {
+                w.name("example").value("example value " + p);
+            }
+            w.endObject();
+        }
+    }
+
+    private void writeInlineObject(JsonWriter w, int i, int level) throws IOException {
+        w.beginObject();
+        w.name("type").value("object");
+        w.name("properties").beginObject();
+        w.name("name").beginObject().name("type").value("string").endObject();
+        w.name("values").beginObject().name("type").value("array").name("items").beginObject().name("type").value("number").endObject().endObject();
+        if (level > 1) {
+            w.name("child");
+            writeInlineObject(w, i, level - 1);
+        }
+        w.endObject();
+        w.endObject();
+    }
+
+    private void writeOneOf(JsonWriter w, int i) throws IOException {
+        w.name("Poly" + i).beginObject();
+        w.name("oneOf").beginArray();
+        for (int f = 0; f < oneOfFanOut; f++) {
+            w.beginObject().name("$ref").value("#/components/schemas/Model" + ((i + f) % schemas)).endObject();
+        }
+        w.endArray();
+        w.name("discriminator").beginObject();
+        w.name("propertyName").value("kind");
+        w.name("mapping").beginObject();
+        for (int f = 0; f < oneOfFanOut; f++) {
+            int target = (i + f) % schemas;
+            w.name("Model" + target).value("#/components/schemas/Model" + target);
+        }
+        w.endObject();
+        w.endObject();
+        w.endObject();
+    }
+
+    private void description(JsonWriter w, String text) throws IOException {
+        if (documentation) {
+            w.name("description").value(text);
+        }
+    }
+}
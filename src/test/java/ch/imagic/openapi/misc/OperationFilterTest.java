@@ -0,0 +1,85 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.misc;
+
+import ch.imagic.openapi.model.PathModel;
+import ch.imagic.openapi.model.RootModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.*;
+import java.util.regex.Pattern;
+
+public class OperationFilterTest {
+
+    private static final File SCHEMA = new File("src/test/resources/schemas/filter.json");
+
+    @Test
+    public void pathGlobs() {
+        Pattern segment = OperationFilter.globToPattern("/pets/*");
+        Assert.assertTrue(segment.matcher("/pets/{id}").matches());
+        Assert.assertFalse(segment.matcher("/pets").matches());
+        Assert.assertFalse(segment.matcher("/pets/{id}/shape").matches());
+
+        Pattern deep = OperationFilter.globToPattern("/admin/**");
+        Assert.assertTrue(deep.matcher("/admin/users").matches());
+        Assert.assertTrue(deep.matcher("/admin/users/{id}/roles").matches());
+        Assert.assertFalse(deep.matcher("/pets/admin/users").matches());
+
+        //Everything but the stars is literal.
+        Pattern literal = OperationFilter.globToPattern("/pets/{id}.json");
+        Assert.assertTrue(literal.matcher("/pets/{id}.json").matches());
+        Assert.assertFalse(literal.matcher("/pets/{id}xjson").matches());
+    }
+
+    @Test
+    public void selectByTagOperationIdAndPath() throws Exception {
+        Assert.assertEquals(set("listPets", "getPet", "getShape"), selected(filter(list("pets"), list(), list(), list(), list(), list())));
+        Assert.assertEquals(set("getPet", "setRoles"), selected(filter(list(), list(), list("getPet", "setRoles"), list(), list(), list())));
+        Assert.assertEquals(set("listUsers", "setRoles"), selected(filter(list(), list(), list(), list(), list("/admin/**"), list())));
+        Assert.assertEquals(set("listPets", "getPet", "getShape", "listUsers"), selected(filter(list(), list(), list(), list("setRoles"), list(), list())));
+
+        //An exclude wins over an include.
+        Assert.assertEquals(set("listPets", "getShape"), selected(filter(list("pets"), list(), list(), list(), list(), list("/pets/*"))));
+        Assert.assertEquals(set("listUsers"), selected(filter(list(), list(), list(), list(), list("/admin/**"), list("/admin/*/*/roles"))));
+    }
+
+    private static OperationFilter filter(List<String> includeTags, List<String> excludeTags, List<String> includeOperations, List<String> excludeOperations,
+                                          List<String> includePaths, List<String> excludePaths) {
+        return new OperationFilter(includeTags, excludeTags, includeOperations, excludeOperations, includePaths, excludePaths);
+    }
+
+    private static Set<String> selected(OperationFilter filter) throws Exception {
+        RootModel model = SchemaLoader.load(SCHEMA, true);
+        Set<String> selected = new HashSet<>();
+        for (Map.Entry<String, Map<String, PathModel>> path : model.getPaths().entrySet()) {
+            for (PathModel operation : path.getValue().values()) {
+                if (filter.isSelected(path.getKey(), operation)) {
+                    selected.add(operation.getOperationId());
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static List<String> list(String... values) {
+        return Arrays.asList(values);
+    }
+
+    private static Set<String> set(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,138 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import ch.imagic.openapi.BatchGenerator;
+import ch.imagic.openapi.OpenApiGenerator;
+import ch.imagic.openapi.OpenApiGeneratorConfig;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Every generation of a batch must generate exactly what a single run of the same configuration generates,
+ * the common files of a shared common package are written once by the batch and by none of the generations.
+ */
+public class BatchGeneratorTest {
+
+    private static final File DIR = new File("target/batch-test");
+    private static final File SCHEMA_A = new File(GeneratorTestSupport.SCHEMAS, "diff-a.json");
+    private static final File SCHEMA_B = new File(GeneratorTestSupport.SCHEMAS, "cache-base.json");
+
+    @Test
+    public void sharedCommonFilesAreWrittenOnce() throws Exception {
+        File batch = new File(DIR, "shared");
+        GeneratorTestSupport.rmdir(batch);
+        runBatch(batch, generation(SCHEMA_A, "undertest.a", batch), generation(SCHEMA_B, "undertest.b", batch));
+
+        File singleA = single(SCHEMA_A, "undertest.a", new File(DIR, "singleA"));
+        File singleB = single(SCHEMA_B, "undertest.b", new File(DIR, "singleB"));
+        GeneratorTestSupport.assertSameFiles(new File(singleA, "undertest.a"), new File(batch, "undertest.a"));
+        GeneratorTestSupport.assertSameFiles(new File(singleB, "undertest.b"), new File(batch, "undertest.b"));
+
+        //Only the batch wrote into the common directory, a generation that also wrote common files would have left its manifest there.
+        File common = new File(batch, "common");
+        Assert.assertEquals(Collections.singleton(".robust-openapi-generator-undertest.common.manifest"), getManifests(common));
+        Assert.assertEquals(getSources(new File(singleA, "common")), getSources(common));
+        Assert.assertEquals(getSources(new File(singleB, "common")), getSources(common));
+    }
+
+    @Test
+    public void failedGenerationDoesNotStopTheOthers() throws Exception {
+        File batch = new File(DIR, "failed");
+        GeneratorTestSupport.rmdir(batch);
+        try {
+            runBatch(batch, generation(new File(DIR, "missing.json"), "undertest.missing", batch), generation(SCHEMA_A, "undertest.a", batch));
+            Assert.fail("the batch must fail");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("generation of undertest.missing failed", e.getMessage());
+            Assert.assertEquals(1, e.getSuppressed().length);
+        }
+
+        File singleA = single(SCHEMA_A, "undertest.a", new File(DIR, "singleA"));
+        GeneratorTestSupport.assertSameFiles(new File(singleA, "undertest.a"), new File(batch, "undertest.a"));
+    }
+
+    private static JsonObject generation(File schema, String packageName, File batch) {
+        JsonObject generation = new JsonObject();
+        generation.addProperty("SCHEMA", schema.getAbsolutePath());
+        generation.addProperty("PACKAGE", packageName);
+        generation.addProperty("SOURCE_TARGET_DIR", new File(batch, packageName).getAbsolutePath());
+        return generation;
+    }
+
+    private static void runBatch(File batch, JsonObject... generations) throws Exception {
+        JsonObject defaults = new JsonObject();
+        defaults.addProperty("COMMON_PACKAGE", "undertest.common");
+        defaults.addProperty("COMMON_API_SOURCE_TARGET_DIR", new File(batch, "common").getAbsolutePath());
+        defaults.addProperty("COMMON_IMPL_SOURCE_TARGET_DIR", new File(batch, "common").getAbsolutePath());
+        defaults.addProperty("JSR380", "false");
+        defaults.addProperty("GSON", "false");
+        defaults.addProperty("JACKSON", "true");
+        defaults.addProperty("INCREMENTAL", "true");
+        defaults.addProperty("BATCH_THREADS", "2");
+
+        JsonArray list = new JsonArray();
+        Arrays.stream(generations).forEach(list::add);
+        JsonObject manifest = new JsonObject();
+        manifest.add("defaults", defaults);
+        manifest.add("generations", list);
+
+        File file = new File(batch, "batch.json");
+        GeneratorTestSupport.write(file, manifest.toString());
+        BatchGenerator.load(file).run();
+    }
+
+    /**
+     * A single run of the package with the settings of the batch, the package goes to its own directory and the common files to common.
+     */
+    private static File single(File schema, String packageName, File target) throws Exception {
+        GeneratorTestSupport.rmdir(target);
+        OpenApiGeneratorConfig config = GeneratorTestSupport.config(schema, packageName, new File(target, packageName));
+        config.setCommonPackageName("undertest.common");
+        config.setCommonApiSourceTargetDir(new File(target, "common"));
+        config.setCommonImplSourceTargetDir(new File(target, "common"));
+        config.setJackson(true);
+        config.setIncremental(true);
+        OpenApiGenerator.generate(config);
+        return target;
+    }
+
+    private static Set<String> getManifests(File dir) throws Exception {
+        Set<String> manifests = new TreeSet<>();
+        for (String name : GeneratorTestSupport.readAll(dir).keySet()) {
+            if (name.endsWith(".manifest")) {
+                manifests.add(name);
+            }
+        }
+        return manifests;
+    }
+
+    private static Map<String, String> getSources(File dir) throws Exception {
+        Map<String, String> sources = new TreeMap<>();
+        for (Map.Entry<String, byte[]> e : GeneratorTestSupport.readAll(dir).entrySet()) {
+            if (e.getKey().endsWith(".java")) {
+                sources.put(e.getKey(), new String(e.getValue(), StandardCharsets.UTF_8));
+            }
+        }
+        Assert.assertFalse("no sources in " + dir, sources.isEmpty());
+        return sources;
+    }
+}
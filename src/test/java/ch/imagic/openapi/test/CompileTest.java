@@ -16,18 +16,31 @@ package ch.imagic.openapi.test;
 
 import ch.imagic.openapi.OpenApiGenerator;
 import ch.imagic.openapi.OpenApiGeneratorConfig;
+import ch.imagic.openapi.misc.JarCompiler;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
 
 import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
 
 /**
- * This test generates a api from a schema and compiles it.
+ * This test generates a api from a schema and compiles it in memory to a jar.
+ * The sources of testproject, which use the generated api, are then compiled against the jar and its test is run.
  * It does not test that the generated code is any good, it just tests that it compiles.
+ * The generated sources stay in testproject, so it can also be built with its maven wrapper.
  */
 public class CompileTest {
 
+    private static final File JAR = new File("target/compile-test/undertest.jar");
+    private static final File TEST_JAR = new File("target/compile-test/testproject.jar");
+
     private static void rmdir(File dir) {
         if (dir.isDirectory()) {
             for (File f : dir.listFiles()) {
@@ -41,10 +54,17 @@ public class CompileTest {
     @Before
     public void b4() {
         rmdir(new File("testproject/src/main/java/undertest"));
+        JAR.delete();
+        TEST_JAR.delete();
     }
 
     @Test
     public void test() throws Exception {
+        List<File> classpath = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classpath.add(new File(entry));
+        }
+
         OpenApiGeneratorConfig config = new OpenApiGeneratorConfig();
         config.setSchema(new File("petstore-expanded.json"));
         config.setPackageName("undertest");
@@ -54,26 +74,35 @@ public class CompileTest {
         config.setImplSourceTargetDir(sourceDir);
         config.setCommonImplSourceTargetDir(sourceDir);
         config.setCommonApiSourceTargetDir(sourceDir);
+        config.setJar(JAR);
+        config.setJarClasspath(classpath);
 
         OpenApiGenerator.generate(config);
+        Assert.assertTrue(JAR.isFile());
 
-        String javaHome = System.getProperty("java.home");
+        Map<String, String> sources = new TreeMap<>();
+        sources.put("ch.imagic.Main", read("testproject/src/main/java/ch/imagic/Main.java"));
+        sources.put("ToStringTest", read("testproject/src/test/java/ToStringTest.java"));
+        List<File> testClasspath = new ArrayList<>(classpath);
+        testClasspath.add(JAR);
+        JarCompiler.writeJar(TEST_JAR, JarCompiler.compile(sources, testClasspath, config.getJarRelease()), JarCompiler.digest(sources, testClasspath, config.getJarRelease()));
 
-        //Poor mans windows detection.
-        if (File.separatorChar == '\\') {
-            // TODO test if this actually works or not...
-            ProcessBuilder pb = new ProcessBuilder("cmd.exe", "/c", "mvnw.cmd clean package");
-            pb.directory(new File("testproject").getAbsoluteFile());
-            pb.inheritIO();
-            pb.environment().put("JAVA_HOME", javaHome);
-            Assert.assertEquals(0, pb.start().waitFor());
-            return;
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{JAR.toURI().toURL(), TEST_JAR.toURI().toURL()}, getClass().getClassLoader())) {
+            Result result = new JUnitCore().run(loader.loadClass("ToStringTest"));
+            Assert.assertEquals(String.valueOf(result.getFailures()), 0, result.getFailureCount());
+            Assert.assertTrue(result.getRunCount() > 0);
         }
-        ProcessBuilder pb = new ProcessBuilder("/usr/bin/env", "bash", "mvnw", "clean", "package");
-        pb.directory(new File("testproject").getAbsoluteFile());
-        pb.environment().put("JAVA_HOME", javaHome);
-        pb.inheritIO();
-        Assert.assertEquals(0, pb.start().waitFor());
 
+        //Generating the same sources again must neither compile nor change the jar.
+        long modified = JAR.lastModified();
+        byte[] content = Files.readAllBytes(JAR.toPath());
+        Thread.sleep(10);
+        OpenApiGenerator.generate(config);
+        Assert.assertEquals(modified, JAR.lastModified());
+        Assert.assertArrayEquals(content, Files.readAllBytes(JAR.toPath()));
+    }
+
+    private static String read(String file) throws Exception {
+        return new String(Files.readAllBytes(new File(file).toPath()), StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,55 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+
+/**
+ * De-duplication of identical inline schemas must not change what is sent over the wire.
+ */
+public class DedupInlineSchemasTest {
+
+    private static final File DIR = new File("target/dedup-test");
+
+    @Test
+    public void unmappedDiscriminatorIsNotDeduplicated() throws Exception {
+        File schema = new File(GeneratorTestSupport.SCHEMAS, "discriminator-twins.json");
+        File plain = generate(schema, "plain", false);
+        File dedup = generate(schema, "dedup", true);
+
+        GeneratorTestSupport.assertSameFiles(plain, dedup);
+        String item = GeneratorTestSupport.read(new File(dedup, "undertest/api/model/YBarItem.java"));
+        Assert.assertTrue(item, item.contains("discriminatorFieldValues = {\"YBarItemPoly\", \"YBarItemPoly0\"}"));
+    }
+
+    @Test
+    public void identicalSchemasAreDeduplicated() throws Exception {
+        File schema = new File(GeneratorTestSupport.SCHEMAS, "plain-twins.json");
+        File plain = generate(schema, "twinsPlain", false);
+        File dedup = generate(schema, "twinsDedup", true);
+
+        Assert.assertTrue(new File(plain, "undertest/api/model/YBarItem.java").isFile());
+        Assert.assertFalse(new File(dedup, "undertest/api/model/YBarItem.java").isFile());
+        String y = GeneratorTestSupport.read(new File(dedup, "undertest/api/model/Y.java"));
+        Assert.assertTrue(y, y.contains("java.util.List<undertest.api.model.XFooItem>"));
+    }
+
+    private static File generate(File schema, String name, boolean dedup) throws Exception {
+        return GeneratorTestSupport.generate(schema, new File(DIR, name), config -> config.setDedupInlineSchemas(dedup));
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import ch.imagic.openapi.Main;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the same schema in two separate JVMs, with a different number of generator and writer threads,
+ * and checks that the generated files are identical byte for byte. Build caches only hit if they are.
+ */
+public class DeterministicOutputTest {
+
+    private static final File DIR = new File("target/deterministic-test");
+
+    @Test
+    public void test() throws Exception {
+        File first = new File(DIR, "first");
+        File second = new File(DIR, "second");
+        GeneratorTestSupport.rmdir(DIR);
+
+        generate(first, "1");
+        generate(second, "4");
+
+        GeneratorTestSupport.assertSameFiles(first, second);
+    }
+
+    private static void generate(File target, String threads) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Main.class.getName());
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.environment().put("SCHEMA", new File("petstore-expanded.json").getAbsolutePath());
+        builder.environment().put("PACKAGE", "undertest");
+        builder.environment().put("SOURCE_TARGET_DIR", target.getAbsolutePath());
+        builder.environment().put("GENERATOR_THREADS", threads);
+        builder.environment().put("WRITER_THREADS", threads);
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(new File(DIR, target.getName() + ".log"));
+        DIR.mkdirs();
+
+        Process process = builder.start();
+        Assert.assertEquals("generator failed, see " + new File(DIR, target.getName() + ".log"), 0, process.waitFor());
+    }
+}
@@ -0,0 +1,61 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import ch.imagic.openapi.misc.SchemaDocuments;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The petstore split over several files must generate exactly what the same petstore in one file generates.
+ * The split schema uses relative paths from nested directories, local $refs inside referenced files,
+ * a Tag schema defined in two files, which becomes Tag and Tag2, discriminator mappings to other files and a path item in another file.
+ */
+public class ExternalRefTest {
+
+    private static final File DIR = new File("target/external-ref-test");
+
+    @Test
+    public void splitSchemaMatchesSingleFile() throws Exception {
+        File single = generate(new File(GeneratorTestSupport.SCHEMAS, "split-petstore.json"), "single");
+        File split = generate(new File(GeneratorTestSupport.SCHEMAS, "split-petstore/api.json"), "split");
+
+        GeneratorTestSupport.assertSameFiles(single, split);
+        Assert.assertTrue(new File(split, "undertest/api/model/Tag2.java").isFile());
+        String animal = GeneratorTestSupport.read(new File(split, "undertest/api/model/Animal.java"));
+        Assert.assertTrue(animal, animal.contains("discriminatorFieldValues = {\"cat\", \"dog\"}"));
+    }
+
+    @Test
+    public void schemaFilesFollowAllRefs() throws Exception {
+        File dir = new File(GeneratorTestSupport.SCHEMAS, "split-petstore");
+        File schema = new File(dir, "api.json");
+        List<File> expected = new ArrayList<>();
+        expected.add(schema);
+        for (String name : new String[]{"common/errors.json", "common/people.json", "models/Animal.json", "models/Cat.json", "models/Dog.json", "models/pets.json", "paths/owner.json"}) {
+            expected.add(new File(dir, name).getCanonicalFile());
+        }
+        Assert.assertEquals(expected, SchemaDocuments.getSchemaFiles(schema));
+    }
+
+    private static File generate(File schema, String name) throws Exception {
+        return GeneratorTestSupport.generate(schema, new File(DIR, name), config -> {
+        });
+    }
+}
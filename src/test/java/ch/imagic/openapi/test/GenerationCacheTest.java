@@ -0,0 +1,160 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import ch.imagic.openapi.OpenApiExtensionConfig;
+import ch.imagic.openapi.OpenApiGeneratorConfig;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Output restored from the generation cache must be identical to the output of an uncached run,
+ * with each of the settings that change what is generated. So must the output of a streaming run.
+ */
+@RunWith(Parameterized.class)
+public class GenerationCacheTest {
+
+    private static final File BASE = new File(GeneratorTestSupport.SCHEMAS, "cache-base.json");
+    private static final File EXTENSION = new File(GeneratorTestSupport.SCHEMAS, "cache-ext.json");
+    private static final File CHANGED_EXTENSION = new File(GeneratorTestSupport.SCHEMAS, "cache-ext-changed.json");
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> settings() {
+        return Arrays.asList(new Object[][]{
+                {"default", false, false},
+                {"mergeOperationClasses", true, false},
+                {"dedupInlineSchemas", false, true},
+        });
+    }
+
+    private final File dir;
+    private final boolean mergeOperationClasses;
+    private final boolean dedupInlineSchemas;
+
+    public GenerationCacheTest(String name, boolean mergeOperationClasses, boolean dedupInlineSchemas) {
+        this.dir = new File("target/cache-test/" + name);
+        this.mergeOperationClasses = mergeOperationClasses;
+        this.dedupInlineSchemas = dedupInlineSchemas;
+    }
+
+    @Test
+    public void fullHitRestoresEverything() throws Exception {
+        File expected = generate("fullHitExpected", EXTENSION, null);
+        File cache = new File(dir, "fullHitCache");
+        GeneratorTestSupport.rmdir(cache);
+        generate("fullHit", EXTENSION, cache);
+
+        File actual = new File(dir, "fullHit");
+        GeneratorTestSupport.rmdir(actual);
+        String log = GeneratorTestSupport.generate(config(actual, EXTENSION, cache));
+        Assert.assertTrue(log, log.contains("undertest: restored"));
+        Assert.assertTrue(log, log.contains("undertest.ext: restored"));
+        GeneratorTestSupport.assertSameFiles(expected, actual);
+    }
+
+    @Test
+    public void fullHitRepairsDeletedAndEditedFiles() throws Exception {
+        File expected = generate("repairExpected", EXTENSION, null);
+        File cache = new File(dir, "repairCache");
+        GeneratorTestSupport.rmdir(cache);
+        File actual = generate("repair", EXTENSION, cache);
+
+        File deleted = new File(actual, "undertest/api/model/Item.java");
+        File edited = new File(actual, "undertest/ext/api/response/GetDxResponse.java");
+        Assert.assertTrue(deleted.delete());
+        GeneratorTestSupport.write(edited, GeneratorTestSupport.read(edited) + "//edited\n");
+
+        String log = GeneratorTestSupport.generate(config(actual, EXTENSION, cache));
+        Assert.assertTrue(log, log.contains("undertest: restored"));
+        GeneratorTestSupport.assertSameFiles(expected, actual);
+    }
+
+    @Test
+    public void incrementalRunRepairsEditsOfTheSameLength() throws Exception {
+        File expected = generate("sameLengthExpected", EXTENSION, null);
+        File actual = generate("sameLength", EXTENSION, null);
+
+        //Same size as before, only the content tells the edit apart.
+        File edited = new File(actual, "undertest/api/model/Item.java");
+        String content = GeneratorTestSupport.read(edited);
+        GeneratorTestSupport.write(edited, content.replaceFirst("class", "CLASS"));
+        Assert.assertEquals(content.length(), edited.length());
+
+        GeneratorTestSupport.generate(config(actual, EXTENSION, null));
+        GeneratorTestSupport.assertSameFiles(expected, actual);
+    }
+
+    @Test
+    public void changedExtensionReusesBaseSnapshot() throws Exception {
+        File expected = generate("snapshotExpected", CHANGED_EXTENSION, null);
+        File cache = new File(dir, "snapshotCache");
+        GeneratorTestSupport.rmdir(cache);
+        File actual = generate("snapshot", EXTENSION, cache);
+
+        String log = GeneratorTestSupport.generate(config(actual, CHANGED_EXTENSION, cache));
+        Assert.assertTrue(log, log.contains("undertest: reusing preprocessed model from cache"));
+        Assert.assertFalse(log, log.contains("undertest.ext: restored"));
+        GeneratorTestSupport.assertSameFiles(expected, actual);
+    }
+
+    @Test
+    public void streamingMatchesNormalRunAndStoresNoFiles() throws Exception {
+        File expected = generate("streamingExpected", EXTENSION, null);
+        File cache = new File(dir, "streamingCache");
+        GeneratorTestSupport.rmdir(cache);
+        File actual = new File(dir, "streaming");
+        GeneratorTestSupport.generate(BASE, actual, config -> {
+            configure(config, actual, EXTENSION, cache);
+            config.setStreaming(true);
+        });
+        GeneratorTestSupport.assertSameFiles(expected, actual);
+
+        //The files of a streaming run are not in the cache, a normal run with the same cache generates them again.
+        File next = new File(dir, "afterStreaming");
+        GeneratorTestSupport.rmdir(next);
+        String log = GeneratorTestSupport.generate(config(next, EXTENSION, cache));
+        Assert.assertFalse(log, log.contains(": restored"));
+        GeneratorTestSupport.assertSameFiles(expected, next);
+    }
+
+    private File generate(String name, File extension, File cache) throws Exception {
+        File target = new File(dir, name);
+        return GeneratorTestSupport.generate(BASE, target, config -> configure(config, target, extension, cache));
+    }
+
+    private OpenApiGeneratorConfig config(File target, File extension, File cache) {
+        return GeneratorTestSupport.config(BASE, target, config -> configure(config, target, extension, cache));
+    }
+
+    private void configure(OpenApiGeneratorConfig config, File target, File extension, File cache) {
+        config.setIncremental(true);
+        config.setMergeOperationClasses(mergeOperationClasses);
+        config.setDedupInlineSchemas(dedupInlineSchemas);
+        config.setCacheDir(cache);
+
+        OpenApiExtensionConfig ext = new OpenApiExtensionConfig();
+        ext.setSchema(extension);
+        ext.setPackageName("undertest.ext");
+        ext.setImplSource(target);
+        ext.setApiSource(target);
+        config.addExtension(ext);
+    }
+}
@@ -0,0 +1,138 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import ch.imagic.openapi.OpenApiGenerator;
+import ch.imagic.openapi.OpenApiGeneratorConfig;
+import org.junit.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Helpers for the tests that generate a schema and compare the generated files.
+ */
+final class GeneratorTestSupport {
+
+    static final File SCHEMAS = new File("src/test/resources/schemas");
+
+    private GeneratorTestSupport() {
+    }
+
+    /**
+     * A configuration that writes all sources of the package to the target directory.
+     */
+    static OpenApiGeneratorConfig config(File schema, String packageName, File target) {
+        OpenApiGeneratorConfig config = new OpenApiGeneratorConfig();
+        config.setSchema(schema);
+        config.setPackageName(packageName);
+        config.setCommonPackageName(packageName + ".common");
+        config.setApiSourceTargetDir(target);
+        config.setImplSourceTargetDir(target);
+        config.setCommonApiSourceTargetDir(target);
+        config.setCommonImplSourceTargetDir(target);
+        return config;
+    }
+
+    /**
+     * A configuration of the package undertest with jackson and the given settings, which writes all sources to the target directory.
+     */
+    static OpenApiGeneratorConfig config(File schema, File target, Consumer<OpenApiGeneratorConfig> settings) {
+        OpenApiGeneratorConfig config = config(schema, "undertest", target);
+        config.setJackson(true);
+        settings.accept(config);
+        return config;
+    }
+
+    /**
+     * Generates the schema into the emptied target directory with config(schema, target, settings) and returns the target directory.
+     */
+    static File generate(File schema, File target, Consumer<OpenApiGeneratorConfig> settings) throws Exception {
+        rmdir(target);
+        OpenApiGenerator.generate(config(schema, target, settings));
+        return target;
+    }
+
+    /**
+     * Generates and returns what the generation logged.
+     */
+    static String generate(OpenApiGeneratorConfig config) throws Exception {
+        PrintStream out = System.out;
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(log, true, "UTF-8"));
+        try {
+            OpenApiGenerator.generate(config);
+        } finally {
+            System.setOut(out);
+        }
+        return new String(log.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    static SortedMap<String, byte[]> readAll(File root) throws IOException {
+        SortedMap<String, byte[]> files = new TreeMap<>();
+        if (!root.isDirectory()) {
+            return files;
+        }
+
+        List<Path> paths;
+        try (Stream<Path> stream = Files.walk(root.toPath())) {
+            paths = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            files.put(root.toPath().relativize(path).toString().replace(File.separatorChar, '/'), Files.readAllBytes(path));
+        }
+        return files;
+    }
+
+    static void assertSameFiles(File expected, File actual) throws IOException {
+        SortedMap<String, byte[]> expectedFiles = readAll(expected);
+        SortedMap<String, byte[]> actualFiles = readAll(actual);
+        Assert.assertFalse("nothing generated in " + expected, expectedFiles.isEmpty());
+        Assert.assertEquals(expectedFiles.keySet(), actualFiles.keySet());
+        for (Map.Entry<String, byte[]> e : expectedFiles.entrySet()) {
+            Assert.assertArrayEquals(e.getKey(), e.getValue(), actualFiles.get(e.getKey()));
+        }
+    }
+
+    static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void rmdir(File dir) {
+        if (dir.isDirectory()) {
+            for (File f : dir.listFiles()) {
+                rmdir(f);
+            }
+        }
+        dir.delete();
+    }
+}
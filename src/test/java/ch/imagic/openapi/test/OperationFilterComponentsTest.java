@@ -0,0 +1,75 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import ch.imagic.openapi.misc.OperationFilter;
+import ch.imagic.openapi.misc.SchemaLoader;
+import ch.imagic.openapi.model.RootModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * The components only used by filtered operations are dropped from the model, so they are neither generated nor listed in ApiImpl.
+ * The parents, variants and discriminator mapping targets of the remaining components are kept.
+ */
+public class OperationFilterComponentsTest {
+
+    private static final File SCHEMA = new File(GeneratorTestSupport.SCHEMAS, "filter.json");
+
+    @Test
+    public void keepsAllOfOneOfAndMappingTargets() throws Exception {
+        RootModel model = SchemaLoader.load(SCHEMA, true);
+        filter("pets").apply("undertest", model);
+
+        Assert.assertEquals(set("Base", "Pet", "Circle", "Square", "Triangle", "Shape"), model.getComponents().getSchemas().keySet());
+    }
+
+    @Test
+    public void keepsComponentsOfTheRemainingOperations() throws Exception {
+        RootModel model = SchemaLoader.load(SCHEMA, true);
+        filter("admin").apply("undertest", model);
+
+        Assert.assertEquals(set("AdminUser", "Role"), model.getComponents().getSchemas().keySet());
+    }
+
+
+    @Test
+    public void unusedComponentsAreNotGenerated() throws Exception {
+        File target = GeneratorTestSupport.generate(SCHEMA, new File("target/operation-filter-test"),
+                config -> config.setIncludeTags(Collections.singletonList("pets")));
+
+        String impl = GeneratorTestSupport.read(new File(target, "undertest/impl/ApiImpl.java"));
+        String allModelClasses = impl.lines().filter(l -> l.contains("ALL_MODEL_CLASSES =")).findFirst().orElse("");
+        for (String kept : new String[]{"Base", "Pet", "Circle", "Square", "Triangle", "Shape"}) {
+            Assert.assertTrue(allModelClasses, allModelClasses.contains("undertest.api.model." + kept + ".class"));
+        }
+        for (String dropped : new String[]{"AdminUser", "Role", "Orphan"}) {
+            Assert.assertFalse(allModelClasses, allModelClasses.contains("undertest.api.model." + dropped + ".class"));
+            Assert.assertFalse(new File(target, "undertest/api/model/" + dropped + ".java").exists());
+        }
+    }
+
+    private static OperationFilter filter(String includeTag) {
+        List<String> none = Collections.emptyList();
+        return new OperationFilter(Collections.singletonList(includeTag), none, none, none, none, none);
+    }
+
+    private static Set<String> set(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,71 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generating schema B over the output of schema A with the diff must give exactly the output of a full generation of B.
+ * B changes the allOf parent Base, the oneOf variant Square and removes Legacy.
+ */
+public class SchemaDiffTest {
+
+    private static final File DIR = new File("target/diff-test");
+    private static final File SCHEMA_A = new File(GeneratorTestSupport.SCHEMAS, "diff-a.json");
+    private static final File SCHEMA_B = new File(GeneratorTestSupport.SCHEMAS, "diff-b.json");
+
+    @Test
+    public void diffMatchesFullGeneration() throws Exception {
+        File full = GeneratorTestSupport.generate(SCHEMA_B, new File(DIR, "full"), config -> config.setIncremental(true));
+        File diff = GeneratorTestSupport.generate(SCHEMA_A, new File(DIR, "diff"), config -> config.setIncremental(true));
+        Assert.assertTrue(new File(diff, "undertest/api/model/Legacy.java").isFile());
+
+        String log = GeneratorTestSupport.generate(GeneratorTestSupport.config(SCHEMA_B, diff, config -> {
+            config.setIncremental(true);
+            config.setDiff(true);
+            config.setPreviousSchema(SCHEMA_A);
+        }));
+
+        GeneratorTestSupport.assertSameFiles(full, diff);
+        Matcher reused = Pattern.compile("reused (\\d+) classes").matcher(log);
+        Assert.assertTrue(log, reused.find());
+        Assert.assertTrue(log, Integer.parseInt(reused.group(1)) > 0);
+    }
+
+    @Test
+    public void changedSettingsRegenerateEverything() throws Exception {
+        File full = GeneratorTestSupport.generate(SCHEMA_B, new File(DIR, "settingsFull"), config -> {
+            config.setIncremental(true);
+            config.setJsr380(true);
+        });
+        File diff = GeneratorTestSupport.generate(SCHEMA_A, new File(DIR, "settingsDiff"), config -> config.setIncremental(true));
+
+        String log = GeneratorTestSupport.generate(GeneratorTestSupport.config(SCHEMA_B, diff, config -> {
+            config.setIncremental(true);
+            config.setJsr380(true);
+            config.setDiff(true);
+            config.setPreviousSchema(SCHEMA_A);
+        }));
+
+        GeneratorTestSupport.assertSameFiles(full, diff);
+        Assert.assertTrue(log, log.contains("generated with other settings"));
+        Assert.assertTrue(log, log.contains("reused 0 classes"));
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright 2025 Imagic Bildverarbeitung AG CH-8152 Glattbrugg
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+package ch.imagic.openapi.test;
+
+import ch.imagic.openapi.OpenApiGeneratorConfig;
+import ch.imagic.openapi.misc.SchemaLinter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * lint.json has one finding of every rule: an unbounded list, a base64 property, a oneOf with three and an anyOf with four members.
+ * The paged and the bounded list and the referenced members must not be reported.
+ */
+public class SchemaLinterTest {
+
+    private static final File SCHEMA = new File(GeneratorTestSupport.SCHEMAS, "lint.json");
+    private static final File DIR = new File("target/schema-linter-test");
+
+    @Test
+    public void findingsHaveSeverityAndLocation() throws Exception {
+        String log = lint(null, 0);
+        List<String> findings = Arrays.stream(log.split("\n"))
+                .filter(line -> line.contains(" lint ") && !line.startsWith("INFO: "))
+                .map(line -> line.substring(0, line.indexOf(": ")))
+                .collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(
+                "WARNING lint UNBOUNDED_LIST at operation listPets (GET /pets) response 200",
+                "WARNING lint UNION_WITHOUT_DISCRIMINATOR at schema Color",
+                "WARNING lint BASE64_BINARY at schema Pet property photo",
+                "INFO lint UNION_WITHOUT_DISCRIMINATOR at schema Shape"), findings);
+        Assert.assertTrue(log, log.contains("INFO: undertest: lint found 0 errors, 3 warnings and 1 infos"));
+    }
+
+    @Test
+    public void failsAboveTheThreshold() throws Exception {
+        //Three findings are WARNING or higher, the threshold is the number of findings that is still allowed.
+        lint(SchemaLinter.Severity.WARNING, 3);
+        assertFails(SchemaLinter.Severity.WARNING, 2, "undertest: lint found 3 findings of severity WARNING or higher, at most 2 are allowed");
+
+        assertFails(SchemaLinter.Severity.INFO, 3, "undertest: lint found 4 findings of severity INFO or higher, at most 3 are allowed");
+        lint(SchemaLinter.Severity.INFO, 4);
+
+        lint(SchemaLinter.Severity.ERROR, 0);
+    }
+
+    private static void assertFails(SchemaLinter.Severity failOn, int threshold, String message) throws Exception {
+        try {
+            lint(failOn, threshold);
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(message, e.getMessage());
+            return;
+        }
+        Assert.fail("lint with " + failOn + " and threshold " + threshold + " did not fail");
+    }
+
+    private static String lint(SchemaLinter.Severity failOn, int threshold) throws Exception {
+        GeneratorTestSupport.rmdir(DIR);
+        OpenApiGeneratorConfig config = GeneratorTestSupport.config(SCHEMA, DIR, c -> {
+            c.setLint(true);
+            c.setLintFailOn(failOn);
+            c.setLintFailThreshold(threshold);
+        });
+        return GeneratorTestSupport.generate(config);
+    }
+}
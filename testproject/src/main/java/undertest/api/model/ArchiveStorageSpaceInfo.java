@@ -0,0 +1,87 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public class ArchiveStorageSpaceInfo implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Visitable {
+    private java.util.Map<String, Long> primaryStorageBytesUsedPerTable;
+    
+    public java.util.Map<String, Long> getPrimaryStorageBytesUsedPerTable() {
+        return this.primaryStorageBytesUsedPerTable;
+    }
+    
+    public void setPrimaryStorageBytesUsedPerTable(java.util.Map<String, Long> value) {
+        this.primaryStorageBytesUsedPerTable = value;
+    }
+    
+    public ArchiveStorageSpaceInfo withPrimaryStorageBytesUsedPerTable(java.util.Map<String, Long> value) {
+        this.primaryStorageBytesUsedPerTable = value;
+        return this;
+    }
+    
+    public ArchiveStorageSpaceInfo putPrimaryStorageBytesUsedPerTable(String key, Long value) {
+        if (this.primaryStorageBytesUsedPerTable == null) {
+            this.primaryStorageBytesUsedPerTable = new java.util.LinkedHashMap<>();
+        }
+        this.primaryStorageBytesUsedPerTable.put(key, value);
+        return this;
+    }
+    
+    public Long getPrimaryStorageBytesUsedPerTable(String key) {
+        if (this.primaryStorageBytesUsedPerTable == null) {
+            return null;
+        }
+        return this.primaryStorageBytesUsedPerTable.get(key);
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.model.ArchiveStorageSpaceInfo other = (undertest.api.model.ArchiveStorageSpaceInfo) o;
+        return true
+            //
+            && java.util.Objects.equals(this.primaryStorageBytesUsedPerTable, other.primaryStorageBytesUsedPerTable)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.primaryStorageBytesUsedPerTable
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("ArchiveStorageSpaceInfo{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("primaryStorageBytesUsedPerTable=");
+        sb.append(undertest.common.api.ToString.toString(primaryStorageBytesUsedPerTable, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    @Override
+    public <E extends Throwable> void visit(undertest.common.api.PropertyVisitor<E> visitor) throws E {
+        undertest.common.api.Visitable.visitObject(this, visitor
+            , "primaryStorageBytesUsedPerTable", this.primaryStorageBytesUsedPerTable
+        );
+    }
+    
+}
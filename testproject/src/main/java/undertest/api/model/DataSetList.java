@@ -0,0 +1,124 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public class DataSetList implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Visitable {
+    private Integer total;
+    
+    public Integer getTotal() {
+        return this.total;
+    }
+    
+    public void setTotal(Integer value) {
+        this.total = value;
+    }
+    
+    public DataSetList withTotal(Integer value) {
+        this.total = value;
+        return this;
+    }
+    
+    private java.util.List<undertest.api.model.DataSetListApisItem> apis;
+    
+    public java.util.List<undertest.api.model.DataSetListApisItem> getApis() {
+        return this.apis;
+    }
+    
+    public void setApis(java.util.List<undertest.api.model.DataSetListApisItem> value) {
+        this.apis = value;
+    }
+    
+    public DataSetList withApis(java.util.List<undertest.api.model.DataSetListApisItem> value) {
+        this.apis = value;
+        return this;
+    }
+    
+    public DataSetList withApis(undertest.api.model.DataSetListApisItem... value) {
+        if (value == null) {
+            this.apis = new java.util.ArrayList<>();
+            return this;
+        }
+        this.apis = new java.util.ArrayList<>(java.util.Arrays.asList(value));
+        return this;
+    }
+    
+    public DataSetList addApis(undertest.api.model.DataSetListApisItem value) {
+        if (this.apis == null) {
+            this.apis = new java.util.ArrayList<>();
+        }
+        this.apis.add(value);
+        return this;
+    }
+    
+    public DataSetList addAllApis(java.util.Collection<undertest.api.model.DataSetListApisItem> value) {
+        if (this.apis == null) {
+            this.apis = new java.util.ArrayList<>();
+        }
+        if (apis == null) {
+            return this;
+        }
+        this.apis.addAll(value);
+        return this;
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.model.DataSetList other = (undertest.api.model.DataSetList) o;
+        return true
+            //
+            && java.util.Objects.equals(this.total, other.total)
+            && java.util.Objects.equals(this.apis, other.apis)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.total, 
+            this.apis
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("DataSetList{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("total=");
+        sb.append(undertest.common.api.ToString.toString(total, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("apis=");
+        sb.append(undertest.common.api.ToString.toString(apis, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    @Override
+    public <E extends Throwable> void visit(undertest.common.api.PropertyVisitor<E> visitor) throws E {
+        undertest.common.api.Visitable.visitObject(this, visitor
+            , "total", this.total
+            , "apis", this.apis
+        );
+    }
+    
+}
@@ -0,0 +1,180 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public class DataSetListApisItem implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Visitable {
+    private String apiKey;
+    
+    /**
+     * To be used as a dataset parameter value
+     */
+    public String getApiKey() {
+        return this.apiKey;
+    }
+    
+    /**
+     * To be used as a dataset parameter value
+     */
+    public void setApiKey(String value) {
+        this.apiKey = value;
+    }
+    
+    /**
+     * To be used as a dataset parameter value
+     */
+    public DataSetListApisItem withApiKey(String value) {
+        this.apiKey = value;
+        return this;
+    }
+    
+    private String apiVersionNumber;
+    
+    /**
+     * To be used as a version parameter value
+     */
+    public String getApiVersionNumber() {
+        return this.apiVersionNumber;
+    }
+    
+    /**
+     * To be used as a version parameter value
+     */
+    public void setApiVersionNumber(String value) {
+        this.apiVersionNumber = value;
+    }
+    
+    /**
+     * To be used as a version parameter value
+     */
+    public DataSetListApisItem withApiVersionNumber(String value) {
+        this.apiVersionNumber = value;
+        return this;
+    }
+    
+    private String apiUrl;
+    
+    /**
+     * The URL describing the dataset's fields
+     */
+    public String getApiUrl() {
+        return this.apiUrl;
+    }
+    
+    /**
+     * The URL describing the dataset's fields
+     */
+    public void setApiUrl(String value) {
+        this.apiUrl = value;
+    }
+    
+    /**
+     * The URL describing the dataset's fields
+     */
+    public DataSetListApisItem withApiUrl(String value) {
+        this.apiUrl = value;
+        return this;
+    }
+    
+    private String apiDocumentationUrl;
+    
+    /**
+     * A URL to the API console for each API
+     */
+    public String getApiDocumentationUrl() {
+        return this.apiDocumentationUrl;
+    }
+    
+    /**
+     * A URL to the API console for each API
+     */
+    public void setApiDocumentationUrl(String value) {
+        this.apiDocumentationUrl = value;
+    }
+    
+    /**
+     * A URL to the API console for each API
+     */
+    public DataSetListApisItem withApiDocumentationUrl(String value) {
+        this.apiDocumentationUrl = value;
+        return this;
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.model.DataSetListApisItem other = (undertest.api.model.DataSetListApisItem) o;
+        return true
+            //
+            && java.util.Objects.equals(this.apiKey, other.apiKey)
+            && java.util.Objects.equals(this.apiVersionNumber, other.apiVersionNumber)
+            && java.util.Objects.equals(this.apiUrl, other.apiUrl)
+            && java.util.Objects.equals(this.apiDocumentationUrl, other.apiDocumentationUrl)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.apiKey, 
+            this.apiVersionNumber, 
+            this.apiUrl, 
+            this.apiDocumentationUrl
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("DataSetListApisItem{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("apiKey=");
+        sb.append(undertest.common.api.ToString.toString(apiKey, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("apiVersionNumber=");
+        sb.append(undertest.common.api.ToString.toString(apiVersionNumber, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("apiUrl=");
+        sb.append(undertest.common.api.ToString.toString(apiUrl, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("apiDocumentationUrl=");
+        sb.append(undertest.common.api.ToString.toString(apiDocumentationUrl, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    @Override
+    public <E extends Throwable> void visit(undertest.common.api.PropertyVisitor<E> visitor) throws E {
+        undertest.common.api.Visitable.visitObject(this, visitor
+            , "apiKey", this.apiKey
+            , "apiVersionNumber", this.apiVersionNumber
+            , "apiUrl", this.apiUrl
+            , "apiDocumentationUrl", this.apiDocumentationUrl
+        );
+    }
+    
+}
@@ -0,0 +1,120 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public class Error implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Visitable, undertest.api.model.PetOrError {
+    private Integer code;
+    
+    public Integer getCode() {
+        return this.code;
+    }
+    
+    public void setCode(Integer value) {
+        this.code = value;
+    }
+    
+    public Error withCode(Integer value) {
+        this.code = value;
+        return this;
+    }
+    
+    private String class$;
+    
+    public String getClass$() {
+        return this.class$;
+    }
+    
+    public void setClass$(String value) {
+        this.class$ = value;
+    }
+    
+    public Error withClass$(String value) {
+        this.class$ = value;
+        return this;
+    }
+    
+    private String message;
+    
+    public String getMessage() {
+        return this.message;
+    }
+    
+    public void setMessage(String value) {
+        this.message = value;
+    }
+    
+    public Error withMessage(String value) {
+        this.message = value;
+        return this;
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.model.Error other = (undertest.api.model.Error) o;
+        return true
+            //
+            && java.util.Objects.equals(this.code, other.code)
+            && java.util.Objects.equals(this.class$, other.class$)
+            && java.util.Objects.equals(this.message, other.message)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.code, 
+            this.class$, 
+            this.message
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("Error{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("code=");
+        sb.append(undertest.common.api.ToString.toString(code, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("class$=");
+        sb.append(undertest.common.api.ToString.toString(class$, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("message=");
+        sb.append(undertest.common.api.ToString.toString(message, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    @Override
+    public <E extends Throwable> void visit(undertest.common.api.PropertyVisitor<E> visitor) throws E {
+        undertest.common.api.Visitable.visitObject(this, visitor
+            , "code", this.code
+            , "class$", this.class$
+            , "message", this.message
+        );
+    }
+    
+}
@@ -0,0 +1,81 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public class Operation0PostHttp201ResponseBody implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Visitable {
+    private String subscriptionId;
+    
+    /**
+     * this unique identifier allows management of the subscription
+     */
+    public String getSubscriptionId() {
+        return this.subscriptionId;
+    }
+    
+    /**
+     * this unique identifier allows management of the subscription
+     */
+    public void setSubscriptionId(String value) {
+        this.subscriptionId = value;
+    }
+    
+    /**
+     * this unique identifier allows management of the subscription
+     */
+    public Operation0PostHttp201ResponseBody withSubscriptionId(String value) {
+        this.subscriptionId = value;
+        return this;
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.model.Operation0PostHttp201ResponseBody other = (undertest.api.model.Operation0PostHttp201ResponseBody) o;
+        return true
+            //
+            && java.util.Objects.equals(this.subscriptionId, other.subscriptionId)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.subscriptionId
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("Operation0PostHttp201ResponseBody{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("subscriptionId=");
+        sb.append(undertest.common.api.ToString.toString(subscriptionId, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    @Override
+    public <E extends Throwable> void visit(undertest.common.api.PropertyVisitor<E> visitor) throws E {
+        undertest.common.api.Visitable.visitObject(this, visitor
+            , "subscriptionId", this.subscriptionId
+        );
+    }
+    
+}
@@ -0,0 +1,96 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public class Operation0PostRequestBody implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Visitable {
+    private String name;
+    
+    public String getName() {
+        return this.name;
+    }
+    
+    public void setName(String value) {
+        this.name = value;
+    }
+    
+    public Operation0PostRequestBody withName(String value) {
+        this.name = value;
+        return this;
+    }
+    
+    private String tag;
+    
+    public String getTag() {
+        return this.tag;
+    }
+    
+    public void setTag(String value) {
+        this.tag = value;
+    }
+    
+    public Operation0PostRequestBody withTag(String value) {
+        this.tag = value;
+        return this;
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.model.Operation0PostRequestBody other = (undertest.api.model.Operation0PostRequestBody) o;
+        return true
+            //
+            && java.util.Objects.equals(this.name, other.name)
+            && java.util.Objects.equals(this.tag, other.tag)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.name, 
+            this.tag
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("Operation0PostRequestBody{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("name=");
+        sb.append(undertest.common.api.ToString.toString(name, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("tag=");
+        sb.append(undertest.common.api.ToString.toString(tag, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    @Override
+    public <E extends Throwable> void visit(undertest.common.api.PropertyVisitor<E> visitor) throws E {
+        undertest.common.api.Visitable.visitObject(this, visitor
+            , "name", this.name
+            , "tag", this.tag
+        );
+    }
+    
+}
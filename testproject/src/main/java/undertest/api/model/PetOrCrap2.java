@@ -0,0 +1,5 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public interface PetOrCrap2 extends java.io.Serializable {
+}
@@ -0,0 +1,96 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public class PetOrCrap2Poly implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Visitable, undertest.api.model.PetOrCrap2 {
+    private Integer code;
+    
+    public Integer getCode() {
+        return this.code;
+    }
+    
+    public void setCode(Integer value) {
+        this.code = value;
+    }
+    
+    public PetOrCrap2Poly withCode(Integer value) {
+        this.code = value;
+        return this;
+    }
+    
+    private String message;
+    
+    public String getMessage() {
+        return this.message;
+    }
+    
+    public void setMessage(String value) {
+        this.message = value;
+    }
+    
+    public PetOrCrap2Poly withMessage(String value) {
+        this.message = value;
+        return this;
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.model.PetOrCrap2Poly other = (undertest.api.model.PetOrCrap2Poly) o;
+        return true
+            //
+            && java.util.Objects.equals(this.code, other.code)
+            && java.util.Objects.equals(this.message, other.message)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.code, 
+            this.message
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("PetOrCrap2Poly{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("code=");
+        sb.append(undertest.common.api.ToString.toString(code, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("message=");
+        sb.append(undertest.common.api.ToString.toString(message, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    @Override
+    public <E extends Throwable> void visit(undertest.common.api.PropertyVisitor<E> visitor) throws E {
+        undertest.common.api.Visitable.visitObject(this, visitor
+            , "code", this.code
+            , "message", this.message
+        );
+    }
+    
+}
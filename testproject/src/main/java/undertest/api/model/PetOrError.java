@@ -0,0 +1,5 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public interface PetOrError extends java.io.Serializable, undertest.api.model.PetOrCrap, undertest.api.model.PetOrCrap2 {
+}
@@ -0,0 +1,72 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.model;
+
+public class PetUnion implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Visitable {
+    private Long id;
+    
+    public Long getId() {
+        return this.id;
+    }
+    
+    public void setId(Long value) {
+        this.id = value;
+    }
+    
+    public PetUnion withId(Long value) {
+        this.id = value;
+        return this;
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.model.PetUnion other = (undertest.api.model.PetUnion) o;
+        return true
+            //
+            && java.util.Objects.equals(this.id, other.id)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.id
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("PetUnion{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("id=");
+        sb.append(undertest.common.api.ToString.toString(id, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    @Override
+    public <E extends Throwable> void visit(undertest.common.api.PropertyVisitor<E> visitor) throws E {
+        undertest.common.api.Visitable.visitObject(this, visitor
+            , "id", this.id
+        );
+    }
+    
+}
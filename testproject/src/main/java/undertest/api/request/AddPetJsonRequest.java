@@ -0,0 +1,208 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.request;
+public class AddPetJsonRequest implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.RequestParameters {
+    private undertest.api.model.NewPet requestBody;
+    
+    public undertest.api.model.NewPet getRequestBody() {
+        return this.requestBody;
+    }
+    
+    public void setRequestBody(undertest.api.model.NewPet value) {
+        this.requestBody = value;
+    }
+    
+    public AddPetJsonRequest withRequestBody(undertest.api.model.NewPet value) {
+        this.requestBody = value;
+        return this;
+    }
+    
+    private java.time.Duration requestTimeout;
+    
+    public java.time.Duration getRequestTimeout() {
+        return this.requestTimeout;
+    }
+    
+    public void setRequestTimeout(java.time.Duration value) {
+        this.requestTimeout = value;
+    }
+    
+    public AddPetJsonRequest withRequestTimeout(java.time.Duration value) {
+        this.requestTimeout = value;
+        return this;
+    }
+    
+    private java.time.Duration responseBodyReadTimeout;
+    
+    public java.time.Duration getResponseBodyReadTimeout() {
+        return this.responseBodyReadTimeout;
+    }
+    
+    public void setResponseBodyReadTimeout(java.time.Duration value) {
+        this.responseBodyReadTimeout = value;
+    }
+    
+    public AddPetJsonRequest withResponseBodyReadTimeout(java.time.Duration value) {
+        this.responseBodyReadTimeout = value;
+        return this;
+    }
+    
+    private java.time.Duration responseBodyTotalTimeout;
+    
+    public java.time.Duration getResponseBodyTotalTimeout() {
+        return this.responseBodyTotalTimeout;
+    }
+    
+    public void setResponseBodyTotalTimeout(java.time.Duration value) {
+        this.responseBodyTotalTimeout = value;
+    }
+    
+    public AddPetJsonRequest withResponseBodyTotalTimeout(java.time.Duration value) {
+        this.responseBodyTotalTimeout = value;
+        return this;
+    }
+    
+    private java.util.Map<String, java.util.List<String>> additionalHeaderParameter;
+    
+    public java.util.Map<String, java.util.List<String>> getAdditionalHeaderParameter() {
+        return this.additionalHeaderParameter;
+    }
+    
+    public void setAdditionalHeaderParameter(java.util.Map<String, java.util.List<String>> value) {
+        this.additionalHeaderParameter = value;
+    }
+    
+    public AddPetJsonRequest withAdditionalHeaderParameter(java.util.Map<String, java.util.List<String>> value) {
+        this.additionalHeaderParameter = value;
+        return this;
+    }
+    
+    public AddPetJsonRequest putAdditionalHeaderParameter(String key, java.util.List<String> value) {
+        if (this.additionalHeaderParameter == null) {
+            this.additionalHeaderParameter = new java.util.LinkedHashMap<>();
+        }
+        this.additionalHeaderParameter.put(key, value);
+        return this;
+    }
+    
+    public java.util.List<String> getAdditionalHeaderParameter(String key) {
+        if (this.additionalHeaderParameter == null) {
+            return null;
+        }
+        return this.additionalHeaderParameter.get(key);
+    }
+    
+    private java.util.Map<String, java.util.List<String>> additionalQueryParameter;
+    
+    public java.util.Map<String, java.util.List<String>> getAdditionalQueryParameter() {
+        return this.additionalQueryParameter;
+    }
+    
+    public void setAdditionalQueryParameter(java.util.Map<String, java.util.List<String>> value) {
+        this.additionalQueryParameter = value;
+    }
+    
+    public AddPetJsonRequest withAdditionalQueryParameter(java.util.Map<String, java.util.List<String>> value) {
+        this.additionalQueryParameter = value;
+        return this;
+    }
+    
+    public AddPetJsonRequest putAdditionalQueryParameter(String key, java.util.List<String> value) {
+        if (this.additionalQueryParameter == null) {
+            this.additionalQueryParameter = new java.util.LinkedHashMap<>();
+        }
+        this.additionalQueryParameter.put(key, value);
+        return this;
+    }
+    
+    public java.util.List<String> getAdditionalQueryParameter(String key) {
+        if (this.additionalQueryParameter == null) {
+            return null;
+        }
+        return this.additionalQueryParameter.get(key);
+    }
+    
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.request.AddPetJsonRequest other = (undertest.api.request.AddPetJsonRequest) o;
+        return true
+            //
+            && java.util.Objects.equals(this.requestBody, other.requestBody)
+            && java.util.Objects.equals(this.requestTimeout, other.requestTimeout)
+            && java.util.Objects.equals(this.responseBodyReadTimeout, other.responseBodyReadTimeout)
+            && java.util.Objects.equals(this.responseBodyTotalTimeout, other.responseBodyTotalTimeout)
+            && java.util.Objects.equals(this.additionalHeaderParameter, other.additionalHeaderParameter)
+            && java.util.Objects.equals(this.additionalQueryParameter, other.additionalQueryParameter)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.requestBody, 
+            this.requestTimeout, 
+            this.responseBodyReadTimeout, 
+            this.responseBodyTotalTimeout, 
+            this.additionalHeaderParameter, 
+            this.additionalQueryParameter
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("AddPetJsonRequest{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("requestBody=");
+        sb.append(undertest.common.api.ToString.toString(requestBody, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("requestTimeout=");
+        sb.append(undertest.common.api.ToString.toString(requestTimeout, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("responseBodyReadTimeout=");
+        sb.append(undertest.common.api.ToString.toString(responseBodyReadTimeout, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("responseBodyTotalTimeout=");
+        sb.append(undertest.common.api.ToString.toString(responseBodyTotalTimeout, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("additionalHeaderParameter=");
+        sb.append(undertest.common.api.ToString.toString(additionalHeaderParameter, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("additionalQueryParameter=");
+        sb.append(undertest.common.api.ToString.toString(additionalQueryParameter, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
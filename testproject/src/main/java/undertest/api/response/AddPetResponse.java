@@ -0,0 +1,184 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.response;
+
+public class AddPetResponse implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Response {
+    
+    public enum Variant {
+        S200_APPLICATION_JSON,
+        DEFAULT_APPLICATION_JSON,
+    }
+    
+    private final Variant variant;
+    
+    private final int statusCode;
+    
+    private final java.util.Map<String, java.util.List<String>> headers;
+    
+    private final Object body;
+    
+    
+    public AddPetResponse(Variant variant, int statusCode, java.util.Map<String, java.util.List<String>> headers, Object body) throws undertest.common.api.ApiException{
+        this.variant = variant;
+        this.body = body;
+        this.headers = headers;
+        this.statusCode = statusCode;
+        
+        if (variant == Variant.S200_APPLICATION_JSON && !(this.body instanceof undertest.api.model.Pet)) {
+            throw new undertest.common.api.ApiException("addPet", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'S200_APPLICATION_JSON'");
+        }
+        if (variant == Variant.DEFAULT_APPLICATION_JSON && !(this.body instanceof undertest.api.model.Error)) {
+            throw new undertest.common.api.ApiException("addPet", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'DEFAULT_APPLICATION_JSON'");
+        }
+    }
+    
+    public Object getRawBody() {
+        return this.body;
+    }
+    
+    public Variant getVariant() {
+        return this.variant;
+    }
+    
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+    
+    public java.util.Map<String, java.util.List<String>> getRawHeaders() {
+        return this.headers;
+    }
+    
+    public <T, E extends Throwable> T map(undertest.common.api.Response.ResponseMapper<undertest.api.response.AddPetResponse, T, E> mapper) throws E {
+        return mapper.map(this);
+    }
+    
+    public boolean isS200Json() {
+        return variant == Variant.S200_APPLICATION_JSON;
+    }
+    
+    public void assertS200Json() throws undertest.common.api.ApiException {
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("addPet", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public undertest.api.model.Pet getResponseBodyS200Json() throws undertest.common.api.ApiException {
+        if (variant != Variant.S200_APPLICATION_JSON) {
+            throw new undertest.common.api.ApiException("addPet", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        
+        return (undertest.api.model.Pet)this.body;
+    }
+    
+    public java.util.Optional<undertest.api.model.Pet> tryGetResponseBodyS200Json() {
+        if (variant != Variant.S200_APPLICATION_JSON) {
+            return java.util.Optional.empty();
+        }
+        
+        return java.util.Optional.ofNullable((undertest.api.model.Pet) this.body);
+    }
+    
+    public boolean isDefaultJson() {
+        return variant == Variant.DEFAULT_APPLICATION_JSON;
+    }
+    
+    public void assertDefaultJson() throws undertest.common.api.ApiException {
+        if (variant == Variant.DEFAULT_APPLICATION_JSON) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("addPet", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public undertest.api.model.Error getResponseBodyDefaultJson() throws undertest.common.api.ApiException {
+        if (variant != Variant.DEFAULT_APPLICATION_JSON) {
+            throw new undertest.common.api.ApiException("addPet", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        
+        return (undertest.api.model.Error)this.body;
+    }
+    
+    public java.util.Optional<undertest.api.model.Error> tryGetResponseBodyDefaultJson() {
+        if (variant != Variant.DEFAULT_APPLICATION_JSON) {
+            return java.util.Optional.empty();
+        }
+        
+        return java.util.Optional.ofNullable((undertest.api.model.Error) this.body);
+    }
+    
+    /**
+     * This method always throws the response as an exception. It doesnt return, it always throws.
+     * If this response contains binary data that is not yet received, 
+     * then that data may be truncated by this call and the binary stream will always be closed.
+     */
+    public undertest.common.api.ApiException throwIt() throws undertest.common.api.ApiException {
+        throw new undertest.common.api.ApiException("addPet", statusCode, headers, body);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.response.AddPetResponse other = (undertest.api.response.AddPetResponse) o;
+        return true
+            //
+            && java.util.Objects.equals(this.variant, other.variant)
+            && java.util.Objects.equals(this.body, other.body)
+            && java.util.Objects.equals(this.statusCode, other.statusCode)
+            && java.util.Objects.equals(this.headers, other.headers)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.variant, 
+            this.body, 
+            this.statusCode, 
+            this.headers
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("AddPetResponse{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("variant=");
+        sb.append(undertest.common.api.ToString.toString(variant, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("body=");
+        sb.append(undertest.common.api.ToString.toString(body, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("statusCode=");
+        sb.append(undertest.common.api.ToString.toString(statusCode, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("headers=");
+        sb.append(undertest.common.api.ToString.toString(headers, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,165 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.response;
+
+public class DeletePetResponse implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Response {
+    
+    public enum Variant {
+        S204,
+        DEFAULT_APPLICATION_JSON,
+    }
+    
+    private final Variant variant;
+    
+    private final int statusCode;
+    
+    private final java.util.Map<String, java.util.List<String>> headers;
+    
+    private final Object body;
+    
+    
+    public DeletePetResponse(Variant variant, int statusCode, java.util.Map<String, java.util.List<String>> headers, Object body) throws undertest.common.api.ApiException{
+        this.variant = variant;
+        this.body = body;
+        this.headers = headers;
+        this.statusCode = statusCode;
+        
+        if (variant == Variant.DEFAULT_APPLICATION_JSON && !(this.body instanceof undertest.api.model.Error)) {
+            throw new undertest.common.api.ApiException("deletePet", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'DEFAULT_APPLICATION_JSON'");
+        }
+    }
+    
+    public Object getRawBody() {
+        return this.body;
+    }
+    
+    public Variant getVariant() {
+        return this.variant;
+    }
+    
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+    
+    public java.util.Map<String, java.util.List<String>> getRawHeaders() {
+        return this.headers;
+    }
+    
+    public <T, E extends Throwable> T map(undertest.common.api.Response.ResponseMapper<undertest.api.response.DeletePetResponse, T, E> mapper) throws E {
+        return mapper.map(this);
+    }
+    
+    public boolean isDefaultJson() {
+        return variant == Variant.DEFAULT_APPLICATION_JSON;
+    }
+    
+    public void assertDefaultJson() throws undertest.common.api.ApiException {
+        if (variant == Variant.DEFAULT_APPLICATION_JSON) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("deletePet", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public undertest.api.model.Error getResponseBodyDefaultJson() throws undertest.common.api.ApiException {
+        if (variant != Variant.DEFAULT_APPLICATION_JSON) {
+            throw new undertest.common.api.ApiException("deletePet", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        
+        return (undertest.api.model.Error)this.body;
+    }
+    
+    public java.util.Optional<undertest.api.model.Error> tryGetResponseBodyDefaultJson() {
+        if (variant != Variant.DEFAULT_APPLICATION_JSON) {
+            return java.util.Optional.empty();
+        }
+        
+        return java.util.Optional.ofNullable((undertest.api.model.Error) this.body);
+    }
+    
+    public boolean isS204() {
+        return variant == Variant.S204;
+    }
+    
+    public void assertS204() throws undertest.common.api.ApiException {
+        if (variant == Variant.S204) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("deletePet", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    /**
+     * This method always throws the response as an exception. It doesnt return, it always throws.
+     * If this response contains binary data that is not yet received, 
+     * then that data may be truncated by this call and the binary stream will always be closed.
+     */
+    public undertest.common.api.ApiException throwIt() throws undertest.common.api.ApiException {
+        throw new undertest.common.api.ApiException("deletePet", statusCode, headers, body);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.response.DeletePetResponse other = (undertest.api.response.DeletePetResponse) o;
+        return true
+            //
+            && java.util.Objects.equals(this.variant, other.variant)
+            && java.util.Objects.equals(this.body, other.body)
+            && java.util.Objects.equals(this.statusCode, other.statusCode)
+            && java.util.Objects.equals(this.headers, other.headers)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.variant, 
+            this.body, 
+            this.statusCode, 
+            this.headers
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("DeletePetResponse{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("variant=");
+        sb.append(undertest.common.api.ToString.toString(variant, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("body=");
+        sb.append(undertest.common.api.ToString.toString(body, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("statusCode=");
+        sb.append(undertest.common.api.ToString.toString(statusCode, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("headers=");
+        sb.append(undertest.common.api.ToString.toString(headers, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,1110 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.response;
+
+public class FindPetsResponse implements java.io.Serializable, undertest.common.api.ToString, undertest.common.api.Response {
+    
+    public enum Variant {
+        S201_ANY,
+        S200_APPLICATION_JSON,
+        S200_TEXT_PLAIN,
+        S200_APPLICATION_OCTET_STREAM,
+        S200_APPLICATION_XML,
+        DEFAULT_APPLICATION_JSON,
+    }
+    
+    private final Variant variant;
+    
+    private final int statusCode;
+    
+    private final java.util.Map<String, java.util.List<String>> headers;
+    
+    private final Object body;
+    
+    private String S200Nudel;
+    private Long S200Dudel;
+    private java.util.List<Boolean> S200Rudel;
+    private java.util.List<Long> S200Rudel2;
+    private java.util.Map<String, String> S200Rudel3;
+    private java.util.Map<String, String> S200Rudel4;
+    private java.util.Map<String, Boolean> S200Rudel5;
+    private java.util.Map<String, Boolean> S200Rudel6;
+    
+    public enum S200Rudel7Enum {
+        Nase,
+        Weis,
+    }
+    private S200Rudel7Enum S200Rudel7;
+    
+    public FindPetsResponse(Variant variant, int statusCode, java.util.Map<String, java.util.List<String>> headers, Object body) throws undertest.common.api.ApiException{
+        this.variant = variant;
+        this.body = body;
+        this.headers = headers;
+        this.statusCode = statusCode;
+        
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("nudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Nudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header nudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Nudel = rawHdr;
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("dudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Dudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header dudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                try {
+                    this.S200Dudel = Long.parseLong(rawHdr);
+                } catch(java.lang.NumberFormatException nfe) {
+                    throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header dudel is not a valid Long");
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel = new java.util.ArrayList<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        if ("true".equalsIgnoreCase(a)) {
+                            this.S200Rudel.add(true);
+                        } else if ("false".equalsIgnoreCase(a)) {
+                            this.S200Rudel.add(false);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel is not a valid Boolean Array");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel2", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel2 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel2 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel2 = new java.util.ArrayList<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        try {
+                            this.S200Rudel2.add(Long.parseLong(a));
+                        } catch(java.lang.NumberFormatException nfe){
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel2 is not a valid Long Array");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel3", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel3 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel3 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel3 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    String[] rawSplit = rawHdr.split(",");
+                    if ((rawSplit.length & 1) == 1) {
+                        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel3 is not a valid String Map");
+                    }
+                    for (int i = 0; i < rawSplit.length; i += 2) {
+                        this.S200Rudel3.put(rawSplit[i], rawSplit[i + 1]);
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel4", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel4 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel4 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel4 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel4 is not a valid String Map");
+                        }
+                        this.S200Rudel4.put(a.substring(0, idx), a.substring(idx + 1));
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel5", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel5 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel5 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is not a valid Boolean Map");
+                        }
+                        String value = a.substring(idx + 1);
+                        if ("true".equalsIgnoreCase(value)) {
+                            this.S200Rudel5.put(a.substring(0, idx), Boolean.TRUE);
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            this.S200Rudel5.put(a.substring(0, idx), Boolean.FALSE);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is not a valid Boolean Map");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel6", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel6 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel6 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is not a valid Boolean Map");
+                        }
+                        String value = a.substring(idx + 1);
+                        if ("true".equalsIgnoreCase(value)) {
+                            this.S200Rudel6.put(a.substring(0, idx), Boolean.TRUE);
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            this.S200Rudel6.put(a.substring(0, idx), Boolean.FALSE);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is not a valid Boolean Map");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel7", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel7 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel7 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                try {
+                    this.S200Rudel7 = S200Rudel7Enum.valueOf(rawHdr);
+                } catch (Exception e) {
+                    throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel7 contains an illegal variant that is not part of the enum");
+                }
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("nudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Nudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header nudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Nudel = rawHdr;
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("dudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Dudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header dudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                try {
+                    this.S200Dudel = Long.parseLong(rawHdr);
+                } catch(java.lang.NumberFormatException nfe) {
+                    throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header dudel is not a valid Long");
+                }
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel = new java.util.ArrayList<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        if ("true".equalsIgnoreCase(a)) {
+                            this.S200Rudel.add(true);
+                        } else if ("false".equalsIgnoreCase(a)) {
+                            this.S200Rudel.add(false);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel is not a valid Boolean Array");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel2", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel2 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel2 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel2 = new java.util.ArrayList<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        try {
+                            this.S200Rudel2.add(Long.parseLong(a));
+                        } catch(java.lang.NumberFormatException nfe){
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel2 is not a valid Long Array");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel3", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel3 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel3 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel3 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    String[] rawSplit = rawHdr.split(",");
+                    if ((rawSplit.length & 1) == 1) {
+                        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel3 is not a valid String Map");
+                    }
+                    for (int i = 0; i < rawSplit.length; i += 2) {
+                        this.S200Rudel3.put(rawSplit[i], rawSplit[i + 1]);
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel4", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel4 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel4 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel4 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel4 is not a valid String Map");
+                        }
+                        this.S200Rudel4.put(a.substring(0, idx), a.substring(idx + 1));
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel5", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel5 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel5 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is not a valid Boolean Map");
+                        }
+                        String value = a.substring(idx + 1);
+                        if ("true".equalsIgnoreCase(value)) {
+                            this.S200Rudel5.put(a.substring(0, idx), Boolean.TRUE);
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            this.S200Rudel5.put(a.substring(0, idx), Boolean.FALSE);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is not a valid Boolean Map");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel6", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel6 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel6 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is not a valid Boolean Map");
+                        }
+                        String value = a.substring(idx + 1);
+                        if ("true".equalsIgnoreCase(value)) {
+                            this.S200Rudel6.put(a.substring(0, idx), Boolean.TRUE);
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            this.S200Rudel6.put(a.substring(0, idx), Boolean.FALSE);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is not a valid Boolean Map");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel7", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel7 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel7 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                try {
+                    this.S200Rudel7 = S200Rudel7Enum.valueOf(rawHdr);
+                } catch (Exception e) {
+                    throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel7 contains an illegal variant that is not part of the enum");
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("nudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Nudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header nudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Nudel = rawHdr;
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("dudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Dudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header dudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                try {
+                    this.S200Dudel = Long.parseLong(rawHdr);
+                } catch(java.lang.NumberFormatException nfe) {
+                    throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header dudel is not a valid Long");
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel = new java.util.ArrayList<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        if ("true".equalsIgnoreCase(a)) {
+                            this.S200Rudel.add(true);
+                        } else if ("false".equalsIgnoreCase(a)) {
+                            this.S200Rudel.add(false);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel is not a valid Boolean Array");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel2", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel2 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel2 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel2 = new java.util.ArrayList<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        try {
+                            this.S200Rudel2.add(Long.parseLong(a));
+                        } catch(java.lang.NumberFormatException nfe){
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel2 is not a valid Long Array");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel3", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel3 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel3 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel3 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    String[] rawSplit = rawHdr.split(",");
+                    if ((rawSplit.length & 1) == 1) {
+                        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel3 is not a valid String Map");
+                    }
+                    for (int i = 0; i < rawSplit.length; i += 2) {
+                        this.S200Rudel3.put(rawSplit[i], rawSplit[i + 1]);
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel4", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel4 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel4 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel4 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel4 is not a valid String Map");
+                        }
+                        this.S200Rudel4.put(a.substring(0, idx), a.substring(idx + 1));
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel5", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel5 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel5 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is not a valid Boolean Map");
+                        }
+                        String value = a.substring(idx + 1);
+                        if ("true".equalsIgnoreCase(value)) {
+                            this.S200Rudel5.put(a.substring(0, idx), Boolean.TRUE);
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            this.S200Rudel5.put(a.substring(0, idx), Boolean.FALSE);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is not a valid Boolean Map");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel6", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel6 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel6 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is not a valid Boolean Map");
+                        }
+                        String value = a.substring(idx + 1);
+                        if ("true".equalsIgnoreCase(value)) {
+                            this.S200Rudel6.put(a.substring(0, idx), Boolean.TRUE);
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            this.S200Rudel6.put(a.substring(0, idx), Boolean.FALSE);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is not a valid Boolean Map");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel7", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel7 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel7 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                try {
+                    this.S200Rudel7 = S200Rudel7Enum.valueOf(rawHdr);
+                } catch (Exception e) {
+                    throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel7 contains an illegal variant that is not part of the enum");
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("nudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Nudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header nudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Nudel = rawHdr;
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("dudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Dudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header dudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                try {
+                    this.S200Dudel = Long.parseLong(rawHdr);
+                } catch(java.lang.NumberFormatException nfe) {
+                    throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header dudel is not a valid Long");
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel = new java.util.ArrayList<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        if ("true".equalsIgnoreCase(a)) {
+                            this.S200Rudel.add(true);
+                        } else if ("false".equalsIgnoreCase(a)) {
+                            this.S200Rudel.add(false);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel is not a valid Boolean Array");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel2", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel2 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel2 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel2 = new java.util.ArrayList<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        try {
+                            this.S200Rudel2.add(Long.parseLong(a));
+                        } catch(java.lang.NumberFormatException nfe){
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel2 is not a valid Long Array");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel3", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel3 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel3 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel3 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    String[] rawSplit = rawHdr.split(",");
+                    if ((rawSplit.length & 1) == 1) {
+                        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel3 is not a valid String Map");
+                    }
+                    for (int i = 0; i < rawSplit.length; i += 2) {
+                        this.S200Rudel3.put(rawSplit[i], rawSplit[i + 1]);
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel4", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel4 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel4 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel4 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel4 is not a valid String Map");
+                        }
+                        this.S200Rudel4.put(a.substring(0, idx), a.substring(idx + 1));
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel5", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel5 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel5 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is not a valid Boolean Map");
+                        }
+                        String value = a.substring(idx + 1);
+                        if ("true".equalsIgnoreCase(value)) {
+                            this.S200Rudel5.put(a.substring(0, idx), Boolean.TRUE);
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            this.S200Rudel5.put(a.substring(0, idx), Boolean.FALSE);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel5 is not a valid Boolean Map");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel6", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel6 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                this.S200Rudel6 = new java.util.LinkedHashMap<>();
+                if (!rawHdr.equals("")) {
+                    for (String a : rawHdr.split(",")) {
+                        int idx = a.indexOf("=");
+                        if (idx == -1) {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is not a valid Boolean Map");
+                        }
+                        String value = a.substring(idx + 1);
+                        if ("true".equalsIgnoreCase(value)) {
+                            this.S200Rudel6.put(a.substring(0, idx), Boolean.TRUE);
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            this.S200Rudel6.put(a.substring(0, idx), Boolean.FALSE);
+                        } else {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel6 is not a valid Boolean Map");
+                        }
+                    }
+                }
+            }
+        }
+        if (variant == Variant.S200_APPLICATION_XML) {
+            java.util.List<String> theHdr = headers.getOrDefault("rudel7", java.util.Collections.emptyList());
+            if (theHdr.isEmpty()) {
+                this.S200Rudel7 = null;
+            } else if (theHdr.size() > 1) {
+                throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel7 is present more than once in the response");
+            } else {
+                String rawHdr = theHdr.get(0);
+                try {
+                    this.S200Rudel7 = S200Rudel7Enum.valueOf(rawHdr);
+                } catch (Exception e) {
+                    throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Header rudel7 contains an illegal variant that is not part of the enum");
+                }
+            }
+        }
+        if (variant == Variant.S201_ANY && !(this.body instanceof undertest.common.api.BinaryPayload)) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'S201_ANY'");
+        }
+        if (variant == Variant.S200_TEXT_PLAIN && !(this.body instanceof String)) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'S200_TEXT_PLAIN'");
+        }
+        if (variant == Variant.S200_APPLICATION_JSON && !(this.body instanceof java.util.List)) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'S200_APPLICATION_JSON'");
+        }
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM && !(this.body instanceof undertest.common.api.BinaryPayload)) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'S200_APPLICATION_OCTET_STREAM'");
+        }
+        if (variant == Variant.S200_APPLICATION_XML && !(this.body instanceof undertest.common.api.BinaryPayload)) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'S200_APPLICATION_XML'");
+        }
+        if (variant == Variant.DEFAULT_APPLICATION_JSON && !(this.body instanceof undertest.api.model.Error)) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Response body type mismatch when constructing response object for variant 'DEFAULT_APPLICATION_JSON'");
+        }
+    }
+    
+    public Object getRawBody() {
+        return this.body;
+    }
+    
+    public Variant getVariant() {
+        return this.variant;
+    }
+    
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+    
+    public java.util.Map<String, java.util.List<String>> getRawHeaders() {
+        return this.headers;
+    }
+    
+    public String getS200Nudel() {
+        return this.S200Nudel;
+    }
+    
+    public Long getS200Dudel() {
+        return this.S200Dudel;
+    }
+    
+    public java.util.List<Boolean> getS200Rudel() {
+        return this.S200Rudel;
+    }
+    
+    public java.util.List<Long> getS200Rudel2() {
+        return this.S200Rudel2;
+    }
+    
+    public java.util.Map<String, String> getS200Rudel3() {
+        return this.S200Rudel3;
+    }
+    
+    public java.util.Map<String, String> getS200Rudel4() {
+        return this.S200Rudel4;
+    }
+    
+    public java.util.Map<String, Boolean> getS200Rudel5() {
+        return this.S200Rudel5;
+    }
+    
+    public java.util.Map<String, Boolean> getS200Rudel6() {
+        return this.S200Rudel6;
+    }
+    
+    public S200Rudel7Enum getS200Rudel7() {
+        return this.S200Rudel7;
+    }
+    
+    public <T, E extends Throwable> T map(undertest.common.api.Response.ResponseMapper<undertest.api.response.FindPetsResponse, T, E> mapper) throws E {
+        return mapper.map(this);
+    }
+    
+    public boolean isS200Json() {
+        return variant == Variant.S200_APPLICATION_JSON;
+    }
+    
+    public void assertS200Json() throws undertest.common.api.ApiException {
+        if (variant == Variant.S200_APPLICATION_JSON) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public java.util.List<undertest.api.model.Pet> getResponseBodyS200Json() throws undertest.common.api.ApiException {
+        if (variant != Variant.S200_APPLICATION_JSON) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        
+        return (java.util.List<undertest.api.model.Pet>)this.body;
+    }
+    
+    public java.util.Optional<java.util.List<undertest.api.model.Pet>> tryGetResponseBodyS200Json() {
+        if (variant != Variant.S200_APPLICATION_JSON) {
+            return java.util.Optional.empty();
+        }
+        
+        return java.util.Optional.ofNullable((java.util.List<undertest.api.model.Pet>) this.body);
+    }
+    
+    public boolean isDefaultJson() {
+        return variant == Variant.DEFAULT_APPLICATION_JSON;
+    }
+    
+    public void assertDefaultJson() throws undertest.common.api.ApiException {
+        if (variant == Variant.DEFAULT_APPLICATION_JSON) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public undertest.api.model.Error getResponseBodyDefaultJson() throws undertest.common.api.ApiException {
+        if (variant != Variant.DEFAULT_APPLICATION_JSON) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        
+        return (undertest.api.model.Error)this.body;
+    }
+    
+    public java.util.Optional<undertest.api.model.Error> tryGetResponseBodyDefaultJson() {
+        if (variant != Variant.DEFAULT_APPLICATION_JSON) {
+            return java.util.Optional.empty();
+        }
+        
+        return java.util.Optional.ofNullable((undertest.api.model.Error) this.body);
+    }
+    
+    public boolean isS200String() {
+        return variant == Variant.S200_TEXT_PLAIN;
+    }
+    
+    public void assertS200String() throws undertest.common.api.ApiException {
+        if (variant == Variant.S200_TEXT_PLAIN) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public String getResponseBodyS200String() throws undertest.common.api.ApiException{
+        if (variant != Variant.S200_TEXT_PLAIN) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        return this.body == null ? null : String.valueOf(this.body);
+    }
+    
+    public java.util.Optional<String> tryGetResponseBodyS200String() {
+        if (variant != Variant.S200_TEXT_PLAIN) {
+            return java.util.Optional.empty();
+        }
+        
+        return  java.util.Optional.ofNullable(String.valueOf(this.body));
+    }
+    
+    public boolean isS201Any() {
+        return variant == Variant.S201_ANY;
+    }
+    
+    public void assertS201Any() throws undertest.common.api.ApiException {
+        if (variant == Variant.S201_ANY) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public undertest.common.api.BinaryPayload getResponseBodyS201Any() throws undertest.common.api.ApiException {
+        if (variant != Variant.S201_ANY) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        return (undertest.common.api.BinaryPayload) this.body;
+    }
+    
+    public boolean isS200Bin() {
+        return variant == Variant.S200_APPLICATION_OCTET_STREAM;
+    }
+    
+    public void assertS200Bin() throws undertest.common.api.ApiException {
+        if (variant == Variant.S200_APPLICATION_OCTET_STREAM) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public undertest.common.api.BinaryPayload getResponseBodyS200Bin() throws undertest.common.api.ApiException {
+        if (variant != Variant.S200_APPLICATION_OCTET_STREAM) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        return (undertest.common.api.BinaryPayload) this.body;
+    }
+    
+    public boolean isS200ApplicationXml() {
+        return variant == Variant.S200_APPLICATION_XML;
+    }
+    
+    public void assertS200ApplicationXml() throws undertest.common.api.ApiException {
+        if (variant == Variant.S200_APPLICATION_XML) {
+            return;
+        }
+        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Unexpected variant received: " + this.variant);
+    }
+    
+    public undertest.common.api.BinaryPayload getResponseBodyS200ApplicationXml() throws undertest.common.api.ApiException {
+        if (variant != Variant.S200_APPLICATION_XML) {
+            throw new undertest.common.api.ApiException("findPets", statusCode, headers, body, "Wrong body for variant " + this.variant);
+        }
+        return (undertest.common.api.BinaryPayload) this.body;
+    }
+    
+    /**
+     * This method always throws the response as an exception. It doesnt return, it always throws.
+     * If this response contains binary data that is not yet received, 
+     * then that data may be truncated by this call and the binary stream will always be closed.
+     */
+    public undertest.common.api.ApiException throwIt() throws undertest.common.api.ApiException {
+        throw new undertest.common.api.ApiException("findPets", statusCode, headers, body);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        undertest.api.response.FindPetsResponse other = (undertest.api.response.FindPetsResponse) o;
+        return true
+            //
+            && java.util.Objects.equals(this.variant, other.variant)
+            && java.util.Objects.equals(this.body, other.body)
+            && java.util.Objects.equals(this.statusCode, other.statusCode)
+            && java.util.Objects.equals(this.headers, other.headers)
+            && java.util.Objects.equals(this.S200Nudel, other.S200Nudel)
+            && java.util.Objects.equals(this.S200Dudel, other.S200Dudel)
+            && java.util.Objects.equals(this.S200Rudel, other.S200Rudel)
+            && java.util.Objects.equals(this.S200Rudel2, other.S200Rudel2)
+            && java.util.Objects.equals(this.S200Rudel3, other.S200Rudel3)
+            && java.util.Objects.equals(this.S200Rudel4, other.S200Rudel4)
+            && java.util.Objects.equals(this.S200Rudel5, other.S200Rudel5)
+            && java.util.Objects.equals(this.S200Rudel6, other.S200Rudel6)
+            && java.util.Objects.equals(this.S200Rudel7, other.S200Rudel7)
+            //
+            ;
+    }
+    
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(
+            //
+            this.variant, 
+            this.body, 
+            this.statusCode, 
+            this.headers, 
+            this.S200Nudel, 
+            this.S200Dudel, 
+            this.S200Rudel, 
+            this.S200Rudel2, 
+            this.S200Rudel3, 
+            this.S200Rudel4, 
+            this.S200Rudel5, 
+            this.S200Rudel6, 
+            this.S200Rudel7
+            //
+        );
+    }
+    
+    @Override
+    public String toString() {
+        return this.toString(0);
+    }
+    
+    @Override
+    public String toString(int level) {
+        level+=1;
+        StringBuilder sb = new StringBuilder("FindPetsResponse{\n");
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("variant=");
+        sb.append(undertest.common.api.ToString.toString(variant, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("body=");
+        sb.append(undertest.common.api.ToString.toString(body, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("statusCode=");
+        sb.append(undertest.common.api.ToString.toString(statusCode, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("headers=");
+        sb.append(undertest.common.api.ToString.toString(headers, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Nudel=");
+        sb.append(undertest.common.api.ToString.toString(S200Nudel, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Dudel=");
+        sb.append(undertest.common.api.ToString.toString(S200Dudel, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Rudel=");
+        sb.append(undertest.common.api.ToString.toString(S200Rudel, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Rudel2=");
+        sb.append(undertest.common.api.ToString.toString(S200Rudel2, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Rudel3=");
+        sb.append(undertest.common.api.ToString.toString(S200Rudel3, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Rudel4=");
+        sb.append(undertest.common.api.ToString.toString(S200Rudel4, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Rudel5=");
+        sb.append(undertest.common.api.ToString.toString(S200Rudel5, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Rudel6=");
+        sb.append(undertest.common.api.ToString.toString(S200Rudel6, level));
+        sb.append('\n');
+        for (int i = 0; i < level; i++) {
+            sb.append("  ");
+        }
+        sb.append("S200Rudel7=");
+        sb.append(undertest.common.api.ToString.toString(S200Rudel7, level));
+        sb.append('\n');
+        for (int i = 0; i < level-1; i++) {
+            sb.append("  ");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,62 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.api.tags;
+
+public interface Api extends java.lang.AutoCloseable {
+    
+    
+    /**
+     * No model, no parameters binary response
+     */
+    undertest.api.response.No$mod$binResponse no$mod$bin(undertest.api.request.No$mod$binRequest param) throws undertest.common.api.ApiException;
+    
+    /**
+     * Json response but is supposed be handed out as a String
+     */
+    undertest.api.response.Json$as$stringResponse json$as$string(undertest.api.request.Json$as$stringRequest param) throws undertest.common.api.ApiException;
+    
+    /**
+     * subscribes a client to receive out-of-band data
+     */
+    undertest.api.response.Operation0Response operation0Json(undertest.api.request.Operation0JsonRequest param) throws undertest.common.api.ApiException;
+    
+    /**
+     * Returns all pets from the system that the user has access to
+     * Nam sed condimentum est. Maecenas tempor sagittis sapien, nec rhoncus sem sagittis sit amet. Aenean at gravida augue, ac iaculis sem. Curabitur odio lorem, ornare eget elementum nec, cursus id lectus. Duis mi turpis, pulvinar ac eros ac, tincidunt varius justo. In hac habitasse platea dictumst. Integer at adipiscing ante, a sagittis ligula. Aenean pharetra tempor ante molestie imperdiet. Vivamus id aliquam diam. Cras quis velit non tortor eleifend sagittis. Praesent at enim pharetra urna volutpat venenatis eget eget mauris. In eleifend fermentum facilisis. Praesent enim enim, gravida ac sodales sed, placerat id erat. Suspendisse lacus dolor, consectetur non augue vel, vehicula interdum libero. Morbi euismod sagittis libero sed lacinia.
+     * 
+     * Sed tempus felis lobortis leo pulvinar rutrum. Nam mattis velit nisl, eu condimentum ligula luctus nec. Phasellus semper velit eget aliquet faucibus. In a mattis elit. Phasellus vel urna viverra, condimentum lorem id, rhoncus nibh. Ut pellentesque posuere elementum. Sed a varius odio. Morbi rhoncus ligula libero, vel eleifend nunc tristique vitae. Fusce et sem dui. Aenean nec scelerisque tortor. Fusce malesuada accumsan magna vel tempus. Quisque mollis felis eu dolor tristique, sit amet auctor felis gravida. Sed libero lorem, molestie sed nisl in, accumsan tempor nisi. Fusce sollicitudin massa ut lacinia mattis. Sed vel eleifend lorem. Pellentesque vitae felis pretium, pulvinar elit eu, euismod sapien.
+     */
+    undertest.api.response.FindPetsResponse findPets(undertest.api.request.FindPetsRequest param) throws undertest.common.api.ApiException;
+    
+    /**
+     * Creates a new pet in the store. Duplicates are allowed
+     */
+    undertest.api.response.AddPetResponse addPetJson(undertest.api.request.AddPetJsonRequest param) throws undertest.common.api.ApiException;
+    
+    /**
+     * Returns a user based on a single ID, if the user does not have access to the pet
+     */
+    undertest.api.response.FindPetByIdResponse findPetById(undertest.api.request.FindPetByIdRequest param) throws undertest.common.api.ApiException;
+    
+    /**
+     * deletes a single pet based on the ID supplied
+     */
+    undertest.api.response.DeletePetResponse deletePet(undertest.api.request.DeletePetRequest param) throws undertest.common.api.ApiException;
+    
+    /**
+     * deletes a single pet based on the ID supplied
+     */
+    undertest.api.response.PatchPetResponse patchPet(undertest.api.request.PatchPetRequest param) throws undertest.common.api.ApiException;
+    
+    /**
+     * On Java 21 and newer this function should be implemented to call HttpClient.close()/HttpClient.shutdownNow() etc.<br>
+     * <br>
+     * With older Java versions this method should be implemented to a noop,<br>
+     * or set the HttpClient to null and possibly call System.gc() if necesarry.<br>
+     * <br>
+     * To help you decide: It depends entirely how many instances of HttpClient your application creates and if natural garbage collection is fast enough.<br>
+     * An example where where calling System.gc() may be necesarry is if you are running in environments where the number of user mode threads is limited to a fixed very low number (some Cloud Service Providers do this),<br>
+     * and your application requires communication with a lot of different servers and therefore multiple instances of HttpClient<br>
+     */
+    @Override
+    void close() throws RuntimeException;
+}
@@ -0,0 +1,46 @@
+package undertest.common.api;
+// Copyright (C) 2025, Imagic Bildverarbeitung AG, Sägereistrasse 29, CH-8152 Glattbrugg
+//
+// This file will be replaced as part of the open api generation process DO NOT EDIT
+//
+// This file is provided under the following conditions:
+// THE SOFTWARE IS PROVIDED “AS IS” AND THE AUTHOR DISCLAIMS ALL
+// WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES
+// OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE
+// FOR ANY SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY
+// DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN
+// AN ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT
+// OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+//
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Metainformation about OneOf model objects.
+ * This annotation is placed on interfaces only.
+ * It can be used to configure an arbitrary JSON framework on how to resolve the interface to a concrete implementation.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OneOf {
+    /**
+     * Subclasses that implement the interface.
+     * Always present
+     */
+    Class<?>[] classes();
+
+    /**
+     * The descriminator field values, same order as classes() above.
+     * This is an empty array if the discriminator field is not used.
+     */
+    String[] discriminatorFieldValues() default {};
+
+    /**
+     * The descriminator field name.
+     * This is an empty string if the discriminator field is not used.
+     */
+    String discriminatorFieldName() default "";
+}
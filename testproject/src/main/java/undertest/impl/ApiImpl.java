@@ -0,0 +1,835 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.impl;
+
+public abstract class ApiImpl extends undertest.common.impl.ApiClient implements undertest.api.tags.Api{
+    
+    public ApiImpl(String baseUrl, java.net.http.HttpClient.Builder builder) {
+        super(baseUrl, builder);
+    }
+    
+    public ApiImpl(String baseUrl, java.net.http.HttpClient client) {
+        super(baseUrl, client);
+    }
+    
+    /**
+     * Implementation of the no$mod$bin operation.
+     */
+    @Override
+    public undertest.api.response.No$mod$binResponse no$mod$bin(undertest.api.request.No$mod$binRequest param) throws undertest.common.api.ApiException{
+        undertest.common.impl.RequestContext context = newRequestContext(REQUEST_METADATA_NO$MOD$BIN, java.util.Objects.requireNonNull(param, "param must not be null"));
+        java.net.http.HttpResponse<java.io.InputStream> response = null;
+        try {
+            validateRequest(context, param);
+            context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());
+            context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());
+            context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());
+            context.setBaseUrl(this.getBaseUrl());
+            customizeRequestContext(context);
+            java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);
+            context.apply(builder);
+            customizeRequest(context, builder);
+            java.net.http.HttpRequest request = builder.build();
+            response = sendRequest(context, request);
+            java.util.Optional<undertest.api.response.No$mod$binResponse> customizedResponse = customizeResponse(context, undertest.api.response.No$mod$binResponse.class, response);
+            if (customizedResponse != null) {
+                if (customizedResponse.isEmpty()) {
+                    return null;
+                }
+                return customizedResponse.get();
+            }
+            
+            int statusCode = response.statusCode();
+            java.net.http.HttpHeaders headers =  response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse("no-content-type").toLowerCase();
+            int contentTypeEnd = contentType.indexOf(';');
+            if (contentTypeEnd >= 0) {
+                contentType = contentType.substring(0, contentTypeEnd);
+            }
+            switch (statusCode) {
+                case 200: {
+                    switch(contentType) {
+                        case "no-content-type":
+                        //FALL THROUGH
+                        case "application/octet-stream": {
+                            undertest.api.response.No$mod$binResponse responseObj = new undertest.api.response.No$mod$binResponse(undertest.api.response.No$mod$binResponse.Variant.S200_APPLICATION_OCTET_STREAM, statusCode, headers.map(), processResponseForBinaryPayload(context, response));
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("no$mod$bin", statusCode, headers.map(), processResponseForException(context, response), "Unexpected content type for status code " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+                default: {
+                    switch (contentType) {
+                        default: {
+                            throw new undertest.common.api.ApiException("no$mod$bin", statusCode, headers.map(), processResponseForException(context, response), "Unexpected status code and content type " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (Throwable t) {
+                    //Ignored
+                }
+            }
+            if (throwable instanceof undertest.common.api.ApiException) {
+                throw (undertest.common.api.ApiException) throwable;
+            }
+            if (response != null) {
+                throw new undertest.common.api.ApiException("no$mod$bin", response.statusCode(), response.headers().map(), throwable);
+            }
+            throw new undertest.common.api.ApiException("no$mod$bin", throwable);
+        }
+    }
+    
+    
+    /**
+     * Schema metadata of the no$mod$bin operation.
+     */
+    protected static undertest.common.impl.RequestMetadata REQUEST_METADATA_NO$MOD$BIN = new undertest.common.impl.RequestMetadata(
+        "no$mod$bin", "GET", "/no-model-binary", undertest.api.response.No$mod$binResponse.class,
+        java.util.Map.ofEntries(java.util.Map.entry("no-request-body", "no$mod$bin")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList())
+    );
+    
+    /**
+     * Implementation of the json$as$string operation.
+     */
+    @Override
+    public undertest.api.response.Json$as$stringResponse json$as$string(undertest.api.request.Json$as$stringRequest param) throws undertest.common.api.ApiException{
+        undertest.common.impl.RequestContext context = newRequestContext(REQUEST_METADATA_JSON$AS$STRING, java.util.Objects.requireNonNull(param, "param must not be null"));
+        java.net.http.HttpResponse<java.io.InputStream> response = null;
+        try {
+            validateRequest(context, param);
+            context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());
+            context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());
+            context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());
+            context.setBaseUrl(this.getBaseUrl());
+            customizeRequestContext(context);
+            java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);
+            context.apply(builder);
+            customizeRequest(context, builder);
+            java.net.http.HttpRequest request = builder.build();
+            response = sendRequest(context, request);
+            java.util.Optional<undertest.api.response.Json$as$stringResponse> customizedResponse = customizeResponse(context, undertest.api.response.Json$as$stringResponse.class, response);
+            if (customizedResponse != null) {
+                if (customizedResponse.isEmpty()) {
+                    return null;
+                }
+                return customizedResponse.get();
+            }
+            
+            int statusCode = response.statusCode();
+            java.net.http.HttpHeaders headers =  response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse("no-content-type").toLowerCase();
+            int contentTypeEnd = contentType.indexOf(';');
+            if (contentTypeEnd >= 0) {
+                contentType = contentType.substring(0, contentTypeEnd);
+            }
+            switch (statusCode) {
+                case 200: {
+                    switch(contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream input = response.body()){
+                                result = new String(input.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+                            }
+                            undertest.api.response.Json$as$stringResponse responseObj = new undertest.api.response.Json$as$stringResponse(undertest.api.response.Json$as$stringResponse.Variant.S200_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("json$as$string", statusCode, headers.map(), processResponseForException(context, response), "Unexpected content type for status code " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+                default: {
+                    switch (contentType) {
+                        default: {
+                            throw new undertest.common.api.ApiException("json$as$string", statusCode, headers.map(), processResponseForException(context, response), "Unexpected status code and content type " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (Throwable t) {
+                    //Ignored
+                }
+            }
+            if (throwable instanceof undertest.common.api.ApiException) {
+                throw (undertest.common.api.ApiException) throwable;
+            }
+            if (response != null) {
+                throw new undertest.common.api.ApiException("json$as$string", response.statusCode(), response.headers().map(), throwable);
+            }
+            throw new undertest.common.api.ApiException("json$as$string", throwable);
+        }
+    }
+    
+    
+    /**
+     * Schema metadata of the json$as$string operation.
+     */
+    protected static undertest.common.impl.RequestMetadata REQUEST_METADATA_JSON$AS$STRING = new undertest.common.impl.RequestMetadata(
+        "json$as$string", "GET", "/json-as-string", undertest.api.response.Json$as$stringResponse.class,
+        java.util.Map.ofEntries(java.util.Map.entry("no-request-body", "json$as$string")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList())
+    );
+    
+    /**
+     * Implementation of the operation0 operation.
+     */
+    @Override
+    public undertest.api.response.Operation0Response operation0Json(undertest.api.request.Operation0JsonRequest param) throws undertest.common.api.ApiException{
+        undertest.common.impl.RequestContext context = newRequestContext(REQUEST_METADATA_OPERATION0, java.util.Objects.requireNonNull(param, "param must not be null"));
+        java.net.http.HttpResponse<java.io.InputStream> response = null;
+        try {
+            validateRequest(context, param);
+            context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());
+            context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());
+            context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());
+            context.setBaseUrl(this.getBaseUrl());
+            context.setContentType("application/json");
+            context.setRequestBody(serializeJsonData(context, param.getRequestBody()));
+            if (param.getCallbackUrl() != null) {
+                context.addQueryParam("callbackUrl", String.valueOf(param.getCallbackUrl()));
+            }
+            customizeRequestContext(context);
+            java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);
+            context.apply(builder);
+            customizeRequest(context, builder);
+            java.net.http.HttpRequest request = builder.build();
+            response = sendRequest(context, request);
+            java.util.Optional<undertest.api.response.Operation0Response> customizedResponse = customizeResponse(context, undertest.api.response.Operation0Response.class, response);
+            if (customizedResponse != null) {
+                if (customizedResponse.isEmpty()) {
+                    return null;
+                }
+                return customizedResponse.get();
+            }
+            
+            int statusCode = response.statusCode();
+            java.net.http.HttpHeaders headers =  response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse("no-content-type").toLowerCase();
+            int contentTypeEnd = contentType.indexOf(';');
+            if (contentTypeEnd >= 0) {
+                contentType = contentType.substring(0, contentTypeEnd);
+            }
+            switch (statusCode) {
+                case 201: {
+                    switch(contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.api.model.Operation0PostHttp201ResponseBody.class, statusCode, headers, is);
+                            }
+                            undertest.api.response.Operation0Response responseObj = new undertest.api.response.Operation0Response(undertest.api.response.Operation0Response.Variant.S201_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("operation0", statusCode, headers.map(), processResponseForException(context, response), "Unexpected content type for status code " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+                default: {
+                    switch (contentType) {
+                        default: {
+                            throw new undertest.common.api.ApiException("operation0", statusCode, headers.map(), processResponseForException(context, response), "Unexpected status code and content type " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (Throwable t) {
+                    //Ignored
+                }
+            }
+            if (throwable instanceof undertest.common.api.ApiException) {
+                throw (undertest.common.api.ApiException) throwable;
+            }
+            if (response != null) {
+                throw new undertest.common.api.ApiException("operation0", response.statusCode(), response.headers().map(), throwable);
+            }
+            throw new undertest.common.api.ApiException("operation0", throwable);
+        }
+    }
+    
+    
+    /**
+     * Schema metadata of the operation0 operation.
+     */
+    protected static undertest.common.impl.RequestMetadata REQUEST_METADATA_OPERATION0 = new undertest.common.impl.RequestMetadata(
+        "operation0", "POST", "/streams", undertest.api.response.Operation0Response.class,
+        java.util.Map.ofEntries(java.util.Map.entry("application/json", "operation0Json")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList(undertest.api.request.Operation0JsonRequest.class)),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList("callbackUrl")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList())
+    );
+    
+    /**
+     * Implementation of the findPets operation.
+     */
+    @Override
+    public undertest.api.response.FindPetsResponse findPets(undertest.api.request.FindPetsRequest param) throws undertest.common.api.ApiException{
+        undertest.common.impl.RequestContext context = newRequestContext(REQUEST_METADATA_FINDPETS, java.util.Objects.requireNonNull(param, "param must not be null"));
+        java.net.http.HttpResponse<java.io.InputStream> response = null;
+        try {
+            validateRequest(context, param);
+            context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());
+            context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());
+            context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());
+            context.setBaseUrl(this.getBaseUrl());
+            if (param.getTags() != null) {
+                context.addQueryParam("tags", String.join(",", param.getTags()));
+            }
+            if (param.getLimit() != null) {
+                context.addQueryParam("limit", String.valueOf(param.getLimit()));
+            }
+            customizeRequestContext(context);
+            java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);
+            context.apply(builder);
+            customizeRequest(context, builder);
+            java.net.http.HttpRequest request = builder.build();
+            response = sendRequest(context, request);
+            java.util.Optional<undertest.api.response.FindPetsResponse> customizedResponse = customizeResponse(context, undertest.api.response.FindPetsResponse.class, response);
+            if (customizedResponse != null) {
+                if (customizedResponse.isEmpty()) {
+                    return null;
+                }
+                return customizedResponse.get();
+            }
+            
+            int statusCode = response.statusCode();
+            java.net.http.HttpHeaders headers =  response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse("no-content-type").toLowerCase();
+            int contentTypeEnd = contentType.indexOf(';');
+            if (contentTypeEnd >= 0) {
+                contentType = contentType.substring(0, contentTypeEnd);
+            }
+            switch (statusCode) {
+                case 200: {
+                    switch(contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.impl.Types.TYPE0, statusCode, headers, is);
+                            }
+                            undertest.api.response.FindPetsResponse responseObj = new undertest.api.response.FindPetsResponse(undertest.api.response.FindPetsResponse.Variant.S200_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        case "text/plain": {
+                            Object result;
+                            try (java.io.InputStream input = response.body()){
+                                result = new String(input.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+                            }
+                            undertest.api.response.FindPetsResponse responseObj = new undertest.api.response.FindPetsResponse(undertest.api.response.FindPetsResponse.Variant.S200_TEXT_PLAIN, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        case "no-content-type":
+                        //FALL THROUGH
+                        case "application/octet-stream": {
+                            undertest.api.response.FindPetsResponse responseObj = new undertest.api.response.FindPetsResponse(undertest.api.response.FindPetsResponse.Variant.S200_APPLICATION_OCTET_STREAM, statusCode, headers.map(), processResponseForBinaryPayload(context, response));
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        case "application/xml": {
+                            undertest.api.response.FindPetsResponse responseObj = new undertest.api.response.FindPetsResponse(undertest.api.response.FindPetsResponse.Variant.S200_APPLICATION_XML, statusCode, headers.map(), processResponseForBinaryPayload(context, response));
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers.map(), processResponseForException(context, response), "Unexpected content type for status code " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+                case 201: {
+                    switch(contentType) {
+                        default: {
+                            undertest.api.response.FindPetsResponse responseObj = new undertest.api.response.FindPetsResponse(undertest.api.response.FindPetsResponse.Variant.S201_ANY, statusCode, headers.map(), processResponseForBinaryPayload(context, response));
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                    }
+                }
+                default: {
+                    switch (contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.api.model.Error.class, statusCode, headers, is);
+                            }
+                            undertest.api.response.FindPetsResponse responseObj = new undertest.api.response.FindPetsResponse(undertest.api.response.FindPetsResponse.Variant.DEFAULT_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("findPets", statusCode, headers.map(), processResponseForException(context, response), "Unexpected status code and content type " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (Throwable t) {
+                    //Ignored
+                }
+            }
+            if (throwable instanceof undertest.common.api.ApiException) {
+                throw (undertest.common.api.ApiException) throwable;
+            }
+            if (response != null) {
+                throw new undertest.common.api.ApiException("findPets", response.statusCode(), response.headers().map(), throwable);
+            }
+            throw new undertest.common.api.ApiException("findPets", throwable);
+        }
+    }
+    
+    
+    /**
+     * Schema metadata of the findPets operation.
+     */
+    protected static undertest.common.impl.RequestMetadata REQUEST_METADATA_FINDPETS = new undertest.common.impl.RequestMetadata(
+        "findPets", "GET", "/pets", undertest.api.response.FindPetsResponse.class,
+        java.util.Map.ofEntries(java.util.Map.entry("no-request-body", "findPets")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList(undertest.api.request.FindPetsRequest.class)),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList("tags", "limit")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList())
+    );
+    
+    /**
+     * Implementation of the addPet operation.
+     */
+    @Override
+    public undertest.api.response.AddPetResponse addPetJson(undertest.api.request.AddPetJsonRequest param) throws undertest.common.api.ApiException{
+        undertest.common.impl.RequestContext context = newRequestContext(REQUEST_METADATA_ADDPET, java.util.Objects.requireNonNull(param, "param must not be null"));
+        java.net.http.HttpResponse<java.io.InputStream> response = null;
+        try {
+            validateRequest(context, param);
+            context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());
+            context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());
+            context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());
+            context.setBaseUrl(this.getBaseUrl());
+            context.setContentType("application/json");
+            context.setRequestBody(serializeJsonData(context, param.getRequestBody()));
+            customizeRequestContext(context);
+            java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);
+            context.apply(builder);
+            customizeRequest(context, builder);
+            java.net.http.HttpRequest request = builder.build();
+            response = sendRequest(context, request);
+            java.util.Optional<undertest.api.response.AddPetResponse> customizedResponse = customizeResponse(context, undertest.api.response.AddPetResponse.class, response);
+            if (customizedResponse != null) {
+                if (customizedResponse.isEmpty()) {
+                    return null;
+                }
+                return customizedResponse.get();
+            }
+            
+            int statusCode = response.statusCode();
+            java.net.http.HttpHeaders headers =  response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse("no-content-type").toLowerCase();
+            int contentTypeEnd = contentType.indexOf(';');
+            if (contentTypeEnd >= 0) {
+                contentType = contentType.substring(0, contentTypeEnd);
+            }
+            switch (statusCode) {
+                case 200: {
+                    switch(contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.api.model.Pet.class, statusCode, headers, is);
+                            }
+                            undertest.api.response.AddPetResponse responseObj = new undertest.api.response.AddPetResponse(undertest.api.response.AddPetResponse.Variant.S200_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("addPet", statusCode, headers.map(), processResponseForException(context, response), "Unexpected content type for status code " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+                default: {
+                    switch (contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.api.model.Error.class, statusCode, headers, is);
+                            }
+                            undertest.api.response.AddPetResponse responseObj = new undertest.api.response.AddPetResponse(undertest.api.response.AddPetResponse.Variant.DEFAULT_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("addPet", statusCode, headers.map(), processResponseForException(context, response), "Unexpected status code and content type " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (Throwable t) {
+                    //Ignored
+                }
+            }
+            if (throwable instanceof undertest.common.api.ApiException) {
+                throw (undertest.common.api.ApiException) throwable;
+            }
+            if (response != null) {
+                throw new undertest.common.api.ApiException("addPet", response.statusCode(), response.headers().map(), throwable);
+            }
+            throw new undertest.common.api.ApiException("addPet", throwable);
+        }
+    }
+    
+    
+    /**
+     * Schema metadata of the addPet operation.
+     */
+    protected static undertest.common.impl.RequestMetadata REQUEST_METADATA_ADDPET = new undertest.common.impl.RequestMetadata(
+        "addPet", "POST", "/pets", undertest.api.response.AddPetResponse.class,
+        java.util.Map.ofEntries(java.util.Map.entry("application/json", "addPetJson")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList(undertest.api.request.AddPetJsonRequest.class)),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList())
+    );
+    
+    /**
+     * Implementation of the findPetById operation.
+     */
+    @Override
+    public undertest.api.response.FindPetByIdResponse findPetById(undertest.api.request.FindPetByIdRequest param) throws undertest.common.api.ApiException{
+        undertest.common.impl.RequestContext context = newRequestContext(REQUEST_METADATA_FINDPETBYID, java.util.Objects.requireNonNull(param, "param must not be null"));
+        java.net.http.HttpResponse<java.io.InputStream> response = null;
+        try {
+            validateRequest(context, param);
+            context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());
+            context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());
+            context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());
+            context.setBaseUrl(this.getBaseUrl());
+            if (param.getId() != null) {
+                context.addPathParam("id", String.valueOf(param.getId()));
+            }
+            customizeRequestContext(context);
+            java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);
+            context.apply(builder);
+            customizeRequest(context, builder);
+            java.net.http.HttpRequest request = builder.build();
+            response = sendRequest(context, request);
+            java.util.Optional<undertest.api.response.FindPetByIdResponse> customizedResponse = customizeResponse(context, undertest.api.response.FindPetByIdResponse.class, response);
+            if (customizedResponse != null) {
+                if (customizedResponse.isEmpty()) {
+                    return null;
+                }
+                return customizedResponse.get();
+            }
+            
+            int statusCode = response.statusCode();
+            java.net.http.HttpHeaders headers =  response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse("no-content-type").toLowerCase();
+            int contentTypeEnd = contentType.indexOf(';');
+            if (contentTypeEnd >= 0) {
+                contentType = contentType.substring(0, contentTypeEnd);
+            }
+            switch (statusCode) {
+                case 200: {
+                    switch(contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.api.model.Pet.class, statusCode, headers, is);
+                            }
+                            undertest.api.response.FindPetByIdResponse responseObj = new undertest.api.response.FindPetByIdResponse(undertest.api.response.FindPetByIdResponse.Variant.S200_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("findPetById", statusCode, headers.map(), processResponseForException(context, response), "Unexpected content type for status code " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+                default: {
+                    switch (contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.api.model.Error.class, statusCode, headers, is);
+                            }
+                            undertest.api.response.FindPetByIdResponse responseObj = new undertest.api.response.FindPetByIdResponse(undertest.api.response.FindPetByIdResponse.Variant.DEFAULT_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("findPetById", statusCode, headers.map(), processResponseForException(context, response), "Unexpected status code and content type " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (Throwable t) {
+                    //Ignored
+                }
+            }
+            if (throwable instanceof undertest.common.api.ApiException) {
+                throw (undertest.common.api.ApiException) throwable;
+            }
+            if (response != null) {
+                throw new undertest.common.api.ApiException("findPetById", response.statusCode(), response.headers().map(), throwable);
+            }
+            throw new undertest.common.api.ApiException("findPetById", throwable);
+        }
+    }
+    
+    
+    /**
+     * Schema metadata of the findPetById operation.
+     */
+    protected static undertest.common.impl.RequestMetadata REQUEST_METADATA_FINDPETBYID = new undertest.common.impl.RequestMetadata(
+        "findPetById", "GET", "/pets/{id}", undertest.api.response.FindPetByIdResponse.class,
+        java.util.Map.ofEntries(java.util.Map.entry("no-request-body", "findPetById")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList(undertest.api.request.FindPetByIdRequest.class)),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList("id")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList())
+    );
+    
+    /**
+     * Implementation of the deletePet operation.
+     */
+    @Override
+    public undertest.api.response.DeletePetResponse deletePet(undertest.api.request.DeletePetRequest param) throws undertest.common.api.ApiException{
+        undertest.common.impl.RequestContext context = newRequestContext(REQUEST_METADATA_DELETEPET, java.util.Objects.requireNonNull(param, "param must not be null"));
+        java.net.http.HttpResponse<java.io.InputStream> response = null;
+        try {
+            validateRequest(context, param);
+            context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());
+            context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());
+            context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());
+            context.setBaseUrl(this.getBaseUrl());
+            if (param.getId() != null) {
+                context.addPathParam("id", String.valueOf(param.getId()));
+            }
+            customizeRequestContext(context);
+            java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);
+            context.apply(builder);
+            customizeRequest(context, builder);
+            java.net.http.HttpRequest request = builder.build();
+            response = sendRequest(context, request);
+            java.util.Optional<undertest.api.response.DeletePetResponse> customizedResponse = customizeResponse(context, undertest.api.response.DeletePetResponse.class, response);
+            if (customizedResponse != null) {
+                if (customizedResponse.isEmpty()) {
+                    return null;
+                }
+                return customizedResponse.get();
+            }
+            
+            int statusCode = response.statusCode();
+            java.net.http.HttpHeaders headers =  response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse("no-content-type").toLowerCase();
+            int contentTypeEnd = contentType.indexOf(';');
+            if (contentTypeEnd >= 0) {
+                contentType = contentType.substring(0, contentTypeEnd);
+            }
+            switch (statusCode) {
+                case 204: {
+                    switch(contentType) {
+                        case "no-content-type": {
+                            response.body().close();
+                            undertest.api.response.DeletePetResponse responseObj = new undertest.api.response.DeletePetResponse(undertest.api.response.DeletePetResponse.Variant.S204, statusCode, headers.map(), null);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("deletePet", statusCode, headers.map(), processResponseForException(context, response), "Unexpected content type for status code " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+                default: {
+                    switch (contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.api.model.Error.class, statusCode, headers, is);
+                            }
+                            undertest.api.response.DeletePetResponse responseObj = new undertest.api.response.DeletePetResponse(undertest.api.response.DeletePetResponse.Variant.DEFAULT_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("deletePet", statusCode, headers.map(), processResponseForException(context, response), "Unexpected status code and content type " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (Throwable t) {
+                    //Ignored
+                }
+            }
+            if (throwable instanceof undertest.common.api.ApiException) {
+                throw (undertest.common.api.ApiException) throwable;
+            }
+            if (response != null) {
+                throw new undertest.common.api.ApiException("deletePet", response.statusCode(), response.headers().map(), throwable);
+            }
+            throw new undertest.common.api.ApiException("deletePet", throwable);
+        }
+    }
+    
+    
+    /**
+     * Schema metadata of the deletePet operation.
+     */
+    protected static undertest.common.impl.RequestMetadata REQUEST_METADATA_DELETEPET = new undertest.common.impl.RequestMetadata(
+        "deletePet", "DELETE", "/pets/{id}", undertest.api.response.DeletePetResponse.class,
+        java.util.Map.ofEntries(java.util.Map.entry("no-request-body", "deletePet")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList(undertest.api.request.DeletePetRequest.class)),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList("id")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList())
+    );
+    
+    /**
+     * Implementation of the patchPet operation.
+     */
+    @Override
+    public undertest.api.response.PatchPetResponse patchPet(undertest.api.request.PatchPetRequest param) throws undertest.common.api.ApiException{
+        undertest.common.impl.RequestContext context = newRequestContext(REQUEST_METADATA_PATCHPET, java.util.Objects.requireNonNull(param, "param must not be null"));
+        java.net.http.HttpResponse<java.io.InputStream> response = null;
+        try {
+            validateRequest(context, param);
+            context.setRequestTimeout(param.getRequestTimeout() == null ? this.getRequestTimeout() : param.getRequestTimeout());
+            context.setResponseBodyReadTimeout(param.getResponseBodyReadTimeout() == null ? this.getResponseBodyReadTimeout() : param.getResponseBodyReadTimeout());
+            context.setResponseBodyTotalTimeout(param.getResponseBodyTotalTimeout() == null ? this.getResponseBodyTotalTimeout() : param.getResponseBodyTotalTimeout());
+            context.setBaseUrl(this.getBaseUrl());
+            if (param.getId() != null) {
+                context.addPathParam("id", String.valueOf(param.getId()));
+            }
+            customizeRequestContext(context);
+            java.net.http.HttpRequest.Builder builder = this.newRequestBuilder(context);
+            context.apply(builder);
+            customizeRequest(context, builder);
+            java.net.http.HttpRequest request = builder.build();
+            response = sendRequest(context, request);
+            java.util.Optional<undertest.api.response.PatchPetResponse> customizedResponse = customizeResponse(context, undertest.api.response.PatchPetResponse.class, response);
+            if (customizedResponse != null) {
+                if (customizedResponse.isEmpty()) {
+                    return null;
+                }
+                return customizedResponse.get();
+            }
+            
+            int statusCode = response.statusCode();
+            java.net.http.HttpHeaders headers =  response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse("no-content-type").toLowerCase();
+            int contentTypeEnd = contentType.indexOf(';');
+            if (contentTypeEnd >= 0) {
+                contentType = contentType.substring(0, contentTypeEnd);
+            }
+            switch (statusCode) {
+                case 204: {
+                    switch(contentType) {
+                        case "no-content-type": {
+                            response.body().close();
+                            undertest.api.response.PatchPetResponse responseObj = new undertest.api.response.PatchPetResponse(undertest.api.response.PatchPetResponse.Variant.S204, statusCode, headers.map(), null);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("patchPet", statusCode, headers.map(), processResponseForException(context, response), "Unexpected content type for status code " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+                default: {
+                    switch (contentType) {
+                        case "application/json": {
+                            Object result;
+                            try (java.io.InputStream is = response.body()) {
+                                result = deserializeJsonData(context, undertest.api.model.Error.class, statusCode, headers, is);
+                            }
+                            undertest.api.response.PatchPetResponse responseObj = new undertest.api.response.PatchPetResponse(undertest.api.response.PatchPetResponse.Variant.DEFAULT_APPLICATION_JSON, statusCode, headers.map(), result);
+                            validateResponse(context, responseObj);
+                            return responseObj;
+                        }
+                        default: {
+                            throw new undertest.common.api.ApiException("patchPet", statusCode, headers.map(), processResponseForException(context, response), "Unexpected status code and content type " + statusCode + " " + contentType);
+                        }
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (Throwable t) {
+                    //Ignored
+                }
+            }
+            if (throwable instanceof undertest.common.api.ApiException) {
+                throw (undertest.common.api.ApiException) throwable;
+            }
+            if (response != null) {
+                throw new undertest.common.api.ApiException("patchPet", response.statusCode(), response.headers().map(), throwable);
+            }
+            throw new undertest.common.api.ApiException("patchPet", throwable);
+        }
+    }
+    
+    
+    /**
+     * Schema metadata of the patchPet operation.
+     */
+    protected static undertest.common.impl.RequestMetadata REQUEST_METADATA_PATCHPET = new undertest.common.impl.RequestMetadata(
+        "patchPet", "PATCH", "/pets/{id}", undertest.api.response.PatchPetResponse.class,
+        java.util.Map.ofEntries(java.util.Map.entry("no-request-body", "patchPet")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList(undertest.api.request.PatchPetRequest.class)),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList()),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList("id")),
+        new java.util.LinkedHashSet<>(java.util.Arrays.asList())
+    );
+    
+    protected static final java.util.List<undertest.common.impl.RequestMetadata> ALL_REQUEST_METADATA = java.util.Arrays.asList(REQUEST_METADATA_ADDPET, REQUEST_METADATA_DELETEPET, REQUEST_METADATA_FINDPETBYID, REQUEST_METADATA_FINDPETS, REQUEST_METADATA_JSON$AS$STRING, REQUEST_METADATA_NO$MOD$BIN, REQUEST_METADATA_OPERATION0, REQUEST_METADATA_PATCHPET);
+    protected static final java.util.List<java.lang.Class<?>> ALL_MODEL_CLASSES = java.util.Arrays.asList(undertest.api.model.ArchiveStorageSpaceInfo.class, undertest.api.model.DataSetList.class, undertest.api.model.DataSetListApisItem.class, undertest.api.model.Error.class, undertest.api.model.NewPet.class, undertest.api.model.Operation0PostHttp201ResponseBody.class, undertest.api.model.Operation0PostRequestBody.class, undertest.api.model.Pet.class, undertest.api.model.PetOrCrap.class, undertest.api.model.PetOrCrap2.class, undertest.api.model.PetOrCrap2Poly.class, undertest.api.model.PetOrCrapPoly.class, undertest.api.model.PetOrError.class, undertest.api.model.PetRef.class, undertest.api.model.PetRef2.class, undertest.api.model.PetUnion.class);
+    protected static final java.util.List<java.lang.Class<? extends undertest.common.api.Response>> ALL_RESPONSE_CLASSES = java.util.Arrays.asList(undertest.api.response.AddPetResponse.class, undertest.api.response.DeletePetResponse.class, undertest.api.response.FindPetByIdResponse.class, undertest.api.response.FindPetsResponse.class, undertest.api.response.Json$as$stringResponse.class, undertest.api.response.No$mod$binResponse.class, undertest.api.response.Operation0Response.class, undertest.api.response.PatchPetResponse.class);
+    protected static final java.util.List<java.lang.Class<? extends undertest.common.api.RequestParameters>> ALL_REQUEST_CLASSES = java.util.Arrays.asList(undertest.api.request.AddPetJsonRequest.class, undertest.api.request.DeletePetRequest.class, undertest.api.request.FindPetByIdRequest.class, undertest.api.request.FindPetsRequest.class, undertest.api.request.Json$as$stringRequest.class, undertest.api.request.No$mod$binRequest.class, undertest.api.request.Operation0JsonRequest.class, undertest.api.request.PatchPetRequest.class);
+}
@@ -0,0 +1,24 @@
+//THIS FILE IS MACHINE GENERATED DO NOT EDIT
+package undertest.impl;
+
+/**
+ * This class contains generic type information needed for json parsing of response bodies.
+ * All response bodies which need to be parsed as generic type such as List&ltSomeType&gt have an entry here.
+ */
+public class Types {
+    private static abstract class TypeInfo<T> {
+        public java.lang.reflect.Type getType() {
+            return ((java.lang.reflect.ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+        }
+    }
+    
+    /**
+     * Generic type for java.util.List&ltundertest.api.model.Pet&gt
+     */
+    public static final java.lang.reflect.Type TYPE0;
+    static {
+        TypeInfo typ = new TypeInfo<java.util.List<undertest.api.model.Pet>>() {};
+        TYPE0 = typ.getType();
+    }
+    
+}